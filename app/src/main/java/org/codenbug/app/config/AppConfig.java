@@ -1,6 +1,7 @@
 package org.codenbug.app.config;
 
 import org.codenbug.event.config.EventConfig;
+import org.codenbug.infra.http.HttpClientFactory;
 import org.codenbug.notification.infra.config.NotificationConfig;
 import org.codenbug.purchase.infra.config.PurchaseConfig;
 import org.codenbug.securityaop.aop.AopConfig;
@@ -27,8 +28,8 @@ public class AppConfig {
 
   @LoadBalanced
   @Bean("appRestTemplate")
-  public RestTemplate restTemplate() {
-    return new RestTemplate();
+  public RestTemplate restTemplate(HttpClientFactory httpClientFactory) {
+    return httpClientFactory.restTemplate("event");
   }
 
 }
@@ -1,10 +1,13 @@
 package org.codenbug.auth.config;
 
+import org.codenbug.infra.http.HttpClientConfig;
+import org.codenbug.infra.http.HttpClientFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
@@ -16,6 +19,7 @@ import org.springframework.web.client.RestTemplate;
     entityManagerFactoryRef = "primaryEntityManagerFactory",
     transactionManagerRef = "primaryTransactionManager")
 @EntityScan(basePackages = {"org.codenbug.auth.domain"})
+@Import(HttpClientConfig.class)
 public class AuthConfig {
   @Bean
   public PasswordEncoder passwordEncoder(@Value("${custom.password.secret}") String secret) {
@@ -23,9 +27,17 @@ public class AuthConfig {
         Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
   }
 
-  @Bean
+  @Bean("authRestTemplate")
   @LoadBalanced
-  public RestTemplate restTemplate() {
-    return new RestTemplate();
+  public RestTemplate restTemplate(HttpClientFactory httpClientFactory) {
+    return httpClientFactory.restTemplate("user");
+  }
+
+  /**
+   * 카카오/구글 같은 외부 OAuth 서버 호출용. 서비스 이름으로 찾지 않도록 {@code @LoadBalanced}를 붙이지 않는다.
+   */
+  @Bean("oauthRestTemplate")
+  public RestTemplate oauthRestTemplate(HttpClientFactory httpClientFactory) {
+    return httpClientFactory.restTemplate("oauth");
   }
 }
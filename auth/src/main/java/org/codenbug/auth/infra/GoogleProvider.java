@@ -16,6 +16,7 @@ import org.codenbug.auth.domain.SocialProvider;
 import org.codenbug.auth.global.SocialLoginType;
 import org.codenbug.auth.global.UserInfo;
 import org.codenbug.common.Role;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -33,6 +34,7 @@ import lombok.extern.slf4j.Slf4j;
 public class GoogleProvider implements SocialProvider {
 
 	private final ObjectMapper objectMapper;
+	private final RestTemplate restTemplate;
 	@Value("${sns.google.url}")
 	private String GOOGLE_SNS_BASE_URL;
 	@Value("${sns.google.client.id}")
@@ -44,8 +46,9 @@ public class GoogleProvider implements SocialProvider {
 	@Value("${sns.google.token.url}")
 	private String GOOGLE_SNS_TOKEN_BASE_URL;
 
-	public GoogleProvider(ObjectMapper objectMapper) {
+	public GoogleProvider(ObjectMapper objectMapper, @Qualifier("oauthRestTemplate") RestTemplate restTemplate) {
 		this.objectMapper = objectMapper;
+		this.restTemplate = restTemplate;
 	}
 
 	@Override
@@ -65,8 +68,6 @@ public class GoogleProvider implements SocialProvider {
 
 	@Override
 	public String requestAccessToken(String code) {
-		RestTemplate restTemplate = new RestTemplate();
-
 		Map<String, Object> params = new HashMap<>();
 		params.put("code", code);
 		params.put("client_id", GOOGLE_SNS_CLIENT_ID);
@@ -12,6 +12,7 @@ import org.codenbug.auth.domain.SocialProvider;
 import org.codenbug.auth.global.SocialLoginType;
 import org.codenbug.auth.global.UserInfo;
 import org.codenbug.common.Role;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -49,9 +50,11 @@ public class KakaoProvider implements SocialProvider {
 	// private List<String> allowedDomains;
 
 	private final ObjectMapper objectMapper;
+	private final RestTemplate restTemplate;
 
-	public KakaoProvider(ObjectMapper objectMapper) {
+	public KakaoProvider(ObjectMapper objectMapper, @Qualifier("oauthRestTemplate") RestTemplate restTemplate) {
 		this.objectMapper = objectMapper;
+		this.restTemplate = restTemplate;
 	}
 
 	@Override
@@ -61,9 +64,6 @@ public class KakaoProvider implements SocialProvider {
 
 	@Override
 	public String requestAccessToken(String code) {
-		// RestTemplate 인스턴스 생성 (HTTP 요청을 위한 스프링 유틸리티)
-		RestTemplate restTemplate = new RestTemplate();
-
 		// HTTP 헤더 설정
 		HttpHeaders headers = new HttpHeaders();
 		headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);  // Content-Type 설정
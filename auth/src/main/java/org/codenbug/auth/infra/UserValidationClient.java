@@ -4,6 +4,7 @@ import org.codenbug.auth.app.UserRegistrationValidator;
 import org.codenbug.auth.global.UserValidationException;
 import org.codenbug.auth.ui.RegisterRequest;
 import org.codenbug.common.RsData;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -23,7 +24,7 @@ public class UserValidationClient implements UserRegistrationValidator {
   private final ObjectMapper objectMapper;
   private final String userServiceBaseUrl;
 
-  public UserValidationClient(RestTemplate restTemplate, ObjectMapper objectMapper,
+  public UserValidationClient(@Qualifier("authRestTemplate") RestTemplate restTemplate, ObjectMapper objectMapper,
       @Value("${service.user.base-url}") String userServiceBaseUrl) {
     this.restTemplate = restTemplate;
     this.objectMapper = objectMapper;
@@ -6,6 +6,7 @@ import org.codenbug.auth.global.SocialLoginType;
 import org.codenbug.auth.global.UserInfo;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -14,7 +15,7 @@ class KakaoProviderTest {
 	@Test
 	@DisplayName("카카오 사용자 정보에 선택 동의 항목이 없으면 기본값으로 파싱한다")
 	void parseUserInfoUsesDefaultsWhenOptionalKakaoFieldsAreMissing() {
-		KakaoProvider provider = new KakaoProvider(new ObjectMapper());
+		KakaoProvider provider = new KakaoProvider(new ObjectMapper(), new RestTemplate());
 		String userInfo = """
 			{
 			  "id": 12345,
@@ -39,7 +40,7 @@ class KakaoProviderTest {
 	@Test
 	@DisplayName("카카오 성별과 연령대가 있으면 서비스 값으로 변환한다")
 	void parseUserInfoMapsKakaoGenderAndAgeRange() {
-		KakaoProvider provider = new KakaoProvider(new ObjectMapper());
+		KakaoProvider provider = new KakaoProvider(new ObjectMapper(), new RestTemplate());
 		String userInfo = """
 			{
 			  "id": 12345,
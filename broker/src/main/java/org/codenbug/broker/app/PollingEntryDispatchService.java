@@ -18,10 +18,13 @@ public class PollingEntryDispatchService implements EntryDispatcherService {
 
   private final EntryAuthService entryAuthService;
   private final StringRedisTemplate redisTemplate;
+  private final WaitingQueueStore waitingQueueStore;
 
-  public PollingEntryDispatchService(EntryAuthService entryAuthService, StringRedisTemplate redisTemplate) {
+  public PollingEntryDispatchService(EntryAuthService entryAuthService, StringRedisTemplate redisTemplate,
+      WaitingQueueStore waitingQueueStore) {
     this.entryAuthService = entryAuthService;
     this.redisTemplate = redisTemplate;
+    this.waitingQueueStore = waitingQueueStore;
   }
 
   public SSEEntryDispatchService.DispatchResult handle(String userId, String eventId) {
@@ -34,11 +37,13 @@ public class PollingEntryDispatchService implements EntryDispatcherService {
 
     String token = entryAuthService
         .generateEntryAuthToken(Map.of("eventId", eventId, "userId", userId), "entryAuthToken");
-    storeEntryToken(userId, token);
+    storeEntryToken(eventId, userId, token);
   }
 
-  private void storeEntryToken(String userId, String token) {
+  private void storeEntryToken(String eventId, String userId, String token) {
     redisTemplate.opsForValue().set(buildEntryTokenKey(userId), token, ENTRY_TOKEN_TTL_MINUTES, TimeUnit.MINUTES);
+    waitingQueueStore.indexEntryToken(eventId, userId,
+        System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(ENTRY_TOKEN_TTL_MINUTES));
   }
 
   private String buildEntryTokenKey(String userId) {
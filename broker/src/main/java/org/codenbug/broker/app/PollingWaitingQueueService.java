@@ -8,8 +8,6 @@ import org.springframework.stereotype.Service;
 @Service
 public class PollingWaitingQueueService {
 
-  private static final long USER_QUEUE_EVENT_TTL_SECONDS = 30;
-
   private final EventClient eventClient;
   private final WaitingQueueStore waitingQueueRedisRepository;
   private final EventStatusInitializationPort eventStatusInitializer;
@@ -35,45 +33,38 @@ public class PollingWaitingQueueService {
 
   public void enter(String eventId) {
     String userId = LoggedInUserContext.get().getUserId();
-    if (waitingQueueRedisRepository.isUserExistInEntry(userId)) {
-      throw new IllegalStateException("이미 입장 토큰이 발급되었습니다.");
-    }
-    boolean setQueueEvent = waitingQueueRedisRepository.setUserQueueEventIfAbsent(userId, eventId);
-    if (!setQueueEvent) {
-      String currentEventId = waitingQueueRedisRepository.getUserQueueEvent(userId);
-      if (currentEventId != null && !currentEventId.equals(eventId)) {
-        throw new IllegalStateException("이미 다른 이벤트 대기열에 존재합니다.");
-      }
-    }
-    if (!waitingQueueRedisRepository.entryQueueCountExists(eventId)) {
+    WaitingQueueStore.EnqueueResult result = enqueue(eventId, userId);
+
+    // 외부 조회가 필요한 초기화는 최초 진입자만 수행하고, 초기화 후 한 번만 재시도한다.
+    if (result.status() == WaitingQueueStore.EnqueueStatus.SLOTS_UNINITIALIZED) {
       int seatCount = eventClient.getSeatCount(eventId);
-      waitingQueueRedisRepository.updateEntryQueueCount(eventId, seatCount);
+      waitingQueueRedisRepository.initializeEntryQueueCountIfAbsent(eventId, seatCount);
+      result = enqueue(eventId, userId);
     }
-
-    eventStatusInitializer.ensureInitialized(eventId);
-    String eventStatus = eventClient.getSeatStatus(eventId);
-    if (!"OPEN".equals(eventStatus)) {
-      waitingQueueRedisRepository.clearUserQueueEvent(userId);
-      throw new IllegalStateException("예매 가능한 이벤트가 아닙니다.");
+    if (result.status() == WaitingQueueStore.EnqueueStatus.STATUS_UNKNOWN) {
+      eventStatusInitializer.ensureInitialized(eventId);
+      result = enqueue(eventId, userId);
     }
 
-    boolean inserted = waitingQueueRedisRepository.recordWaitingUserIfAbsent(eventId, userId);
-    if (!inserted) {
-      throw new IllegalStateException("이미 대기열에 존재합니다.");
+    switch (result.status()) {
+      case ENQUEUED -> queueObservation.recordQueueState(eventId, result.waitingQueueSize(),
+          result.entryQueueSlots());
+      case ALREADY_IN_ENTRY -> throw new IllegalStateException("이미 입장 토큰이 발급되었습니다.");
+      case IN_OTHER_EVENT -> throw new IllegalStateException("이미 다른 이벤트 대기열에 존재합니다.");
+      case EVENT_NOT_OPEN -> throw new IllegalStateException("예매 가능한 이벤트가 아닙니다.");
+      case ALREADY_WAITING -> throw new IllegalStateException("이미 대기열에 존재합니다.");
+      default -> throw new IllegalStateException("대기열 진입 준비가 완료되지 않았습니다. status=" + result.status());
     }
-    long idx = waitingQueueRedisRepository.incrementWaitingQueueIdx(eventId);
-
-    waitingQueueRedisRepository.saveUserToWaitingQueue(userId, eventId, idx);
-    waitingQueueRedisRepository.updateWaitingLastSeen(eventId, userId, System.currentTimeMillis());
+  }
 
-    waitingQueueRedisRepository.saveAdditionalUserData(userId, eventId, idx,
-        instanceConfig.getInstanceId());
-    recordQueueState(eventId);
+  private WaitingQueueStore.EnqueueResult enqueue(String eventId, String userId) {
+    return waitingQueueRedisRepository.enqueue(eventId, userId, instanceConfig.getInstanceId(),
+        System.currentTimeMillis());
   }
 
   public PollingQueueInfo parseOrder(String eventId) {
     String userId = LoggedInUserContext.get().getUserId();
-    waitingQueueRedisRepository.refreshUserQueueEventTtl(userId, USER_QUEUE_EVENT_TTL_SECONDS);
+    waitingQueueRedisRepository.refreshUserQueueEventTtl(userId, WaitingQueueStore.USER_QUEUE_EVENT_TTL_SECONDS);
 
     String entryToken = waitingQueueRedisRepository.getEntryToken(userId);
     if (entryToken != null) {
@@ -155,7 +146,7 @@ public class PollingWaitingQueueService {
 
   public void disconnect(String eventId) {
     String userId = LoggedInUserContext.get().getUserId();
-    boolean removedEntryToken = waitingQueueRedisRepository.deleteUserFromEntry(userId);
+    boolean removedEntryToken = waitingQueueRedisRepository.deleteUserFromEntry(eventId, userId);
     boolean removedWaiting = waitingQueueRedisRepository.deleteUserFromWaiting(eventId, userId);
     if (removedWaiting) {
       waitingQueueRedisRepository.deleteWaitingUserRecord(eventId, userId);
@@ -1,7 +1,5 @@
 package org.codenbug.broker.app;
 
-import static org.codenbug.broker.service.SseEmitterService.*;
-
 import java.io.IOException;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -22,6 +20,7 @@ import lombok.extern.slf4j.Slf4j;
 public class SSEEntryDispatchService implements EntryDispatcherService {
   private static final String ENTRY_QUEUE_SLOTS_KEY_NAME = "ENTRY_QUEUE_SLOTS";
   private static final String ENTRY_TOKEN_STORAGE_KEY_NAME = "ENTRY_TOKEN";
+  private static final String ENTRY_QUEUE_SLOTS_CHANGED_CHANNEL = "ENTRY_QUEUE_SLOTS_CHANGED";
 
   public enum DispatchResult {
     ACK,
@@ -31,17 +30,20 @@ public class SSEEntryDispatchService implements EntryDispatcherService {
   private final RedisTemplate<String, Object> redisTemplate;
   private final SseEmitterService sseEmitterService;
   private final EntryAuthService entryAuthService;
+  private final WaitingQueueStore waitingQueueStore;
 
   public SSEEntryDispatchService(RedisTemplate<String, Object> redisTemplate,
-      SseEmitterService sseEmitterService, EntryAuthService entryAuthService) {
+      SseEmitterService sseEmitterService, EntryAuthService entryAuthService,
+      WaitingQueueStore waitingQueueStore) {
     this.redisTemplate = redisTemplate;
     this.sseEmitterService = sseEmitterService;
     this.entryAuthService = entryAuthService;
+    this.waitingQueueStore = waitingQueueStore;
   }
 
   @Override
   public DispatchResult handle(String userId, String eventId) {
-    SseConnection sseConnection = sseEmitterService.getEmitterMap().get(userId);
+    SseConnection sseConnection = sseEmitterService.getConnection(userId);
     // dispatcher가 유저 승급했는데, 유저는 정작 연결 끊은 상태
     if (sseConnection == null) {
       handleDisconnectedUser(eventId, userId);
@@ -59,28 +61,49 @@ public class SSEEntryDispatchService implements EntryDispatcherService {
     log.info("count incremented");
     redisTemplate.opsForHash().increment(ENTRY_QUEUE_SLOTS_KEY_NAME, eventId, 1);
     redisTemplate.delete(buildEntryTokenKey(userId));
+    waitingQueueStore.unindexEntryToken(eventId, userId);
+    redisTemplate.convertAndSend(ENTRY_QUEUE_SLOTS_CHANGED_CHANNEL, eventId);
   }
 
   private void processEntry(SseConnection sseConnection, String eventId, String userId) {
-    sseConnection.setStatus(Status.IN_PROGRESS);
+    if (!sseConnection.compareAndSetStatus(Status.IN_ENTRY, Status.IN_PROGRESS)) {
+      // 조회 직후 연결이 닫혔다면 종료 처리는 IN_ENTRY로 정리했으므로 승급으로 차감된 슬롯은 여기서 돌려준다.
+      if (sseConnection.getStatus() == Status.CLOSED) {
+        handleDisconnectedUser(eventId, userId);
+      }
+      return;
+    }
     SseEmitter emitter = sseConnection.getEmitter();
 
     String token = entryAuthService
         .generateEntryAuthToken(Map.of("eventId", eventId, "userId", userId), "entryAuthToken");
-    storeEntryToken(userId, token);
+    storeEntryToken(eventId, userId, token);
+    // 승급 직후 연결이 닫혔다면 closeConn이 슬롯을 돌려주고 토큰을 지운 뒤에 저장했을 수 있다. 슬롯은 이미 돌려받았으므로
+    // 토큰만 회수한다. closeConn은 CLOSED로 바꾼 뒤 정리하므로 여기서 CLOSED가 아니면 그 정리가 이 토큰을 지운다.
+    if (sseConnection.getStatus() == Status.CLOSED) {
+      revokeEntryToken(eventId, userId);
+      return;
+    }
 
     try {
       emitter.send(SseEmitter.event().data(Map.of("eventId", eventId, "userId", userId, "status",
           sseConnection.getStatus(), "token", token)));
     } catch (IOException e) {
-      closeConn(userId, eventId, redisTemplate);
+      sseEmitterService.closeConn(sseConnection);
     } catch (Exception e) {
-      closeConn(userId, eventId, redisTemplate);
+      sseEmitterService.closeConn(sseConnection);
     }
   }
 
-  private void storeEntryToken(String userId, String token) {
+  private void storeEntryToken(String eventId, String userId, String token) {
     redisTemplate.opsForValue().set(buildEntryTokenKey(userId), token, 5, TimeUnit.MINUTES);
+    waitingQueueStore.indexEntryToken(eventId, userId,
+        System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(5));
+  }
+
+  private void revokeEntryToken(String eventId, String userId) {
+    redisTemplate.delete(buildEntryTokenKey(userId));
+    waitingQueueStore.unindexEntryToken(eventId, userId);
   }
 
   private String buildEntryTokenKey(String userId) {
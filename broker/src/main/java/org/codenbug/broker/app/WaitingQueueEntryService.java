@@ -49,43 +49,51 @@ public class WaitingQueueEntryService {
       throw e;
     }
 
-    enter(id, eventId);
-    assert emitter != null;
+    // 진입에 실패하면 먼저 등록한 연결을 버린다. 남겨 두면 같은 유저의 재연결이 막힌다.
+    try {
+      enter(id, eventId);
+    } catch (RuntimeException e) {
+      sseEmitterService.discard(id, emitter, e);
+      throw e;
+    }
     return emitter;
   }
 
   /**
-   * 사용자를 대기열에 추가한다. redis의 메시지 idx를 가져와 메시지의 idx로 추가하고 1을 증가시킨다. 이후 WAITING
-   * stream에 메시지를 추가해 사용자를
-   * 대기열에 추가한다.
+   * 사용자를 대기열에 추가한다. polling 진입과 같은 enqueue 스크립트로 상태 확인, WAITING zset 추가, 활성 이벤트 등록,
+   * 승격 신호 발행을 한 번에 처리한다. SSE는 연결 자체가 생존 신호이므로 WAITING_LAST_SEEN은 기록하지 않는다.
    *
    * @param userId  대기열에 추가할 유저 id
    * @param eventId 행사의 id
    */
-  private void enter(String userId, String eventId) throws JsonProcessingException {
+  private void enter(String userId, String eventId) {
+    WaitingQueueStore.EnqueueResult result = enqueue(eventId, userId);
 
-    if (!waitingQueueRepository.entryQueueCountExists(eventId)) {
+    // 외부 조회가 필요한 초기화는 최초 진입자만 수행하고, 초기화 후 한 번만 재시도한다.
+    if (result.status() == WaitingQueueStore.EnqueueStatus.SLOTS_UNINITIALIZED) {
       int seatCount = eventClient.getSeatCount(eventId);
-      waitingQueueRepository.updateEntryQueueCount(eventId, seatCount);
+      waitingQueueRepository.initializeEntryQueueCountIfAbsent(eventId, seatCount);
+      result = enqueue(eventId, userId);
     }
-
-    eventStatusInitializer.ensureInitialized(eventId);
-    if (!"OPEN".equals(eventClient.getSeatStatus(eventId))) {
-      throw new IllegalStateException("예매 가능한 이벤트가 아닙니다.");
+    if (result.status() == WaitingQueueStore.EnqueueStatus.STATUS_UNKNOWN) {
+      eventStatusInitializer.ensureInitialized(eventId);
+      result = enqueue(eventId, userId);
     }
 
-    boolean inserted = waitingQueueRepository.recordWaitingUserIfAbsent(eventId, userId);
-    if (!inserted) {
-      throw new IllegalStateException("이미 대기열에 존재합니다.");
+    switch (result.status()) {
+      case ENQUEUED -> {
+      }
+      case ALREADY_IN_ENTRY -> throw new IllegalStateException("이미 입장 토큰이 발급되었습니다.");
+      case IN_OTHER_EVENT -> throw new IllegalStateException("이미 다른 이벤트 대기열에 존재합니다.");
+      case EVENT_NOT_OPEN -> throw new IllegalStateException("예매 가능한 이벤트가 아닙니다.");
+      case ALREADY_WAITING -> throw new IllegalStateException("이미 대기열에 존재합니다.");
+      default -> throw new IllegalStateException("대기열 진입 준비가 완료되지 않았습니다. status=" + result.status());
     }
+  }
 
-    long idx = waitingQueueRepository.incrementWaitingQueueIdx(eventId);
-
-    waitingQueueRepository.saveUserToWaitingQueue(userId, eventId, idx);
-
-    waitingQueueRepository.saveAdditionalUserData(userId, eventId, idx,
-        instanceConfig.getInstanceId());
-
+  private WaitingQueueStore.EnqueueResult enqueue(String eventId, String userId) {
+    return waitingQueueRepository.enqueue(eventId, userId, instanceConfig.getInstanceId(),
+        System.currentTimeMillis(), false);
   }
 
   /**
@@ -1,26 +1,75 @@
 package org.codenbug.broker.app;
 
+import java.util.Map;
+
 public interface WaitingQueueStore {
+	/**
+	 * USER_QUEUE_EVENT 만료 시간. 진입 스크립트가 설정하고 polling 요청과 SSE heartbeat가 갱신한다.
+	 */
+	long USER_QUEUE_EVENT_TTL_SECONDS = 30;
+
 	record PollingAdaptiveContext(String eventStatus, Long entryQueueSlots, Long waitingQueueSize) {
 	}
 
+	enum EnqueueStatus {
+		ENQUEUED,
+		ALREADY_IN_ENTRY,
+		IN_OTHER_EVENT,
+		// 아래 두 상태는 외부 조회로 초기화한 뒤 다시 enqueue 하면 된다. 대기열 상태는 변경되지 않는다.
+		SLOTS_UNINITIALIZED,
+		STATUS_UNKNOWN,
+		EVENT_NOT_OPEN,
+		ALREADY_WAITING
+	}
+
+	record ActiveEntryTokenCounts(long total, Map<String, Long> byEvent) {
+	}
+
+	/**
+	 * @param rank 0부터 시작하는 대기 순번 (ENQUEUED가 아니면 null)
+	 */
+	record EnqueueResult(EnqueueStatus status, Long rank, Long waitingQueueSize, Long entryQueueSlots) {
+	}
+
+	/**
+	 * 입장 토큰/다른 이벤트 대기 여부 확인부터 ZADD, 부가 기록, 승격 신호 발행까지 한 번의 스크립트 호출로 처리한다.
+	 */
+	default EnqueueResult enqueue(String eventId, String userId, String instanceId, long epochMillis) {
+		return enqueue(eventId, userId, instanceId, epochMillis, true);
+	}
+
+	/**
+	 * @param trackLastSeen polling처럼 요청으로 생존을 확인하는 경우 true. 마지막 요청 시각이 오래되면 reaper가 대기열에서 뺀다.
+	 *                      SSE는 연결 종료 콜백이 정리하므로 false로 넘겨 reaper 대상에서 제외한다.
+	 */
+	EnqueueResult enqueue(String eventId, String userId, String instanceId, long epochMillis,
+		boolean trackLastSeen);
+
+	void initializeEntryQueueCountIfAbsent(String eventId, int slotCount);
+
 	boolean entryQueueCountExists(String eventId);
 
 	void updateEntryQueueCount(String eventId, int slotCount);
 
 	void incrementEntryQueueCount(String eventId);
 
-	boolean recordWaitingUserIfAbsent(String eventId, String userId);
+	void signalPromotion(String eventId);
 
-	long incrementWaitingQueueIdx(String eventId);
+	Long getUserRank(String eventId, String userId);
 
-	void saveUserToWaitingQueue(String userId, String eventId, long idx);
+	boolean deleteUserFromEntry(String eventId, String userId);
 
-	void saveAdditionalUserData(String userId, String eventId, long idx, String instanceId);
+	/**
+	 * 입장 토큰을 발급하거나 갱신할 때 활성 토큰 인덱스에 만료 시각과 함께 기록한다.
+	 */
+	void indexEntryToken(String eventId, String userId, long expiresAtMillis);
 
-	Long getUserRank(String eventId, String userId);
+	void unindexEntryToken(String eventId, String userId);
 
-	boolean deleteUserFromEntry(String userId);
+	/**
+	 * 만료된 인덱스 항목을 정리한 뒤 전체/이벤트별 활성 입장 토큰 수를 센다.
+	 */
+	ActiveEntryTokenCounts countActiveEntryTokens(long nowMillis);
 
 	boolean deleteUserFromWaiting(String eventId, String userId);
 
@@ -36,8 +85,6 @@ public interface WaitingQueueStore {
 
 	void updateEntryLastSeen(String userId, long epochMillis);
 
-	boolean setUserQueueEventIfAbsent(String userId, String eventId);
-
 	String getUserQueueEvent(String userId);
 
 	void refreshUserQueueEventTtl(String userId, long ttlSeconds);
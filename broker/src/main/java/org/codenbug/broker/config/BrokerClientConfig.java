@@ -1,16 +1,20 @@
 package org.codenbug.broker.config;
 
+import org.codenbug.infra.http.HttpClientConfig;
+import org.codenbug.infra.http.HttpClientFactory;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
+@Import(HttpClientConfig.class)
 public class BrokerClientConfig {
 
     @Bean
     @LoadBalanced
-    public RestTemplate brokerRestTemplate() {
-        return new RestTemplate();
+    public RestTemplate brokerRestTemplate(HttpClientFactory httpClientFactory) {
+        return httpClientFactory.restTemplate("event");
     }
 }
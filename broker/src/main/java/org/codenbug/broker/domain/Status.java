@@ -5,5 +5,7 @@ public enum Status {
 	IN_ENTRY,
 	// 대기열에서 탈출해 좌석 선택중인 상태
 	IN_PROGRESS,
+	// 연결이 종료된 상태. 이후로는 상태가 바뀌지 않는다.
+	CLOSED,
 
 }
@@ -0,0 +1,53 @@
+package org.codenbug.broker.infra;
+
+import static org.codenbug.broker.infra.RedisConfig.BROKER_INSTANCES_KEY_NAME;
+
+import org.codenbug.broker.config.InstanceConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 이 인스턴스가 살아 있음을 BROKER_INSTANCES에 주기적으로 기록한다.
+ * dispatcher는 heartbeat가 끊긴 인스턴스의 DISPATCH 스트림을 다른 인스턴스로 옮긴다.
+ */
+@Component
+public class BrokerInstanceHeartbeat {
+
+  private static final Logger log = LoggerFactory.getLogger(BrokerInstanceHeartbeat.class);
+
+  private final StringRedisTemplate redisTemplate;
+  private final InstanceConfig instanceConfig;
+
+  public BrokerInstanceHeartbeat(StringRedisTemplate redisTemplate, InstanceConfig instanceConfig) {
+    this.redisTemplate = redisTemplate;
+    this.instanceConfig = instanceConfig;
+  }
+
+  @Scheduled(fixedDelayString = "${broker.instance.heartbeat-interval-ms:2000}")
+  public void beat() {
+    try {
+      redisTemplate.opsForZSet()
+          .add(BROKER_INSTANCES_KEY_NAME, instanceConfig.getInstanceId(), System.currentTimeMillis());
+    } catch (Exception e) {
+      log.warn("Failed to record broker heartbeat for {}: {}", instanceConfig.getInstanceId(),
+          e.getMessage());
+    }
+  }
+
+  /**
+   * 정상 종료 시 heartbeat를 0으로 내려 dispatcher가 만료를 기다리지 않고 바로 스트림을 옮기게 한다.
+   */
+  @PreDestroy
+  public void markDead() {
+    try {
+      redisTemplate.opsForZSet().add(BROKER_INSTANCES_KEY_NAME, instanceConfig.getInstanceId(), 0);
+    } catch (Exception e) {
+      log.warn("Failed to mark broker instance {} as stopped", instanceConfig.getInstanceId(), e);
+    }
+  }
+}
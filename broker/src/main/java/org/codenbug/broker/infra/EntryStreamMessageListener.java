@@ -17,6 +17,7 @@ import org.springframework.data.redis.connection.stream.StreamOffset;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.stream.StreamListener;
 import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamReadRequest;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
@@ -27,6 +28,7 @@ public class EntryStreamMessageListener
     implements StreamListener<String, MapRecord<String, String, String>> {
 
   private static final Logger log = LoggerFactory.getLogger(EntryStreamMessageListener.class);
+  private static final Duration READ_ERROR_BACKOFF = Duration.ofSeconds(1);
 
   private final RedisTemplate<String, Object> redisTemplate;
   private final RedisConnectionFactory redisConnectionFactory;
@@ -55,18 +57,7 @@ public class EntryStreamMessageListener
 
     log.info("Starting to listen on instance-specific stream: {}", instanceStreamName);
 
-    // 인스턴스별 전용 스트림의 컨슈머 그룹 생성
-    try {
-      // 스트림이 존재하지 않으면 BUSYGROUP 에러가 발생할 수 있으므로 확인
-      if (redisTemplate.opsForStream().groups(instanceStreamName).stream()
-          .noneMatch(xInfoGroup -> xInfoGroup.groupName().equals(groupName))) {
-        redisTemplate.opsForStream().createGroup(instanceStreamName, groupName);
-      }
-    } catch (RedisSystemException e) {
-      // 스트림이 존재하지 않는 경우 먼저 더미 메시지를 추가하여 스트림 생성
-      redisTemplate.opsForStream().add(instanceStreamName, Map.of("init", "true"));
-      redisTemplate.opsForStream().createGroup(instanceStreamName, groupName);
-    }
+    ensureGroup(instanceStreamName, groupName);
 
     StreamMessageListenerContainer.StreamMessageListenerContainerOptions<String, MapRecord<String, String, String>> options =
         StreamMessageListenerContainer.StreamMessageListenerContainerOptions.builder()
@@ -78,10 +69,14 @@ public class EntryStreamMessageListener
         StreamMessageListenerContainer.create(redisConnectionFactory, options);
 
     // ReadOffset.lastConsumed()는 현재 컨슈머 그룹에서 마지막으로 처리(ack)한 메시지 다음부터 읽음
-    streamMessageListenerContainer.receive(Consumer.from(groupName, consumerName),
-        StreamOffset.create(instanceStreamName, ReadOffset.lastConsumed()), this // 리스너로 현재 클래스 인스턴스
-                                                                                 // 지정
-    );
+    // 읽기 오류로 구독을 끝내지 않는다. 오래 멈춰 있는 동안 dispatcher가 스트림을 지웠으면(NOGROUP) 그룹을 다시 만든다.
+    StreamReadRequest<String> readRequest = StreamReadRequest
+        .builder(StreamOffset.create(instanceStreamName, ReadOffset.lastConsumed()))
+        .consumer(Consumer.from(groupName, consumerName))
+        .cancelOnError(e -> false)
+        .errorHandler(e -> recoverGroup(instanceStreamName, groupName, e))
+        .build();
+    streamMessageListenerContainer.register(readRequest, this); // 리스너로 현재 클래스 인스턴스 지정
 
     streamMessageListenerContainer.start();
     log.info(
@@ -90,8 +85,56 @@ public class EntryStreamMessageListener
 
   }
 
+  /**
+   * 인스턴스별 전용 스트림의 컨슈머 그룹 생성
+   */
+  private void ensureGroup(String instanceStreamName, String groupName) {
+    try {
+      // 스트림이 존재하지 않으면 BUSYGROUP 에러가 발생할 수 있으므로 확인
+      if (redisTemplate.opsForStream().groups(instanceStreamName).stream()
+          .noneMatch(xInfoGroup -> xInfoGroup.groupName().equals(groupName))) {
+        redisTemplate.opsForStream().createGroup(instanceStreamName, groupName);
+      }
+    } catch (RedisSystemException e) {
+      // 스트림이 존재하지 않는 경우 먼저 더미 메시지를 추가하여 스트림 생성
+      redisTemplate.opsForStream().add(instanceStreamName, Map.of("init", "true"));
+      redisTemplate.opsForStream().createGroup(instanceStreamName, groupName);
+    }
+  }
+
+  /**
+   * 폴링 스레드에서 호출된다. 구독을 유지하므로 Redis 장애 동안 바로 다시 읽지 않도록 잠시 쉰다.
+   */
+  private void recoverGroup(String instanceStreamName, String groupName, Throwable error) {
+    if (hasNoGroupCause(error)) {
+      log.warn("Consumer group '{}' is missing on stream '{}'; recreating it", groupName, instanceStreamName);
+      try {
+        ensureGroup(instanceStreamName, groupName);
+        return;
+      } catch (Exception e) {
+        log.warn("Failed to recreate consumer group '{}': {}", groupName, e.getMessage());
+      }
+    } else {
+      log.warn("Failed to read from stream '{}': {}", instanceStreamName, error.getMessage());
+    }
+    try {
+      Thread.sleep(READ_ERROR_BACKOFF.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private boolean hasNoGroupCause(Throwable error) {
+    for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+      if (cause.getMessage() != null && cause.getMessage().contains("NOGROUP")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   @PreDestroy
-  public void stopListeningAndCleanup() {
+  public void stopListening() {
     String instanceStreamName = redisConfig.getInstanceDispatchStreamName();
 
     try {
@@ -103,12 +146,9 @@ public class EntryStreamMessageListener
           e);
     }
 
-    try {
-      Boolean deleted = redisTemplate.delete(instanceStreamName);
-      log.info("Cleaned up Redis stream key '{}' (deleted={})", instanceStreamName, deleted);
-    } catch (Exception e) {
-      log.warn("Failed to cleanup Redis stream key '{}'", instanceStreamName, e);
-    }
+    // 스트림은 지우지 않는다. 남은 메시지는 dispatcher가 heartbeat 만료를 보고 다른 인스턴스로 옮긴다.
+    log.info("Stopped listening on stream '{}'; remaining messages are left for re-targeting",
+        instanceStreamName);
   }
 
   @Override
@@ -2,27 +2,33 @@ package org.codenbug.broker.infra;
 
 import static org.codenbug.broker.infra.RedisConfig.*;
 
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+import org.codenbug.broker.app.WaitingQueueStore;
+import org.codenbug.broker.domain.Status;
 import org.codenbug.broker.service.SseConnection;
+import org.codenbug.broker.service.SseConnectionRegistry;
 import org.codenbug.broker.service.SseEmitterService;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
-import org.springframework.data.redis.connection.RedisConnection;
-import org.springframework.data.redis.core.Cursor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -32,128 +38,178 @@ public class QueueInfoScheduler {
 
   @Qualifier("simpleRedisTemplate")
   private final RedisTemplate<String, String> redisTemplate;
-  private final RedisTemplate<String, Object> objectRedisTemplate;
   private final SseEmitterService emitterService;
-  private final ObjectMapper objectMapper;
+
+  private final int pageSize;
+  private final int pagesPerRoundTrip;
+  // userId -> 마지막으로 전송한 순번(0부터). 스케줄러 스레드에서만 갱신된다.
+  private final Map<String, Long> lastSentRanks = new ConcurrentHashMap<>();
+
+  private static final Pattern LEGACY_MEMBER_PATTERN = Pattern.compile("^\\{\"userId\":\"?([^\"}]+)\"?}$");
 
   public QueueInfoScheduler(RedisTemplate<String, String> redisTemplate,
-      RedisTemplate<String, Object> objectRedisTemplate, SseEmitterService emitterService,
-      ObjectMapper objectMapper) {
+      SseEmitterService emitterService,
+      @Value("${broker.queue-info.page-size:5000}") int pageSize,
+      @Value("${broker.queue-info.pages-per-round-trip:8}") int pagesPerRoundTrip) {
     this.redisTemplate = redisTemplate;
-    this.objectRedisTemplate = objectRedisTemplate;
     this.emitterService = emitterService;
-    this.objectMapper = objectMapper;
+    this.pageSize = pageSize;
+    this.pagesPerRoundTrip = pagesPerRoundTrip;
   }
 
   /**
-   * 대기열 순번 정보를 유저에게 전송하는 스레드 스케줄링 메서드 1초마다 수행됩니다.
+   * 대기열 순번 정보를 이 인스턴스에 연결된 유저에게 전송하는 스케줄링 메서드입니다.
+   * <p>
+   * 로컬 emitter가 있는 이벤트의 대기열만 페이지 단위 파이프라인으로 읽어 순번을 로컬에서 계산하고, 마지막으로
+   * 보낸 순번과 달라진 유저에게만 전송합니다. 주기는 broker.queue-info.broadcast-interval-ms로 조정합니다.
    */
-  @Scheduled(cron = "* * * * * *")
+  @Scheduled(fixedDelayString = "${broker.queue-info.broadcast-interval-ms:1000}")
   public void run() {
+    SseConnectionRegistry registry = emitterService.getConnectionRegistry();
 
-    // emitter map 가져옵니다
-    Map<String, SseConnection> emitterMap = emitterService.getEmitterMap();
-
-    // redis waiting queue의 모든 요소를 가져옵니다 (SCAN 사용)
-    List<String> waitingKeys = scanWaitingQueueKeys();
-    waitingKeys.forEach(key -> {
-      try {
-        doPrintInfo(emitterMap, key);
-      } catch (JsonProcessingException e) {
-        log.error(e.getMessage());
-      }
-    });
+    // 연결이 끊긴 유저의 마지막 전송 순번은 버립니다.
+    lastSentRanks.keySet().removeIf(userId -> registry.get(userId) == null);
 
-  }
-
-  private List<String> scanWaitingQueueKeys() {
-    String pattern = WAITING_QUEUE_KEY_NAME + ":*";
-    int count = 1000;
-
-    List<String> keys = redisTemplate.execute((RedisConnection connection) -> {
-      List<String> results = new ArrayList<>();
-      try (Cursor<byte[]> cursor =
-          connection.scan(ScanOptions.scanOptions().match(pattern).count(count).build())) {
-        while (cursor.hasNext()) {
-          results.add(new String(cursor.next(), StandardCharsets.UTF_8));
+    for (String eventId : registry.eventIds()) {
+      Map<String, SseConnection> waiters = new HashMap<>();
+      for (SseConnection connection : registry.connectionsOf(eventId)) {
+        if (connection.getStatus() != Status.IN_ENTRY) {
+          lastSentRanks.remove(connection.getUserId());
+          continue;
         }
+        waiters.put(connection.getUserId(), connection);
       }
-      return results;
-    });
-
-    return keys == null ? List.of() : keys;
-  }
-
-  private void doPrintInfo(Map<String, SseConnection> emitterMap, String key)
-      throws JsonProcessingException {
-    Set<String> waitingKeyList = redisTemplate.opsForZSet().range(key, 0, -1);
-    List<Object> waitingList = new ArrayList<>();
-    for (String waitingKey : waitingKeyList) {
-      Object result = null;
-      result =
-          redisTemplate.opsForHash().get("WAITING_QUEUE_INDEX_RECORD:" + key.split(":")[1].toString(),
-              objectMapper.readTree(waitingKey.toString()).get("userId").asText());
-
-      if (result == null)
+      if (waiters.isEmpty()) {
         continue;
-      waitingList.add(result);
+      }
+      try {
+        doPrintInfo(eventId, waiters);
+      } catch (Exception e) {
+        log.error("Failed to broadcast queue info for event {}: {}", eventId, e.getMessage());
+      }
     }
+  }
 
-    if (waitingList == null || waitingList.isEmpty()) {
-      return;
-    }
-    // 대기열 큐에 있는 모든 유저들에게 대기열 순번과 userId, eventId를 전송합니다.
-    for (Object record : waitingList) {
-      if (record == null)
-        return;
-      // 대기열 큐 메시지로부터 데이터를 파싱합니다.
-      String userId = objectMapper.readTree(record.toString()).get(QUEUE_MESSAGE_USER_ID_KEY_NAME)
-          .toString().replaceAll("\"", "");
-      String eventId = objectMapper.readTree(record.toString()).get(QUEUE_MESSAGE_EVENT_ID_KEY_NAME)
-          .toString().replaceAll("\"", "");
-      Long idx = Long.parseLong(objectMapper.readTree(record.toString())
-          .get(QUEUE_MESSAGE_IDX_KEY_NAME).toString().replaceAll("\"", ""));
-
-      if (!emitterMap.containsKey(userId)) {
-        log.debug("user %s가 연결이 끊어진 상태입니다.".formatted(userId));
+  private void doPrintInfo(String eventId, Map<String, SseConnection> waiters) {
+    Map<String, Long> ranks = readLocalRanks(WAITING_QUEUE_KEY_NAME + ":" + eventId, waiters.keySet());
+
+    for (Map.Entry<String, Long> entry : ranks.entrySet()) {
+      String userId = entry.getKey();
+      long rank = entry.getValue();
+      Long lastSent = lastSentRanks.get(userId);
+      if (lastSent != null && lastSent == rank) {
         continue;
       }
 
-      // 파싱한 userId로 sse 연결 객체를 가져옵니다.
-      SseConnection sseConnection = emitterMap.get(userId);
+      SseConnection sseConnection = waiters.get(userId);
       SseEmitter emitter = sseConnection.getEmitter();
-      // 대기열 순번을 계산하고 sse 메시지를 전송합니다.
       try {
-        Long rank = redisTemplate.opsForZSet().rank(WAITING_QUEUE_KEY_NAME + ":" + eventId,
-            "{\"userId\":\"%s\"}".formatted(userId));
-        if (rank == null)
-          break;
         emitter.send(SseEmitter.event()
             .data(Map.of("status", sseConnection.getStatus(), QUEUE_MESSAGE_USER_ID_KEY_NAME,
                 userId, QUEUE_MESSAGE_EVENT_ID_KEY_NAME, eventId, "order", rank + 1)));
+        lastSentRanks.put(userId, rank);
       } catch (Exception e) {
-        SseEmitterService.closeConn(userId, eventId, objectRedisTemplate);
-        // throw new RuntimeException(e);
+        lastSentRanks.remove(userId);
+        emitterService.closeConn(sseConnection);
       }
     }
   }
 
+  /**
+   * 대기열을 앞에서부터 페이지 단위로 읽어 로컬 유저들의 순번(0부터)을 계산합니다. 한 번의 왕복에 여러 페이지를
+   * 파이프라인으로 요청하며, 로컬 유저를 모두 찾았거나 대기열 끝에 도달하면 멈춥니다.
+   */
+  private Map<String, Long> readLocalRanks(String key, Set<String> localUserIds) {
+    Map<String, Long> ranks = new HashMap<>();
+    long offset = 0;
+    boolean exhausted = false;
+
+    while (!exhausted && ranks.size() < localUserIds.size()) {
+      long roundStart = offset;
+      List<Object> pages = redisTemplate.executePipelined(new SessionCallback<Object>() {
+        @SuppressWarnings("unchecked")
+        @Override
+        public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+          RedisOperations<String, String> stringOperations = (RedisOperations<String, String>) operations;
+          for (int i = 0; i < pagesPerRoundTrip; i++) {
+            long start = roundStart + (long) i * pageSize;
+            stringOperations.opsForZSet().range(key, start, start + pageSize - 1);
+          }
+          return null;
+        }
+      });
+
+      for (Object page : pages) {
+        Collection<?> members = page instanceof Collection<?> collection ? collection : List.of();
+        long rank = offset;
+        for (Object member : members) {
+          String userId = toUserId(String.valueOf(member));
+          if (localUserIds.contains(userId)) {
+            ranks.put(userId, rank);
+          }
+          rank++;
+        }
+        offset += pageSize;
+        if (members.size() < pageSize) {
+          exhausted = true;
+          break;
+        }
+      }
+    }
+    return ranks;
+  }
+
+  /**
+   * 대기열 멤버는 userId 문자열이다. 이전 버전이 저장한 {"userId":"..."} 형식도 userId로 변환한다.
+   */
+  private String toUserId(String member) {
+    Matcher matcher = LEGACY_MEMBER_PATTERN.matcher(member);
+    return matcher.find() ? matcher.group(1) : member;
+  }
+
+  /**
+   * 연결마다 heartbeat를 보내고, 살아 있는 연결의 USER_QUEUE_EVENT 만료를 한 번의 파이프라인으로 늘린다.
+   * 연결이 끊긴 뒤 종료 콜백이 돌지 못해도 USER_QUEUE_EVENT는 만료되어 다른 이벤트 진입을 막지 않는다.
+   */
   @Scheduled(cron = "*/3 * * * * *")
   public void heartBeat() {
-    Map<String, SseConnection> emitterMap = emitterService.getEmitterMap();
-    for (Map.Entry<String, SseConnection> entry : emitterMap.entrySet()) {
-      log.info("emitterMap size:", emitterMap.size());
-      log.info("key: {}, value: {}", entry.getKey(), entry.getValue());
-      SseConnection conn = entry.getValue();
-      String key = entry.getKey();
+    SseConnectionRegistry registry = emitterService.getConnectionRegistry();
+    log.debug("sse connections: {}", registry.size());
+    List<String> aliveUserIds = new ArrayList<>();
+    for (SseConnection conn : registry.all()) {
       SseEmitter emitter = conn.getEmitter();
       try {
         emitter.send(SseEmitter.event().comment("heartBeat"));
+        aliveUserIds.add(conn.getUserId());
       } catch (Exception e) {
         log.info("heartbeat error");
-        SseEmitterService.closeConn(conn.getUserId(), conn.getEventId(), objectRedisTemplate);
+        emitterService.closeConn(conn);
       }
     }
+    refreshUserQueueEvents(aliveUserIds);
+  }
+
+  private void refreshUserQueueEvents(List<String> userIds) {
+    if (userIds.isEmpty()) {
+      return;
+    }
+    try {
+      redisTemplate.executePipelined(new SessionCallback<Object>() {
+        @SuppressWarnings("unchecked")
+        @Override
+        public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+          RedisOperations<String, String> stringOperations = (RedisOperations<String, String>) operations;
+          for (String userId : userIds) {
+            stringOperations.expire(USER_QUEUE_EVENT_KEY_NAME + ":" + userId,
+                WaitingQueueStore.USER_QUEUE_EVENT_TTL_SECONDS, TimeUnit.SECONDS);
+          }
+          return null;
+        }
+      });
+    } catch (Exception e) {
+      log.warn("Failed to refresh USER_QUEUE_EVENT ttl for {} connections: {}", userIds.size(),
+          e.getMessage());
+    }
   }
 
   // /**
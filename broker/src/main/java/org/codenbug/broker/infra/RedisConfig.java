@@ -38,6 +38,22 @@ public class RedisConfig {
 	public static final String ENTRY_LAST_SEEN_KEY_NAME = "ENTRY_LAST_SEEN";
 	public static final String USER_QUEUE_EVENT_KEY_NAME = "USER_QUEUE_EVENT";
 	public static final String EVENT_STATUSES_HASH_KEY = "event_statuses";
+	// 대기 인원이 있는 이벤트 id 집합 (dispatcher 승격 대상 레지스트리)
+	public static final String ACTIVE_WAITING_EVENTS_KEY_NAME = "WAITING_ACTIVE_EVENTS";
+	// 입장 슬롯 반환 / 대기열 진입 시 eventId를 발행하는 pub/sub 채널
+	public static final String ENTRY_QUEUE_SLOTS_CHANGED_CHANNEL = "ENTRY_QUEUE_SLOTS_CHANGED";
+	// 대기 유저 부가 기록 해시 (userId -> "<instanceNo>:<idx>")
+	public static final String WAITING_QUEUE_INDEX_RECORD_KEY_NAME = "WAITING_QUEUE_INDEX_RECORD";
+	// 인스턴스 ID <-> 인스턴스 번호 치환 테이블
+	public static final String WAITING_INSTANCE_IDS_KEY_NAME = "WAITING_INSTANCE_IDS";
+	public static final String WAITING_INSTANCE_NAMES_KEY_NAME = "WAITING_INSTANCE_NAMES";
+	public static final String WAITING_INSTANCE_SEQ_KEY_NAME = "WAITING_INSTANCE_SEQ";
+	// 활성 입장 토큰 인덱스 (userId -> 만료 시각 epoch millis). 이벤트별 인덱스는 ENTRY_TOKEN_EXPIRY:<eventId>
+	public static final String ENTRY_TOKEN_EXPIRY_KEY_NAME = "ENTRY_TOKEN_EXPIRY";
+	// 이벤트별 입장 토큰 인덱스가 있는 eventId 집합
+	public static final String ENTRY_TOKEN_EVENTS_KEY_NAME = "ENTRY_TOKEN_EVENTS";
+	// broker 인스턴스 heartbeat (instanceId -> 마지막 heartbeat epoch millis). dispatcher가 죽은 인스턴스를 판별한다
+	public static final String BROKER_INSTANCES_KEY_NAME = "BROKER_INSTANCES";
 	private static final String ENTRY_USER_STREAM_GROUP = "ENTRY_CONSUMER_GROUP";
 
 	@Value("${spring.data.redis.host}")
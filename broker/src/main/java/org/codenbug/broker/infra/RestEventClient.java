@@ -1,7 +1,13 @@
 package org.codenbug.broker.infra;
 
+import java.time.Duration;
+
 import org.codenbug.broker.app.EventClient;
+import org.codenbug.infra.cache.EventCacheInvalidationListener;
+import org.codenbug.infra.cache.EventCacheInvalidationSubscriber;
+import org.codenbug.infra.cache.VersionedCache;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
@@ -10,45 +16,57 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+/**
+ * 대기열 진입마다 필요한 좌석 수/상태를 이벤트 조회 한 번으로 읽고 짧은 TTL로 캐시한다.
+ * 같은 이벤트의 동시 조회는 한 번의 요청으로 합쳐지고, event 모듈의 변경 알림이 오면 비워진다.
+ */
 @Component
-public class RestEventClient implements EventClient {
+@Import(EventCacheInvalidationSubscriber.class)
+public class RestEventClient implements EventClient, EventCacheInvalidationListener {
 
   private final ObjectMapper objectMapper;
   private final RestTemplate restTemplate;
+  // 이벤트 조회 응답에는 버전이 없으므로 변경 알림이 오면 항상 지운다.
+  private final VersionedCache<String, JsonNode> events;
 
   @Value("${custom.events.url}")
   private String url;
 
-  public RestEventClient(ObjectMapper objectMapper, RestTemplate restTemplate ) {
+  public RestEventClient(ObjectMapper objectMapper, RestTemplate restTemplate,
+      @Value("${services.event.summary-cache-ttl-ms:3000}") long cacheTtlMs) {
     this.objectMapper = objectMapper;
     this.restTemplate = restTemplate;
+    this.events = new VersionedCache<>(Duration.ofMillis(cacheTtlMs), data -> null);
   }
 
   @Override
   public int getSeatCount(String eventId) {
-    ResponseEntity<String> forEntity =
-        restTemplate.getForEntity(url + "/api/v1/events/" + eventId, String.class);
-    try{
-      JsonNode data = objectMapper.readTree(forEntity.getBody()).get("data");
-      JsonNode seatCount = data.get("seatCount");
-      if (seatCount != null && !seatCount.isNull()) {
-        return seatCount.asInt();
-      }
-      JsonNode availableSeatCount = data.get("availableSeatCount");
-      if (availableSeatCount != null && !availableSeatCount.isNull()) {
-        return availableSeatCount.asInt();
-      }
-      throw new IllegalStateException("이벤트 좌석 수를 찾을 수 없습니다. eventId=" + eventId);
-    }catch (JsonProcessingException e){
-      throw new RuntimeException(e);
+    JsonNode data = events.get(eventId, this::fetchEvent);
+    JsonNode seatCount = data.get("seatCount");
+    if (seatCount != null && !seatCount.isNull()) {
+      return seatCount.asInt();
+    }
+    JsonNode availableSeatCount = data.get("availableSeatCount");
+    if (availableSeatCount != null && !availableSeatCount.isNull()) {
+      return availableSeatCount.asInt();
     }
+    throw new IllegalStateException("이벤트 좌석 수를 찾을 수 없습니다. eventId=" + eventId);
   }
 
   @Override
   public String getSeatStatus(String eventId) {
+    return events.get(eventId, this::fetchEvent).get("status").asText();
+  }
+
+  @Override
+  public void onEventUpdated(String eventId, long staleVersion) {
+    events.invalidate(eventId, staleVersion);
+  }
+
+  private JsonNode fetchEvent(String eventId) {
     ResponseEntity<String> forEntity = restTemplate.getForEntity(url + "/api/v1/events/" + eventId, String.class);
     try{
-      return objectMapper.readTree(forEntity.getBody()).get("data").get("status").asText();
+      return objectMapper.readTree(forEntity.getBody()).get("data");
     }catch (JsonProcessingException e){
       throw new RuntimeException(e);
     }
@@ -0,0 +1,51 @@
+package org.codenbug.broker.infra;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * WAITING_QUEUE_INDEX_RECORD:&lt;eventId&gt; 해시의 값 형식.
+ * <p>
+ * userId는 해시 필드, eventId는 키에 이미 들어 있으므로 값에는 인스턴스 번호와 idx만 "&lt;instanceNo&gt;:&lt;idx&gt;"
+ * 형태로 저장한다. instanceNo는 WAITING_INSTANCE_IDS 해시에서 인스턴스 ID를 작은 정수로 치환한 값이며, 승격
+ * 스크립트는 WAITING_INSTANCE_NAMES 해시로 다시 인스턴스 ID를 찾는다. 이전 버전이 저장한 JSON 값도 읽을 수 있다.
+ *
+ * @param instanceNo 인스턴스 번호. 이전 JSON 형식이면 null
+ */
+public record WaitingQueueRecord(Long instanceNo, long idx) {
+
+	private static final char SEPARATOR = ':';
+	private static final Pattern LEGACY_IDX_PATTERN = Pattern.compile("\"idx\"\\s*:\\s*\"?(\\d+)");
+
+	public static String encode(long instanceNo, long idx) {
+		return String.valueOf(instanceNo) + SEPARATOR + idx;
+	}
+
+	/**
+	 * @return 해석할 수 없는 값이면 null
+	 */
+	public static WaitingQueueRecord decode(String raw) {
+		if (raw == null || raw.isEmpty()) {
+			return null;
+		}
+		if (raw.charAt(0) == '{') {
+			Matcher matcher = LEGACY_IDX_PATTERN.matcher(raw);
+			return matcher.find() ? new WaitingQueueRecord(null, Long.parseLong(matcher.group(1))) : null;
+		}
+
+		int separator = raw.indexOf(SEPARATOR);
+		if (separator <= 0 || separator == raw.length() - 1) {
+			return null;
+		}
+		try {
+			return new WaitingQueueRecord(Long.parseLong(raw, 0, separator, 10),
+				Long.parseLong(raw, separator + 1, raw.length(), 10));
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	public boolean isLegacy() {
+		return instanceNo == null;
+	}
+}
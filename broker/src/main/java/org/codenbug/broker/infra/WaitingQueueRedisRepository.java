@@ -2,29 +2,90 @@ package org.codenbug.broker.infra;
 
 import static org.codenbug.broker.infra.RedisConfig.*;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.core.io.ClassPathResource;
 
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Component;
 
 import org.codenbug.broker.app.WaitingQueueStore;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 @Component
 public class WaitingQueueRedisRepository implements WaitingQueueStore {
 
   private final StringRedisTemplate redisTemplate;
-	private final ObjectMapper objectMapper;
+	@SuppressWarnings("rawtypes")
+	private final DefaultRedisScript<List> enqueueScript;
 
-	public WaitingQueueRedisRepository(StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+	public WaitingQueueRedisRepository(StringRedisTemplate redisTemplate) {
     	this.redisTemplate = redisTemplate;
-		this.objectMapper = objectMapper;
+		this.enqueueScript = new DefaultRedisScript<>(loadLuaScriptFromResource("enqueue_waiting_user.lua"),
+			List.class);
+	}
+
+	private static String loadLuaScriptFromResource(String scriptName) {
+		try (InputStream is = new ClassPathResource(scriptName).getInputStream();
+			BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+			return reader.lines().collect(Collectors.joining("\n"));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public EnqueueResult enqueue(String eventId, String userId, String instanceId, long epochMillis,
+		boolean trackLastSeen) {
+		List<String> keys = List.of(
+			ENTRY_TOKEN_STORAGE_KEY_NAME + ":" + userId,
+			USER_QUEUE_EVENT_KEY_NAME + ":" + userId,
+			ENTRY_QUEUE_SLOTS_KEY_NAME,
+			EVENT_STATUSES_HASH_KEY,
+			WAITING_USER_IDS_KEY_NAME + ":" + eventId,
+			WAITING_QUEUE_IDX_KEY_NAME,
+			WAITING_QUEUE_KEY_NAME + ":" + eventId,
+			WAITING_LAST_SEEN_KEY_NAME + ":" + eventId,
+			WAITING_QUEUE_INDEX_RECORD_KEY_NAME + ":" + eventId,
+			ACTIVE_WAITING_EVENTS_KEY_NAME,
+			WAITING_INSTANCE_IDS_KEY_NAME,
+			WAITING_INSTANCE_NAMES_KEY_NAME,
+			WAITING_INSTANCE_SEQ_KEY_NAME);
+
+		List<?> result = redisTemplate.execute(enqueueScript, keys, eventId, userId, instanceId,
+			String.valueOf(epochMillis), ENTRY_QUEUE_SLOTS_CHANGED_CHANNEL, trackLastSeen ? "1" : "0",
+			String.valueOf(USER_QUEUE_EVENT_TTL_SECONDS));
+		if (result == null || result.isEmpty()) {
+			throw new IllegalStateException("대기열 진입 스크립트 결과가 비어 있습니다. eventId=" + eventId);
+		}
+
+		@SuppressWarnings("unchecked")
+		List<Object> values = (List<Object>) result;
+		EnqueueStatus status = EnqueueStatus.valueOf(values.get(0).toString());
+		return new EnqueueResult(status, toNullableLong(values, 1), toNullableLong(values, 2),
+			toNullableLong(values, 3));
+	}
+
+	@Override
+	public void initializeEntryQueueCountIfAbsent(String eventId, int slotCount) {
+		boolean initialized = redisTemplate.opsForHash()
+			.putIfAbsent(ENTRY_QUEUE_SLOTS_KEY_NAME, eventId, String.valueOf(slotCount));
+		if (initialized) {
+			signalPromotion(eventId);
+		}
 	}
 
   public boolean entryQueueCountExists(String eventId) {
@@ -34,51 +95,55 @@ public class WaitingQueueRedisRepository implements WaitingQueueStore {
 
   public void updateEntryQueueCount(String eventId, int slotCount) {
 	  redisTemplate.opsForHash().put(ENTRY_QUEUE_SLOTS_KEY_NAME, eventId, String.valueOf(slotCount));
+	  signalPromotion(eventId);
   }
   public void incrementEntryQueueCount(String eventId) {
     redisTemplate.opsForHash().increment(ENTRY_QUEUE_SLOTS_KEY_NAME, eventId, 1);
+    signalPromotion(eventId);
   }
 
-  public boolean recordWaitingUserIfAbsent(String eventId, String userId) {
-	  return redisTemplate.opsForHash()
-		  .putIfAbsent(WAITING_USER_IDS_KEY_NAME + ":" + eventId, userId, "true");
-  }
-
-  public long incrementWaitingQueueIdx(String eventId) {
-    Long idx =
-        redisTemplate.opsForHash().increment(WAITING_QUEUE_IDX_KEY_NAME, eventId.toString(), 1);
-    return idx == null ? 0L : idx;
-  }
-
-  public void saveUserToWaitingQueue(String userId, String eventId, long idx) {
-		try {
-			redisTemplate.opsForZSet().add(WAITING_QUEUE_KEY_NAME + ":" + eventId, userId, idx);
-		}catch (Exception e) {
-			throw new RuntimeException(e);
-		}
-  }
-
-  public void saveAdditionalUserData(String userId, String eventId, long idx, String instanceId){
-		try {
-			redisTemplate.opsForHash().put("WAITING_QUEUE_INDEX_RECORD:" + eventId, userId,
-				objectMapper.writeValueAsString(
-					Map.of(QUEUE_MESSAGE_USER_ID_KEY_NAME, userId, QUEUE_MESSAGE_IDX_KEY_NAME,
-						String.valueOf(idx), QUEUE_MESSAGE_EVENT_ID_KEY_NAME, eventId,
-						QUEUE_MESSAGE_INSTANCE_ID_KEY_NAME, instanceId)));
-		}catch (JsonProcessingException e) {
-			throw new RuntimeException(e);
-		}
+  /**
+   * dispatcher에게 해당 이벤트의 승격을 즉시 시도하라고 알린다.
+   */
+  public void signalPromotion(String eventId) {
+    redisTemplate.convertAndSend(ENTRY_QUEUE_SLOTS_CHANGED_CHANNEL, eventId);
   }
 
 	public Long getUserRank(String eventId, String userId) {
 		return redisTemplate.opsForZSet().rank(WAITING_QUEUE_KEY_NAME + ":" + eventId, userId);
 	}
 
-	public boolean deleteUserFromEntry(String userId) {
+	public boolean deleteUserFromEntry(String eventId, String userId) {
 		Boolean deleted = redisTemplate.delete(ENTRY_TOKEN_STORAGE_KEY_NAME + ":" + userId);
+		unindexEntryToken(eventId, userId);
 		return Boolean.TRUE.equals(deleted);
 	}
 
+	@Override
+	public void indexEntryToken(String eventId, String userId, long expiresAtMillis) {
+		redisTemplate.executePipelined(new SessionCallback<Object>() {
+			@SuppressWarnings("unchecked")
+			@Override
+			public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+				RedisOperations<String, String> stringOperations =
+					(RedisOperations<String, String>) operations;
+				stringOperations.opsForZSet().add(ENTRY_TOKEN_EXPIRY_KEY_NAME, userId, expiresAtMillis);
+				stringOperations.opsForZSet()
+					.add(ENTRY_TOKEN_EXPIRY_KEY_NAME + ":" + eventId, userId, expiresAtMillis);
+				stringOperations.opsForSet().add(ENTRY_TOKEN_EVENTS_KEY_NAME, eventId);
+				return null;
+			}
+		});
+	}
+
+	@Override
+	public void unindexEntryToken(String eventId, String userId) {
+		redisTemplate.opsForZSet().remove(ENTRY_TOKEN_EXPIRY_KEY_NAME, userId);
+		if (eventId != null) {
+			redisTemplate.opsForZSet().remove(ENTRY_TOKEN_EXPIRY_KEY_NAME + ":" + eventId, userId);
+		}
+	}
+
 	public boolean deleteUserFromWaiting(String eventId, String userId) {
 		Long removed = redisTemplate.opsForZSet().remove(WAITING_QUEUE_KEY_NAME + ":" + eventId, userId);
 		return removed != null && removed > 0;
@@ -86,7 +151,7 @@ public class WaitingQueueRedisRepository implements WaitingQueueStore {
 
 	public void deleteWaitingUserRecord(String eventId, String userId) {
 		redisTemplate.opsForHash().delete(WAITING_USER_IDS_KEY_NAME + ":" + eventId, userId);
-		redisTemplate.opsForHash().delete("WAITING_QUEUE_INDEX_RECORD:" + eventId, userId);
+		redisTemplate.opsForHash().delete(WAITING_QUEUE_INDEX_RECORD_KEY_NAME + ":" + eventId, userId);
 		redisTemplate.opsForZSet().remove(WAITING_LAST_SEEN_KEY_NAME + ":" + eventId, userId);
 	}
 
@@ -94,20 +159,10 @@ public class WaitingQueueRedisRepository implements WaitingQueueStore {
 		redisTemplate.delete(USER_QUEUE_EVENT_KEY_NAME + ":" + userId);
 	}
 
-	public boolean isUserExistInWaiting(String eventId, String userId) {
-		return redisTemplate.opsForZSet().score(WAITING_QUEUE_KEY_NAME + ":" + eventId, userId) != null;
-	}
-
 	public void updateWaitingLastSeen(String eventId, String userId, long epochMillis) {
 		redisTemplate.opsForZSet().add(WAITING_LAST_SEEN_KEY_NAME + ":" + eventId, userId, epochMillis);
 	}
 
-	public boolean setUserQueueEventIfAbsent(String userId, String eventId) {
-		Boolean inserted = redisTemplate.opsForValue()
-			.setIfAbsent(USER_QUEUE_EVENT_KEY_NAME + ":" + userId, eventId);
-		return Boolean.TRUE.equals(inserted);
-	}
-
 	public String getUserQueueEvent(String userId) {
 		Object value = redisTemplate.opsForValue().get(USER_QUEUE_EVENT_KEY_NAME + ":" + userId);
 		return value == null ? null : value.toString();
@@ -131,11 +186,6 @@ public class WaitingQueueRedisRepository implements WaitingQueueStore {
 			java.util.concurrent.TimeUnit.SECONDS);
 	}
 
-	public String getEventStatus(String eventId) {
-		Object value = redisTemplate.opsForHash().get(EVENT_STATUSES_HASH_KEY, eventId);
-		return value == null ? null : value.toString();
-	}
-
 	public PollingAdaptiveContext getPollingAdaptiveContext(String eventId, boolean includeWaitingQueueSize) {
 		List<Object> values = redisTemplate.executePipelined(new SessionCallback<Object>() {
 			@SuppressWarnings("unchecked")
@@ -175,9 +225,44 @@ public class WaitingQueueRedisRepository implements WaitingQueueStore {
 		return redisTemplate.opsForZSet().size(WAITING_QUEUE_KEY_NAME + ":" + eventId);
 	}
 
-	public long countActiveEntryTokens() {
-		java.util.Set<String> keys = redisTemplate.keys(ENTRY_TOKEN_STORAGE_KEY_NAME + ":*");
-		return keys == null ? 0L : keys.size();
+	@Override
+	public ActiveEntryTokenCounts countActiveEntryTokens(long nowMillis) {
+		Set<String> eventIds = redisTemplate.opsForSet().members(ENTRY_TOKEN_EVENTS_KEY_NAME);
+		List<String> orderedEventIds = eventIds == null ? List.of() : List.copyOf(eventIds);
+
+		// TTL로 사라진 토큰은 인덱스에서 만료 시각 기준으로 걷어낸 뒤 ZCARD로 센다.
+		List<Object> values = redisTemplate.executePipelined(new SessionCallback<Object>() {
+			@SuppressWarnings("unchecked")
+			@Override
+			public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+				RedisOperations<String, String> stringOperations =
+					(RedisOperations<String, String>) operations;
+				stringOperations.opsForZSet().removeRangeByScore(ENTRY_TOKEN_EXPIRY_KEY_NAME, 0, nowMillis);
+				stringOperations.opsForZSet().zCard(ENTRY_TOKEN_EXPIRY_KEY_NAME);
+				for (String eventId : orderedEventIds) {
+					String key = ENTRY_TOKEN_EXPIRY_KEY_NAME + ":" + eventId;
+					stringOperations.opsForZSet().removeRangeByScore(key, 0, nowMillis);
+					stringOperations.opsForZSet().zCard(key);
+				}
+				return null;
+			}
+		});
+
+		Long total = toNullableLong(values, 1);
+		Map<String, Long> byEvent = new HashMap<>();
+		for (int i = 0; i < orderedEventIds.size(); i++) {
+			Long count = toNullableLong(values, 3 + i * 2);
+			byEvent.put(orderedEventIds.get(i), count == null ? 0L : count);
+		}
+
+		String[] emptyEventIds = byEvent.entrySet().stream()
+			.filter(entry -> entry.getValue() == 0L)
+			.map(Map.Entry::getKey)
+			.toArray(String[]::new);
+		if (emptyEventIds.length > 0) {
+			redisTemplate.opsForSet().remove(ENTRY_TOKEN_EVENTS_KEY_NAME, (Object[])emptyEventIds);
+		}
+		return new ActiveEntryTokenCounts(total == null ? 0L : total, byEvent);
 	}
 
 	private String toNullableString(List<Object> values, int index) {
@@ -5,7 +5,9 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.codenbug.broker.app.QueueObservation;
+import org.codenbug.broker.app.WaitingQueueStore.ActiveEntryTokenCounts;
 import org.codenbug.broker.infra.WaitingQueueRedisRepository;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import io.micrometer.core.instrument.Counter;
@@ -20,17 +22,38 @@ public class MicrometerQueueObservation implements QueueObservation {
 	private final Map<String, AtomicLong> waitingUsersByEvent = new ConcurrentHashMap<>();
 	private final Map<String, AtomicLong> entrySlotsByEvent = new ConcurrentHashMap<>();
 	private final Map<String, AtomicLong> pollingDelayByEventState = new ConcurrentHashMap<>();
+	private final Map<String, AtomicLong> activeTokensByEvent = new ConcurrentHashMap<>();
+	private final AtomicLong activeTokens = new AtomicLong();
 
 	public MicrometerQueueObservation(MeterRegistry meterRegistry,
 		WaitingQueueRedisRepository waitingQueueRedisRepository) {
 		this.meterRegistry = meterRegistry;
 		this.waitingQueueRedisRepository = waitingQueueRedisRepository;
-		Gauge.builder("ticketon.queue.active_tokens", waitingQueueRedisRepository,
-				WaitingQueueRedisRepository::countActiveEntryTokens)
+		// scrape 시점에는 Redis를 조회하지 않고 주기적으로 갱신한 값을 읽는다.
+		Gauge.builder("ticketon.queue.active_tokens", activeTokens, AtomicLong::get)
 			.description("Active queue entry token count")
 			.register(meterRegistry);
 	}
 
+	/**
+	 * 활성 입장 토큰 인덱스에서 전체/이벤트별 토큰 수를 읽어 게이지 값을 갱신한다.
+	 */
+	@Scheduled(fixedDelayString = "${broker.queue-metrics.active-token-refresh-ms:5000}")
+	public void refreshActiveEntryTokens() {
+		ActiveEntryTokenCounts counts = waitingQueueRedisRepository.countActiveEntryTokens(
+			System.currentTimeMillis());
+		activeTokens.set(counts.total());
+		counts.byEvent().forEach((eventId, count) -> registerGauge(activeTokensByEvent,
+			"ticketon.queue.active_tokens_by_event", eventId, "Active queue entry token count per event")
+			.set(count));
+		// 인덱스에서 사라진 이벤트는 0으로 내린다.
+		activeTokensByEvent.forEach((eventId, value) -> {
+			if (!counts.byEvent().containsKey(eventId)) {
+				value.set(0);
+			}
+		});
+	}
+
 	@Override
 	public void recordPollingRequest(String eventId, String state, long pollAfterMs) {
 		Counter.builder("ticketon.queue.polling.requests")
@@ -1,15 +1,15 @@
 package org.codenbug.broker.service;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.codenbug.broker.domain.Status;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import lombok.Setter;
-
 public class SseConnection {
 	private String userId;
 	private SseEmitter emitter;
-	@Setter
-	private Status status;
+	// 승급 처리, 순번 전송, 연결 종료 콜백이 동시에 접근하므로 CAS로만 전이한다.
+	private final AtomicReference<Status> status = new AtomicReference<>();
 
 	private String eventId;
 
@@ -19,7 +19,7 @@ public class SseConnection {
 	public SseConnection(String userId, SseEmitter emitter, Status status, String eventId) {
 		this.userId = userId;
 		this.emitter = emitter;
-		this.status = status;
+		this.status.set(status);
 		this.eventId = eventId;
 	}
 
@@ -28,7 +28,23 @@ public class SseConnection {
 	}
 
 	public Status getStatus() {
-		return status;
+		return status.get();
+	}
+
+	/**
+	 * 현재 상태가 {@code expected}일 때만 {@code next}로 바꾼다.
+	 *
+	 * @return 전이에 성공하면 true
+	 */
+	public boolean compareAndSetStatus(Status expected, Status next) {
+		return status.compareAndSet(expected, next);
+	}
+
+	/**
+	 * 연결을 CLOSED로 바꾸고 직전 상태를 반환한다. 직전 상태가 CLOSED가 아닌 호출은 연결당 한 번뿐이다.
+	 */
+	public Status close() {
+		return status.getAndSet(Status.CLOSED);
 	}
 
 	public String getEventId() {
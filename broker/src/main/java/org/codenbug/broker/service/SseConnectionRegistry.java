@@ -0,0 +1,102 @@
+package org.codenbug.broker.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 이 인스턴스에 연결된 SSE 커넥션 목록. 이벤트 ID별로 샤딩해 두어 브로드캐스트가 해당 이벤트의 커넥션만 순회할 수 있다.
+ * <p>
+ * userId 인덱스는 유저당 하나의 커넥션만 허용하고 승급 메시지 처리 시 조회에 쓰인다.
+ */
+@Component
+public class SseConnectionRegistry {
+
+  private final Map<String, SseConnection> connectionsByUser = new ConcurrentHashMap<>();
+  private final Map<String, Map<String, SseConnection>> connectionsByEvent = new ConcurrentHashMap<>();
+  private final LongAdder opened = new LongAdder();
+  private final LongAdder closed = new LongAdder();
+
+  public SseConnectionRegistry(MeterRegistry meterRegistry) {
+    Gauge.builder("sse_connections_active", this, SseConnectionRegistry::size)
+        .description("Number of active SSE connections").register(meterRegistry);
+    Gauge.builder("sse_connections_events", connectionsByEvent, Map::size)
+        .description("Number of events with active SSE connections").register(meterRegistry);
+    FunctionCounter.builder("sse_connections_opened", opened, LongAdder::sum)
+        .description("Number of SSE connections opened").register(meterRegistry);
+    FunctionCounter.builder("sse_connections_closed", closed, LongAdder::sum)
+        .description("Number of SSE connections closed").register(meterRegistry);
+  }
+
+  /**
+   * @return 같은 유저의 커넥션이 이미 있으면 false
+   */
+  public boolean register(SseConnection connection) {
+    if (connectionsByUser.putIfAbsent(connection.getUserId(), connection) != null) {
+      return false;
+    }
+    // remove가 빈 샤드를 compute 안에서 지우므로, 추가도 같은 원자 구간 안에서 해야 지워진 샤드에 넣지 않는다.
+    connectionsByEvent.compute(connection.getEventId(), (eventId, shard) -> {
+      Map<String, SseConnection> target = shard == null ? new ConcurrentHashMap<>() : shard;
+      target.put(connection.getUserId(), connection);
+      return target;
+    });
+    opened.increment();
+    return true;
+  }
+
+  public SseConnection get(String userId) {
+    return connectionsByUser.get(userId);
+  }
+
+  /**
+   * 주어진 커넥션이 아직 등록되어 있을 때만 제거한다. 같은 유저가 다시 연결한 새 커넥션은 건드리지 않는다.
+   *
+   * @return 이번 호출로 제거되었으면 true
+   */
+  public boolean remove(SseConnection connection) {
+    if (!connectionsByUser.remove(connection.getUserId(), connection)) {
+      return false;
+    }
+    connectionsByEvent.computeIfPresent(connection.getEventId(), (eventId, shard) -> {
+      shard.remove(connection.getUserId(), connection);
+      return shard.isEmpty() ? null : shard;
+    });
+    closed.increment();
+    return true;
+  }
+
+  public Set<String> eventIds() {
+    return connectionsByEvent.keySet();
+  }
+
+  public Collection<SseConnection> connectionsOf(String eventId) {
+    Map<String, SseConnection> shard = connectionsByEvent.get(eventId);
+    return shard == null ? List.of() : shard.values();
+  }
+
+  public Collection<SseConnection> all() {
+    return connectionsByUser.values();
+  }
+
+  public int size() {
+    return connectionsByUser.size();
+  }
+
+  public long openedCount() {
+    return opened.sum();
+  }
+
+  public long closedCount() {
+    return closed.sum();
+  }
+}
@@ -2,9 +2,7 @@ package org.codenbug.broker.service;
 
 import static org.codenbug.broker.infra.RedisConfig.*;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
+import org.codenbug.broker.app.WaitingQueueStore;
 import org.codenbug.broker.domain.Status;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
@@ -16,82 +14,121 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class SseEmitterService {
 
-  private static final Map<String, SseConnection> emitterMap = new ConcurrentHashMap<>();
+  private final SseConnectionRegistry connectionRegistry;
+  private final RedisTemplate<String, Object> redisTemplate;
+  private final WaitingQueueStore waitingQueueStore;
 
-  public Map<String, SseConnection> getEmitterMap() {
-    return emitterMap;
+  public SseEmitterService(SseConnectionRegistry connectionRegistry,
+      RedisTemplate<String, Object> redisTemplate, WaitingQueueStore waitingQueueStore) {
+    this.connectionRegistry = connectionRegistry;
+    this.redisTemplate = redisTemplate;
+    this.waitingQueueStore = waitingQueueStore;
   }
 
-  private final RedisTemplate<String, Object> redisTemplate;
+  public SseConnectionRegistry getConnectionRegistry() {
+    return connectionRegistry;
+  }
 
-  public SseEmitterService(RedisTemplate<String, Object> redisTemplate) {
-    this.redisTemplate = redisTemplate;
+  public SseConnection getConnection(String userId) {
+    return connectionRegistry.get(userId);
   }
 
   public SseEmitter add(String userId, String eventId) {
 
-    if (emitterMap.containsKey(userId)) {
-      throw new IllegalStateException("이미 대기열에 연결되어 있습니다.");
-    }
-
     // 새로운 emitter 생성
     SseEmitter emitter = new SseEmitter(0L);
-    // emitter연결이 끊어질 때 만약 entry상태라면 entry count를 1 증가
-    emitter.onCompletion(() -> {
-      closeConn(userId, eventId, redisTemplate);
-    });
-    emitter.onError((e) -> {
-      closeConn(userId, eventId, redisTemplate);
+    SseConnection connection = new SseConnection(userId, emitter, Status.IN_ENTRY, eventId);
 
-    });
-    emitter.onTimeout(() -> {
-      closeConn(userId, eventId, redisTemplate);
+    // 전역 공간에 emitter 저장. 콜백보다 먼저 등록해야 초기 전송 실패 시에도 정리된다.
+    if (!connectionRegistry.register(connection)) {
+      throw new IllegalStateException("이미 대기열에 연결되어 있습니다.");
+    }
 
-    });
+    // emitter연결이 끊어질 때 만약 entry상태라면 entry count를 1 증가
+    // 콜백은 이 커넥션만 닫는다. 같은 유저가 다시 연결한 새 커넥션에는 영향이 없다.
+    emitter.onCompletion(() -> closeConn(connection));
+    emitter.onError((e) -> closeConn(connection));
+    emitter.onTimeout(() -> closeConn(connection));
 
     // 초기 메시지 전달
     try {
       emitter.send(SseEmitter.event().data("sse 연결 성공. userId:" + userId));
     } catch (Exception e) {
-      closeConn(userId, eventId, redisTemplate);
-
+      closeConn(connection);
     }
 
-    // 전역 공간에 emitter 저장
-    emitterMap.put(userId, new SseConnection(userId, emitter, Status.IN_ENTRY, eventId));
-
     return emitter;
   }
 
-  public static void closeConn(String userId, String eventId,
-      RedisTemplate<String, Object> redisTemplate) {
-    // 커넥션 정보 얻기
+  /**
+   * 대기열 진입에 실패한 커넥션을 버린다. 진입 스크립트가 Redis에 아무것도 남기지 않았으므로 closeConn의 정리 없이
+   * 레지스트리에서만 빼고, 먼저 닫아 두어 completeWithError가 부르는 콜백도 Redis를 건드리지 않게 한다.
+   *
+   * @param userId  사용자 ID
+   * @param emitter add로 만든 emitter
+   * @param cause   진입 실패 원인
+   */
+  public void discard(String userId, SseEmitter emitter, Throwable cause) {
+    SseConnection connection = connectionRegistry.get(userId);
+    if (connection != null && connection.getEmitter() == emitter) {
+      connection.close();
+      connectionRegistry.remove(connection);
+    }
+    emitter.completeWithError(cause);
+  }
 
-    SseConnection sseConnection = emitterMap.remove(userId);
+  public void closeConn(String userId, String eventId) {
+    SseConnection sseConnection = connectionRegistry.get(userId);
     if (sseConnection == null) {
       log.warn("Attempted to close connection for user '{}', but it was already closed.", userId);
       return;
     }
-    Status status = sseConnection.getStatus();
+    closeConn(sseConnection);
+  }
+
+  /**
+   * 커넥션을 닫고 상태에 맞게 Redis를 정리한다. completion/error/timeout 콜백이 동시에 호출되어도 CLOSED 전이에 성공한
+   * 한 번만 정리하므로 ENTRY_QUEUE_SLOTS 보상은 커넥션당 정확히 한 번이다.
+   */
+  public void closeConn(SseConnection sseConnection) {
+    Status status = sseConnection.close();
+    connectionRegistry.remove(sseConnection);
+    if (status == Status.CLOSED) {
+      return;
+    }
 
+    String userId = sseConnection.getUserId();
     // 커넥션 정보로부터 이벤트 아이디 얻기
-    String parsedEventId = sseConnection.getEventId().toString();
+    String parsedEventId = sseConnection.getEventId();
 
     log.info("status:{}", status);
     // 대기열 탈출 상태에서 커넥션이 종료되었다면
     // entry_queue_count를 1 감소시킨 것을 다시 증가
-    if (status.equals(Status.IN_PROGRESS)) {
+    if (status == Status.IN_PROGRESS) {
       log.info("count incremented");
       redisTemplate.opsForHash().increment(ENTRY_QUEUE_SLOTS_KEY_NAME, parsedEventId, 1);
       redisTemplate.delete(buildEntryTokenKey(userId));
-    } else if (status.equals(Status.IN_ENTRY)) {
-
-      redisTemplate.opsForZSet().remove(WAITING_QUEUE_KEY_NAME + ":" + eventId,
-          Map.of(QUEUE_MESSAGE_USER_ID_KEY_NAME, userId));
-      redisTemplate.opsForHash().delete("WAITING_QUEUE_INDEX_RECORD:" + eventId.toString(),
-          userId.toString());
+      waitingQueueStore.unindexEntryToken(parsedEventId, userId);
+      redisTemplate.convertAndSend(ENTRY_QUEUE_SLOTS_CHANGED_CHANNEL, parsedEventId);
+    } else if (status == Status.IN_ENTRY) {
+
+      // enqueue 스크립트는 userId를 멤버로 ZADD한다.
+      redisTemplate.opsForZSet().remove(WAITING_QUEUE_KEY_NAME + ":" + parsedEventId, userId);
+      redisTemplate.opsForHash().delete(WAITING_QUEUE_INDEX_RECORD_KEY_NAME + ":" + parsedEventId,
+          userId);
       redisTemplate.opsForHash().delete(WAITING_USER_IDS_KEY_NAME + ":" + parsedEventId,
-          userId.toString());
+          userId);
+    }
+    clearUserQueueEvent(userId, parsedEventId);
+  }
+
+  /**
+   * USER_QUEUE_EVENT는 heartbeat가 멈추면 만료되지만, 바로 다른 이벤트에 들어갈 수 있게 연결이 끝날 때 지운다.
+   * 다른 이벤트 대기열 때문에 진입이 거절된 커넥션이 닫힐 때 그 이벤트의 값을 지우지 않도록 같은 이벤트일 때만 지운다.
+   */
+  private void clearUserQueueEvent(String userId, String eventId) {
+    if (eventId.equals(waitingQueueStore.getUserQueueEvent(userId))) {
+      waitingQueueStore.clearUserQueueEvent(userId);
     }
   }
 
@@ -102,7 +139,7 @@ public class SseEmitterService {
    * @param eventId 이벤트 ID
    */
   public void closeConnection(String userId, String eventId) {
-    closeConn(userId, eventId, redisTemplate);
+    closeConn(userId, eventId);
   }
 
   private static String buildEntryTokenKey(String userId) {
@@ -1,10 +1,7 @@
 package org.codenbug.broker.ui;
 
-import java.util.Map;
-
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.codenbug.broker.app.WaitingQueueEntryService;
-import org.codenbug.broker.service.SseEmitterService;
 import org.codenbug.common.Role;
 import org.codenbug.common.RsData;
 import org.codenbug.securityaop.aop.AuthNeeded;
@@ -20,9 +17,6 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 
-import io.micrometer.core.instrument.Gauge;
-import io.micrometer.core.instrument.MeterRegistry;
-import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 
 @RestController
@@ -32,20 +26,9 @@ import lombok.extern.slf4j.Slf4j;
 public class WaitingQueueController {
 
   private final WaitingQueueEntryService waitingQueueEntryService;
-  private final SseEmitterService sseEmitterService;
-  private final MeterRegistry registry;
 
-  public WaitingQueueController(WaitingQueueEntryService waitingQueueEntryService,
-      SseEmitterService sseEmitterService, MeterRegistry registry) {
+  public WaitingQueueController(WaitingQueueEntryService waitingQueueEntryService) {
     this.waitingQueueEntryService = waitingQueueEntryService;
-    this.sseEmitterService = sseEmitterService;
-    this.registry = registry;
-  }
-
-  @PostConstruct
-  void bindGauge() {
-    Gauge.builder("sse_connections_active", sseEmitterService.getEmitterMap(), Map::size)
-        .description("Number of active SSE connections").register(registry);
   }
 
   /**
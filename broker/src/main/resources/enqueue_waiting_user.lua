@@ -0,0 +1,76 @@
+-- 대기열 진입을 한 번의 호출로 원자적으로 처리한다.
+-- KEYS[1]  ENTRY_TOKEN:<userId>
+-- KEYS[2]  USER_QUEUE_EVENT:<userId>
+-- KEYS[3]  ENTRY_QUEUE_SLOTS
+-- KEYS[4]  event_statuses
+-- KEYS[5]  WAITING_USER_IDS:<eventId>
+-- KEYS[6]  WAITING_QUEUE_IDX
+-- KEYS[7]  WAITING:<eventId>
+-- KEYS[8]  WAITING_LAST_SEEN:<eventId>
+-- KEYS[9]  WAITING_QUEUE_INDEX_RECORD:<eventId>
+-- KEYS[10] WAITING_ACTIVE_EVENTS
+-- KEYS[11] WAITING_INSTANCE_IDS, KEYS[12] WAITING_INSTANCE_NAMES, KEYS[13] WAITING_INSTANCE_SEQ
+-- ARGV[1] eventId, ARGV[2] userId, ARGV[3] instanceId, ARGV[4] now(epoch millis), ARGV[5] 승격 신호 채널
+-- ARGV[6] "1"이면 WAITING_LAST_SEEN에 기록한다(polling). SSE는 연결이 곧 생존 신호라 기록하지 않는다.
+-- ARGV[7] USER_QUEUE_EVENT 만료(초). polling 요청과 SSE heartbeat가 갱신하므로 끊긴 유저의 값은 스스로 사라진다.
+-- return { status, rank(0-based), waitingQueueSize, entryQueueSlots }
+
+local eventId = ARGV[1]
+local userId = ARGV[2]
+local instanceId = ARGV[3]
+local now = tonumber(ARGV[4])
+
+if redis.call("EXISTS", KEYS[1]) == 1 then
+    return { "ALREADY_IN_ENTRY" }
+end
+
+local currentEventId = redis.call("GET", KEYS[2])
+if currentEventId and currentEventId ~= eventId then
+    return { "IN_OTHER_EVENT" }
+end
+
+-- 외부 조회가 필요한 초기화는 호출자가 처리한 뒤 다시 호출한다. 아직 아무것도 쓰지 않은 상태다.
+if redis.call("HEXISTS", KEYS[3], eventId) == 0 then
+    return { "SLOTS_UNINITIALIZED" }
+end
+
+local eventStatus = redis.call("HGET", KEYS[4], eventId)
+if not eventStatus then
+    return { "STATUS_UNKNOWN" }
+end
+
+if string.upper(eventStatus) ~= "OPEN" then
+    if currentEventId then
+        redis.call("DEL", KEYS[2])
+    end
+    return { "EVENT_NOT_OPEN" }
+end
+
+if redis.call("HSETNX", KEYS[5], userId, "true") == 0 then
+    return { "ALREADY_WAITING" }
+end
+
+redis.call("SET", KEYS[2], eventId, "EX", ARGV[7])
+
+local instanceNo = redis.call("HGET", KEYS[11], instanceId)
+if not instanceNo then
+    instanceNo = redis.call("INCR", KEYS[13])
+    redis.call("HSET", KEYS[11], instanceId, instanceNo)
+    redis.call("HSET", KEYS[12], instanceNo, instanceId)
+end
+
+local idx = redis.call("HINCRBY", KEYS[6], eventId, 1)
+redis.call("ZADD", KEYS[7], idx, userId)
+if ARGV[6] == "1" then
+    redis.call("ZADD", KEYS[8], now, userId)
+end
+-- 값 형식은 "<instanceNo>:<idx>" (WaitingQueueRecord 참고)
+redis.call("HSET", KEYS[9], userId, instanceNo .. ":" .. idx)
+redis.call("SADD", KEYS[10], eventId)
+redis.call("PUBLISH", ARGV[5], eventId)
+
+local rank = redis.call("ZRANK", KEYS[7], userId)
+local size = redis.call("ZCARD", KEYS[7])
+local slots = tonumber(redis.call("HGET", KEYS[3], eventId)) or 0
+
+return { "ENQUEUED", rank, size, slots }
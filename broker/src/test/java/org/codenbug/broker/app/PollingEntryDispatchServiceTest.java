@@ -3,6 +3,7 @@ package org.codenbug.broker.app;
 import static org.codenbug.broker.infra.RedisConfig.ENTRY_TOKEN_STORAGE_KEY_NAME;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.longThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -28,15 +29,34 @@ class PollingEntryDispatchServiceTest {
 	@Mock
 	private ValueOperations<String, String> valueOperations;
 
+	@Mock
+	private WaitingQueueStore waitingQueueStore;
+
 	@Test
 	@DisplayName("승급 시 입장 토큰을 발급하고 결제 제한시간 1시간 TTL로 저장한다")
 	void 승급_시_입장_토큰_1시간_TTL_저장() {
 		when(redisTemplate.opsForValue()).thenReturn(valueOperations);
 		when(entryAuthService.generateEntryAuthToken(any(), eq("entryAuthToken"))).thenReturn("token");
-		PollingEntryDispatchService service = new PollingEntryDispatchService(entryAuthService, redisTemplate);
+		PollingEntryDispatchService service = new PollingEntryDispatchService(entryAuthService, redisTemplate,
+			waitingQueueStore);
 
 		service.handle("user-1", "event-1");
 
 		verify(valueOperations).set(ENTRY_TOKEN_STORAGE_KEY_NAME + ":user-1", "token", 60, TimeUnit.MINUTES);
 	}
+
+	@Test
+	@DisplayName("승급 시 발급한 입장 토큰을 만료 시각과 함께 활성 토큰 인덱스에 기록한다")
+	void 승급_시_활성_토큰_인덱스_기록() {
+		when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+		when(entryAuthService.generateEntryAuthToken(any(), eq("entryAuthToken"))).thenReturn("token");
+		PollingEntryDispatchService service = new PollingEntryDispatchService(entryAuthService, redisTemplate,
+			waitingQueueStore);
+
+		long before = System.currentTimeMillis();
+		service.handle("user-1", "event-1");
+
+		verify(waitingQueueStore).indexEntryToken(eq("event-1"), eq("user-1"),
+			longThat(expiresAt -> expiresAt >= before + TimeUnit.MINUTES.toMillis(60)));
+	}
 }
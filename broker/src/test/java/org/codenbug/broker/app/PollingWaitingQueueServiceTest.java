@@ -42,7 +42,8 @@ class PollingWaitingQueueServiceTest {
     void 입장_토큰_이미_발급_시_예외_발생() throws Exception {
         String userId = "u1";
         String eventId = "e1";
-        when(waitingQueueRedisRepository.isUserExistInEntry(userId)).thenReturn(true);
+        when(waitingQueueRedisRepository.enqueue(eq(eventId), eq(userId), any(), anyLong()))
+            .thenReturn(result(WaitingQueueStore.EnqueueStatus.ALREADY_IN_ENTRY));
 
         try (LoggedInUserContext ignored = LoggedInUserContext
             .open(new UserSecurityToken(userId, "u1@test.local", Role.USER))) {
@@ -51,9 +52,47 @@ class PollingWaitingQueueServiceTest {
             assertEquals("이미 입장 토큰이 발급되었습니다.", ex.getMessage());
         }
 
-        verify(waitingQueueRedisRepository).isUserExistInEntry(userId);
-        verify(waitingQueueRedisRepository, never()).setUserQueueEventIfAbsent(anyString(), anyString());
-        verifyNoInteractions(eventClient, eventStatusInitializer, instanceConfig);
+        verify(waitingQueueRedisRepository).enqueue(eq(eventId), eq(userId), any(), anyLong());
+        verifyNoInteractions(eventClient, eventStatusInitializer);
+    }
+
+    @Test
+    void 대기열_진입_성공_시_스크립트_한번_호출_후_상태_기록() throws Exception {
+        String userId = "u1";
+        String eventId = "e1";
+        when(instanceConfig.getInstanceId()).thenReturn("i1");
+        when(waitingQueueRedisRepository.enqueue(eq(eventId), eq(userId), eq("i1"), anyLong()))
+            .thenReturn(new WaitingQueueStore.EnqueueResult(WaitingQueueStore.EnqueueStatus.ENQUEUED, 4L, 5L, 10L));
+
+        try (LoggedInUserContext ignored = LoggedInUserContext
+            .open(new UserSecurityToken(userId, "u1@test.local", Role.USER))) {
+            service.enter(eventId);
+        }
+
+        verify(waitingQueueRedisRepository, times(1)).enqueue(eq(eventId), eq(userId), eq("i1"), anyLong());
+        verify(waitingQueueRedisRepository, never()).getWaitingQueueSize(anyString());
+        verify(waitingQueueRedisRepository, never()).getEntryQueueSlots(anyString());
+        verifyNoInteractions(eventClient, eventStatusInitializer);
+    }
+
+    @Test
+    void 입장_슬롯_미초기화_시_좌석수로_초기화_후_재시도() throws Exception {
+        String userId = "u1";
+        String eventId = "e1";
+        when(waitingQueueRedisRepository.enqueue(eq(eventId), eq(userId), any(), anyLong()))
+            .thenReturn(result(WaitingQueueStore.EnqueueStatus.SLOTS_UNINITIALIZED))
+            .thenReturn(result(WaitingQueueStore.EnqueueStatus.STATUS_UNKNOWN))
+            .thenReturn(new WaitingQueueStore.EnqueueResult(WaitingQueueStore.EnqueueStatus.ENQUEUED, 0L, 1L, 30L));
+        when(eventClient.getSeatCount(eventId)).thenReturn(30);
+
+        try (LoggedInUserContext ignored = LoggedInUserContext
+            .open(new UserSecurityToken(userId, "u1@test.local", Role.USER))) {
+            service.enter(eventId);
+        }
+
+        verify(waitingQueueRedisRepository).initializeEntryQueueCountIfAbsent(eventId, 30);
+        verify(eventStatusInitializer).ensureInitialized(eventId);
+        verify(waitingQueueRedisRepository, times(3)).enqueue(eq(eventId), eq(userId), any(), anyLong());
     }
 
 	@Test
@@ -130,25 +169,35 @@ class PollingWaitingQueueServiceTest {
 	void 이벤트_열려_있지_않으면_입장_예외() throws Exception {
 		String userId = "u1";
 		String eventId = "e1";
-		when(waitingQueueRedisRepository.setUserQueueEventIfAbsent(userId, eventId)).thenReturn(true);
-		when(waitingQueueRedisRepository.entryQueueCountExists(eventId)).thenReturn(true);
-		when(eventClient.getSeatStatus(eventId)).thenReturn("CLOSED");
+		when(waitingQueueRedisRepository.enqueue(eq(eventId), eq(userId), any(), anyLong()))
+			.thenReturn(result(WaitingQueueStore.EnqueueStatus.EVENT_NOT_OPEN));
 
 		try (LoggedInUserContext ignored = LoggedInUserContext
 			.open(new UserSecurityToken(userId, "u1@test.local", Role.USER))) {
 			IllegalStateException ex = assertThrows(IllegalStateException.class, () -> service.enter(eventId));
 			assertEquals("예매 가능한 이벤트가 아닙니다.", ex.getMessage());
 		}
+	}
 
-		verify(waitingQueueRedisRepository).clearUserQueueEvent(userId);
-		verify(waitingQueueRedisRepository, never()).recordWaitingUserIfAbsent(eventId, userId);
+	@Test
+	void 이미_대기_중이면_입장_예외() throws Exception {
+		String userId = "u1";
+		String eventId = "e1";
+		when(waitingQueueRedisRepository.enqueue(eq(eventId), eq(userId), any(), anyLong()))
+			.thenReturn(result(WaitingQueueStore.EnqueueStatus.ALREADY_WAITING));
+
+		try (LoggedInUserContext ignored = LoggedInUserContext
+			.open(new UserSecurityToken(userId, "u1@test.local", Role.USER))) {
+			IllegalStateException ex = assertThrows(IllegalStateException.class, () -> service.enter(eventId));
+			assertEquals("이미 대기열에 존재합니다.", ex.getMessage());
+		}
 	}
 
 	@Test
 	void 연결_해제_대기열_없으면_멱등() throws Exception {
 		String userId = "u1";
 		String eventId = "e1";
-		when(waitingQueueRedisRepository.deleteUserFromEntry(userId)).thenReturn(false);
+		when(waitingQueueRedisRepository.deleteUserFromEntry(eventId, userId)).thenReturn(false);
 		when(waitingQueueRedisRepository.deleteUserFromWaiting(eventId, userId)).thenReturn(false);
 
 		try (LoggedInUserContext ignored = LoggedInUserContext
@@ -165,7 +214,7 @@ class PollingWaitingQueueServiceTest {
 	void 연결_해제_입장_토큰_활성일_때만_슬롯_해제() throws Exception {
 		String userId = "u1";
 		String eventId = "e1";
-		when(waitingQueueRedisRepository.deleteUserFromEntry(userId)).thenReturn(true);
+		when(waitingQueueRedisRepository.deleteUserFromEntry(eventId, userId)).thenReturn(true);
 		when(waitingQueueRedisRepository.deleteUserFromWaiting(eventId, userId)).thenReturn(false);
 
 		try (LoggedInUserContext ignored = LoggedInUserContext
@@ -180,7 +229,7 @@ class PollingWaitingQueueServiceTest {
 	void 연결_해제_대기_기록_삭제_SLOT_증가_없음() throws Exception {
 		String userId = "u1";
 		String eventId = "e1";
-		when(waitingQueueRedisRepository.deleteUserFromEntry(userId)).thenReturn(false);
+		when(waitingQueueRedisRepository.deleteUserFromEntry(eventId, userId)).thenReturn(false);
 		when(waitingQueueRedisRepository.deleteUserFromWaiting(eventId, userId)).thenReturn(true);
 
 		try (LoggedInUserContext ignored = LoggedInUserContext
@@ -191,4 +240,8 @@ class PollingWaitingQueueServiceTest {
 		verify(waitingQueueRedisRepository).deleteWaitingUserRecord(eventId, userId);
 		verify(waitingQueueRedisRepository, never()).incrementEntryQueueCount(eventId);
 	}
+
+	private static WaitingQueueStore.EnqueueResult result(WaitingQueueStore.EnqueueStatus status) {
+		return new WaitingQueueStore.EnqueueResult(status, null, null, null);
+	}
 }
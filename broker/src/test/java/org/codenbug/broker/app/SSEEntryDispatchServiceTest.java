@@ -0,0 +1,78 @@
+package org.codenbug.broker.app;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+
+import org.codenbug.broker.domain.Status;
+import org.codenbug.broker.service.SseConnection;
+import org.codenbug.broker.service.SseEmitterService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@ExtendWith(MockitoExtension.class)
+class SSEEntryDispatchServiceTest {
+
+	@Mock
+	private RedisTemplate<String, Object> redisTemplate;
+
+	@Mock
+	private ValueOperations<String, Object> valueOperations;
+
+	@Mock
+	private SseEmitterService sseEmitterService;
+
+	@Mock
+	private EntryAuthService entryAuthService;
+
+	@Mock
+	private WaitingQueueStore waitingQueueStore;
+
+	@Test
+	@DisplayName("승급 직후 토큰 저장 전에 연결이 닫히면 저장한 토큰을 회수하고 슬롯은 다시 돌려주지 않는다")
+	void 승급_직후_연결_종료_시_토큰_회수() {
+		SseConnection connection = new SseConnection("user-1", new SseEmitter(0L), Status.IN_ENTRY, "event-1");
+		when(sseEmitterService.getConnection("user-1")).thenReturn(connection);
+		when(entryAuthService.generateEntryAuthToken(any(), eq("entryAuthToken"))).thenReturn("token");
+		when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+		// 토큰을 저장하는 사이에 종료 콜백이 돌아 CLOSED가 된 상황
+		doAnswer(invocation -> connection.close()).when(valueOperations)
+			.set("ENTRY_TOKEN:user-1", "token", 5, TimeUnit.MINUTES);
+		SSEEntryDispatchService service = new SSEEntryDispatchService(redisTemplate, sseEmitterService,
+			entryAuthService, waitingQueueStore);
+
+		service.handle("user-1", "event-1");
+
+		verify(redisTemplate).delete("ENTRY_TOKEN:user-1");
+		verify(waitingQueueStore).unindexEntryToken("event-1", "user-1");
+		verify(redisTemplate, never()).opsForHash();
+	}
+
+	@Test
+	@DisplayName("연결이 살아 있으면 토큰을 저장하고 회수하지 않는다")
+	void 연결_유지_시_토큰_유지() {
+		SseConnection connection = new SseConnection("user-1", new SseEmitter(0L), Status.IN_ENTRY, "event-1");
+		when(sseEmitterService.getConnection("user-1")).thenReturn(connection);
+		when(entryAuthService.generateEntryAuthToken(any(), eq("entryAuthToken"))).thenReturn("token");
+		when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+		SSEEntryDispatchService service = new SSEEntryDispatchService(redisTemplate, sseEmitterService,
+			entryAuthService, waitingQueueStore);
+
+		service.handle("user-1", "event-1");
+
+		verify(waitingQueueStore).indexEntryToken(eq("event-1"), eq("user-1"), anyLong());
+		verify(redisTemplate, never()).delete("ENTRY_TOKEN:user-1");
+	}
+}
@@ -1,6 +1,7 @@
 package org.codenbug.broker.app;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import org.codenbug.broker.config.InstanceConfig;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 class WaitingQueueEntryServiceTest {
 
@@ -57,4 +59,67 @@ class WaitingQueueEntryServiceTest {
         verify(waitingQueueRedisRepository).isUserExistInEntry(userId);
         verifyNoInteractions(sseEmitterService, eventClient, eventStatusInitializer, instanceConfig);
     }
+
+    @Test
+    void SSE_진입은_enqueue_스크립트로_처리하고_last_seen은_기록하지_않는다() throws Exception {
+        String userId = "u1";
+        String eventId = "e1";
+        when(instanceConfig.getInstanceId()).thenReturn("i1");
+        when(waitingQueueRedisRepository.enqueue(eq(eventId), eq(userId), eq("i1"), anyLong(), eq(false)))
+            .thenReturn(new WaitingQueueStore.EnqueueResult(WaitingQueueStore.EnqueueStatus.SLOTS_UNINITIALIZED,
+                null, null, null))
+            .thenReturn(new WaitingQueueStore.EnqueueResult(WaitingQueueStore.EnqueueStatus.ENQUEUED, 0L, 1L, 10L));
+        when(eventClient.getSeatCount(eventId)).thenReturn(10);
+
+        try (LoggedInUserContext ignored = LoggedInUserContext
+            .open(new UserSecurityToken(userId, "u1@test.local", Role.USER))) {
+            service.entry(eventId);
+        }
+
+        verify(sseEmitterService).add(userId, eventId);
+        verify(waitingQueueRedisRepository).initializeEntryQueueCountIfAbsent(eventId, 10);
+        verify(waitingQueueRedisRepository, times(2)).enqueue(eq(eventId), eq(userId), eq("i1"), anyLong(), eq(false));
+    }
+
+    @Test
+    void 다른_이벤트_대기열에_있으면_예외_발생() {
+        String userId = "u1";
+        String eventId = "e1";
+        SseEmitter emitter = new SseEmitter(0L);
+        when(sseEmitterService.add(userId, eventId)).thenReturn(emitter);
+        when(instanceConfig.getInstanceId()).thenReturn("i1");
+        when(waitingQueueRedisRepository.enqueue(eq(eventId), eq(userId), any(), anyLong(), eq(false)))
+            .thenReturn(new WaitingQueueStore.EnqueueResult(WaitingQueueStore.EnqueueStatus.IN_OTHER_EVENT,
+                null, null, null));
+
+        try (LoggedInUserContext ignored = LoggedInUserContext
+            .open(new UserSecurityToken(userId, "u1@test.local", Role.USER))) {
+            IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> service.entry(eventId));
+            assertEquals("이미 다른 이벤트 대기열에 존재합니다.", ex.getMessage());
+            verify(sseEmitterService).discard(userId, emitter, ex);
+        }
+    }
+
+    @Test
+    void 진입_중_예외가_나면_등록한_연결을_버리고_다시_던진다() {
+        String userId = "u1";
+        String eventId = "e1";
+        SseEmitter emitter = new SseEmitter(0L);
+        RuntimeException failure = new RuntimeException("event service down");
+        when(sseEmitterService.add(userId, eventId)).thenReturn(emitter);
+        when(instanceConfig.getInstanceId()).thenReturn("i1");
+        when(waitingQueueRedisRepository.enqueue(eq(eventId), eq(userId), eq("i1"), anyLong(), eq(false)))
+            .thenReturn(new WaitingQueueStore.EnqueueResult(WaitingQueueStore.EnqueueStatus.SLOTS_UNINITIALIZED,
+                null, null, null));
+        when(eventClient.getSeatCount(eventId)).thenThrow(failure);
+
+        try (LoggedInUserContext ignored = LoggedInUserContext
+            .open(new UserSecurityToken(userId, "u1@test.local", Role.USER))) {
+            RuntimeException ex = assertThrows(RuntimeException.class, () -> service.entry(eventId));
+            assertSame(failure, ex);
+        }
+
+        verify(sseEmitterService).discard(userId, emitter, failure);
+    }
 }
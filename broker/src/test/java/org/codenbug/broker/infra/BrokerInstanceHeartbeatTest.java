@@ -0,0 +1,58 @@
+package org.codenbug.broker.infra;
+
+import static org.codenbug.broker.infra.RedisConfig.BROKER_INSTANCES_KEY_NAME;
+import static org.mockito.ArgumentMatchers.doubleThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.codenbug.broker.config.InstanceConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+@ExtendWith(MockitoExtension.class)
+class BrokerInstanceHeartbeatTest {
+
+	@Mock
+	private StringRedisTemplate redisTemplate;
+
+	@Mock
+	private ZSetOperations<String, String> zSetOperations;
+
+	@Mock
+	private InstanceConfig instanceConfig;
+
+	private BrokerInstanceHeartbeat heartbeat;
+
+	@BeforeEach
+	void setUp() {
+		when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+		when(instanceConfig.getInstanceId()).thenReturn("instance-1");
+		heartbeat = new BrokerInstanceHeartbeat(redisTemplate, instanceConfig);
+	}
+
+	@Test
+	@DisplayName("heartbeat는 인스턴스 ID를 현재 시각 점수로 기록한다")
+	void heartbeat_현재_시각_기록() {
+		long before = System.currentTimeMillis();
+
+		heartbeat.beat();
+
+		verify(zSetOperations).add(eq(BROKER_INSTANCES_KEY_NAME), eq("instance-1"),
+			doubleThat(score -> score >= before));
+	}
+
+	@Test
+	@DisplayName("종료 시 점수를 0으로 내려 즉시 죽은 인스턴스로 판별되게 한다")
+	void 종료_시_heartbeat_0() {
+		heartbeat.markDead();
+
+		verify(zSetOperations).add(BROKER_INSTANCES_KEY_NAME, "instance-1", 0);
+	}
+}
@@ -0,0 +1,38 @@
+package org.codenbug.broker.infra;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class WaitingQueueRecordTest {
+
+    @Test
+    void 인스턴스_번호와_idx_인코딩_디코딩() {
+        String encoded = WaitingQueueRecord.encode(7L, 1234L);
+
+        assertEquals("7:1234", encoded);
+        WaitingQueueRecord record = WaitingQueueRecord.decode(encoded);
+        assertEquals(7L, record.instanceNo());
+        assertEquals(1234L, record.idx());
+        assertFalse(record.isLegacy());
+    }
+
+    @Test
+    void 이전_JSON_기록도_idx_해석() {
+        WaitingQueueRecord record = WaitingQueueRecord.decode(
+            "{\"userId\":\"u1\",\"idx\":\"15\",\"eventId\":\"e1\",\"instanceId\":\"abc\"}");
+
+        assertNotNull(record);
+        assertTrue(record.isLegacy());
+        assertEquals(15L, record.idx());
+    }
+
+    @Test
+    void 해석할_수_없는_값은_null() {
+        assertNull(WaitingQueueRecord.decode(null));
+        assertNull(WaitingQueueRecord.decode(""));
+        assertNull(WaitingQueueRecord.decode("garbage"));
+        assertNull(WaitingQueueRecord.decode("1:"));
+        assertNull(WaitingQueueRecord.decode("a:b"));
+    }
+}
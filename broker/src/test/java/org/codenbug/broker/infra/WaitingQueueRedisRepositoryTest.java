@@ -10,16 +10,11 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 class WaitingQueueRedisRepositoryTest {
 
     @Mock
     private StringRedisTemplate redisTemplate;
 
-    @Mock
-    private ObjectMapper objectMapper;
-
     @Mock
     private HashOperations<String, Object, Object> hashOperations;
 
@@ -29,7 +24,7 @@ class WaitingQueueRedisRepositoryTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         when(redisTemplate.opsForHash()).thenReturn(hashOperations);
-        repository = new WaitingQueueRedisRepository(redisTemplate, objectMapper);
+        repository = new WaitingQueueRedisRepository(redisTemplate);
     }
 
     @Test
@@ -61,4 +56,13 @@ class WaitingQueueRedisRepositoryTest {
 
         verify(hashOperations).increment(RedisConfig.ENTRY_QUEUE_SLOTS_KEY_NAME, eventId, 1);
     }
+
+    @Test
+    void 입장_큐_카운트_증가_시_승격_신호_발행() {
+        String eventId = "e1";
+
+        repository.incrementEntryQueueCount(eventId);
+
+        verify(redisTemplate).convertAndSend(RedisConfig.ENTRY_QUEUE_SLOTS_CHANGED_CHANNEL, eventId);
+    }
 }
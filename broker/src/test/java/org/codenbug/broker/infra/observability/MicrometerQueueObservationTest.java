@@ -1,9 +1,13 @@
 package org.codenbug.broker.infra.observability;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.Map;
+
+import org.codenbug.broker.app.WaitingQueueStore.ActiveEntryTokenCounts;
 import org.codenbug.broker.infra.WaitingQueueRedisRepository;
 import org.junit.jupiter.api.Test;
 
@@ -15,8 +19,10 @@ class MicrometerQueueObservationTest {
 	void recordsPollingAndQueueMetrics() {
 		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 		WaitingQueueRedisRepository repository = mock(WaitingQueueRedisRepository.class);
-		when(repository.countActiveEntryTokens()).thenReturn(3L);
+		when(repository.countActiveEntryTokens(anyLong()))
+			.thenReturn(new ActiveEntryTokenCounts(3L, Map.of("event-1", 2L, "event-2", 1L)));
 		MicrometerQueueObservation observation = new MicrometerQueueObservation(meterRegistry, repository);
+		observation.refreshActiveEntryTokens();
 
 		observation.recordPollingRequest("event-1", "WAITING", 5000L);
 		observation.recordQueueState("event-1", 120L, 8L);
@@ -33,5 +39,7 @@ class MicrometerQueueObservationTest {
 		assertThat(meterRegistry.get("ticketon.queue.entry_slots").tag("eventId", "event-1")
 			.gauge().value()).isEqualTo(8.0);
 		assertThat(meterRegistry.get("ticketon.queue.active_tokens").gauge().value()).isEqualTo(3.0);
+		assertThat(meterRegistry.get("ticketon.queue.active_tokens_by_event").tag("eventId", "event-1")
+			.gauge().value()).isEqualTo(2.0);
 	}
 }
@@ -0,0 +1,146 @@
+package org.codenbug.broker.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.codenbug.broker.app.WaitingQueueStore;
+import org.codenbug.broker.domain.Status;
+import org.codenbug.broker.infra.RedisConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SseEmitterServiceTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private ZSetOperations<String, Object> zSetOperations;
+
+    @Mock
+    private WaitingQueueStore waitingQueueStore;
+
+    private SseConnectionRegistry registry;
+    private SseEmitterService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        registry = new SseConnectionRegistry(new SimpleMeterRegistry());
+        service = new SseEmitterService(registry, redisTemplate, waitingQueueStore);
+    }
+
+    @Test
+    void 같은_유저_중복_연결_시_예외_발생() {
+        service.add("u1", "e1");
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> service.add("u1", "e1"));
+        assertEquals("이미 대기열에 연결되어 있습니다.", ex.getMessage());
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void 이벤트별_커넥션_조회() {
+        service.add("u1", "e1");
+        service.add("u2", "e1");
+        service.add("u3", "e2");
+
+        assertEquals(2, registry.connectionsOf("e1").size());
+        assertEquals(1, registry.connectionsOf("e2").size());
+        assertTrue(registry.connectionsOf("e3").isEmpty());
+    }
+
+    @Test
+    void 동시_종료_시_슬롯_보상은_한_번만() throws Exception {
+        service.add("u1", "e1");
+        SseConnection connection = service.getConnection("u1");
+        assertTrue(connection.compareAndSetStatus(Status.IN_ENTRY, Status.IN_PROGRESS));
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                service.closeConn(connection);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        verify(hashOperations, times(1)).increment(RedisConfig.ENTRY_QUEUE_SLOTS_KEY_NAME, "e1", 1);
+        verify(waitingQueueStore, times(1)).unindexEntryToken("e1", "u1");
+        assertEquals(Status.CLOSED, connection.getStatus());
+        assertEquals(0, registry.size());
+        assertEquals(1, registry.closedCount());
+    }
+
+    @Test
+    void 종료된_커넥션은_승급_전이_불가() {
+        service.add("u1", "e1");
+        SseConnection connection = service.getConnection("u1");
+
+        service.closeConn(connection);
+
+        assertFalse(connection.compareAndSetStatus(Status.IN_ENTRY, Status.IN_PROGRESS));
+        verify(hashOperations, never()).increment(any(), any(), anyLong());
+    }
+
+    @Test
+    void 대기중_연결이_끊기면_대기열과_이벤트_매핑을_정리한다() {
+        when(waitingQueueStore.getUserQueueEvent("u1")).thenReturn("e1");
+        service.add("u1", "e1");
+
+        service.closeConn(service.getConnection("u1"));
+
+        verify(zSetOperations).remove(RedisConfig.WAITING_QUEUE_KEY_NAME + ":e1", "u1");
+        verify(hashOperations).delete(RedisConfig.WAITING_USER_IDS_KEY_NAME + ":e1", "u1");
+        verify(waitingQueueStore).clearUserQueueEvent("u1");
+    }
+
+    @Test
+    void 다른_이벤트_매핑은_지우지_않는다() {
+        when(waitingQueueStore.getUserQueueEvent("u1")).thenReturn("e2");
+        service.add("u1", "e1");
+
+        service.closeConn(service.getConnection("u1"));
+
+        verify(waitingQueueStore, never()).clearUserQueueEvent(any());
+    }
+
+    @Test
+    void 진입에_실패한_연결은_Redis_정리_없이_버리고_다시_연결할_수_있다() {
+        SseEmitter emitter = service.add("u1", "e1");
+
+        service.discard("u1", emitter, new IllegalStateException("이미 다른 이벤트 대기열에 존재합니다."));
+
+        assertEquals(0, registry.size());
+        verifyNoInteractions(zSetOperations, hashOperations, waitingQueueStore);
+        assertDoesNotThrow(() -> service.add("u1", "e1"));
+    }
+}
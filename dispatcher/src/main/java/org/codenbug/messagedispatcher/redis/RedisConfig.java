@@ -7,6 +7,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.data.redis.stream.StreamMessageListenerContainer;
@@ -31,6 +32,25 @@ public class RedisConfig {
 	public static final String DISPATCH_QUEUE_CHANNEL_PREFIX = "DISPATCH:";
 	public static final Integer ENTRY_QUEUE_CAPACITY = 1000;
 	public static final String WAITING_USER_IDS_KEY_NAME = "WAITING_USER_IDS";
+	// 대기 인원이 있는 이벤트 id 집합 (승격 대상 레지스트리)
+	public static final String ACTIVE_WAITING_EVENTS_KEY_NAME = "WAITING_ACTIVE_EVENTS";
+	// 입장 슬롯 반환 / 대기열 진입 시 eventId를 발행하는 pub/sub 채널
+	public static final String ENTRY_QUEUE_SLOTS_CHANGED_CHANNEL = "ENTRY_QUEUE_SLOTS_CHANGED";
+	// 대기 유저 부가 기록 해시 (userId -> "<instanceNo>:<idx>")
+	public static final String WAITING_QUEUE_INDEX_RECORD_KEY_NAME = "WAITING_QUEUE_INDEX_RECORD";
+	// 인스턴스 ID <-> 인스턴스 번호 치환 테이블 (broker가 발급)
+	public static final String WAITING_INSTANCE_IDS_KEY_NAME = "WAITING_INSTANCE_IDS";
+	public static final String WAITING_INSTANCE_NAMES_KEY_NAME = "WAITING_INSTANCE_NAMES";
+	public static final String WAITING_INSTANCE_SEQ_KEY_NAME = "WAITING_INSTANCE_SEQ";
+	// 활성 입장 토큰 인덱스 (userId -> 만료 시각 epoch millis). 이벤트별 인덱스는 ENTRY_TOKEN_EXPIRY:<eventId>
+	public static final String ENTRY_TOKEN_EXPIRY_KEY_NAME = "ENTRY_TOKEN_EXPIRY";
+	public static final String ENTRY_TOKEN_EVENTS_KEY_NAME = "ENTRY_TOKEN_EVENTS";
+	// broker 인스턴스 생존 신호 (instanceId -> 마지막 heartbeat epoch millis)
+	public static final String BROKER_INSTANCES_KEY_NAME = "BROKER_INSTANCES";
+	public static final String DISPATCH_QUEUE_GROUP_SUFFIX = ":GROUP";
+	public static final String ENTRY_LAST_SEEN_KEY_NAME = "ENTRY_LAST_SEEN";
+	// polling 대기 유저의 마지막 요청 시각 (userId -> epoch millis). 키는 WAITING_LAST_SEEN:<eventId>
+	public static final String WAITING_LAST_SEEN_KEY_NAME = "WAITING_LAST_SEEN";
 
 	@Bean
 	public RedisTemplate<String, Object> basicRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
@@ -80,4 +100,11 @@ public class RedisConfig {
 		container.start();
 		return container;
 	}
+
+	@Bean
+	public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory cf) {
+		RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+		container.setConnectionFactory(cf);
+		return container;
+	}
 }
@@ -0,0 +1,77 @@
+package org.codenbug.messagedispatcher.thread;
+
+import static org.codenbug.messagedispatcher.redis.RedisConfig.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 대기 인원이 있는 이벤트 목록(WAITING_ACTIVE_EVENTS)을 관리한다.
+ * <p>
+ * broker가 대기열 진입 시 SADD 하고, 승격 스크립트가 대기열이 비면 SREM 한다. dispatcher는 이 집합만
+ * 읽으므로 전체 키스페이스를 SCAN 하지 않는다.
+ */
+@Slf4j
+@Component
+public class ActiveEventRegistry {
+
+  private static final int SCAN_COUNT = 1000;
+
+  private final StringRedisTemplate redisTemplate;
+
+  public ActiveEventRegistry(StringRedisTemplate redisTemplate) {
+    this.redisTemplate = redisTemplate;
+  }
+
+  public Set<String> activeEventIds() {
+    Set<String> members = redisTemplate.opsForSet().members(ACTIVE_WAITING_EVENTS_KEY_NAME);
+    return members == null ? Set.of() : members;
+  }
+
+  public void register(String eventId) {
+    redisTemplate.opsForSet().add(ACTIVE_WAITING_EVENTS_KEY_NAME, eventId);
+  }
+
+  /**
+   * 레지스트리 도입 이전에 만들어진 대기열을 등록한다. 기동 시 한 번만 SCAN 한다.
+   *
+   * @return 등록된 이벤트 수
+   */
+  public int bootstrapFromWaitingKeys() {
+    String prefix = WAITING_QUEUE_KEY_NAME + ":";
+    List<String> keys = redisTemplate.execute((RedisConnection connection) -> {
+      List<String> results = new ArrayList<>();
+      try (Cursor<byte[]> cursor = connection.scan(
+          ScanOptions.scanOptions().match(prefix + "*").count(SCAN_COUNT).build())) {
+        while (cursor.hasNext()) {
+          results.add(new String(cursor.next(), StandardCharsets.UTF_8));
+        }
+      }
+      return results;
+    });
+    if (keys == null || keys.isEmpty()) {
+      return 0;
+    }
+
+    String[] eventIds = keys.stream()
+        .map(key -> key.substring(prefix.length()))
+        .filter(eventId -> !eventId.isEmpty() && !eventId.contains(":"))
+        .toArray(String[]::new);
+    if (eventIds.length == 0) {
+      return 0;
+    }
+    redisTemplate.opsForSet().add(ACTIVE_WAITING_EVENTS_KEY_NAME, eventIds);
+    log.info("Bootstrapped {} active waiting events from existing queues", eventIds.length);
+    return eventIds.length;
+  }
+}
@@ -0,0 +1,98 @@
+package org.codenbug.messagedispatcher.thread;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 이벤트 단위로 작업 요청을 합쳐(coalesce) 실행하는 스케줄러.
+ * <p>
+ * 같은 이벤트에 대한 요청이 연달아 들어와도 동시에 하나의 작업만 실행되며, 실행 중에 들어온 요청은
+ * 현재 실행이 끝난 직후 한 번만 다시 실행된다. 따라서 슬롯 반환 신호가 폭주해도 이벤트당 작업 수는
+ * 최대 "실행 중 1 + 대기 1"로 제한된다.
+ */
+@Slf4j
+public class CoalescingEventScheduler {
+
+  private static final int IDLE = 0;
+  private static final int QUEUED = 1;
+  private static final int RUNNING = 2;
+  private static final int RUNNING_DIRTY = 3;
+
+  private final ExecutorService executor;
+  private final Consumer<String> task;
+  private final Map<String, AtomicInteger> states = new ConcurrentHashMap<>();
+
+  public CoalescingEventScheduler(ExecutorService executor, Consumer<String> task) {
+    this.executor = executor;
+    this.task = task;
+  }
+
+  /**
+   * 이벤트 작업 실행을 요청한다. 이미 대기 중이거나 실행 중이면 추가 작업을 만들지 않는다.
+   *
+   * @return 새 작업이 실행 큐에 제출되었으면 true
+   */
+  public boolean request(String eventId) {
+    AtomicInteger state = states.computeIfAbsent(eventId, key -> new AtomicInteger(IDLE));
+    while (true) {
+      int current = state.get();
+      switch (current) {
+        case IDLE -> {
+          if (state.compareAndSet(IDLE, QUEUED)) {
+            submit(eventId, state);
+            return true;
+          }
+        }
+        case RUNNING -> {
+          if (state.compareAndSet(RUNNING, RUNNING_DIRTY)) {
+            return false;
+          }
+        }
+        default -> {
+          return false;
+        }
+      }
+    }
+  }
+
+  /**
+   * 더 이상 추적할 필요가 없는 이벤트의 상태를 정리한다. 실행 중인 이벤트는 정리하지 않는다.
+   */
+  public void forget(String eventId) {
+    states.computeIfPresent(eventId, (key, state) -> state.get() == IDLE ? null : state);
+  }
+
+  public int trackedEventCount() {
+    return states.size();
+  }
+
+  private void submit(String eventId, AtomicInteger state) {
+    try {
+      executor.execute(() -> run(eventId, state));
+    } catch (RejectedExecutionException e) {
+      state.set(IDLE);
+      log.warn("Rejected scheduling for event {}: {}", eventId, e.getMessage());
+    }
+  }
+
+  private void run(String eventId, AtomicInteger state) {
+    state.set(RUNNING);
+    try {
+      task.accept(eventId);
+    } catch (Exception e) {
+      log.error("Scheduled task failed for event {}: {}", eventId, e.getMessage(), e);
+    } finally {
+      if (!state.compareAndSet(RUNNING, IDLE)) {
+        // 실행 중 새 요청이 들어왔으므로 한 번 더 실행한다.
+        state.set(QUEUED);
+        submit(eventId, state);
+      }
+    }
+  }
+}
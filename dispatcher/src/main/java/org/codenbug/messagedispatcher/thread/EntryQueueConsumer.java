@@ -1,23 +1,42 @@
 package org.codenbug.messagedispatcher.thread;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 import org.codenbug.messagedispatcher.redis.RedisConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.redis.connection.stream.Consumer;
 import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
 import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
 import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.stream.StreamMessageListenerContainer;
 import org.springframework.data.redis.stream.Subscription;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * ENTRY 스트림에서 승격된 유저를 읽어 입장 토큰을 발급하고 broker 인스턴스별 DISPATCH 스트림으로 전달한다.
+ * <p>
+ * 배치 모드(기본)에서는 전용 스레드가 XREADGROUP으로 최대 batch-size건을 모으고(첫 건 이후 max-latency-ms까지 대기),
+ * 토큰 발급/부가 기록/DISPATCH XADD를 한 번의 파이프라인으로 보낸 뒤 배치 전체를 XACK 한 번으로 확인한다.
+ * 배치 모드를 끄면 리스너 컨테이너가 레코드를 한 건씩 처리한다.
+ */
 @Component
 public class EntryQueueConsumer {
 	private static final Logger log = LoggerFactory.getLogger(EntryQueueConsumer.class);
@@ -25,11 +44,25 @@ public class EntryQueueConsumer {
 
 	private final StreamMessageListenerContainer<String, MapRecord<String, String, String>> container;
 	private final StringRedisTemplate redisTemplate;
+	private final boolean batchEnabled;
+	private final int batchSize;
+	private final long maxLatencyMs;
+	private final Duration pollTimeout;
+
+	private volatile boolean running;
+	private Thread batchThread;
 
 	public EntryQueueConsumer(StreamMessageListenerContainer<String, MapRecord<String, String, String>> container,
-		StringRedisTemplate redisTemplate) {
+		StringRedisTemplate redisTemplate,
+		@Value("${dispatcher.entry-consumer.batch.enabled:true}") boolean batchEnabled,
+		@Value("${dispatcher.entry-consumer.batch.size:200}") int batchSize,
+		@Value("${dispatcher.entry-consumer.batch.max-latency-ms:20}") long maxLatencyMs) {
 		this.container = container;
 		this.redisTemplate = redisTemplate;
+		this.batchEnabled = batchEnabled;
+		this.batchSize = Math.max(1, batchSize);
+		this.maxLatencyMs = Math.max(0, maxLatencyMs);
+		this.pollTimeout = Duration.ofSeconds(2);
 	}
 
 
@@ -38,25 +71,147 @@ public class EntryQueueConsumer {
 		// 애플리케이션 시작 시 pending 메시지 재처리 (간단하고 안전한 방법)
 		// processPendingMessagesAsync();
 
+		if (batchEnabled) {
+			running = true;
+			batchThread = new Thread(this::runBatchLoop, "entry-queue-batch-consumer");
+			batchThread.setDaemon(true);
+			batchThread.start();
+			return;
+		}
+
 		Subscription sub = container.receive(
 			Consumer.from(RedisConfig.ENTRY_QUEUE_GROUP_NAME, RedisConfig.ENTRY_QUEUE_CONSUMER_NAME),
 			StreamOffset.create(RedisConfig.ENTRY_QUEUE_KEY_NAME, ReadOffset.lastConsumed()),
 			this::handleMessage);
 	}
 
+	@PreDestroy
+	public void stopListening() {
+		running = false;
+		if (batchThread != null) {
+			batchThread.interrupt();
+		}
+	}
+
+	private void runBatchLoop() {
+		while (running) {
+			try {
+				List<EntryRequest> batch = readBatch();
+				if (!batch.isEmpty()) {
+					handleBatch(batch);
+				}
+			} catch (Exception e) {
+				if (!running) {
+					return;
+				}
+				log.error("Failed to consume ENTRY batch: {}", e.getMessage(), e);
+				try {
+					Thread.sleep(pollTimeout.toMillis() / 4);
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * 첫 레코드는 pollTimeout까지 기다리고, 이후에는 maxLatencyMs 안에서 batchSize까지 채운다.
+	 */
+	private List<EntryRequest> readBatch() {
+		List<EntryRequest> batch = new ArrayList<>(batchSize);
+		readInto(batch, batchSize, pollTimeout);
+		if (batch.isEmpty()) {
+			return batch;
+		}
+
+		long deadline = System.currentTimeMillis() + maxLatencyMs;
+		while (batch.size() < batchSize) {
+			long remaining = deadline - System.currentTimeMillis();
+			if (remaining <= 0 || readInto(batch, batchSize - batch.size(), Duration.ofMillis(remaining)) == 0) {
+				break;
+			}
+		}
+		return batch;
+	}
+
+	private int readInto(List<EntryRequest> batch, int count, Duration block) {
+		List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().read(
+			Consumer.from(RedisConfig.ENTRY_QUEUE_GROUP_NAME, RedisConfig.ENTRY_QUEUE_CONSUMER_NAME),
+			StreamReadOptions.empty().count(count).block(block),
+			StreamOffset.create(RedisConfig.ENTRY_QUEUE_KEY_NAME, ReadOffset.lastConsumed()));
+		if (records == null) {
+			return 0;
+		}
+		for (MapRecord<String, Object, Object> record : records) {
+			batch.add(EntryRequest.from(record));
+		}
+		return records.size();
+	}
+
+	/**
+	 * 배치의 토큰 발급과 DISPATCH 전달을 하나의 파이프라인으로 보내고, 성공하면 배치 전체를 한 번에 ACK 한다.
+	 * 파이프라인이 실패하면 ACK 하지 않으므로 레코드는 pending으로 남아 재처리 대상이 된다.
+	 */
+	void handleBatch(List<EntryRequest> batch) {
+		List<EntryRequest> valid = new ArrayList<>(batch.size());
+		for (EntryRequest request : batch) {
+			if (request.isValid()) {
+				valid.add(request);
+			} else {
+				log.error("Invalid ENTRY message body: {}", request.body());
+			}
+		}
+		// 같은 인스턴스로 가는 XADD를 연속으로 묶는다. 인스턴스 안에서는 읽은 순서를 유지한다.
+		valid.sort(Comparator.comparing(EntryRequest::instanceId));
+
+		if (!valid.isEmpty()) {
+			long now = System.currentTimeMillis();
+			long expiresAt = now + ENTRY_TOKEN_TTL.toMillis();
+			redisTemplate.executePipelined(new SessionCallback<Object>() {
+				@SuppressWarnings("unchecked")
+				@Override
+				public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+					RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+					for (EntryRequest request : valid) {
+						String userId = request.userId();
+						String eventId = request.eventId();
+						ops.opsForValue().setIfAbsent("ENTRY_TOKEN:" + userId, UUID.randomUUID().toString(),
+							ENTRY_TOKEN_TTL);
+						ops.opsForValue().set("ENTRY_EVENT:" + userId, eventId, ENTRY_TOKEN_TTL);
+						ops.opsForZSet().add("ENTRY_LAST_SEEN", userId, now);
+						ops.opsForZSet().add(RedisConfig.ENTRY_TOKEN_EXPIRY_KEY_NAME, userId, expiresAt);
+						ops.opsForZSet()
+							.add(RedisConfig.ENTRY_TOKEN_EXPIRY_KEY_NAME + ":" + eventId, userId, expiresAt);
+						ops.opsForSet().add(RedisConfig.ENTRY_TOKEN_EVENTS_KEY_NAME, eventId);
+						ops.opsForStream().add(StreamRecords
+							.mapBacked(Map.of("userId", userId, "eventId", eventId))
+							.withStreamKey(RedisConfig.DISPATCH_QUEUE_CHANNEL_PREFIX + request.instanceId()));
+					}
+					return null;
+				}
+			});
+		}
+
+		RecordId[] recordIds = batch.stream().map(EntryRequest::recordId).toArray(RecordId[]::new);
+		redisTemplate.opsForStream()
+			.acknowledge(RedisConfig.ENTRY_QUEUE_KEY_NAME, RedisConfig.ENTRY_QUEUE_GROUP_NAME, recordIds);
+		log.debug("Issued {} entry tokens in one batch ({} records)", valid.size(), batch.size());
+	}
+
 	private void handleMessage(MapRecord<String, String, String> record) {
 		Map<String, String> body = record.getValue();
 		// 1) 메시지 처리 로직
-		String userId = normalizeId(body.get("userId"));
-		String eventId = normalizeId(body.get("eventId"));
-		String instanceId = normalizeId(body.get("instanceId"));
-		if (userId == null || userId.isBlank() || eventId == null || eventId.isBlank() || instanceId == null
-			|| instanceId.isBlank()) {
+		EntryRequest request = EntryRequest.from(record.getId(), body);
+		if (!request.isValid()) {
 			log.error("Invalid ENTRY message body: {}", body);
 			redisTemplate.opsForStream()
 				.acknowledge(RedisConfig.ENTRY_QUEUE_KEY_NAME, RedisConfig.ENTRY_QUEUE_GROUP_NAME, record.getId());
 			return;
 		}
+		String userId = request.userId();
+		String eventId = request.eventId();
+		String instanceId = request.instanceId();
 
 		String tokenKey = "ENTRY_TOKEN:" + userId;
 		String eventKey = "ENTRY_EVENT:" + userId;
@@ -70,7 +225,9 @@ public class EntryQueueConsumer {
 				return;
 			}
 			redisTemplate.opsForValue().set(eventKey, eventId, ENTRY_TOKEN_TTL);
-			redisTemplate.opsForZSet().add(lastSeenKey, userId, System.currentTimeMillis());
+			long now = System.currentTimeMillis();
+			redisTemplate.opsForZSet().add(lastSeenKey, userId, now);
+			indexEntryToken(eventId, userId, now + ENTRY_TOKEN_TTL.toMillis());
 
 			String dispatchStreamKey = RedisConfig.DISPATCH_QUEUE_CHANNEL_PREFIX + instanceId;
 			addDispatchMessage(dispatchStreamKey, userId, eventId);
@@ -83,6 +240,16 @@ public class EntryQueueConsumer {
 
 	}
 
+	/**
+	 * 활성 입장 토큰 인덱스에 만료 시각을 기록한다. broker의 토큰 수 게이지가 KEYS 대신 이 인덱스를 읽는다.
+	 */
+	private void indexEntryToken(String eventId, String userId, long expiresAtMillis) {
+		redisTemplate.opsForZSet().add(RedisConfig.ENTRY_TOKEN_EXPIRY_KEY_NAME, userId, expiresAtMillis);
+		redisTemplate.opsForZSet()
+			.add(RedisConfig.ENTRY_TOKEN_EXPIRY_KEY_NAME + ":" + eventId, userId, expiresAtMillis);
+		redisTemplate.opsForSet().add(RedisConfig.ENTRY_TOKEN_EVENTS_KEY_NAME, eventId);
+	}
+
 	private void addDispatchMessage(String dispatchStreamKey, String userId, String eventId) {
 		for (int attempt = 0; attempt < 3; attempt++) {
 			try {
@@ -141,13 +308,33 @@ public class EntryQueueConsumer {
 			.withStreamKey(dispatchStreamKey));
 	}
 
-	private String normalizeId(String rawId) {
+	private static String normalizeId(String rawId) {
 		if (rawId == null) {
 			return null;
 		}
 		return rawId.replace("\"", "").trim();
 	}
 
+	record EntryRequest(RecordId recordId, Map<String, String> body, String userId, String eventId,
+						String instanceId) {
+
+		static EntryRequest from(MapRecord<String, Object, Object> record) {
+			Map<String, String> body = new HashMap<>();
+			record.getValue().forEach((k, v) -> body.put(String.valueOf(k), v == null ? null : String.valueOf(v)));
+			return from(record.getId(), body);
+		}
+
+		static EntryRequest from(RecordId recordId, Map<String, String> body) {
+			return new EntryRequest(recordId, body, normalizeId(body.get("userId")),
+				normalizeId(body.get("eventId")), normalizeId(body.get("instanceId")));
+		}
+
+		boolean isValid() {
+			return userId != null && !userId.isBlank() && eventId != null && !eventId.isBlank()
+				&& instanceId != null && !instanceId.isBlank();
+		}
+	}
+
 
 	// /**
 	//  * Redis 재시작 시 ACK되지 않은 pending 메시지들을 비동기로 재처리
@@ -0,0 +1,267 @@
+package org.codenbug.messagedispatcher.thread;
+
+import static org.codenbug.messagedispatcher.redis.RedisConfig.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisStreamCommands.XClaimOptions;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 재시작/장애로 처리되지 못한 입장 메시지를 회수한다.
+ * <ul>
+ *   <li>ENTRY 스트림: idle-ms 이상 ACK되지 않은 pending 항목을 XCLAIM 해 토큰 발급을 다시 수행한다.</li>
+ *   <li>죽은 broker: heartbeat가 끊긴 인스턴스의 DISPATCH 스트림에서 처리되지 않은 항목을 살아 있는 인스턴스로 옮기고
+ *   ACK 된 항목을 잘라낸다. 잠시 멈췄던 broker가 돌아올 수 있으므로 스트림과 컨슈머 그룹은 forget-after-ms가 지나야 지운다.</li>
+ *   <li>살아 있는 broker: DISPATCH 스트림에 오래 남은 pending 항목은 ACK 하고 입장 슬롯을 돌려준다.</li>
+ * </ul>
+ * 회수는 배치 단위이며 여러 dispatcher가 동시에 실행해도 스크립트 안의 XDEL/XACK로 한 번만 처리된다.
+ */
+@Component
+public class PendingEntryReclaimer {
+
+  private static final Logger log = LoggerFactory.getLogger(PendingEntryReclaimer.class);
+
+  private static final String ENTRY_TOKEN_PREFIX = "ENTRY_TOKEN:";
+  private static final String ENTRY_EVENT_PREFIX = "ENTRY_EVENT:";
+
+  private final StringRedisTemplate redisTemplate;
+  private final EntryQueueConsumer entryQueueConsumer;
+  private final DefaultRedisScript<List> retargetScript;
+  private final DefaultRedisScript<Long> compensateScript;
+  private final int batchSize;
+  private final Duration entryIdle;
+  private final Duration dispatchIdle;
+  private final long instanceDeadAfterMs;
+  private final long instanceForgetAfterMs;
+
+  private int nextLiveInstance;
+
+  public PendingEntryReclaimer(StringRedisTemplate redisTemplate, EntryQueueConsumer entryQueueConsumer,
+      @Value("${dispatcher.reclaim.batch-size:100}") int batchSize,
+      @Value("${dispatcher.reclaim.entry-idle-ms:30000}") long entryIdleMs,
+      @Value("${dispatcher.reclaim.dispatch-idle-ms:60000}") long dispatchIdleMs,
+      @Value("${dispatcher.reclaim.instance-dead-after-ms:15000}") long instanceDeadAfterMs,
+      @Value("${dispatcher.reclaim.instance-forget-after-ms:600000}") long instanceForgetAfterMs) {
+    this.redisTemplate = redisTemplate;
+    this.entryQueueConsumer = entryQueueConsumer;
+    this.batchSize = Math.max(1, batchSize);
+    this.entryIdle = Duration.ofMillis(entryIdleMs);
+    this.dispatchIdle = Duration.ofMillis(dispatchIdleMs);
+    this.instanceDeadAfterMs = instanceDeadAfterMs;
+    this.instanceForgetAfterMs = Math.max(instanceDeadAfterMs, instanceForgetAfterMs);
+
+    retargetScript = new DefaultRedisScript<>();
+    retargetScript.setScriptText(loadLuaScriptFromResource("retarget_dispatch_stream.lua"));
+    retargetScript.setResultType(List.class);
+    compensateScript = new DefaultRedisScript<>();
+    compensateScript.setScriptText(loadLuaScriptFromResource("compensate_stranded_dispatch.lua"));
+    compensateScript.setResultType(Long.class);
+  }
+
+  private String loadLuaScriptFromResource(String scriptName) {
+    try (InputStream is = new ClassPathResource(scriptName).getInputStream();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
+      return reader.lines().collect(Collectors.joining("\n"));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${dispatcher.reclaim.interval-ms:5000}")
+  public void reclaim() {
+    try {
+      reclaimEntryStream();
+    } catch (Exception e) {
+      log.error("Error reclaiming pending ENTRY messages: {}", e.getMessage(), e);
+    }
+    try {
+      reclaimDispatchStreams();
+    } catch (Exception e) {
+      log.error("Error reclaiming DISPATCH streams: {}", e.getMessage(), e);
+    }
+  }
+
+  private void reclaimEntryStream() {
+    int reclaimed = 0;
+    while (true) {
+      List<String> idleIds = idlePendingIds(ENTRY_QUEUE_KEY_NAME, ENTRY_QUEUE_GROUP_NAME, entryIdle);
+      if (idleIds.isEmpty()) {
+        break;
+      }
+      List<MapRecord<String, Object, Object>> claimed = redisTemplate.opsForStream()
+          .claim(ENTRY_QUEUE_KEY_NAME, ENTRY_QUEUE_GROUP_NAME, ENTRY_QUEUE_CONSUMER_NAME,
+              XClaimOptions.minIdle(entryIdle).ids(idleIds.toArray(String[]::new)));
+      if (claimed == null || claimed.isEmpty()) {
+        break;
+      }
+      List<EntryQueueConsumer.EntryRequest> batch = new ArrayList<>(claimed.size());
+      for (MapRecord<String, Object, Object> record : claimed) {
+        batch.add(EntryQueueConsumer.EntryRequest.from(record));
+      }
+      entryQueueConsumer.handleBatch(batch);
+      reclaimed += batch.size();
+      if (idleIds.size() < batchSize) {
+        break;
+      }
+    }
+    if (reclaimed > 0) {
+      log.info("Reprocessed {} stranded ENTRY messages", reclaimed);
+    }
+  }
+
+  private void reclaimDispatchStreams() {
+    long now = System.currentTimeMillis();
+    long deadBefore = now - instanceDeadAfterMs;
+    long forgetBefore = now - instanceForgetAfterMs;
+    Set<TypedTuple<String>> deadInstances = redisTemplate.opsForZSet()
+        .rangeByScoreWithScores(BROKER_INSTANCES_KEY_NAME, Double.NEGATIVE_INFINITY, deadBefore);
+    Set<String> liveInstances = redisTemplate.opsForZSet()
+        .rangeByScore(BROKER_INSTANCES_KEY_NAME, deadBefore, Double.POSITIVE_INFINITY);
+    List<String> live = liveInstances == null ? List.of() : new ArrayList<>(liveInstances);
+
+    if (deadInstances != null && !deadInstances.isEmpty()) {
+      if (live.isEmpty()) {
+        log.warn("{} dead broker instances but no live instance to re-target to", deadInstances.size());
+      } else {
+        for (TypedTuple<String> dead : deadInstances) {
+          boolean forget = dead.getScore() == null || dead.getScore() < forgetBefore;
+          drainDeadInstance(dead.getValue(), live, forget);
+        }
+      }
+    }
+
+    for (String instanceId : live) {
+      compensateStrandedDispatches(instanceId);
+    }
+  }
+
+  /**
+   * 죽은 인스턴스의 DISPATCH 스트림에서 처리되지 않은 항목(pending, 미전달)만 살아 있는 인스턴스들로 나눠 옮긴다.
+   * 스크립트가 다 옮긴 뒤 ACK 된 항목을 잘라내므로 스트림에는 컨슈머 그룹만 남는다.
+   * heartbeat가 forget-after-ms 넘게 끊긴 인스턴스는 돌아오지 않는 것으로 보고 다 옮긴 뒤 스트림과 heartbeat를 지운다.
+   * 그 뒤에 돌아온 broker는 NOGROUP을 보고 그룹을 다시 만든다.
+   */
+  private void drainDeadInstance(String deadInstanceId, List<String> live, boolean forget) {
+    String deadStream = DISPATCH_QUEUE_CHANNEL_PREFIX + deadInstanceId;
+    String deadGroup = deadStream + DISPATCH_QUEUE_GROUP_SUFFIX;
+    long moved = 0;
+    boolean drained = false;
+    while (true) {
+      String target = live.get(Math.floorMod(nextLiveInstance++, live.size()));
+      List<?> result = redisTemplate.execute(retargetScript,
+          List.of(deadStream, DISPATCH_QUEUE_CHANNEL_PREFIX + target), deadGroup, String.valueOf(batchSize));
+      if (result == null || result.size() < 2) {
+        break;
+      }
+      long read = ((Number) result.get(0)).longValue();
+      moved += ((Number) result.get(1)).longValue();
+      if (read < batchSize) {
+        drained = true;
+        break;
+      }
+    }
+
+    if (moved > 0) {
+      log.info("Drained dead broker instance {}: re-targeted {} dispatch messages", deadInstanceId, moved);
+    }
+    if (forget && drained) {
+      redisTemplate.delete(deadStream);
+      redisTemplate.opsForZSet().remove(BROKER_INSTANCES_KEY_NAME, deadInstanceId);
+      log.info("Forgot broker instance {} after {} ms without heartbeat", deadInstanceId, instanceForgetAfterMs);
+    }
+  }
+
+  /**
+   * 살아 있는 인스턴스가 dispatchIdle 이상 ACK 하지 않은 항목(예: 다른 이벤트에 연결된 유저로 SKIP_ACK 된 승격)은
+   * 더 처리될 수 없으므로 ACK 하고 입장 슬롯을 돌려준다.
+   */
+  private void compensateStrandedDispatches(String instanceId) {
+    String stream = DISPATCH_QUEUE_CHANNEL_PREFIX + instanceId;
+    String group = stream + DISPATCH_QUEUE_GROUP_SUFFIX;
+    if (!Boolean.TRUE.equals(redisTemplate.hasKey(stream))) {
+      return;
+    }
+
+    List<String> idleIds = idlePendingIds(stream, group, dispatchIdle);
+    if (idleIds.isEmpty()) {
+      return;
+    }
+    int compensated = 0;
+    for (String id : idleIds) {
+      List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream()
+          .range(stream, Range.closed(id, id));
+      if (records == null || records.isEmpty()) {
+        // 본문이 이미 지워진 항목은 ACK만 한다.
+        redisTemplate.opsForStream().acknowledge(stream, group, id);
+        continue;
+      }
+      Object userId = records.get(0).getValue().get("userId");
+      Object eventId = records.get(0).getValue().get("eventId");
+      if (userId == null || eventId == null) {
+        redisTemplate.opsForStream().acknowledge(stream, group, id);
+        continue;
+      }
+      String normalizedUserId = normalizeId(userId);
+      String normalizedEventId = normalizeId(eventId);
+      Long result = redisTemplate.execute(compensateScript,
+          List.of(stream, ENTRY_QUEUE_SLOTS_KEY_NAME, ENTRY_TOKEN_EXPIRY_KEY_NAME, ENTRY_LAST_SEEN_KEY_NAME,
+              ENTRY_TOKEN_EXPIRY_KEY_NAME + ":" + normalizedEventId, ENTRY_TOKEN_PREFIX + normalizedUserId,
+              ENTRY_EVENT_PREFIX + normalizedUserId),
+          group, id, normalizedUserId, normalizedEventId, ENTRY_QUEUE_SLOTS_CHANGED_CHANNEL);
+      if (result != null && result == 1L) {
+        compensated++;
+      }
+    }
+    if (compensated > 0) {
+      log.warn("Returned {} entry slots for stranded dispatch messages on instance {}", compensated,
+          instanceId);
+    }
+  }
+
+  private String normalizeId(Object rawId) {
+    return rawId.toString().replace("\"", "");
+  }
+
+  private List<String> idlePendingIds(String stream, String group, Duration minIdle) {
+    PendingMessages pending;
+    try {
+      pending = redisTemplate.opsForStream().pending(stream, group, Range.unbounded(), batchSize);
+    } catch (Exception e) {
+      // 그룹이 아직 없는 스트림
+      log.debug("Skipping pending scan for {} / {}: {}", stream, group, e.getMessage());
+      return List.of();
+    }
+    if (pending == null || pending.isEmpty()) {
+      return List.of();
+    }
+    List<String> ids = new ArrayList<>();
+    for (PendingMessage message : pending) {
+      if (message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) >= 0) {
+        ids.add(message.getIdAsString());
+      }
+    }
+    return ids;
+  }
+}
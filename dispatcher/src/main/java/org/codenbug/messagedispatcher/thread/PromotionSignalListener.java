@@ -0,0 +1,47 @@
+package org.codenbug.messagedispatcher.thread;
+
+import static org.codenbug.messagedispatcher.redis.RedisConfig.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ENTRY_QUEUE_SLOTS가 증가하거나 대기열에 유저가 들어왔다는 신호(eventId)를 받아 즉시 승격을 요청한다.
+ */
+@Slf4j
+@Component
+public class PromotionSignalListener implements MessageListener {
+
+  private final RedisMessageListenerContainer listenerContainer;
+  private final EntryPromoter entryPromoter;
+
+  public PromotionSignalListener(RedisMessageListenerContainer listenerContainer,
+      EntryPromoter entryPromoter) {
+    this.listenerContainer = listenerContainer;
+    this.entryPromoter = entryPromoter;
+  }
+
+  @PostConstruct
+  public void subscribe() {
+    listenerContainer.addMessageListener(this, new ChannelTopic(ENTRY_QUEUE_SLOTS_CHANGED_CHANNEL));
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    // broker의 JSON 직렬화 템플릿으로 발행된 경우 따옴표가 포함될 수 있다.
+    String eventId = new String(message.getBody(), StandardCharsets.UTF_8).replace("\"", "").trim();
+    if (eventId.isEmpty()) {
+      log.warn("Ignoring empty promotion signal");
+      return;
+    }
+    entryPromoter.requestPromotion(eventId);
+  }
+}
@@ -2,30 +2,48 @@ package org.codenbug.messagedispatcher.thread;
 
 import static org.codenbug.messagedispatcher.redis.RedisConfig.*;
 
-import java.nio.charset.StandardCharsets;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.redis.connection.RedisConnection;
-import org.springframework.data.redis.core.Cursor;
-import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 마지막 요청 이후 일정 시간 동안 응답이 없는 대기/입장 유저를 정리한다.
+ * <p>
+ * 배치마다 대상 유저를 먼저 읽고, 스크립트가 만질 유저별 키를 여기서 만들어 KEYS로 넘긴 뒤 스크립트 한 번으로 정리한다. 대기 유저 정리는 time-budget-ms, 입장 유저 정리는
+ * entry-time-budget-ms 안에서만 실행하므로 대기 유저 정리가 길어져도 입장 유저 정리가 밀리지 않는다. 대기 유저는
+ * 활성 이벤트 레지스트리(WAITING_ACTIVE_EVENTS)의 이벤트들을 라운드 로빈으로 돌면서 배치를 하나씩 처리하므로 정리할
+ * 유저가 많은 이벤트 하나가 다른 이벤트를 굶기지 않는다. 예산이 끝나 남은 이벤트는 다음 주기에 그 이벤트부터 이어서 처리한다.
+ */
 @Component
 public class QueueReaper {
 
   private static final Logger log = LoggerFactory.getLogger(QueueReaper.class);
 
   private static final long STALE_WINDOW_MS = 30_000;
-  private static final int BATCH_LIMIT = 1000;
-  private static final int SCAN_COUNT = 1000;
+  // 스크립트 한 번에 넘기는 KEYS 수(입장 유저는 유저당 4개)를 제한한다.
+  private static final int MAX_BATCH_SIZE = 5000;
 
-  private static final String WAITING_LAST_SEEN_PREFIX = "WAITING_LAST_SEEN:";
+  private static final String WAITING_LAST_SEEN_PREFIX = WAITING_LAST_SEEN_KEY_NAME + ":";
   private static final String WAITING_QUEUE_RECORD_PREFIX = "WAITING_QUEUE_INDEX_RECORD:";
   private static final String USER_QUEUE_EVENT_PREFIX = "USER_QUEUE_EVENT:";
   private static final String ENTRY_LAST_SEEN_KEY = "ENTRY_LAST_SEEN";
@@ -33,125 +51,218 @@ public class QueueReaper {
   private static final String ENTRY_EVENT_PREFIX = "ENTRY_EVENT:";
 
   private final StringRedisTemplate redisTemplate;
-
-  public QueueReaper(StringRedisTemplate redisTemplate) {
+  private final EntryPromoter entryPromoter;
+  private final ActiveEventRegistry activeEventRegistry;
+  private final DefaultRedisScript<Long> reapWaitingScript;
+  private final DefaultRedisScript<List> reapEntryScript;
+  private final int batchSize;
+  private final long timeBudgetMs;
+  private final long entryTimeBudgetMs;
+  private final Counter waitingReapedCounter;
+  private final Counter entryReapedCounter;
+
+  // 이전 주기가 예산 초과로 멈춘 이벤트. 다음 주기는 이 이벤트부터 시작한다.
+  private String resumeEventId;
+
+  public QueueReaper(StringRedisTemplate redisTemplate, EntryPromoter entryPromoter,
+      ActiveEventRegistry activeEventRegistry, MeterRegistry meterRegistry,
+      @Value("${dispatcher.reaper.batch-size:1000}") int batchSize,
+      @Value("${dispatcher.reaper.time-budget-ms:200}") long timeBudgetMs,
+      @Value("${dispatcher.reaper.entry-time-budget-ms:100}") long entryTimeBudgetMs) {
     this.redisTemplate = redisTemplate;
+    this.entryPromoter = entryPromoter;
+    this.activeEventRegistry = activeEventRegistry;
+    this.batchSize = Math.max(1, Math.min(batchSize, MAX_BATCH_SIZE));
+    this.timeBudgetMs = timeBudgetMs;
+    this.entryTimeBudgetMs = entryTimeBudgetMs;
+
+    reapWaitingScript = new DefaultRedisScript<>();
+    reapWaitingScript.setScriptText(loadLuaScriptFromResource("reap_stale_waiting_users.lua"));
+    reapWaitingScript.setResultType(Long.class);
+    reapEntryScript = new DefaultRedisScript<>();
+    reapEntryScript.setScriptText(loadLuaScriptFromResource("reap_stale_entry_users.lua"));
+    reapEntryScript.setResultType(List.class);
+
+    waitingReapedCounter = Counter.builder("ticketon.reaper.waiting_reaped")
+        .description("Stale waiting users removed by the reaper").register(meterRegistry);
+    entryReapedCounter = Counter.builder("ticketon.reaper.entry_reaped")
+        .description("Orphan entry users removed by the reaper").register(meterRegistry);
   }
 
-  @Scheduled(fixedRate = 1000)
+  private String loadLuaScriptFromResource(String scriptName) {
+    try (InputStream is = new ClassPathResource(scriptName).getInputStream();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
+      return reader.lines().collect(Collectors.joining("\n"));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${dispatcher.reaper.interval-ms:1000}")
   public void reapStaleUsers() {
-    long cutoff = System.currentTimeMillis() - STALE_WINDOW_MS;
-    reapWaitingUsers(cutoff);
-    reapEntryUsers(cutoff);
+    long startedAt = System.currentTimeMillis();
+    long cutoff = startedAt - STALE_WINDOW_MS;
+
+    // 단계마다 예산을 따로 둔다. 대기 유저 정리가 예산을 다 써도 입장 유저 정리는 자기 예산만큼 실행된다.
+    long waitingReaped = reapWaitingUsers(cutoff, startedAt + timeBudgetMs);
+    long entryReaped = reapEntryUsers(cutoff, System.currentTimeMillis() + entryTimeBudgetMs);
+
+    if (waitingReaped > 0 || entryReaped > 0) {
+      log.info("Reaped {} stale waiting users and {} orphan entry users in {} ms",
+          waitingReaped, entryReaped, System.currentTimeMillis() - startedAt);
+    }
   }
 
-  private void reapWaitingUsers(long cutoff) {
-    List<String> lastSeenKeys = scanKeys(WAITING_LAST_SEEN_PREFIX + "*");
-    if (lastSeenKeys.isEmpty()) {
-      return;
+  private long reapWaitingUsers(long cutoff, long deadline) {
+    List<String> eventIds = orderedEventIds();
+    if (eventIds.isEmpty()) {
+      return 0;
     }
 
-    for (String lastSeenKey : lastSeenKeys) {
-      String eventId = extractEventId(lastSeenKey);
-      if (eventId == null) {
-        log.warn("Skipping unexpected waiting last-seen key: {}", lastSeenKey);
-        continue;
+    long total = 0;
+    // 라운드마다 아직 남은 유저가 있는 이벤트만 다시 돈다.
+    Set<String> pending = new LinkedHashSet<>(eventIds);
+    while (!pending.isEmpty()) {
+      Set<String> next = new LinkedHashSet<>();
+      for (String eventId : pending) {
+        if (System.currentTimeMillis() >= deadline) {
+          resumeEventId = eventId;
+          log.debug("Reaper time budget exhausted; resuming at event {} next tick", eventId);
+          return total;
+        }
+        ReapResult result = reapWaitingBatch(eventId, cutoff);
+        total += result.reaped();
+        if (result.hasMore()) {
+          next.add(eventId);
+        }
       }
+      pending = next;
+    }
+    resumeEventId = null;
+    return total;
+  }
 
-      Set<String> staleUserIds = redisTemplate.opsForZSet()
-          .rangeByScore(lastSeenKey, 0, cutoff, 0, BATCH_LIMIT);
+  private ReapResult reapWaitingBatch(String eventId, long cutoff) {
+    String lastSeenKey = WAITING_LAST_SEEN_PREFIX + eventId;
+    try {
+      Set<String> staleUserIds = redisTemplate.opsForZSet().rangeByScore(lastSeenKey, 0, cutoff, 0, batchSize);
       if (staleUserIds == null || staleUserIds.isEmpty()) {
-        continue;
+        return ReapResult.NONE;
       }
 
-      String waitingQueueKey = WAITING_QUEUE_KEY_NAME + ":" + eventId;
-      String waitingUserIdsKey = WAITING_USER_IDS_KEY_NAME + ":" + eventId;
-      String waitingRecordKey = WAITING_QUEUE_RECORD_PREFIX + eventId;
-
-      for (Object rawUserId : staleUserIds) {
-        String userId = rawUserId.toString();
-        redisTemplate.opsForZSet().remove(waitingQueueKey, rawUserId);
-        redisTemplate.opsForHash().delete(waitingUserIdsKey, userId);
-        redisTemplate.opsForHash().delete(waitingRecordKey, userId);
-        redisTemplate.opsForZSet().remove(lastSeenKey, rawUserId);
-        clearUserQueueEventIfMatch(userId, eventId);
+      List<String> keys = new ArrayList<>(4 + staleUserIds.size());
+      keys.add(lastSeenKey);
+      keys.add(WAITING_QUEUE_KEY_NAME + ":" + eventId);
+      keys.add(WAITING_USER_IDS_KEY_NAME + ":" + eventId);
+      keys.add(WAITING_QUEUE_RECORD_PREFIX + eventId);
+      List<String> args = new ArrayList<>(2 + staleUserIds.size());
+      args.add(String.valueOf(cutoff));
+      args.add(eventId);
+      for (String userId : staleUserIds) {
+        keys.add(USER_QUEUE_EVENT_PREFIX + userId);
+        args.add(userId);
       }
 
-      log.debug("Reaped {} stale waiting users for event {}", staleUserIds.size(), eventId);
+      Long result = redisTemplate.execute(reapWaitingScript, keys, args.toArray());
+      long reaped = result == null ? 0 : result;
+      if (reaped > 0) {
+        waitingReapedCounter.increment(reaped);
+        log.debug("Reaped {} stale waiting users for event {}", reaped, eventId);
+      }
+      return new ReapResult(reaped, staleUserIds.size() == batchSize);
+    } catch (Exception e) {
+      log.error("Error reaping waiting users for event {}: {}", eventId, e.getMessage(), e);
+      return ReapResult.NONE;
     }
   }
 
-  private void reapEntryUsers(long cutoff) {
-    Set<String> candidateUserIds = redisTemplate.opsForZSet()
-        .rangeByScore(ENTRY_LAST_SEEN_KEY, 0, cutoff, 0, BATCH_LIMIT);
-
-    if (candidateUserIds == null || candidateUserIds.isEmpty()) {
-      return;
-    }
-
-    int reapedCount = 0;
-
-    for (String userId : candidateUserIds) {
-      String entryTokenKey = ENTRY_TOKEN_PREFIX + userId;
-
-      // entryAuthToken이 아직 살아 있으면 ENTRY 상태를 지우지 않는다.
-      if (Boolean.TRUE.equals(redisTemplate.hasKey(entryTokenKey))) {
-        continue;
-      }
-
-      // 여기부터는 entryAuthToken TTL 만료로 토큰은 사라졌는데,
-      // ENTRY 상태 관련 키만 남은 경우를 정리한다.
-      String eventId = stringValue(redisTemplate.opsForValue().get(ENTRY_EVENT_PREFIX + userId));
-
-      redisTemplate.delete(ENTRY_EVENT_PREFIX + userId);
-
-      if (eventId != null && !eventId.isBlank()) {
-        redisTemplate.opsForHash().increment(ENTRY_QUEUE_SLOTS_KEY_NAME, eventId, 1);
+  private long reapEntryUsers(long cutoff, long deadline) {
+    Set<String> releasedEventIds = new HashSet<>();
+    long reapedCount = 0;
+    // 이번 주기에 토큰이 살아 있어 남겨 둔 유저 수. 같은 유저를 다시 읽지 않도록 다음 배치의 offset으로 쓴다.
+    long skipped = 0;
+
+    try {
+      while (System.currentTimeMillis() < deadline) {
+        Set<String> candidates = redisTemplate.opsForZSet()
+            .rangeByScore(ENTRY_LAST_SEEN_KEY, 0, cutoff, skipped, batchSize);
+        if (candidates == null || candidates.isEmpty()) {
+          break;
+        }
+        List<?> result = reapEntryBatch(new ArrayList<>(candidates), cutoff);
+        if (result == null || result.size() < 2) {
+          break;
+        }
+        long reaped = ((Number) result.get(0)).longValue();
+        long batchSkipped = ((Number) result.get(1)).longValue();
+        for (int i = 2; i < result.size(); i++) {
+          releasedEventIds.add(String.valueOf(result.get(i)));
+        }
+        reapedCount += reaped;
+        skipped += batchSkipped;
+        if (candidates.size() < batchSize) {
+          break;
+        }
       }
-
-      redisTemplate.opsForZSet().remove(ENTRY_LAST_SEEN_KEY, userId);
-      redisTemplate.delete(USER_QUEUE_EVENT_PREFIX + userId);
-
-      reapedCount++;
+    } catch (Exception e) {
+      log.error("Error reaping orphan entry users: {}", e.getMessage(), e);
     }
 
+    // 반환된 슬롯만큼 곧바로 대기 유저를 승격시킨다.
+    releasedEventIds.forEach(entryPromoter::requestPromotion);
+
     if (reapedCount > 0) {
+      entryReapedCounter.increment(reapedCount);
       log.debug("Reaped {} orphan entry users whose entryAuthToken expired", reapedCount);
     }
+    return reapedCount;
   }
 
-  private void clearUserQueueEventIfMatch(String userId, String eventId) {
-    String key = USER_QUEUE_EVENT_PREFIX + userId;
-    String recordedEventId = stringValue(redisTemplate.opsForValue().get(key));
-    if (eventId.equals(recordedEventId)) {
-      redisTemplate.delete(key);
+  /**
+   * 후보 유저의 ENTRY_EVENT를 한 번에 읽어 이벤트별 토큰 인덱스 키까지 만든 뒤 스크립트에 넘긴다.
+   * 스크립트는 ENTRY_EVENT가 읽은 값과 같을 때만 정리하므로 그 사이 바뀐 유저는 다음 주기에 다시 본다.
+   */
+  private List<?> reapEntryBatch(List<String> userIds, long cutoff) {
+    List<String> entryEventKeys = userIds.stream().map(userId -> ENTRY_EVENT_PREFIX + userId).toList();
+    List<String> eventIds = redisTemplate.opsForValue().multiGet(entryEventKeys);
+
+    List<String> keys = new ArrayList<>(3 + userIds.size() * 4);
+    keys.add(ENTRY_LAST_SEEN_KEY);
+    keys.add(ENTRY_QUEUE_SLOTS_KEY_NAME);
+    keys.add(ENTRY_TOKEN_EXPIRY_KEY_NAME);
+    List<String> args = new ArrayList<>(1 + userIds.size() * 2);
+    args.add(String.valueOf(cutoff));
+    for (int i = 0; i < userIds.size(); i++) {
+      String userId = userIds.get(i);
+      String eventId = eventIds == null || eventIds.get(i) == null ? "" : eventIds.get(i);
+      keys.add(ENTRY_TOKEN_PREFIX + userId);
+      keys.add(entryEventKeys.get(i));
+      keys.add(USER_QUEUE_EVENT_PREFIX + userId);
+      keys.add(eventId.isEmpty() ? ENTRY_TOKEN_EXPIRY_KEY_NAME : ENTRY_TOKEN_EXPIRY_KEY_NAME + ":" + eventId);
+      args.add(userId);
+      args.add(eventId);
     }
+    return redisTemplate.execute(reapEntryScript, keys, args.toArray());
   }
 
-  private String extractEventId(String lastSeenKey) {
-    if (!lastSeenKey.startsWith(WAITING_LAST_SEEN_PREFIX)) {
-      return null;
+  /**
+   * 활성 이벤트 레지스트리의 이벤트를 이전 주기가 멈춘 이벤트부터 시작하도록 회전한다. 대기열을 떠난 유저의
+   * last-seen은 승격 스크립트가 지우므로 레지스트리에서 빠진 이벤트에는 정리할 유저가 남지 않는다.
+   */
+  private List<String> orderedEventIds() {
+    List<String> eventIds = new ArrayList<>(activeEventRegistry.activeEventIds());
+    eventIds.sort(null);
+
+    int resumeAt = resumeEventId == null ? -1 : eventIds.indexOf(resumeEventId);
+    if (resumeAt <= 0) {
+      return eventIds;
     }
-    String eventId = lastSeenKey.substring(WAITING_LAST_SEEN_PREFIX.length());
-    return eventId.isEmpty() ? null : eventId;
-  }
-
-  private List<String> scanKeys(String pattern) {
-    List<String> keys = redisTemplate.execute((RedisConnection connection) -> {
-      List<String> results = new ArrayList<>();
-      try (Cursor<byte[]> cursor = connection.scan(
-          ScanOptions.scanOptions().match(pattern).count(SCAN_COUNT).build())) {
-        while (cursor.hasNext()) {
-          results.add(new String(cursor.next(), StandardCharsets.UTF_8));
-        }
-      }
-      return results;
-    });
-
-    return keys == null ? List.of() : keys;
+    List<String> rotated = new ArrayList<>(eventIds.subList(resumeAt, eventIds.size()));
+    rotated.addAll(eventIds.subList(0, resumeAt));
+    return rotated;
   }
 
-  private String stringValue(Object value) {
-    return value == null ? null : value.toString();
+  private record ReapResult(long reaped, boolean hasMore) {
+    private static final ReapResult NONE = new ReapResult(0, false);
   }
 }
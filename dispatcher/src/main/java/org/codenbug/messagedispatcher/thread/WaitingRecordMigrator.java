@@ -0,0 +1,103 @@
+package org.codenbug.messagedispatcher.thread;
+
+import static org.codenbug.messagedispatcher.redis.RedisConfig.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 이전 버전 broker가 JSON으로 저장한 대기 부가 기록을 "&lt;instanceNo&gt;:&lt;idx&gt;" 형식으로 한 번 변환한다.
+ * <p>
+ * 승격 스크립트는 두 형식을 모두 읽으므로 변환이 끝나기 전에도 승격은 정상 동작한다. 변환은 해시마다
+ * HSCAN 페이지 단위로 나눠 실행해 Redis를 오래 막지 않는다.
+ */
+@Slf4j
+@Component
+public class WaitingRecordMigrator {
+
+  private static final int SCAN_COUNT = 500;
+
+  private final StringRedisTemplate redisTemplate;
+  private final DefaultRedisScript<List> migrateScript;
+
+  public WaitingRecordMigrator(StringRedisTemplate redisTemplate) {
+    this.redisTemplate = redisTemplate;
+    migrateScript = new DefaultRedisScript<>();
+    migrateScript.setScriptText(loadLuaScriptFromResource("migrate_waiting_records.lua"));
+    migrateScript.setResultType(List.class);
+  }
+
+  private String loadLuaScriptFromResource(String scriptName) {
+    try (InputStream is = new ClassPathResource(scriptName).getInputStream();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
+      return reader.lines().collect(Collectors.joining("\n"));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void migrateLegacyRecords() {
+    try {
+      long migrated = 0;
+      for (String recordKey : scanRecordKeys()) {
+        migrated += migrateHash(recordKey);
+      }
+      if (migrated > 0) {
+        log.info("Migrated {} legacy waiting queue records", migrated);
+      }
+    } catch (Exception e) {
+      log.error("Error migrating legacy waiting queue records: {}", e.getMessage(), e);
+    }
+  }
+
+  private long migrateHash(String recordKey) {
+    List<String> keys = List.of(recordKey, WAITING_INSTANCE_IDS_KEY_NAME,
+        WAITING_INSTANCE_NAMES_KEY_NAME, WAITING_INSTANCE_SEQ_KEY_NAME);
+    String cursor = "0";
+    long migrated = 0;
+    do {
+      List<?> result = redisTemplate.execute(migrateScript, keys, cursor,
+          String.valueOf(SCAN_COUNT));
+      if (result == null || result.size() < 2) {
+        break;
+      }
+      cursor = String.valueOf(result.get(0));
+      migrated += ((Number) result.get(1)).longValue();
+    } while (!"0".equals(cursor));
+    return migrated;
+  }
+
+  private List<String> scanRecordKeys() {
+    List<String> keys = redisTemplate.execute((RedisConnection connection) -> {
+      List<String> results = new ArrayList<>();
+      try (Cursor<byte[]> cursor = connection.scan(ScanOptions.scanOptions()
+          .match(WAITING_QUEUE_INDEX_RECORD_KEY_NAME + ":*").count(1000).build())) {
+        while (cursor.hasNext()) {
+          results.add(new String(cursor.next(), StandardCharsets.UTF_8));
+        }
+      }
+      return results;
+    });
+    return keys == null ? List.of() : keys;
+  }
+}
@@ -0,0 +1,26 @@
+-- 처리되지 못하고 pending으로 남은 DISPATCH 항목을 ACK 하고, 해당 유저의 입장 슬롯을 한 번만 돌려준다.
+-- KEYS[1] DISPATCH:<instanceId>, KEYS[2] ENTRY_QUEUE_SLOTS, KEYS[3] ENTRY_TOKEN_EXPIRY, KEYS[4] ENTRY_LAST_SEEN
+-- KEYS[5] ENTRY_TOKEN_EXPIRY:<eventId>, KEYS[6] ENTRY_TOKEN:<userId>, KEYS[7] ENTRY_EVENT:<userId>
+-- ARGV[1] 컨슈머 그룹, ARGV[2] 메시지 id, ARGV[3] userId, ARGV[4] eventId, ARGV[5] 승격 신호 채널
+-- return 1: 슬롯 반환, 0: 이미 처리되었거나 반환할 필요 없음
+
+-- 다른 dispatcher가 먼저 ACK 했다면 아무것도 하지 않는다.
+if redis.call("XACK", KEYS[1], ARGV[1], ARGV[2]) == 0 then
+    return 0
+end
+
+local userId = ARGV[3]
+local eventId = ARGV[4]
+
+-- ENTRY_EVENT가 없으면 reaper가 이미 슬롯을 돌려준 것이고, 다르면 다른 이벤트로 입장한 유저다.
+if redis.call("GET", KEYS[7]) ~= eventId then
+    return 0
+end
+
+redis.call("DEL", KEYS[6], KEYS[7])
+redis.call("ZREM", KEYS[3], userId)
+redis.call("ZREM", KEYS[5], userId)
+redis.call("ZREM", KEYS[4], userId)
+redis.call("HINCRBY", KEYS[2], eventId, 1)
+redis.call("PUBLISH", ARGV[5], eventId)
+return 1
@@ -0,0 +1,31 @@
+-- 이전 버전의 JSON 대기 부가 기록을 "<instanceNo>:<idx>" 형식으로 변환한다. HSCAN 한 페이지씩 처리한다.
+-- KEYS[1] WAITING_QUEUE_INDEX_RECORD:<eventId>
+-- KEYS[2] WAITING_INSTANCE_IDS, KEYS[3] WAITING_INSTANCE_NAMES, KEYS[4] WAITING_INSTANCE_SEQ
+-- ARGV[1] cursor, ARGV[2] count
+-- return { nextCursor, migrated }
+
+local page = redis.call("HSCAN", KEYS[1], ARGV[1], "COUNT", ARGV[2])
+local nextCursor = page[1]
+local entries = page[2]
+local migrated = 0
+
+for i = 1, #entries, 2 do
+    local userId = entries[i]
+    local value = entries[i + 1]
+    if string.sub(value, 1, 1) == "{" then
+        local ok, record = pcall(cjson.decode, value)
+        if ok and record ~= nil and record["instanceId"] and record["idx"] then
+            local instanceId = tostring(record["instanceId"])
+            local instanceNo = redis.call("HGET", KEYS[2], instanceId)
+            if not instanceNo then
+                instanceNo = redis.call("INCR", KEYS[4])
+                redis.call("HSET", KEYS[2], instanceId, instanceNo)
+                redis.call("HSET", KEYS[3], instanceNo, instanceId)
+            end
+            redis.call("HSET", KEYS[1], userId, instanceNo .. ":" .. tostring(record["idx"]))
+            migrated = migrated + 1
+        end
+    end
+end
+
+return { nextCursor, migrated }
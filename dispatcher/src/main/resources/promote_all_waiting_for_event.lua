@@ -1,3 +1,11 @@
+-- KEYS[1] ENTRY_QUEUE_SLOTS, KEYS[2] WAITING_QUEUE_INDEX_RECORD:<eventId>, KEYS[3] WAITING:<eventId>,
+-- KEYS[4] WAITING_USER_IDS:<eventId>, KEYS[5] ENTRY, KEYS[6] WAITING_ACTIVE_EVENTS, KEYS[7] WAITING_INSTANCE_NAMES
+-- KEYS[8] WAITING_LAST_SEEN:<eventId>
+--   대기열을 떠난 유저의 last-seen도 지운다. reaper는 활성 이벤트만 돌므로 레지스트리에서 빠진 이벤트에 남은 기록은 아무도 지우지 않는다.
+-- KEYS[9] BROKER_INSTANCES (instanceId -> 마지막 heartbeat)
+--   기록된 인스턴스의 heartbeat가 ARGV[2]보다 오래됐으면 살아 있는 인스턴스로 바꿔 승격한다.
+--   죽은 인스턴스의 스트림은 아무도 읽지 않으므로 그대로 보내면 입장 슬롯이 돌아오지 않는다.
+-- ARGV[1] eventId, ARGV[2] 이 시각(ms) 이전 heartbeat는 죽은 인스턴스로 본다
 local eventId = string.gsub(ARGV[1], '"', '')
 
 local rawCount = redis.call("HGET", KEYS[1], eventId)
@@ -9,64 +17,111 @@ local capacity = tonumber(rawCount)
 
 local waitingItems = redis.call("ZRANGE", KEYS[3], 0, capacity - 1)
 if (#waitingItems == 0) then
+    -- 대기열이 비었으면 활성 이벤트 레지스트리에서 제거 (KEYS[6])
+    if KEYS[6] and redis.call("ZCARD", KEYS[3]) == 0 then
+        redis.call("SREM", KEYS[6], eventId)
+        if KEYS[8] then
+            redis.call("DEL", KEYS[8])
+        end
+    end
     return 0
 end
 
 local cnt = 0
+-- 인스턴스 번호 -> 인스턴스 ID 조회 결과 (스크립트 실행 동안만 유지)
+local instanceNames = {}
+
+-- 기록 값은 "<instanceNo>:<idx>" 형식이다. 이전 버전의 JSON 기록도 처리한다.
+local function resolveInstanceId(recordValue)
+    if string.sub(recordValue, 1, 1) == "{" then
+        local ok, record = pcall(cjson.decode, recordValue)
+        if (not ok) or (record == nil) or (not record["instanceId"]) then
+            return nil
+        end
+        return tostring(record["instanceId"])
+    end
+
+    local sep = string.find(recordValue, ":", 1, true)
+    if not sep then
+        return nil
+    end
+    local instanceNo = string.sub(recordValue, 1, sep - 1)
+    local instanceId = instanceNames[instanceNo]
+    if instanceId == nil then
+        instanceId = redis.call("HGET", KEYS[7], instanceNo) or false
+        instanceNames[instanceNo] = instanceId
+    end
+    return instanceId or nil
+end
+
+-- 살아 있는 인스턴스 목록 (처음 필요할 때 한 번만 읽는다)
+local liveInstances = nil
+
+local function liveInstanceFor(instanceId)
+    if (not KEYS[9]) or (not ARGV[2]) then
+        return instanceId
+    end
+    local heartbeat = redis.call("ZSCORE", KEYS[9], instanceId)
+    -- heartbeat 기록이 없는 인스턴스는 판단할 수 없으므로 그대로 둔다.
+    if (not heartbeat) or tonumber(heartbeat) >= tonumber(ARGV[2]) then
+        return instanceId
+    end
+    if liveInstances == nil then
+        liveInstances = redis.call("ZRANGEBYSCORE", KEYS[9], ARGV[2], "+inf")
+    end
+    if #liveInstances == 0 then
+        -- 살아 있는 인스턴스가 없으면 그대로 보내고 PendingEntryReclaimer가 나중에 옮기게 한다.
+        return instanceId
+    end
+    return liveInstances[(cnt % #liveInstances) + 1]
+end
 
 for idx = 1, #waitingItems do
     local rawUserId = waitingItems[idx]
-    local userId = nil
-    local skip = false
 
-    if rawUserId == nil then
-        skip = true
-    elseif rawUserId == "" then
+    if rawUserId == "" then
         redis.call("ZREM", KEYS[3], rawUserId)
-        skip = true
-    else
-        userId = string.gsub(tostring(rawUserId), '"', '')
-
-    end
+    elseif rawUserId ~= nil then
+        local userId = string.gsub(tostring(rawUserId), '"', '')
+        local recordValue = redis.call("HGET", KEYS[2], userId)
+        local instanceId = nil
+        if recordValue then
+            instanceId = resolveInstanceId(recordValue)
+        end
 
-    if not skip then
-        -- waiting record 해시에서 record JSON 가져오기
-        local recordJson = redis.call("HGET", KEYS[2], userId)
-        if not recordJson then
+        if (not instanceId) or (instanceId == "") then
             redis.call("ZREM", KEYS[3], userId)
             redis.call("HDEL", KEYS[2], userId)
             redis.call("HDEL", KEYS[4], userId)
-            skip = true
+            if KEYS[8] then
+                redis.call("ZREM", KEYS[8], userId)
+            end
         else
-            local ok, record = pcall(cjson.decode, recordJson)
-            if (not ok) or (record == nil) then
-                redis.call("ZREM", KEYS[3], userId)
-                redis.call("HDEL", KEYS[2], userId)
-                redis.call("HDEL", KEYS[4], userId)
-                skip = true
-            else
-                local instanceId = record["instanceId"]
-                if (not instanceId) or (tostring(instanceId) == "") then
-                    redis.call("ZREM", KEYS[3], userId)
-                    redis.call("HDEL", KEYS[2], userId)
-                    redis.call("HDEL", KEYS[4], userId)
-                    skip = true
-                else
-                    -- 여기서부터 “성공 처리”만 모아두기
-                    redis.call("HINCRBY", KEYS[1], eventId, -1)
-
-                    local entryMsg = { "userId", userId, "eventId", eventId, "instanceId", tostring(instanceId) }
-                    redis.call("XADD", KEYS[5], "*", unpack(entryMsg))
-
-                    redis.call("ZREM", KEYS[3], userId)
-                    redis.call("HDEL", KEYS[2], userId)
-                    redis.call("HDEL", KEYS[4], userId)
-
-                    cnt = cnt + 1
-                end
+            instanceId = liveInstanceFor(instanceId)
+
+            -- 여기서부터 “성공 처리”만 모아두기
+            redis.call("HINCRBY", KEYS[1], eventId, -1)
+
+            local entryMsg = { "userId", userId, "eventId", eventId, "instanceId", instanceId }
+            redis.call("XADD", KEYS[5], "*", unpack(entryMsg))
+
+            redis.call("ZREM", KEYS[3], userId)
+            redis.call("HDEL", KEYS[2], userId)
+            redis.call("HDEL", KEYS[4], userId)
+            if KEYS[8] then
+                redis.call("ZREM", KEYS[8], userId)
             end
+
+            cnt = cnt + 1
         end
     end
 end
 
+if KEYS[6] and redis.call("ZCARD", KEYS[3]) == 0 then
+    redis.call("SREM", KEYS[6], eventId)
+    if KEYS[8] then
+        redis.call("DEL", KEYS[8])
+    end
+end
+
 return cnt
@@ -0,0 +1,55 @@
+-- entryAuthToken이 만료되었는데 ENTRY 상태 키만 남은 유저를 정리한다.
+-- 대상 유저와 유저별 키는 호출자가 ENTRY_LAST_SEEN과 ENTRY_EVENT를 읽어 넘긴다.
+-- KEYS[1] ENTRY_LAST_SEEN, KEYS[2] ENTRY_QUEUE_SLOTS, KEYS[3] ENTRY_TOKEN_EXPIRY
+-- 유저마다 KEYS 4개: ENTRY_TOKEN:<userId>, ENTRY_EVENT:<userId>, USER_QUEUE_EVENT:<userId>,
+--   ENTRY_TOKEN_EXPIRY:<eventId> (이벤트가 없으면 KEYS[3])
+-- ARGV[1] cutoff(epoch millis), 유저마다 ARGV 2개: userId, 읽을 때의 ENTRY_EVENT 값 (없으면 "")
+-- return { reaped, skipped, releasedEventId... }
+--   skipped는 토큰이 살아 있거나 읽은 뒤 ENTRY_EVENT가 바뀌어 남겨 둔 유저 수. 아직 ENTRY_LAST_SEEN 범위에 남으므로
+--   호출자는 다음 배치의 offset에 더한다.
+
+local reaped = 0
+local skipped = 0
+local releasedEventIds = {}
+local released = {}
+
+for i = 0, (#ARGV - 1) / 2 - 1 do
+    local userId = ARGV[2 + i * 2]
+    local expectedEventId = ARGV[3 + i * 2]
+    local entryTokenKey = KEYS[4 + i * 4]
+    local entryEventKey = KEYS[5 + i * 4]
+    local userQueueEventKey = KEYS[6 + i * 4]
+    local eventTokenExpiryKey = KEYS[7 + i * 4]
+
+    local lastSeen = redis.call("ZSCORE", KEYS[1], userId)
+    if lastSeen and tonumber(lastSeen) <= tonumber(ARGV[1]) then
+        local eventId = redis.call("GET", entryEventKey) or ""
+        -- entryAuthToken이 아직 살아 있으면 ENTRY 상태를 지우지 않는다.
+        -- 읽은 뒤 ENTRY_EVENT가 바뀌었으면 넘겨받은 이벤트 키가 맞지 않으므로 다음 주기에 다시 본다.
+        if redis.call("EXISTS", entryTokenKey) == 1 or eventId ~= expectedEventId then
+            skipped = skipped + 1
+        else
+            redis.call("DEL", entryEventKey)
+            redis.call("ZREM", KEYS[3], userId)
+
+            if eventId ~= "" then
+                redis.call("HINCRBY", KEYS[2], eventId, 1)
+                redis.call("ZREM", eventTokenExpiryKey, userId)
+                if not released[eventId] then
+                    released[eventId] = true
+                    releasedEventIds[#releasedEventIds + 1] = eventId
+                end
+            end
+
+            redis.call("ZREM", KEYS[1], userId)
+            redis.call("DEL", userQueueEventKey)
+            reaped = reaped + 1
+        end
+    end
+end
+
+local result = { reaped, skipped }
+for i = 1, #releasedEventIds do
+    result[#result + 1] = releasedEventIds[i]
+end
+return result
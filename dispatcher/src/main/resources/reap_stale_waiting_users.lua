@@ -0,0 +1,29 @@
+-- 한 이벤트의 오래된 대기 유저를 정리한다. 대상 유저와 유저별 키는 호출자가 WAITING_LAST_SEEN에서 읽어 넘긴다.
+-- KEYS[1] WAITING_LAST_SEEN:<eventId>, KEYS[2] WAITING:<eventId>,
+-- KEYS[3] WAITING_USER_IDS:<eventId>, KEYS[4] WAITING_QUEUE_INDEX_RECORD:<eventId>
+-- KEYS[4 + i] USER_QUEUE_EVENT:<ARGV[2 + i]>
+-- ARGV[1] cutoff(epoch millis), ARGV[2] eventId, ARGV[2 + i] userId
+-- return 정리한 유저 수
+
+local reaped = 0
+
+for i = 1, #ARGV - 2 do
+    local userId = ARGV[2 + i]
+    -- 읽은 뒤 다시 요청해 last-seen이 갱신된 유저는 건너뛴다.
+    local lastSeen = redis.call("ZSCORE", KEYS[1], userId)
+    if lastSeen and tonumber(lastSeen) <= tonumber(ARGV[1]) then
+        redis.call("ZREM", KEYS[2], userId)
+        redis.call("HDEL", KEYS[3], userId)
+        redis.call("HDEL", KEYS[4], userId)
+        redis.call("ZREM", KEYS[1], userId)
+
+        -- 다른 이벤트로 옮겨간 유저의 기록은 지우지 않는다.
+        local userQueueEventKey = KEYS[4 + i]
+        if redis.call("GET", userQueueEventKey) == ARGV[2] then
+            redis.call("DEL", userQueueEventKey)
+        end
+        reaped = reaped + 1
+    end
+end
+
+return reaped
@@ -0,0 +1,97 @@
+-- 죽은 broker 인스턴스의 DISPATCH 스트림에서 아직 처리되지 않은 항목만 살아 있는 인스턴스의 스트림으로 옮긴다. 한 번에 최대 ARGV[2]건.
+-- 이미 XACK 된 항목을 다시 옮기면 polling 모드에서는 토큰이 다시 발급되고 SSE 모드에서는 슬롯이 두 번 반환되므로,
+-- 컨슈머 그룹의 pending 항목(XPENDING)과 그룹의 last-delivered-id 이후에 들어온 항목만 옮긴다.
+-- 옮긴 항목은 원본에서 XACK/XDEL 하므로 다음 호출은 그다음 항목부터 읽는다.
+-- 다 옮기면 남은 항목은 모두 ACK 된 것이므로 last-delivered-id 앞까지 잘라낸다. 스트림과 컨슈머 그룹은 남겨 두어
+-- 잠시 멈췄던 broker가 돌아오면 같은 그룹으로 계속 읽을 수 있게 한다.
+-- KEYS[1] DISPATCH:<deadInstanceId>, KEYS[2] DISPATCH:<liveInstanceId>
+-- ARGV[1] 원본 스트림의 컨슈머 그룹, ARGV[2] 최대 건수
+-- return { 읽은 항목 수, 옮긴 항목 수 }
+
+if redis.call("EXISTS", KEYS[1]) == 0 then
+    return { 0, 0 }
+end
+
+local group = ARGV[1]
+local limit = tonumber(ARGV[2])
+local read = 0
+local moved = 0
+
+local function fieldsOf(fields)
+    local userId = nil
+    local eventId = nil
+    for j = 1, #fields, 2 do
+        if fields[j] == "userId" then
+            userId = fields[j + 1]
+        elseif fields[j] == "eventId" then
+            eventId = fields[j + 1]
+        end
+    end
+    return userId, eventId
+end
+
+-- 스트림 생성용 더미 메시지({init=true})는 옮기지 않는다.
+local function move(fields)
+    local userId, eventId = fieldsOf(fields)
+    if userId and eventId then
+        redis.call("XADD", KEYS[2], "*", "userId", userId, "eventId", eventId)
+        moved = moved + 1
+    end
+end
+
+-- 그룹이 없으면 전달된 항목이 없으므로 모든 항목이 미전달이다.
+local lastDeliveredId = nil
+local groups = redis.call("XINFO", "GROUPS", KEYS[1])
+for i = 1, #groups do
+    local info = groups[i]
+    local name = nil
+    local lastId = nil
+    for j = 1, #info, 2 do
+        if info[j] == "name" then
+            name = info[j + 1]
+        elseif info[j] == "last-delivered-id" then
+            lastId = info[j + 1]
+        end
+    end
+    if name == group then
+        lastDeliveredId = lastId
+    end
+end
+
+-- 1) 전달됐지만 ACK 되지 않은 항목
+if lastDeliveredId then
+    local pending = redis.call("XPENDING", KEYS[1], group, "-", "+", limit)
+    for i = 1, #pending do
+        local id = pending[i][1]
+        local entries = redis.call("XRANGE", KEYS[1], id, id)
+        if #entries > 0 then
+            move(entries[1][2])
+        end
+        redis.call("XACK", KEYS[1], group, id)
+        redis.call("XDEL", KEYS[1], id)
+        read = read + 1
+    end
+end
+
+-- 2) 아직 그룹에 전달되지 않은 항목 (last-delivered-id 이후)
+local remaining = limit - read
+if remaining > 0 then
+    local startId = lastDeliveredId or "-"
+    -- 시작 id는 포함되므로 last-delivered-id 자신을 건너뛸 수 있게 한 건 더 읽는다.
+    local entries = redis.call("XRANGE", KEYS[1], startId, "+", "COUNT", remaining + 1)
+    for i = 1, #entries do
+        local id = entries[i][1]
+        if id ~= lastDeliveredId and read < limit then
+            move(entries[i][2])
+            redis.call("XDEL", KEYS[1], id)
+            read = read + 1
+        end
+    end
+end
+
+-- 3) 다 옮겼으면 ACK 된 항목을 잘라낸다 (MINID는 그 id 미만만 지운다)
+if read < limit and lastDeliveredId then
+    redis.call("XTRIM", KEYS[1], "MINID", lastDeliveredId)
+end
+
+return { read, moved }
@@ -0,0 +1,39 @@
+package org.codenbug.event.application;
+
+import org.codenbug.event.domain.Event;
+import org.codenbug.event.domain.EventInformation;
+import org.codenbug.message.EventUpdatedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 이벤트가 바뀌었음을 {@link EventUpdatedEvent}로 알린다.
+ * 다른 모듈의 이벤트 요약 캐시는 커밋 후 이 알림의 버전을 기준으로 무효화된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventChangeNotifier {
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  public void notifyUpdated(Event event) {
+    EventInformation information = event.getEventInformation();
+    eventPublisher.publishEvent(new EventUpdatedEvent(
+        event.getEventId().getEventId(),
+        information.getTitle(),
+        event.getManagerId().getManagerId(),
+        event.getSeatLayoutId().getValue(),
+        Boolean.TRUE.equals(information.getSeatSelectable()),
+        null,
+        null,
+        information.getEventStart().toString(),
+        information.getEventEnd().toString(),
+        information.getMinPrice(),
+        information.getMaxPrice(),
+        information.getCategoryId() == null ? null : information.getCategoryId().getValue(),
+        event.getVersion(),
+        event.getSalesVersion()));
+  }
+}
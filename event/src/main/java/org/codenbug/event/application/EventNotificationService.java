@@ -5,6 +5,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 import org.codenbug.notification.application.NotificationCommandService;
+import org.codenbug.notification.application.NotificationFanoutService;
 import org.codenbug.notification.domain.entity.NotificationType;
 import org.springframework.stereotype.Service;
 
@@ -20,6 +21,7 @@ import lombok.extern.slf4j.Slf4j;
 public class EventNotificationService {
 
     private final NotificationCommandService notificationApplicationService;
+    private final NotificationFanoutService notificationFanoutService;
 
     /**
      * 새 이벤트 오픈 알림 전송 (관심있는 사용자들에게)
@@ -32,22 +34,10 @@ public class EventNotificationService {
             eventTitle,
             eventDateTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"))
         );
-        String targetUrl = String.format("/events/%d", eventId);
+        String targetUrl = String.format("/events/%s", eventId);
 
-        for (String userId : interestedUserIds) {
-            try {
-                notificationApplicationService.createNotification(
-                    userId,
-                    NotificationType.EVENT,
-                    title,
-                    content,
-                    targetUrl
-                );
-                log.info("이벤트 오픈 알림 전송 성공: userId={}, eventId={}", userId, eventId);
-            } catch (Exception e) {
-                log.error("이벤트 오픈 알림 전송 실패: userId={}, eventId={}", userId, eventId, e);
-            }
-        }
+        notificationFanoutService.fanout("event-open:" + eventId, interestedUserIds,
+            NotificationType.EVENT, title, content, targetUrl);
     }
 
     /**
@@ -61,22 +51,10 @@ public class EventNotificationService {
             eventTitle,
             eventDateTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"))
         );
-        String targetUrl = String.format("/my-tickets?eventId=%d", eventId);
+        String targetUrl = String.format("/my-tickets?eventId=%s", eventId);
 
-        for (String userId : attendeeUserIds) {
-            try {
-                notificationApplicationService.createNotification(
-                    userId,
-                    NotificationType.EVENT,
-                    title,
-                    content,
-                    targetUrl
-                );
-                log.info("공연 시작 알림 전송 성공: userId={}, eventId={}", userId, eventId);
-            } catch (Exception e) {
-                log.error("공연 시작 알림 전송 실패: userId={}, eventId={}", userId, eventId, e);
-            }
-        }
+        notificationFanoutService.fanout("event-reminder:" + eventId, attendeeUserIds,
+            NotificationType.EVENT, title, content, targetUrl);
     }
 
     /**
@@ -92,20 +70,8 @@ public class EventNotificationService {
         );
         String targetUrl = "/my-tickets";
 
-        for (String userId : attendeeUserIds) {
-            try {
-                notificationApplicationService.createNotification(
-                    userId,
-                    NotificationType.EVENT,
-                    title,
-                    content,
-                    targetUrl
-                );
-                log.info("공연 취소 알림 전송 성공: userId={}, eventId={}", userId, eventId);
-            } catch (Exception e) {
-                log.error("공연 취소 알림 전송 실패: userId={}, eventId={}", userId, eventId, e);
-            }
-        }
+        notificationFanoutService.fanout("event-cancel:" + eventId, attendeeUserIds,
+            NotificationType.EVENT, title, content, targetUrl);
     }
 
     /**
@@ -26,15 +26,17 @@ public class UpdateEventService {
   private final EventCategoryService eventCategoryService;
   private final StringRedisTemplate redisTemplate;
   private final ApplicationEventPublisher eventPublisher;
+  private final EventChangeNotifier eventChangeNotifier;
 
   public UpdateEventService(EventRepository eventRepository, UpdateSeatLayoutService updateSeatLayoutService,
       EventCategoryService eventCategoryService, StringRedisTemplate redisTemplate,
-      ApplicationEventPublisher eventPublisher) {
+      ApplicationEventPublisher eventPublisher, EventChangeNotifier eventChangeNotifier) {
     this.eventRepository = eventRepository;
     this.updateSeatLayoutService = updateSeatLayoutService;
     this.eventCategoryService = eventCategoryService;
     this.redisTemplate = redisTemplate;
     this.eventPublisher = eventPublisher;
+    this.eventChangeNotifier = eventChangeNotifier;
   }
 
   @Transactional
@@ -62,6 +64,7 @@ public class UpdateEventService {
         event.getManagerId().getManagerId(), event.getEventInformation().getTitle(),
         java.time.OffsetDateTime.now().toString());
     eventPublisher.publishEvent(updatedEvent);
+    eventChangeNotifier.notifyUpdated(event);
   }
 
   @Transactional
@@ -70,9 +73,11 @@ public class UpdateEventService {
 
     ManagerId loggedInManagerId = getLoggedInManager();
     event.canDelete(loggedInManagerId);
-    updateSeatLayoutService.markAllSeatsUnavailable(event.getSeatLayoutId().getValue());
+    updateSeatLayoutService.markAllSeatsUnavailable(event.getEventId().getEventId(),
+        event.getSeatLayoutId().getValue());
     event.delete();
     eventRepository.save(event);
+    eventChangeNotifier.notifyUpdated(event);
   }
 
   private ManagerId getLoggedInManager() {
@@ -85,6 +90,7 @@ public class UpdateEventService {
     Event event = eventRepository.findEventForUpdate(new EventId(eventId));
     event.updateStatus(EventStatus.valueOf(status.toUpperCase()));
     redisTemplate.opsForHash().put("event_statuses", eventId, status);
+    eventChangeNotifier.notifyUpdated(event);
   }
 
 }
@@ -12,6 +12,7 @@ import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -21,7 +22,7 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * ViewCount 동기화 배치 Job 설정
- * Redis의 viewCount를 DB로 동기화하는 12시간 주기 배치
+ * Redis의 viewCount를 DB로 동기화하는 배치 (기본 1분 주기)
  */
 @Slf4j
 @Configuration
@@ -35,19 +36,21 @@ public class ViewCountSyncJobConfig {
 	private final ViewCountSyncWriter viewCountSyncWriter;
 	private final RedisViewCountService redisViewCountService;
 
-	// 청크 사이즈 설정 (한 번에 처리할 아이템 개수)
-	private static final int CHUNK_SIZE = 100;
+	// 청크 사이즈 설정 (한 번에 처리할 아이템 개수, UPDATE 한 문장에 실리는 행 수)
+	private final int chunkSize;
 
 	public ViewCountSyncJobConfig(JobRepository jobRepository,
 		@Qualifier("primaryTransactionManager") PlatformTransactionManager transactionManager,
 		ViewCountSyncReader viewCountSyncReader, ViewCountSyncProcessor viewCountSyncProcessor,
-		ViewCountSyncWriter viewCountSyncWriter, RedisViewCountService redisViewCountService) {
+		ViewCountSyncWriter viewCountSyncWriter, RedisViewCountService redisViewCountService,
+		@Value("${event.view-count.sync-chunk-size:500}") int chunkSize) {
 		this.jobRepository = jobRepository;
 		this.transactionManager = transactionManager;
 		this.viewCountSyncReader = viewCountSyncReader;
 		this.viewCountSyncProcessor = viewCountSyncProcessor;
 		this.viewCountSyncWriter = viewCountSyncWriter;
 		this.redisViewCountService = redisViewCountService;
+		this.chunkSize = chunkSize;
 	}
 
 	/**
@@ -67,8 +70,8 @@ public class ViewCountSyncJobConfig {
 	@Bean
 	public Step viewCountSyncStep() {
 		return new StepBuilder("viewCountSyncStep", jobRepository)
-			.<ViewCountSyncDto, ViewCountSyncDto>chunk(CHUNK_SIZE, transactionManager)
-			.reader(viewCountSyncReader)
+			.<ViewCountSyncDto, ViewCountSyncDto>chunk(chunkSize, transactionManager)
+			.reader(viewCountSyncReader) // ItemStream이라 SCAN 커서가 청크마다 체크포인트로 남는다
 			.processor(viewCountSyncProcessor)
 			.writer(viewCountSyncWriter)
 			.faultTolerant() // 오류 허용 설정
@@ -84,6 +87,8 @@ public class ViewCountSyncJobConfig {
 	public static class ViewCountSyncStepListener implements org.springframework.batch.core.StepExecutionListener {
 
 		private final RedisViewCountService redisViewCountService;
+		// 1분 주기로 여러 인스턴스가 겹쳐 돌 수 있으므로, 이 실행이 잡은 락만 푼다
+		private boolean lockAcquired;
 
 		public ViewCountSyncStepListener(RedisViewCountService redisViewCountService) {
 			this.redisViewCountService = redisViewCountService;
@@ -94,7 +99,8 @@ public class ViewCountSyncJobConfig {
 			log.info("Starting ViewCount sync step...");
 
 			// 배치 시작 전 락 확인
-			if (!redisViewCountService.acquireBatchLock()) {
+			lockAcquired = redisViewCountService.acquireBatchLock();
+			if (!lockAcquired) {
 				log.warn("Another ViewCount sync batch is already running, terminating...");
 				stepExecution.setTerminateOnly(); // 배치 중단
 			}
@@ -110,15 +116,22 @@ public class ViewCountSyncJobConfig {
 					stepExecution.getSkipCount());
 
 				// 처리 완료 후 락 해제
-				redisViewCountService.releaseBatchLock();
+				releaseLockIfAcquired();
 
 				return stepExecution.getExitStatus();
 
 			} catch (Exception e) {
 				log.error("Error in ViewCount sync step afterStep", e);
-				redisViewCountService.releaseBatchLock(); // 에러 시에도 락 해제
+				releaseLockIfAcquired(); // 에러 시에도 락 해제
 				return org.springframework.batch.core.ExitStatus.FAILED;
 			}
 		}
+
+		private void releaseLockIfAcquired() {
+			if (lockAcquired) {
+				lockAcquired = false;
+				redisViewCountService.releaseBatchLock();
+			}
+		}
 	}
 }
\ No newline at end of file
@@ -6,67 +6,82 @@ import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.codenbug.event.batch.dto.ViewCountSyncDto;
 import org.codenbug.event.domain.QEvent;
 import org.codenbug.event.query.RedisViewCountService;
-import org.springframework.batch.item.ItemReader;
+import org.codenbug.event.query.ViewCountScanPage;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Iterator;
-import java.util.List;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Map;
 
 /**
  * ViewCount 동기화를 위한 ItemReader
- * Redis와 DB의 viewCount를 비교하여 동기화 대상 이벤트들을 읽어옴
+ * Redis 조회수 키를 SCAN 커서로 한 페이지씩 읽고, 페이지마다 DB viewCount를 한 번에 조회해 값이 다른 이벤트만 넘긴다.
+ * <p>
+ * 읽고 있는 페이지의 시작 커서를 청크마다 ExecutionContext에 남기므로, 실패한 Job을 재시작하면 그 페이지부터 다시 읽는다.
+ * Writer는 Redis 값을 그대로 덮어쓰기 때문에 한 페이지를 두 번 반영해도 결과가 같다.
  */
 @Slf4j
 @Component
-public class ViewCountSyncReader implements ItemReader<ViewCountSyncDto> {
+public class ViewCountSyncReader implements ItemStreamReader<ViewCountSyncDto> {
+
+	static final String CURSOR_KEY = "viewCountSync.cursor";
+	private static final String START_CURSOR = "0";
 
 	private final JPAQueryFactory queryFactory;
 	private final RedisViewCountService redisViewCountService;
+	private final int scanCount;
 	private final QEvent event = QEvent.event;
 
-	private Iterator<ViewCountSyncDto> syncDataIterator;
-	private boolean initialized = false;
+	private final Deque<ViewCountSyncDto> buffer = new ArrayDeque<>();
+	private String pageCursor;
+	private String nextCursor;
+	private boolean finished;
 
 	public ViewCountSyncReader(@Qualifier("readOnlyQueryFactory") JPAQueryFactory queryFactory,
-		RedisViewCountService redisViewCountService) {
+		RedisViewCountService redisViewCountService,
+		@Value("${event.view-count.sync-scan-count:500}") int scanCount) {
 		this.queryFactory = queryFactory;
 		this.redisViewCountService = redisViewCountService;
+		this.scanCount = scanCount;
 	}
 
 	@Override
-	public ViewCountSyncDto read() {
-		if (!initialized) {
-			initialize();
+	public void open(ExecutionContext executionContext) {
+		buffer.clear();
+		finished = false;
+		pageCursor = executionContext.getString(CURSOR_KEY, START_CURSOR);
+		nextCursor = pageCursor;
+		if (!START_CURSOR.equals(pageCursor)) {
+			log.info("Resuming ViewCount sync reader from cursor {}", pageCursor);
 		}
+	}
 
-		if (syncDataIterator != null && syncDataIterator.hasNext()) {
-			ViewCountSyncDto syncDto = syncDataIterator.next();
-			log.debug("Reading sync data: {}", syncDto);
-			return syncDto;
+	@Override
+	public ViewCountSyncDto read() {
+		while (buffer.isEmpty() && !finished) {
+			fetchNextPage();
 		}
-
-		return null; // 읽을 데이터가 없으면 null 반환 (배치 종료)
+		return buffer.poll(); // 읽을 데이터가 없으면 null 반환 (배치 종료)
 	}
 
-	private void initialize() {
-		log.info("Initializing ViewCount sync reader...");
-
-		try {
-			// Redis에서 모든 viewCount 데이터 조회
-			Map<String, Integer> redisViewCounts = redisViewCountService.createViewCountSnapshot();
+	@Override
+	public void update(ExecutionContext executionContext) {
+		// 현재 페이지를 다 넘겼으면 다음 커서부터, 남았으면 이 페이지를 처음부터 다시 읽게 한다
+		executionContext.putString(CURSOR_KEY, buffer.isEmpty() ? nextCursor : pageCursor);
+	}
 
-			if (redisViewCounts.isEmpty()) {
-				log.info("No viewCount data found in Redis");
-				syncDataIterator = List.<ViewCountSyncDto>of().iterator();
-				initialized = true;
-				return;
-			}
+	private void fetchNextPage() {
+		pageCursor = nextCursor;
+		ViewCountScanPage page = redisViewCountService.scanViewCounts(pageCursor, scanCount);
+		Map<String, Integer> redisViewCounts = page.viewCounts();
 
+		if (!redisViewCounts.isEmpty()) {
 			// DB에서 해당 이벤트들의 현재 viewCount 조회
 			Map<String, Integer> dbViewCounts = queryFactory
 				.select(event.eventId.eventId, event.eventInformation.viewCount)
@@ -75,36 +90,22 @@ public class ViewCountSyncReader implements ItemReader<ViewCountSyncDto> {
 					.and(event.metaData.deleted.isFalse()))
 				.transform(GroupBy.groupBy(event.eventId.eventId).as(event.eventInformation.viewCount));
 
-			// 동기화 대상 데이터 생성
-			List<ViewCountSyncDto> syncData = redisViewCounts.entrySet().stream()
-				.map(entry -> {
-					String eventId = entry.getKey();
-					Integer redisCount = entry.getValue();
-					Integer dbCount = dbViewCounts.getOrDefault(eventId, 0);
-
-					return new ViewCountSyncDto(eventId, redisCount, dbCount);
-				})
-				.filter(ViewCountSyncDto::needsSync) // 동기화가 필요한 것만 필터링
-				.toList();
-
-			syncDataIterator = syncData.iterator();
-
-			log.info("Initialized ViewCount sync reader with {} sync targets out of {} Redis entries",
-				syncData.size(), redisViewCounts.size());
-
-		} catch (Exception e) {
-			log.error("Failed to initialize ViewCount sync reader", e);
-			syncDataIterator = List.<ViewCountSyncDto>of().iterator();
+			// 삭제됐거나 DB에 없는 이벤트는 건너뛰고, 값이 다른 것만 동기화 대상으로 넘긴다
+			redisViewCounts.forEach((eventId, redisCount) -> {
+				Integer dbCount = dbViewCounts.get(eventId);
+				if (dbCount == null) {
+					return;
+				}
+				ViewCountSyncDto syncDto = new ViewCountSyncDto(eventId, redisCount, dbCount);
+				if (syncDto.needsSync()) {
+					buffer.add(syncDto);
+				}
+			});
 		}
 
-		initialized = true;
-	}
-
-	/**
-	 * 배치 재시작 시 초기화 상태 리셋
-	 */
-	public void reset() {
-		initialized = false;
-		syncDataIterator = null;
+		nextCursor = page.nextCursor();
+		finished = page.finished();
+		log.debug("Read ViewCount page at cursor {}: {} keys, {} to sync", pageCursor, redisViewCounts.size(),
+			buffer.size());
 	}
-}
\ No newline at end of file
+}
@@ -1,43 +1,66 @@
 package org.codenbug.event.batch.scheduler;
 
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * ViewCount 동기화 배치 스케줄러
- * 12시간마다 Redis의 viewCount를 DB로 동기화
+ * 주기적으로(기본 1분) Redis의 viewCount를 DB로 동기화
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class ViewCountSyncScheduler {
     
     private final JobLauncher jobLauncher;
     private final Job viewCountSyncJob;
+    private final JobExplorer jobExplorer;
+    
+    // 같은 JobInstance를 재시작하는 최대 횟수. 넘으면 실패한 인스턴스는 두고 새 인스턴스로 처음부터 동기화한다
+    private final int maxRestarts;
+    
+    public ViewCountSyncScheduler(JobLauncher jobLauncher, Job viewCountSyncJob, JobExplorer jobExplorer,
+        @Value("${event.view-count.sync-max-restarts:3}") int maxRestarts) {
+        this.jobLauncher = jobLauncher;
+        this.viewCountSyncJob = viewCountSyncJob;
+        this.jobExplorer = jobExplorer;
+        this.maxRestarts = maxRestarts;
+    }
     
     /**
-     * 12시간마다 ViewCount 동기화 배치 실행
-     * cron: 0 0 0,12 * * * (매일 0시, 12시에 실행)
+     * ViewCount 동기화 배치 실행
+     * 직전 실행이 실패했으면 같은 JobParameters로 재시작해 체크포인트(SCAN 커서)부터 이어서 읽는다.
+     * 같은 페이지에서 계속 실패해 동기화가 멈추지 않도록 재시작은 maxRestarts번까지만 한다
      */
-    @Scheduled(cron = "0 0 0,12 * * *")
+    @Scheduled(fixedDelayString = "${event.view-count.sync-interval-ms:60000}",
+        initialDelayString = "${event.view-count.sync-interval-ms:60000}")
     public void runViewCountSync() {
         try {
-            log.info("Starting ViewCount sync batch job at {}", LocalDateTime.now());
+            log.debug("Starting ViewCount sync batch job at {}", LocalDateTime.now());
             
-            // JobParameters에 현재 시간을 추가하여 매번 새로운 JobInstance 생성
-            JobParameters jobParameters = new JobParametersBuilder()
-                .addLong("timestamp", System.currentTimeMillis())
-                .addString("triggerType", "scheduled")
-                .toJobParameters();
+            JobParameters jobParameters = failedJobParameters();
+            if (jobParameters == null) {
+                // JobParameters에 현재 시간을 추가하여 매번 새로운 JobInstance 생성
+                jobParameters = new JobParametersBuilder()
+                    .addLong("timestamp", System.currentTimeMillis())
+                    .addString("triggerType", "scheduled")
+                    .toJobParameters();
+            } else {
+                log.info("Restarting failed ViewCount sync batch job from checkpoint");
+            }
             
             // 배치 실행
             var jobExecution = jobLauncher.run(viewCountSyncJob, jobParameters);
@@ -50,6 +73,27 @@ public class ViewCountSyncScheduler {
         }
     }
     
+    private JobParameters failedJobParameters() {
+        JobInstance lastInstance = jobExplorer.getLastJobInstance(viewCountSyncJob.getName());
+        if (lastInstance == null) {
+            return null;
+        }
+        JobExecution lastExecution = jobExplorer.getLastJobExecution(lastInstance);
+        if (lastExecution == null || lastExecution.getStatus() != BatchStatus.FAILED) {
+            return null;
+        }
+        // 첫 실행을 뺀 나머지가 재시작 횟수
+        List<JobExecution> executions = jobExplorer.getJobExecutions(lastInstance);
+        int restarts = Math.max(executions.size() - 1, 0);
+        if (restarts >= maxRestarts) {
+            log.warn("Skipping failed ViewCount sync job instance {} after {} restarts; starting a new instance. "
+                    + "Last failure: {}", lastInstance.getInstanceId(), restarts,
+                lastExecution.getExitStatus().getExitDescription());
+            return null;
+        }
+        return lastExecution.getJobParameters();
+    }
+    
     /**
      * 수동 실행을 위한 메서드 (필요시 REST API로 호출 가능)
      */
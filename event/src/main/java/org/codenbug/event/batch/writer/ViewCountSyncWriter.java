@@ -1,59 +1,54 @@
 package org.codenbug.event.batch.writer;
 
-import com.querydsl.jpa.impl.JPAQueryFactory;
-
 import org.codenbug.event.batch.dto.ViewCountSyncDto;
-import org.codenbug.event.domain.QEvent;
 import org.springframework.batch.item.Chunk;
 import org.springframework.batch.item.ItemWriter;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Query;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
 /**
  * ViewCount 동기화를 위한 ItemWriter
- * 청크 단위로 bulk update를 수행하여 성능 최적화
+ * 청크 하나를 {@code UPDATE ... CASE} 한 문장으로 반영한다.
  */
 @Slf4j
 @Component
 public class ViewCountSyncWriter implements ItemWriter<ViewCountSyncDto> {
 	private final EntityManager entityManager;
 
-	public ViewCountSyncWriter(@Qualifier("primaryEntityManagerFactory") jakarta.persistence.EntityManagerFactory primaryEntityManagerFactory) {
-		this.entityManager = primaryEntityManagerFactory.createEntityManager();
+	public ViewCountSyncWriter(@Qualifier("primaryEntityManagerFactory") EntityManagerFactory primaryEntityManagerFactory) {
+		// 청크 트랜잭션에 참여하는 공유 EntityManager
+		this.entityManager = SharedEntityManagerCreator.createSharedEntityManager(primaryEntityManagerFactory);
 	}
 
 	@Override
-	@Transactional
 	public void write(Chunk<? extends ViewCountSyncDto> chunk) {
-		List<? extends ViewCountSyncDto> items = chunk.getItems();
+		List<ViewCountSyncDto> items = new ArrayList<>(chunk.getItems());
 
 		if (items.isEmpty()) {
 			return;
 		}
-		items.sort(Comparator.comparing((ViewCountSyncDto o) -> o.getEventId()));
-
-		log.info("Writing {} viewCount sync items", items.size());
+		// 여러 인스턴스가 겹쳐 돌아도 같은 순서로 행 잠금을 잡게 정렬
+		items.sort(Comparator.comparing(ViewCountSyncDto::getEventId));
 
-		int totalUpdated = 0;
-		StringBuilder builder = new StringBuilder();
-		builder.append("INSERT INTO event (id, view_count) values");
-		// 각 아이템에 대해 개별 업데이트 수행
+		StringBuilder builder = new StringBuilder("UPDATE event SET view_count = CASE id");
+		for (int i = 0; i < items.size(); i++) {
+			builder.append(" WHEN ? THEN ?");
+		}
+		builder.append(" ELSE view_count END WHERE id IN (");
 		for (int i = 0; i < items.size(); i++) {
-			if (i > 0)
-				builder.append(", ");
-			builder.append("( ?, ? )");
+			builder.append(i > 0 ? ", ?" : "?");
 		}
-		builder.append(" ON DUPLICATE KEY UPDATE id = VALUES(id);");
+		builder.append(")");
 		Query query = entityManager.createNativeQuery(builder.toString());
 
 		int idx = 1;
@@ -61,14 +56,18 @@ public class ViewCountSyncWriter implements ItemWriter<ViewCountSyncDto> {
 			query.setParameter(idx++, syncDto.getEventId());
 			query.setParameter(idx++, syncDto.getRedisViewCount());
 		}
-		query.executeUpdate();
+		for (ViewCountSyncDto syncDto : items) {
+			query.setParameter(idx++, syncDto.getEventId());
+		}
+		int updated = query.executeUpdate();
 
 		// 업데이트 통계 로깅
 		if (log.isInfoEnabled()) {
 			int totalIncrement = items.stream()
 				.mapToInt(ViewCountSyncDto::getIncrementAmount)
 				.sum();
-			log.info("Total viewCount increment in this chunk: {}", totalIncrement);
+			log.info("Synced {} viewCounts ({} rows updated), total increment in this chunk: {}", items.size(),
+				updated, totalIncrement);
 		}
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,32 @@
+package org.codenbug.event.infra;
+
+import org.codenbug.message.EventUpdatedEvent;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 커밋된 이벤트 변경을 Redis "event-updated" 채널로 중계한다. 메시지 형식은 "{eventId}:{version}".
+ * purchase/seat/broker 인스턴스들은 이 채널로 이벤트 요약 캐시를 비운다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventUpdatedRedisRelay {
+
+    private final StringRedisTemplate redisTemplate;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void relay(EventUpdatedEvent event) {
+        try {
+            redisTemplate.convertAndSend(EventUpdatedEvent.TOPIC, event.getEventId() + ":" + event.getVersion());
+        } catch (Exception e) {
+            // 알림이 유실되어도 캐시는 TTL 안에 다시 읽힌다.
+            log.warn("[relay] 이벤트 변경 알림 발행 실패. eventId: {}", event.getEventId(), e);
+        }
+    }
+}
@@ -87,7 +87,8 @@ public class EventViewRepositoryImpl implements EventViewRepository {
 
 		List<EventListProjection> dbResults = query.fetch();
 
-		// Redis에서 실시간 viewCount 조회 및 적용 (리스트용 - 캐싱하지 않음)
+		// 인스턴스에 기억한 viewCount 적용 (모르는 이벤트만 MGET 한 번으로 읽어 옴)
+		redisViewCountService.prefetchForList(dbResults.stream().map(EventListProjection::getEventId).toList());
 		List<EventListProjection> results = dbResults.stream().map(dbResult -> {
 			Integer redisViewCount = redisViewCountService.getViewCountForList(dbResult.getEventId(),
 					dbResult.getDbViewCount());
@@ -120,7 +121,8 @@ public class EventViewRepositoryImpl implements EventViewRepository {
 
 		List<EventListProjection> dbResults = query.fetch();
 
-		// Redis에서 실시간 viewCount 조회 및 적용 (리스트용 - 캐싱하지 않음)
+		// 인스턴스에 기억한 viewCount 적용 (모르는 이벤트만 MGET 한 번으로 읽어 옴)
+		redisViewCountService.prefetchForList(dbResults.stream().map(EventListProjection::getEventId).toList());
 		List<EventListProjection> results = dbResults.stream().map(dbResult -> {
 			Integer redisViewCount = redisViewCountService.getViewCountForList(dbResult.getEventId(),
 					dbResult.getDbViewCount());
@@ -164,7 +166,8 @@ public class EventViewRepositoryImpl implements EventViewRepository {
 			dbResults.remove(dbResults.size() - 1); // 마지막 요소 제거
 		}
 
-		// Redis에서 실시간 viewCount 조회 및 적용 (리스트용 - 캐싱하지 않음)
+		// 인스턴스에 기억한 viewCount 적용 (모르는 이벤트만 MGET 한 번으로 읽어 옴)
+		redisViewCountService.prefetchForList(dbResults.stream().map(EventListProjection::getEventId).toList());
 		List<EventListProjection> results = dbResults.stream().map(dbResult -> {
 			Integer redisViewCount = redisViewCountService.getViewCountForList(dbResult.getEventId(),
 					dbResult.getDbViewCount());
@@ -1,5 +1,6 @@
 package org.codenbug.event.infra;
 
+import org.codenbug.event.application.EventChangeNotifier;
 import org.codenbug.event.domain.Event;
 import org.codenbug.event.domain.EventRepository;
 import org.codenbug.event.domain.SeatLayoutId;
@@ -17,6 +18,7 @@ import lombok.extern.slf4j.Slf4j;
 public class SeatLayoutUpdateEventListener {
     
     private final EventRepository eventRepository;
+    private final EventChangeNotifier eventChangeNotifier;
 
     @EventListener
     @Transactional
@@ -30,6 +32,7 @@ public class SeatLayoutUpdateEventListener {
             if (eventEntity != null) {
                 // Event를 저장하여 @Version 필드 자동 증가
                 eventRepository.save(eventEntity);
+                eventChangeNotifier.notifyUpdated(eventEntity);
                 
                 log.info("[handleSeatLayoutUpdated] Event version 업데이트 완료. eventId: {}, seatLayoutId: {}, version: {}", 
                     eventEntity.getEventId().getEventId(), event.getSeatLayoutId(), eventEntity.getVersion());
@@ -1,32 +1,60 @@
 package org.codenbug.event.query;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Qualifier;
 
-import lombok.RequiredArgsConstructor;
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.ScanArgs;
+import io.lettuce.core.ScanCursor;
+import io.lettuce.core.api.async.RedisKeyAsyncCommands;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * Redis를 이용한 Event viewCount 캐시 관리 서비스
  * 성능 향상을 위해 Redis에서 viewCount를 관리하고 배치로 DB 동기화
+ * <p>
+ * 조회수 증가는 {@link ViewCountBuffer}에 모았다가 {@code event.view-count.flush-interval-ms}마다
+ * 파이프라인 한 번(INCRBY + EXPIRE)으로 Redis에 반영한다.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class RedisViewCountService {
     
-    @Qualifier("redisTemplate")
     private final RedisTemplate<String, Object> redisTemplate;
+    private final ViewCountBuffer buffer;
+    private final long keyTtlSeconds;
+    private final long batchLockTtlSeconds;
     
     // Redis Key 패턴
     private static final String VIEW_COUNT_KEY_PREFIX = "event:viewCount:";
     private static final String VIEW_COUNT_BATCH_LOCK = "event:viewCount:batch:lock";
     
+    public RedisViewCountService(@Qualifier("redisTemplate") RedisTemplate<String, Object> redisTemplate,
+        @Value("${event.view-count.known-total-ttl-ms:5000}") long knownTotalTtlMs,
+        @Value("${event.view-count.key-ttl-hours:24}") long keyTtlHours,
+        @Value("${event.view-count.sync-lock-ttl-seconds:600}") long batchLockTtlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.buffer = new ViewCountBuffer(knownTotalTtlMs);
+        this.keyTtlSeconds = TimeUnit.HOURS.toSeconds(keyTtlHours);
+        this.batchLockTtlSeconds = batchLockTtlSeconds;
+    }
+    
     /**
      * Event viewCount 조회 (Redis 우선, 없으면 DB에서 조회 후 캐싱)
      */
@@ -37,7 +65,9 @@ public class RedisViewCountService {
             Object cachedCount = redisTemplate.opsForValue().get(key);
             
             if (cachedCount != null) {
-                return Integer.parseInt(cachedCount.toString());
+                long total = Long.parseLong(cachedCount.toString());
+                buffer.recordTotal(eventId, total);
+                return (int) (total + buffer.pendingDelta(eventId));
             } else {
                 // Redis에 없으면 DB 값으로 초기화
                 if (dbViewCount != null && dbViewCount > 0) {
@@ -57,47 +87,97 @@ public class RedisViewCountService {
     }
     
     /**
-     * Event viewCount 조회 (리스트용 - Redis에 없으면 DB 값만 반환, 캐싱하지 않음)
+     * 목록에 나올 이벤트들 중 기억한 누적값이 없거나 오래된 것만 MGET 한 번으로 읽어 둔다.
+     * 이후 {@link #getViewCountForList}는 Redis를 다시 호출하지 않는다.
      */
-    public Integer getViewCountForList(String eventId, Integer dbViewCount) {
-        String key = generateViewCountKey(eventId);
+    public void prefetchForList(Collection<String> eventIds) {
+        List<String> staleIds = eventIds.stream()
+            .filter(eventId -> !buffer.hasFreshTotal(eventId))
+            .distinct()
+            .toList();
+        if (staleIds.isEmpty()) {
+            return;
+        }
         
         try {
-            Object cachedCount = redisTemplate.opsForValue().get(key);
-            
-            if (cachedCount != null) {
-                return Integer.parseInt(cachedCount.toString());
-            } else {
-                // Redis에 없으면 DB 값 그대로 반환 (캐싱하지 않음)
-                return dbViewCount != null ? dbViewCount : 0;
+            List<Object> values = redisTemplate.opsForValue()
+                .multiGet(staleIds.stream().map(this::generateViewCountKey).toList());
+            if (values == null) {
+                return;
+            }
+            for (int i = 0; i < staleIds.size(); i++) {
+                Object value = values.get(i);
+                if (value != null) {
+                    buffer.recordTotal(staleIds.get(i), Long.parseLong(value.toString()));
+                }
             }
         } catch (Exception e) {
-            log.warn("Failed to get viewCount from Redis for event: {}, error: {}", eventId, e.getMessage());
-            // Redis 실패 시 DB 값 반환
-            return dbViewCount != null ? dbViewCount : 0;
+            log.warn("Failed to prefetch viewCounts from Redis for {} events, error: {}", staleIds.size(), e.getMessage());
         }
     }
     
     /**
-     * Event viewCount 증가
+     * Event viewCount 조회 (리스트용 - 인스턴스에 기억한 값만 사용, Redis를 호출하지 않음)
+     * 기억한 값이 없으면 DB 값에 아직 플러시하지 않은 증가분만 더해 반환
+     */
+    public Integer getViewCountForList(String eventId, Integer dbViewCount) {
+        Long localTotal = buffer.currentTotal(eventId);
+        if (localTotal != null) {
+            return localTotal.intValue();
+        }
+        return (int) ((dbViewCount != null ? dbViewCount : 0) + buffer.pendingDelta(eventId));
+    }
+    
+    /**
+     * Event viewCount 증가 (인스턴스 버퍼에만 더하고, Redis 반영은 다음 플러시에서)
+     *
+     * @return 기억한 누적값 기준의 현재 조회수. 기억한 값이 없으면 null
      */
     public Long incrementViewCount(String eventId) {
-        String key = generateViewCountKey(eventId);
+        buffer.increment(eventId);
+        return buffer.currentTotal(eventId);
+    }
+    
+    /**
+     * 모아 둔 증가분을 파이프라인 한 번으로 Redis에 반영한다. 키마다 INCRBY와 TTL 갱신을 한 번씩만 보낸다.
+     * 실패하면 증가분을 버퍼에 되돌려 다음 플러시에 다시 보낸다.
+     */
+    @Scheduled(fixedDelayString = "${event.view-count.flush-interval-ms:1000}")
+    public void flushBufferedViewCounts() {
+        Map<String, Long> deltas = buffer.drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
         
+        List<String> eventIds = new ArrayList<>(deltas.keySet());
+        RedisSerializer<String> keySerializer = redisTemplate.getStringSerializer();
         try {
-            Long newCount = redisTemplate.opsForValue().increment(key);
-            
-            // TTL 설정 (24시간) - 배치 주기보다 길게 설정
-            redisTemplate.expire(key, 24, TimeUnit.HOURS);
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String eventId : eventIds) {
+                    byte[] key = keySerializer.serialize(generateViewCountKey(eventId));
+                    connection.stringCommands().incrBy(key, deltas.get(eventId));
+                    connection.keyCommands().expire(key, keyTtlSeconds);
+                }
+                return null;
+            });
             
-            log.debug("Incremented viewCount for event: {} to {}", eventId, newCount);
-            return newCount;
+            for (int i = 0; i < eventIds.size(); i++) {
+                if (results.get(i * 2) instanceof Long total) {
+                    buffer.recordTotal(eventIds.get(i), total);
+                }
+            }
+            log.debug("Flushed viewCount increments for {} events", eventIds.size());
         } catch (Exception e) {
-            log.error("Failed to increment viewCount in Redis for event: {}, error: {}", eventId, e.getMessage());
-            return null;
+            buffer.restore(deltas);
+            log.warn("Failed to flush viewCount increments for {} events, error: {}", eventIds.size(), e.getMessage());
         }
     }
     
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushBufferedViewCounts();
+    }
+    
     /**
      * Event viewCount 설정
      */
@@ -113,53 +193,43 @@ public class RedisViewCountService {
     }
     
     /**
-     * 모든 viewCount 데이터 조회 (배치 처리용)
-     */
-    public Map<Object, Object> getAllViewCounts() {
-        try {
-            String pattern = VIEW_COUNT_KEY_PREFIX + "*";
-            Set<String> keys = redisTemplate.keys(pattern);
-            
-            if (keys == null || keys.isEmpty()) {
-                return Map.of();
-            }
-            
-            return redisTemplate.opsForHash().entries("event:viewCount:all");
-        } catch (Exception e) {
-            log.error("Failed to get all viewCounts from Redis, error: {}", e.getMessage());
-            return Map.of();
-        }
-    }
-    
-    /**
-     * 배치 처리를 위한 viewCount 스냅샷 생성
+     * 동기화 배치용. SCAN 한 번으로 조회수 키를 최대 {@code count}개 찾고 MGET 한 번으로 값을 읽는다.
+     * KEYS와 달리 Redis를 오래 막지 않고, 돌려준 커서로 이어서(또는 재시작 후 다시) 읽을 수 있다.
+     *
+     * @param cursor 처음이면 "0"
      */
-    public Map<String, Integer> createViewCountSnapshot() {
-        try {
-            String pattern = VIEW_COUNT_KEY_PREFIX + "*";
-            Set<String> keys = redisTemplate.keys(pattern);
-            
-            if (keys == null || keys.isEmpty()) {
-                return Map.of();
+    public ViewCountScanPage scanViewCounts(String cursor, int count) {
+        return redisTemplate.execute((RedisCallback<ViewCountScanPage>) connection -> {
+            @SuppressWarnings("unchecked")
+            RedisKeyAsyncCommands<byte[], byte[]> commands =
+                (RedisKeyAsyncCommands<byte[], byte[]>) connection.getNativeConnection();
+            KeyScanCursor<byte[]> page;
+            try {
+                page = commands.scan(ScanCursor.of(cursor),
+                    ScanArgs.Builder.matches(VIEW_COUNT_KEY_PREFIX + "*").limit(count)).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("viewCount scan interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("viewCount scan failed at cursor " + cursor, e.getCause());
             }
             
-            Map<String, Integer> snapshot = new java.util.HashMap<>();
-            
-            for (String key : keys) {
-                String eventId = extractEventIdFromKey(key);
-                Object value = redisTemplate.opsForValue().get(key);
-                
-                if (value != null) {
-                    snapshot.put(eventId, Integer.parseInt(value.toString()));
+            List<byte[]> keys = page.getKeys().stream()
+                .filter(key -> !isReservedKey(new String(key, StandardCharsets.UTF_8)))
+                .toList();
+            Map<String, Integer> viewCounts = new LinkedHashMap<>();
+            if (!keys.isEmpty()) {
+                List<byte[]> values = connection.stringCommands().mGet(keys.toArray(byte[][]::new));
+                for (int i = 0; i < keys.size(); i++) {
+                    byte[] value = values == null ? null : values.get(i);
+                    if (value != null) {
+                        String eventId = extractEventIdFromKey(new String(keys.get(i), StandardCharsets.UTF_8));
+                        viewCounts.put(eventId, Integer.parseInt(new String(value, StandardCharsets.UTF_8)));
+                    }
                 }
             }
-            
-            log.info("Created viewCount snapshot with {} events", snapshot.size());
-            return snapshot;
-        } catch (Exception e) {
-            log.error("Failed to create viewCount snapshot, error: {}", e.getMessage());
-            return Map.of();
-        }
+            return new ViewCountScanPage(page.getCursor(), page.isFinished(), viewCounts);
+        });
     }
     
     /**
@@ -184,7 +254,7 @@ public class RedisViewCountService {
     public boolean acquireBatchLock() {
         try {
             Boolean acquired = redisTemplate.opsForValue()
-                .setIfAbsent(VIEW_COUNT_BATCH_LOCK, "locked", 13, TimeUnit.HOURS); // 12시간 + 1시간 여유
+                .setIfAbsent(VIEW_COUNT_BATCH_LOCK, "locked", batchLockTtlSeconds, TimeUnit.SECONDS);
             return acquired != null && acquired;
         } catch (Exception e) {
             log.error("Failed to acquire batch lock, error: {}", e.getMessage());
@@ -208,6 +278,10 @@ public class RedisViewCountService {
         return VIEW_COUNT_KEY_PREFIX + eventId;
     }
     
+    private boolean isReservedKey(String key) {
+        return key.equals(VIEW_COUNT_BATCH_LOCK) || key.equals(VIEW_COUNT_KEY_PREFIX + "all");
+    }
+    
     private String extractEventIdFromKey(String key) {
         return key.substring(VIEW_COUNT_KEY_PREFIX.length());
     }
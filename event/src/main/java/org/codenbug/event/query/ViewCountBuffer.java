@@ -0,0 +1,85 @@
+package org.codenbug.event.query;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 조회수 증가분을 인스턴스 안에서 모아 두는 버퍼.
+ * 이벤트마다 {@link LongAdder}를 두어 조회 요청 스레드끼리 경합 없이 더하고, 플러시할 때 증가분만 꺼내 Redis에 한 번에 반영한다.
+ * <p>
+ * 플러시 결과로 받은 Redis 누적값도 잠깐 기억해 두고 목록 조회에 쓴다. 다른 인스턴스의 증가분은 기억한 값이
+ * {@code knownTotalTtlMs}를 넘겨 다시 읽힐 때 반영된다.
+ */
+public class ViewCountBuffer {
+
+    private record KnownTotal(long value, long loadedAt) {
+    }
+
+    // 한 번 조회된 이벤트의 카운터는 지우지 않는다. 지우는 순간 다른 스레드가 쥐고 있던 카운터에 더한 값이 사라질 수 있고,
+    // 카운터 수는 조회된 이벤트 수를 넘지 않는다.
+    private final Map<String, LongAdder> pending = new ConcurrentHashMap<>();
+    private final Map<String, KnownTotal> knownTotals = new ConcurrentHashMap<>();
+    private final long knownTotalTtlMs;
+    private final LongSupplier clock;
+
+    public ViewCountBuffer(long knownTotalTtlMs) {
+        this(knownTotalTtlMs, System::currentTimeMillis);
+    }
+
+    ViewCountBuffer(long knownTotalTtlMs, LongSupplier clock) {
+        this.knownTotalTtlMs = knownTotalTtlMs;
+        this.clock = clock;
+    }
+
+    public void increment(String eventId) {
+        pending.computeIfAbsent(eventId, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * 플러시하지 않은 증가분을 꺼내고 카운터를 0으로 돌린다. 꺼내는 동안 들어온 증가분은 다음 플러시에 실린다.
+     */
+    public Map<String, Long> drain() {
+        Map<String, Long> deltas = new HashMap<>();
+        pending.forEach((eventId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                deltas.put(eventId, delta);
+            }
+        });
+        return deltas;
+    }
+
+    /**
+     * 플러시에 실패한 증가분을 되돌려 다음 플러시에 다시 싣는다.
+     */
+    public void restore(Map<String, Long> deltas) {
+        deltas.forEach((eventId, delta) -> pending.computeIfAbsent(eventId, key -> new LongAdder()).add(delta));
+    }
+
+    public void recordTotal(String eventId, long total) {
+        knownTotals.put(eventId, new KnownTotal(total, clock.getAsLong()));
+    }
+
+    public boolean hasFreshTotal(String eventId) {
+        KnownTotal known = knownTotals.get(eventId);
+        return known != null && clock.getAsLong() - known.loadedAt() <= knownTotalTtlMs;
+    }
+
+    /**
+     * @return 기억한 Redis 누적값에 아직 플러시하지 않은 증가분을 더한 값. 기억한 값이 없거나 오래됐으면 null
+     */
+    public Long currentTotal(String eventId) {
+        if (!hasFreshTotal(eventId)) {
+            return null;
+        }
+        return knownTotals.get(eventId).value() + pendingDelta(eventId);
+    }
+
+    public long pendingDelta(String eventId) {
+        LongAdder adder = pending.get(eventId);
+        return adder == null ? 0 : adder.sum();
+    }
+}
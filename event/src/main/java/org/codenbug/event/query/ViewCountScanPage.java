@@ -0,0 +1,13 @@
+package org.codenbug.event.query;
+
+import java.util.Map;
+
+/**
+ * 조회수 키 SCAN 한 페이지의 결과.
+ *
+ * @param nextCursor 다음 페이지를 읽을 커서
+ * @param finished   마지막 페이지이면 true
+ * @param viewCounts eventId별 Redis 조회수
+ */
+public record ViewCountScanPage(String nextCursor, boolean finished, Map<String, Integer> viewCounts) {
+}
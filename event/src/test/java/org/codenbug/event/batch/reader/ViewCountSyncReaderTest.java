@@ -0,0 +1,88 @@
+package org.codenbug.event.batch.reader;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Map;
+
+import org.codenbug.event.batch.dto.ViewCountSyncDto;
+import org.codenbug.event.query.RedisViewCountService;
+import org.codenbug.event.query.ViewCountScanPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.ExecutionContext;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+
+@ExtendWith(MockitoExtension.class)
+class ViewCountSyncReaderTest {
+
+    private static final int SCAN_COUNT = 100;
+
+    @Mock
+    private JPAQueryFactory queryFactory;
+
+    @Mock
+    private RedisViewCountService redisViewCountService;
+
+    private ViewCountSyncReader reader;
+
+    @BeforeEach
+    void setUp() {
+        reader = new ViewCountSyncReader(queryFactory, redisViewCountService, SCAN_COUNT);
+    }
+
+    @Test
+    @DisplayName("페이지를 다 넘기기 전에는 페이지 시작 커서를, 다 넘긴 뒤에는 다음 커서를 ExecutionContext에 남긴다")
+    void updateCheckpointsCursor() {
+        when(redisViewCountService.scanViewCounts("0", SCAN_COUNT))
+            .thenReturn(new ViewCountScanPage("17", false, Map.of("e1", 10, "e2", 20)));
+        stubDbViewCounts(Map.of("e1", 1, "e2", 2));
+        ExecutionContext executionContext = new ExecutionContext();
+        reader.open(executionContext);
+
+        ViewCountSyncDto first = reader.read();
+        reader.update(executionContext);
+        assertNotNull(first);
+        assertEquals("0", executionContext.getString(ViewCountSyncReader.CURSOR_KEY));
+
+        ViewCountSyncDto second = reader.read();
+        reader.update(executionContext);
+        assertNotNull(second);
+        assertEquals("17", executionContext.getString(ViewCountSyncReader.CURSOR_KEY));
+    }
+
+    @Test
+    @DisplayName("ExecutionContext에 커서가 있으면 open 후 그 커서부터 읽는다")
+    void openResumesFromCheckpoint() {
+        when(redisViewCountService.scanViewCounts("42", SCAN_COUNT))
+            .thenReturn(new ViewCountScanPage("0", true, Map.of()));
+        ExecutionContext executionContext = new ExecutionContext();
+        executionContext.putString(ViewCountSyncReader.CURSOR_KEY, "42");
+
+        reader.open(executionContext);
+
+        assertNull(reader.read());
+        verify(redisViewCountService).scanViewCounts("42", SCAN_COUNT);
+        verify(redisViewCountService, never()).scanViewCounts(eq("0"), anyInt());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubDbViewCounts(Map<String, Integer> dbViewCounts) {
+        JPAQuery<Tuple> query = mock(JPAQuery.class);
+        when(queryFactory.select(any(Expression.class), any(Expression.class))).thenReturn(query);
+        when(query.from(any(EntityPath.class))).thenReturn(query);
+        when(query.where(any(Predicate.class))).thenReturn(query);
+        when(query.transform(any())).thenReturn(dbViewCounts);
+    }
+}
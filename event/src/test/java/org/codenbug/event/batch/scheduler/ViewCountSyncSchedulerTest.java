@@ -0,0 +1,91 @@
+package org.codenbug.event.batch.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.JobLauncher;
+
+@ExtendWith(MockitoExtension.class)
+class ViewCountSyncSchedulerTest {
+
+    private static final String JOB_NAME = "viewCountSyncJob";
+    private static final int MAX_RESTARTS = 2;
+
+    @Mock
+    private JobLauncher jobLauncher;
+
+    @Mock
+    private Job viewCountSyncJob;
+
+    @Mock
+    private JobExplorer jobExplorer;
+
+    private ViewCountSyncScheduler scheduler;
+
+    private final JobInstance failedInstance = new JobInstance(1L, JOB_NAME);
+    private final JobParameters failedParameters = new JobParametersBuilder()
+        .addLong("timestamp", 1L)
+        .addString("triggerType", "scheduled")
+        .toJobParameters();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        scheduler = new ViewCountSyncScheduler(jobLauncher, viewCountSyncJob, jobExplorer, MAX_RESTARTS);
+        when(viewCountSyncJob.getName()).thenReturn(JOB_NAME);
+        when(jobLauncher.run(eq(viewCountSyncJob), any(JobParameters.class)))
+            .thenReturn(new JobExecution(99L));
+    }
+
+    @Test
+    @DisplayName("직전 실행이 실패했고 재시작 횟수가 남아 있으면 같은 JobParameters로 재시작한다")
+    void restartsFailedInstanceWithinLimit() throws Exception {
+        stubFailedExecutions(MAX_RESTARTS);
+
+        scheduler.runViewCountSync();
+
+        verify(jobLauncher).run(viewCountSyncJob, failedParameters);
+    }
+
+    @Test
+    @DisplayName("같은 인스턴스를 최대 횟수만큼 재시작했는데도 실패했으면 새 JobParameters로 실행한다")
+    void startsNewInstanceAfterMaxRestarts() throws Exception {
+        stubFailedExecutions(MAX_RESTARTS + 1);
+
+        scheduler.runViewCountSync();
+
+        ArgumentCaptor<JobParameters> captor = ArgumentCaptor.forClass(JobParameters.class);
+        verify(jobLauncher).run(eq(viewCountSyncJob), captor.capture());
+        assertNotEquals(failedParameters, captor.getValue());
+        assertEquals("scheduled", captor.getValue().getString("triggerType"));
+    }
+
+    private void stubFailedExecutions(int executionCount) {
+        List<JobExecution> executions = new ArrayList<>();
+        for (long id = 1; id <= executionCount; id++) {
+            JobExecution execution = new JobExecution(failedInstance, id, failedParameters);
+            execution.setStatus(BatchStatus.FAILED);
+            executions.add(execution);
+        }
+        when(jobExplorer.getLastJobInstance(JOB_NAME)).thenReturn(failedInstance);
+        when(jobExplorer.getLastJobExecution(failedInstance)).thenReturn(executions.get(executions.size() - 1));
+        when(jobExplorer.getJobExecutions(failedInstance)).thenReturn(executions);
+    }
+}
@@ -0,0 +1,90 @@
+package org.codenbug.event.batch.writer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.codenbug.event.batch.dto.ViewCountSyncDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+
+import jakarta.annotation.Resource;
+import jakarta.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+/**
+ * Writer가 쓰는 네이티브 UPDATE를 H2에서 실행해 view_count 반영을 확인한다.
+ * event 테이블은 Writer가 건드리는 컬럼만 두고 직접 만든다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@ContextConfiguration(classes = ViewCountSyncWriterTest.TestJpaApplication.class)
+@Import(ViewCountSyncWriterTest.JdbcTestConfig.class)
+class ViewCountSyncWriterTest {
+
+    @Resource
+    private EntityManagerFactory entityManagerFactory;
+
+    @Resource
+    private JdbcTemplate jdbcTemplate;
+
+    private ViewCountSyncWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS event (id VARCHAR(64) PRIMARY KEY, view_count INT NOT NULL)");
+        jdbcTemplate.update("INSERT INTO event (id, view_count) VALUES ('e1', 1), ('e2', 2), ('e3', 3)");
+        writer = new ViewCountSyncWriter(entityManagerFactory);
+    }
+
+    @Test
+    @DisplayName("청크의 Redis 조회수를 한 문장으로 view_count에 반영하고 다른 행은 건드리지 않는다")
+    void writesViewCounts() {
+        writer.write(new Chunk<>(List.of(
+            new ViewCountSyncDto("e2", 20, 2),
+            new ViewCountSyncDto("e1", 10, 1))));
+
+        assertEquals(10, viewCount("e1"));
+        assertEquals(20, viewCount("e2"));
+        assertEquals(3, viewCount("e3"));
+    }
+
+    @Test
+    @DisplayName("빈 청크는 아무것도 바꾸지 않는다")
+    void emptyChunkIsNoop() {
+        writer.write(new Chunk<>(List.of()));
+
+        assertEquals(1, viewCount("e1"));
+        assertEquals(2, viewCount("e2"));
+        assertEquals(3, viewCount("e3"));
+    }
+
+    private int viewCount(String eventId) {
+        return jdbcTemplate.queryForObject("SELECT view_count FROM event WHERE id = ?", Integer.class, eventId);
+    }
+
+    @TestConfiguration
+    static class JdbcTestConfig {
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    static class TestJpaApplication {
+    }
+}
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import org.codenbug.event.application.EventChangeNotifier;
 import org.codenbug.event.domain.Event;
 import org.codenbug.event.domain.EventId;
 import org.codenbug.event.domain.EventRepository;
@@ -24,6 +25,9 @@ class SeatLayoutUpdateEventFlowIntegrationTest {
     @Mock
     private EventRepository eventRepository;
 
+    @Mock
+    private EventChangeNotifier eventChangeNotifier;
+
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
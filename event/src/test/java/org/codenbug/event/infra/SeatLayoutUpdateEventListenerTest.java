@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import org.codenbug.event.application.EventChangeNotifier;
 import org.codenbug.event.domain.Event;
 import org.codenbug.event.domain.EventId;
 import org.codenbug.event.domain.EventRepository;
@@ -23,6 +24,9 @@ class SeatLayoutUpdateEventListenerTest {
     @Mock
     private EventRepository eventRepository;
 
+    @Mock
+    private EventChangeNotifier eventChangeNotifier;
+
     @InjectMocks
     private SeatLayoutUpdateEventListener eventListener;
 
@@ -58,6 +62,8 @@ class SeatLayoutUpdateEventListenerTest {
         verify(eventRepository, times(1)).findBySeatLayoutId(any(SeatLayoutId.class));
         // Event가 저장되어 version이 업데이트되었는지 확인
         verify(eventRepository, times(1)).save(testEvent);
+        // 다른 모듈의 이벤트 요약 캐시를 비우도록 변경을 알렸는지 확인
+        verify(eventChangeNotifier).notifyUpdated(testEvent);
     }
 
     @Test
@@ -0,0 +1,68 @@
+package org.codenbug.event.query;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ViewCountBufferTest {
+
+    private final AtomicLong now = new AtomicLong(1_000L);
+    private final ViewCountBuffer buffer = new ViewCountBuffer(5_000L, now::get);
+
+    @Test
+    @DisplayName("drain은 쌓인 증가분을 꺼내고 카운터를 비운다")
+    void drainReturnsDeltasAndResets() {
+        buffer.increment("e1");
+        buffer.increment("e1");
+        buffer.increment("e2");
+
+        assertEquals(Map.of("e1", 2L, "e2", 1L), buffer.drain());
+        assertTrue(buffer.drain().isEmpty());
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 더해도 증가분이 빠지지 않는다")
+    void concurrentIncrementsAreNotLost() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8_000; i++) {
+            pool.execute(() -> buffer.increment("hot"));
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(8_000L, buffer.drain().get("hot"));
+    }
+
+    @Test
+    @DisplayName("플러시 실패로 되돌린 증가분은 다음 drain에 다시 실린다")
+    void restoredDeltasAreDrainedAgain() {
+        buffer.increment("e1");
+        Map<String, Long> deltas = buffer.drain();
+        buffer.increment("e1");
+
+        buffer.restore(deltas);
+
+        assertEquals(2L, buffer.drain().get("e1"));
+    }
+
+    @Test
+    @DisplayName("현재 조회수는 기억한 누적값에 플러시 전 증가분을 더한 값이고, 오래되면 null이다")
+    void currentTotalCombinesKnownTotalAndPending() {
+        buffer.recordTotal("e1", 100L);
+        buffer.increment("e1");
+
+        assertEquals(101L, buffer.currentTotal("e1"));
+        assertNull(buffer.currentTotal("unknown"));
+
+        now.addAndGet(5_001L);
+        assertNull(buffer.currentTotal("e1"));
+        assertEquals(1L, buffer.pendingDelta("e1"));
+    }
+}
@@ -0,0 +1,137 @@
+package org.codenbug.notification.application;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.extern.slf4j.Slf4j;
+import org.codenbug.notification.application.port.NotificationBulkStore;
+import org.codenbug.notification.application.port.NotificationPushDispatcher;
+import org.codenbug.notification.application.port.NotificationPushDispatcher.NotificationPush;
+import org.codenbug.notification.application.port.NotificationStore;
+import org.codenbug.notification.domain.NotificationDomainService;
+import org.codenbug.notification.domain.entity.Notification;
+import org.codenbug.notification.ui.dto.NotificationDto;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 메시지 배치 하나에서 나온 멱등 알림들을 한 트랜잭션으로 저장한다.
+ * <p>
+ * {@link NotificationCommandService#createNotificationIfAbsent}를 건마다 부르면 존재 확인과 INSERT로 DB를 두 번씩
+ * 왕복한다. 여기서는 배치 안의 sourceKey를 IN 조회 한 번으로 거르고, 남은 알림을 배치 INSERT 한 번으로 넣은 뒤
+ * 커밋하고 나서 SSE 중계 채널에 한꺼번에 넘긴다.
+ */
+@Slf4j
+@Service
+public class NotificationBatchCommandService {
+
+	private final NotificationStore notificationStore;
+	private final NotificationBulkStore bulkStore;
+	private final NotificationUnreadCounter unreadCounter;
+	private final NotificationPushDispatcher pushDispatcher;
+	private final NotificationDomainService domainService;
+	private final TransactionTemplate transactionTemplate;
+
+	public NotificationBatchCommandService(NotificationStore notificationStore,
+			NotificationBulkStore bulkStore,
+			NotificationUnreadCounter unreadCounter,
+			NotificationPushDispatcher pushDispatcher,
+			NotificationDomainService domainService,
+			@Qualifier("primaryTransactionManager") PlatformTransactionManager transactionManager) {
+		this.notificationStore = notificationStore;
+		this.bulkStore = bulkStore;
+		this.unreadCounter = unreadCounter;
+		this.pushDispatcher = pushDispatcher;
+		this.domainService = domainService;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * @param batchId 로그에서 배치를 묶어 볼 이름. 예: 큐 이름
+	 * @throws org.springframework.dao.DataAccessException 저장에 실패한 경우. 아무것도 저장하지 않는다.
+	 *         다른 컨슈머가 같은 sourceKey를 먼저 넣은 경우도 유니크 제약 위반으로 여기에 해당한다.
+	 */
+	public NotificationBatchReport createNotificationsIfAbsent(String batchId,
+			List<NotificationCreateCommand> commands) {
+		long startedAt = System.nanoTime();
+		Map<String, Notification> bySourceKey = new LinkedHashMap<>();
+		int invalid = 0;
+		for (NotificationCreateCommand command : commands) {
+			try {
+				Notification notification = domainService.createNotification(command.userId(),
+					command.type(), command.title(), command.content(), command.targetUrl(),
+					command.sourceKey());
+				if (notification.getSourceKey() == null) {
+					throw new IllegalArgumentException("sourceKey는 필수입니다.");
+				}
+				bySourceKey.putIfAbsent(notification.getSourceKey(), notification);
+			} catch (IllegalArgumentException e) {
+				invalid++;
+				log.warn("[notificationBatch] 알림 규칙 위반으로 건너뜀: batchId={}, sourceKey={}, reason={}", batchId,
+					command.sourceKey(), e.getMessage());
+			}
+		}
+
+		LocalDateTime sentAt = LocalDateTime.now();
+		long[] dedupNanos = new long[1];
+		List<Notification> survivors = new ArrayList<>(bySourceKey.size());
+		List<Long> ids = bySourceKey.isEmpty() ? List.of() : transactionTemplate.execute(status -> {
+			long dedupStartedAt = System.nanoTime();
+			Set<String> existing = new HashSet<>(notificationStore.findExistingSourceKeys(bySourceKey.keySet()));
+			dedupNanos[0] = System.nanoTime() - dedupStartedAt;
+			bySourceKey.forEach((sourceKey, notification) -> {
+				if (!existing.contains(sourceKey)) {
+					survivors.add(notification);
+				}
+			});
+			List<Long> generatedIds = bulkStore.insertEach(survivors, sentAt);
+			unreadCounter.onCreatedAll(survivors);
+			return generatedIds;
+		});
+		push(survivors, ids, sentAt);
+
+		int duplicates = commands.size() - invalid - survivors.size();
+		NotificationBatchReport report = new NotificationBatchReport(batchId, commands.size(), duplicates,
+			invalid, survivors.size(), Duration.ofNanos(dedupNanos[0]),
+			Duration.ofNanos(System.nanoTime() - startedAt));
+		log.info("[notificationBatch] 완료: batchId={}, received={}, inserted={}, duplicates={}, invalid={}, "
+				+ "dedupMs={}, elapsedMs={}", batchId, report.received(), report.inserted(), report.duplicates(),
+			report.invalid(), report.dedupElapsed().toMillis(), report.elapsed().toMillis());
+		return report;
+	}
+
+	private void push(List<Notification> notifications, List<Long> ids, LocalDateTime sentAt) {
+		if (notifications.isEmpty()) {
+			return;
+		}
+		if (ids.size() != notifications.size()) {
+			// 드라이버가 생성 키를 돌려주지 않으면 SSE 이벤트 ID를 만들 수 없다. 알림은 받은함에서 보인다.
+			log.warn("[notificationBatch] 생성 키 수 불일치로 SSE 전송 생략: expected={}, actual={}",
+				notifications.size(), ids.size());
+			return;
+		}
+		List<NotificationPush> pushes = new ArrayList<>(notifications.size());
+		for (int i = 0; i < notifications.size(); i++) {
+			Notification notification = notifications.get(i);
+			NotificationDto dto = NotificationDto.builder()
+				.id(ids.get(i))
+				.type(notification.getType())
+				.title(notification.getTitle())
+				.content(notification.getContent())
+				.targetUrl(notification.getTargetUrl())
+				.sentAt(sentAt)
+				.isRead(false)
+				.build();
+			pushes.add(new NotificationPush(notification.getUserId().getValue(), dto));
+		}
+		pushDispatcher.dispatchAll(pushes);
+	}
+}
@@ -0,0 +1,17 @@
+package org.codenbug.notification.application;
+
+import java.time.Duration;
+
+/**
+ * 멱등 알림 배치 저장 한 번의 결과.
+ *
+ * @param received 받은 명령 수
+ * @param duplicates 배치 안에서 겹치거나 이미 저장돼 있어 건너뛴 수
+ * @param invalid 알림 규칙에 맞지 않아 건너뛴 수
+ * @param inserted 저장한 알림 수
+ * @param dedupElapsed sourceKey IN 조회에 걸린 시간
+ * @param elapsed 조회, 저장, 커밋, SSE 중계까지 걸린 전체 시간
+ */
+public record NotificationBatchReport(String batchId, int received, int duplicates, int invalid,
+		int inserted, Duration dedupElapsed, Duration elapsed) {
+}
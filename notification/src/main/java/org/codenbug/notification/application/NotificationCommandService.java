@@ -29,6 +29,7 @@ public class NotificationCommandService {
 	private final NotificationDomainService domainService;
 	private final NotificationDeletionPolicy deletionPolicy;
 	private final ApplicationEventPublisher eventPublisher;
+	private final NotificationUnreadCounter unreadCounter;
 
 	public NotificationDto createNotification(String userId, NotificationType type, String title,
 			String content, String targetUrl) {
@@ -36,6 +37,7 @@ public class NotificationCommandService {
 		Notification notification =
 			domainService.createNotification(userId, type, title, content, targetUrl);
 		Notification savedNotification = notificationStore.save(notification);
+		unreadCounter.onCreated(savedNotification);
 
 		NotificationDto notificationDto = NotificationDto.from(savedNotification);
 		NotificationEventDto eventDto = NotificationEventDto.from(savedNotification);
@@ -65,6 +67,7 @@ public class NotificationCommandService {
 		Notification notification =
 			domainService.createNotification(userId, type, title, content, targetUrl, sourceKey);
 		Notification savedNotification = notificationStore.save(notification);
+		unreadCounter.onCreated(savedNotification);
 
 		NotificationDto notificationDto = NotificationDto.from(savedNotification);
 		NotificationEventDto eventDto = NotificationEventDto.from(savedNotification);
@@ -78,6 +81,7 @@ public class NotificationCommandService {
 	public NotificationDto createLegacyNotification(String userId, NotificationType type, String content) {
 		Notification notification = domainService.createLegacyNotification(userId, type, content);
 		Notification savedNotification = notificationStore.save(notification);
+		unreadCounter.onCreated(savedNotification);
 
 		NotificationDto notificationDto = NotificationDto.from(savedNotification);
 		NotificationEventDto eventDto = NotificationEventDto.from(savedNotification);
@@ -105,6 +109,7 @@ public class NotificationCommandService {
 			.orElseThrow(() -> new IllegalArgumentException("해당 알림을 찾을 수 없습니다."));
 		domainService.validateUserOwnership(notification, userId);
 		notificationStore.delete(notification);
+		unreadCounter.onDeleted(List.of(notification));
 		log.debug("알림 삭제 완료: notificationId={}, userId={}", notificationId, userId);
 	}
 
@@ -119,6 +124,7 @@ public class NotificationCommandService {
 		}
 
 		notificationStore.deleteAll(notifications);
+		unreadCounter.onDeleted(notifications);
 		log.debug("다건 알림 삭제 완료: count={}, userId={}", notifications.size(), userId);
 	}
 
@@ -137,6 +143,7 @@ public class NotificationCommandService {
 		}
 
 		notificationStore.deleteAll(decision.deletableNotifications());
+		unreadCounter.onDeleted(decision.deletableNotifications());
 		log.info("알림 선택 삭제 완료: requesterId={}, deletionScope=selected-set, requestedCount={}, deletedCount={}, rejectionReasonCategory={}",
 			requesterId.getValue(), decision.requestedCount(), decision.deletedCount(),
 			decision.rejectionReasonCategory());
@@ -147,6 +154,7 @@ public class NotificationCommandService {
 		List<Notification> notifications =
 			notificationStore.findByUserIdOrderBySentAtDesc(userIdVO);
 		notificationStore.deleteAll(notifications);
+		unreadCounter.onDeleted(notifications);
 		log.debug("모든 알림 삭제 완료: count={}, userId={}", notifications.size(), userId);
 	}
 }
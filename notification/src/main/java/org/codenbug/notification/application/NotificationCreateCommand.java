@@ -0,0 +1,10 @@
+package org.codenbug.notification.application;
+
+import org.codenbug.notification.domain.entity.NotificationType;
+
+/**
+ * 외부 이벤트 하나로 만들 알림. sourceKey는 같은 이벤트가 다시 와도 알림을 한 번만 만들기 위한 멱등 키다.
+ */
+public record NotificationCreateCommand(String userId, NotificationType type, String title,
+		String content, String targetUrl, String sourceKey) {
+}
@@ -0,0 +1,20 @@
+package org.codenbug.notification.application;
+
+import java.time.Duration;
+
+/**
+ * 대량 발송 한 건의 결과.
+ *
+ * @param recipients 중복을 뺀 수신자 수
+ * @param inserted 저장한 알림 수
+ * @param failed 저장에 실패한 청크에 속한 수신자 수
+ * @param pushed SSE 중계 채널에 넘긴 수. 실제 전달은 각 인스턴스가 연결된 사용자에게만 한다.
+ */
+public record NotificationFanoutReport(String jobId, int recipients, int inserted, int failed,
+		int pushed, Duration elapsed) {
+
+	public double throughputPerSecond() {
+		long millis = Math.max(1, elapsed.toMillis());
+		return inserted * 1000.0 / millis;
+	}
+}
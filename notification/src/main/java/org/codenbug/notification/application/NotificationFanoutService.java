@@ -0,0 +1,145 @@
+package org.codenbug.notification.application;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+import org.codenbug.notification.application.port.NotificationBulkStore;
+import org.codenbug.notification.application.port.NotificationPushDispatcher;
+import org.codenbug.notification.application.port.NotificationPushDispatcher.NotificationPush;
+import org.codenbug.notification.domain.NotificationDomainService;
+import org.codenbug.notification.domain.entity.Notification;
+import org.codenbug.notification.domain.entity.NotificationType;
+import org.codenbug.notification.domain.entity.UserId;
+import org.codenbug.notification.ui.dto.NotificationDto;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 같은 내용의 알림을 많은 사용자에게 보낸다.
+ * <p>
+ * 수신자를 {@code chunk-size}씩 나눠 청크마다 한 트랜잭션에서 배치 INSERT와 미읽음 카운터 증가를 하고, 커밋한 뒤
+ * 청크 단위로 SSE 중계 채널에 넘긴다. 한 청크가 실패해도 나머지 청크는 계속 보낸다.
+ */
+@Slf4j
+@Service
+public class NotificationFanoutService {
+
+	private final NotificationBulkStore bulkStore;
+	private final NotificationUnreadCounter unreadCounter;
+	private final NotificationPushDispatcher pushDispatcher;
+	private final NotificationDomainService domainService;
+	private final TransactionTemplate transactionTemplate;
+	private final int chunkSize;
+
+	public NotificationFanoutService(NotificationBulkStore bulkStore,
+			NotificationUnreadCounter unreadCounter,
+			NotificationPushDispatcher pushDispatcher,
+			NotificationDomainService domainService,
+			@Qualifier("primaryTransactionManager") PlatformTransactionManager transactionManager,
+			@Value("${notification.fanout.chunk-size:1000}") int chunkSize) {
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException("notification.fanout.chunk-size must be positive");
+		}
+		this.bulkStore = bulkStore;
+		this.unreadCounter = unreadCounter;
+		this.pushDispatcher = pushDispatcher;
+		this.domainService = domainService;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * @param jobId 로그에서 진행 상황을 묶어 볼 이름. 예: event-open:{eventId}
+	 * @throws IllegalArgumentException 제목/내용이 알림 규칙에 맞지 않는 경우. 아무것도 저장하지 않는다.
+	 */
+	public NotificationFanoutReport fanout(String jobId, Collection<String> userIds, NotificationType type,
+			String title, String content, String targetUrl) {
+		List<UserId> recipients = distinctRecipients(userIds);
+		long startedAt = System.nanoTime();
+		if (recipients.isEmpty()) {
+			return new NotificationFanoutReport(jobId, 0, 0, 0, 0, Duration.ZERO);
+		}
+
+		Notification template = domainService.createNotification(recipients.get(0).getValue(), type, title,
+			content, targetUrl);
+		log.info("[notificationFanout] 시작: jobId={}, recipients={}, chunkSize={}", jobId, recipients.size(),
+			chunkSize);
+
+		int inserted = 0;
+		int failed = 0;
+		int pushed = 0;
+		for (int from = 0; from < recipients.size(); from += chunkSize) {
+			List<UserId> chunk = recipients.subList(from, Math.min(from + chunkSize, recipients.size()));
+			LocalDateTime sentAt = LocalDateTime.now();
+			List<Long> ids;
+			try {
+				ids = transactionTemplate.execute(status -> {
+					List<Long> generatedIds = bulkStore.insertAll(chunk, template, sentAt);
+					unreadCounter.onCreatedForEach(chunk);
+					return generatedIds;
+				});
+				inserted += chunk.size();
+			} catch (RuntimeException e) {
+				ids = null;
+				failed += chunk.size();
+				log.error("[notificationFanout] 청크 저장 실패: jobId={}, offset={}, size={}", jobId, from,
+					chunk.size(), e);
+			}
+			if (ids != null) {
+				pushed += push(chunk, ids, template, sentAt);
+			}
+
+			long elapsedMs = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+			log.info("[notificationFanout] 진행: jobId={}, {}/{}, failed={}, pushed={}, {}건/초", jobId,
+				inserted + failed, recipients.size(), failed, pushed, inserted * 1000L / elapsedMs);
+		}
+
+		NotificationFanoutReport report = new NotificationFanoutReport(jobId, recipients.size(), inserted,
+			failed, pushed, Duration.ofNanos(System.nanoTime() - startedAt));
+		log.info("[notificationFanout] 완료: jobId={}, inserted={}, failed={}, pushed={}, elapsedMs={}, {}건/초",
+			jobId, report.inserted(), report.failed(), report.pushed(), report.elapsed().toMillis(),
+			Math.round(report.throughputPerSecond()));
+		return report;
+	}
+
+	private int push(List<UserId> chunk, List<Long> ids, Notification template, LocalDateTime sentAt) {
+		if (ids.size() != chunk.size()) {
+			// 드라이버가 생성 키를 돌려주지 않으면 SSE 이벤트 ID를 만들 수 없다. 알림은 받은함에서 보인다.
+			log.warn("[notificationFanout] 생성 키 수 불일치로 SSE 전송 생략: expected={}, actual={}", chunk.size(),
+				ids.size());
+			return 0;
+		}
+		List<NotificationPush> pushes = new ArrayList<>(chunk.size());
+		for (int i = 0; i < chunk.size(); i++) {
+			NotificationDto notification = NotificationDto.builder()
+				.id(ids.get(i))
+				.type(template.getType())
+				.title(template.getTitle())
+				.content(template.getContent())
+				.targetUrl(template.getTargetUrl())
+				.sentAt(sentAt)
+				.isRead(false)
+				.build();
+			pushes.add(new NotificationPush(chunk.get(i).getValue(), notification));
+		}
+		return pushDispatcher.dispatchAll(pushes);
+	}
+
+	private List<UserId> distinctRecipients(Collection<String> userIds) {
+		LinkedHashSet<UserId> recipients = new LinkedHashSet<>();
+		for (String userId : userIds) {
+			if (userId != null && !userId.isBlank()) {
+				recipients.add(new UserId(userId));
+			}
+		}
+		return new ArrayList<>(recipients);
+	}
+}
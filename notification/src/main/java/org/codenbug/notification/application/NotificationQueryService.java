@@ -5,6 +5,8 @@ import org.codenbug.notification.application.port.NotificationInboxViewReader;
 import org.codenbug.notification.application.port.NotificationStore;
 import org.codenbug.notification.domain.entity.Notification;
 import org.codenbug.notification.domain.entity.UserId;
+import org.codenbug.notification.ui.projection.NotificationInboxCursor;
+import org.codenbug.notification.ui.projection.NotificationInboxSlice;
 import org.codenbug.notification.ui.projection.NotificationListProjection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -18,11 +20,17 @@ public class NotificationQueryService {
 
 	private final NotificationStore notificationStore;
 	private final NotificationInboxViewReader notificationInboxViewReader;
+	private final NotificationUnreadCounter unreadCounter;
 
 	public Page<NotificationListProjection> getNotifications(String userId, Pageable pageable) {
 		return notificationInboxViewReader.findUserNotificationList(userId, pageable);
 	}
 
+	public NotificationInboxSlice getNotificationSlice(String userId, String cursor, int size) {
+		return notificationInboxViewReader.findUserNotificationSlice(userId,
+			NotificationInboxCursor.decode(cursor), size);
+	}
+
 	@Transactional
 	public Notification getNotificationById(Long notificationId, String userId) {
 		UserId recipientUserId = new UserId(userId);
@@ -31,6 +39,7 @@ public class NotificationQueryService {
 
 		if (notification.markAsReadIfUnread()) {
 			notificationStore.save(notification);
+			unreadCounter.onRead(notification);
 		}
 
 		return notification;
@@ -40,9 +49,13 @@ public class NotificationQueryService {
 		return notificationInboxViewReader.findUserUnreadNotificationList(userId, pageable);
 	}
 
+	public NotificationInboxSlice getUnreadNotificationSlice(String userId, String cursor, int size) {
+		return notificationInboxViewReader.findUserUnreadNotificationSlice(userId,
+			NotificationInboxCursor.decode(cursor), size);
+	}
+
 	public long getUnreadCount(String userId) {
-		UserId userIdVO = new UserId(userId);
-		return notificationStore.countByUserIdAndIsReadFalse(userIdVO);
+		return unreadCounter.count(new UserId(userId));
 	}
 
 	private Notification loadOwnedNotificationOrThrow(Long notificationId, UserId userId) {
@@ -0,0 +1,15 @@
+package org.codenbug.notification.application;
+
+import java.time.Duration;
+
+/**
+ * 보존 기간 정리 한 번의 결과.
+ *
+ * @param readPurged read-retention-days가 지나 지운 읽은 알림 수
+ * @param expiredPurged max-retention-days가 지나 지운 알림 수. 읽지 않은 알림을 포함한다.
+ * @param archived 보관 테이블로 옮긴 알림 수
+ * @param hasRemaining 한 번에 처리할 청크 수를 다 써서 남은 대상이 있을 수 있으면 true
+ */
+public record NotificationRetentionReport(int readPurged, int expiredPurged, int archived, int chunks,
+		boolean hasRemaining, Duration elapsed) {
+}
@@ -0,0 +1,156 @@
+package org.codenbug.notification.application;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+import org.codenbug.notification.application.port.NotificationRetentionStore;
+import org.codenbug.notification.application.port.NotificationRetentionStore.PurgeCandidate;
+import org.codenbug.notification.domain.entity.UserId;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 보존 기간이 지난 알림을 작은 청크로 나눠 지운다.
+ * <ul>
+ *   <li>읽은 알림은 {@code read-retention-days}가 지나면 지운다.</li>
+ *   <li>읽지 않은 알림도 {@code max-retention-days}가 지나면 지우고 미읽음 카운터를 그만큼 내린다.</li>
+ * </ul>
+ * 청크마다 한 트랜잭션에서 대상을 {@code FOR UPDATE SKIP LOCKED}로 잡고 보관 테이블로 복사(선택)하고 지운 뒤 {@code chunk-pause-ms}만큼 쉬어 복제 지연과 잠금 경합을
+ * 줄인다. 한 번에 {@code max-chunks-per-run}개 청크까지만 처리하고 나머지는 다음 실행에 넘긴다.
+ */
+@Slf4j
+@Service
+public class NotificationRetentionService {
+
+	private final NotificationRetentionStore retentionStore;
+	private final NotificationUnreadCounter unreadCounter;
+	private final TransactionTemplate transactionTemplate;
+	private final Duration readRetention;
+	private final Duration maxRetention;
+	private final int chunkSize;
+	private final long chunkPauseMs;
+	private final int maxChunksPerRun;
+	private final boolean archiveEnabled;
+
+	public NotificationRetentionService(NotificationRetentionStore retentionStore,
+			NotificationUnreadCounter unreadCounter,
+			@Qualifier("primaryTransactionManager") PlatformTransactionManager transactionManager,
+			@Value("${notification.retention.read-retention-days:30}") long readRetentionDays,
+			@Value("${notification.retention.max-retention-days:180}") long maxRetentionDays,
+			@Value("${notification.retention.chunk-size:500}") int chunkSize,
+			@Value("${notification.retention.chunk-pause-ms:100}") long chunkPauseMs,
+			@Value("${notification.retention.max-chunks-per-run:200}") int maxChunksPerRun,
+			@Value("${notification.retention.archive-enabled:true}") boolean archiveEnabled) {
+		if (chunkSize <= 0 || maxChunksPerRun <= 0) {
+			throw new IllegalArgumentException(
+				"notification.retention.chunk-size and max-chunks-per-run must be positive");
+		}
+		if (readRetentionDays > maxRetentionDays) {
+			throw new IllegalArgumentException(
+				"notification.retention.read-retention-days must not exceed max-retention-days");
+		}
+		this.retentionStore = retentionStore;
+		this.unreadCounter = unreadCounter;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.readRetention = Duration.ofDays(readRetentionDays);
+		this.maxRetention = Duration.ofDays(maxRetentionDays);
+		this.chunkSize = chunkSize;
+		this.chunkPauseMs = Math.max(0, chunkPauseMs);
+		this.maxChunksPerRun = maxChunksPerRun;
+		this.archiveEnabled = archiveEnabled;
+	}
+
+	public NotificationRetentionReport purge(LocalDateTime now) {
+		long startedAt = System.nanoTime();
+		LocalDateTime readCutoff = now.minus(readRetention);
+		LocalDateTime expiredCutoff = now.minus(maxRetention);
+
+		// 읽지 않은 오래된 알림은 이 규칙으로만 지워지므로, 읽은 알림 정리가 청크 한도를 다 쓰기 전에 먼저 돌린다.
+		PurgeProgress progress = new PurgeProgress();
+		purgeWhile("expired", limit -> retentionStore.claimSentBefore(expiredCutoff, limit), now, progress);
+		int expiredPurged = progress.purged;
+		purgeWhile("read", limit -> retentionStore.claimReadSentBefore(readCutoff, limit), now, progress);
+
+		NotificationRetentionReport report = new NotificationRetentionReport(progress.purged - expiredPurged,
+			expiredPurged, progress.archived, progress.chunks, progress.limitReached,
+			Duration.ofNanos(System.nanoTime() - startedAt));
+		log.info("[notificationRetention] 완료: readPurged={}, expiredPurged={}, archived={}, chunks={}, "
+				+ "remaining={}, elapsedMs={}", report.readPurged(), report.expiredPurged(), report.archived(),
+			report.chunks(), report.hasRemaining(), report.elapsed().toMillis());
+		return report;
+	}
+
+	private void purgeWhile(String rule, IntFunction<List<PurgeCandidate>> finder, LocalDateTime now,
+			PurgeProgress progress) {
+		while (progress.chunks < maxChunksPerRun && !Thread.currentThread().isInterrupted()) {
+			int[] purged = new int[1];
+			int[] archived = new int[1];
+			transactionTemplate.executeWithoutResult(status -> {
+				List<PurgeCandidate> candidates = finder.apply(chunkSize);
+				if (candidates.isEmpty()) {
+					return;
+				}
+				List<Long> ids = candidates.stream().map(PurgeCandidate::id).toList();
+				if (archiveEnabled) {
+					archived[0] = retentionStore.archive(ids, now);
+				}
+				purged[0] = retentionStore.deleteAllByIdIn(ids);
+				if (purged[0] == candidates.size()) {
+					unreadCounter.onPurged(unreadByUser(candidates));
+				} else {
+					// 잡은 행은 잠겨 있어 모두 지워져야 한다. 어긋나면 어느 행이 빠졌는지 모르므로 카운터는 주기 재계산에 맡긴다.
+					log.warn("[notificationRetention] 잡은 알림과 지운 알림 수가 다릅니다: rule={}, claimed={}, purged={}",
+						rule, candidates.size(), purged[0]);
+				}
+			});
+			if (purged[0] == 0) {
+				return;
+			}
+
+			progress.chunks++;
+			progress.purged += purged[0];
+			progress.archived += archived[0];
+			log.debug("[notificationRetention] 청크 정리: rule={}, purged={}, archived={}, total={}", rule,
+				purged[0], archived[0], progress.purged);
+			if (purged[0] < chunkSize || !pause()) {
+				return;
+			}
+		}
+		progress.limitReached = true;
+	}
+
+	private boolean pause() {
+		if (chunkPauseMs == 0) {
+			return true;
+		}
+		try {
+			Thread.sleep(chunkPauseMs);
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			log.warn("[notificationRetention] 정리 중 인터럽트되어 다음 실행으로 넘깁니다.");
+			return false;
+		}
+	}
+
+	private Map<UserId, Long> unreadByUser(List<PurgeCandidate> candidates) {
+		return candidates.stream()
+			.filter(candidate -> !candidate.read())
+			.collect(Collectors.groupingBy(PurgeCandidate::userId, Collectors.counting()));
+	}
+
+	private static final class PurgeProgress {
+		private int chunks;
+		private int purged;
+		private int archived;
+		private boolean limitReached;
+	}
+}
@@ -30,6 +30,7 @@ public class NotificationService {
     private final NotificationStore notificationStore;
     private final NotificationDomainService domainService;
     private final ApplicationEventPublisher eventPublisher;
+    private final NotificationUnreadCounter unreadCounter;
 
     /**
      * 특정 사용자의 알림 목록을 페이지네이션하여 조회
@@ -66,6 +67,7 @@ public class NotificationService {
         if (!notification.isRead()) {
             notification.markAsRead();
             notificationStore.save(notification);
+            unreadCounter.onRead(notification);
         }
 
         return NotificationDto.from(notification);
@@ -93,6 +95,7 @@ public class NotificationService {
 
         // 저장
         Notification savedNotification = notificationStore.save(notification);
+        unreadCounter.onCreated(savedNotification);
         log.debug("알림 저장 완료: notificationId={}", savedNotification.getId());
 
         // DTO로 변환
@@ -125,6 +128,7 @@ public class NotificationService {
 
         // 저장
         Notification savedNotification = notificationStore.save(notification);
+        unreadCounter.onCreated(savedNotification);
         log.debug("레거시 알림 저장 완료: notificationId={}", savedNotification.getId());
 
         // DTO로 변환
@@ -162,8 +166,7 @@ public class NotificationService {
      */
     @Transactional(readOnly = true)
     public long getUnreadCount(String userId) {
-        UserId userIdVO = new UserId(userId);
-        return notificationStore.countByUserIdAndIsReadFalse(userIdVO);
+        return unreadCounter.count(new UserId(userId));
     }
 
     /**
@@ -206,6 +209,7 @@ public class NotificationService {
         domainService.validateUserOwnership(notification, userId);
 
         notificationStore.delete(notification);
+        unreadCounter.onDeleted(List.of(notification));
         log.debug("알림 삭제 완료: notificationId={}, userId={}", notificationId, userId);
     }
 
@@ -230,6 +234,7 @@ public class NotificationService {
 
         // 존재하는 알림만 삭제
         notificationStore.deleteAll(notifications);
+        unreadCounter.onDeleted(notifications);
         log.debug("다건 알림 삭제 완료: count={}, userId={}", notifications.size(), userId);
     }
 
@@ -244,6 +249,7 @@ public class NotificationService {
         List<Notification> notifications =
                 notificationStore.findByUserIdOrderBySentAtDesc(userIdVO);
         notificationStore.deleteAll(notifications);
+        unreadCounter.onDeleted(notifications);
         log.debug("모든 알림 삭제 완료: count={}, userId={}", notifications.size(), userId);
     }
 }
@@ -0,0 +1,108 @@
+package org.codenbug.notification.application;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+import org.codenbug.notification.application.port.NotificationStore;
+import org.codenbug.notification.application.port.NotificationUnreadCountStore;
+import org.codenbug.notification.domain.entity.Notification;
+import org.codenbug.notification.domain.entity.NotificationUnreadCount;
+import org.codenbug.notification.domain.entity.UserId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * 사용자별 미읽음 카운터를 알림 생성/읽음/삭제에 맞춰 증감하고, 배지 조회에 돌려준다.
+ * <p>
+ * 카운터가 없거나 {@code reconcile-interval-ms}보다 오래 전에 맞춘 값이면 알림 테이블을 한 번 세어 덮어쓴다.
+ * 카운터를 처음 만드는 순간과 겹친 증감은 빠질 수 있는데, 이 주기 재계산이 그 오차를 흡수한다.
+ */
+@Slf4j
+@Component
+public class NotificationUnreadCounter {
+
+	private final NotificationUnreadCountStore unreadCountStore;
+	private final NotificationStore notificationStore;
+	private final Duration reconcileInterval;
+
+	public NotificationUnreadCounter(NotificationUnreadCountStore unreadCountStore,
+			NotificationStore notificationStore,
+			@Value("${notification.unread-counter.reconcile-interval-ms:3600000}") long reconcileIntervalMs) {
+		this.unreadCountStore = unreadCountStore;
+		this.notificationStore = notificationStore;
+		this.reconcileInterval = Duration.ofMillis(reconcileIntervalMs);
+	}
+
+	public void onCreated(Notification notification) {
+		if (!notification.isRead()) {
+			unreadCountStore.adjust(notification.getUserId(), 1);
+		}
+	}
+
+	/**
+	 * 대량 발송처럼 미읽음 알림을 사용자마다 한 건씩 만든 경우. recipients에 중복이 없어야 한다.
+	 */
+	public void onCreatedForEach(Collection<UserId> recipients) {
+		unreadCountStore.adjustAll(recipients, 1);
+	}
+
+	/**
+	 * 여러 사용자에게 서로 다른 알림을 한꺼번에 만든 경우. 같은 개수만큼 늘어나는 사용자끼리 묶어 한 문장으로 올린다.
+	 */
+	public void onCreatedAll(Collection<? extends Notification> notifications) {
+		adjustGroupedByCount(unreadByUser(notifications), 1);
+	}
+
+	public void onRead(Notification notification) {
+		unreadCountStore.adjust(notification.getUserId(), -1);
+	}
+
+	public void onDeleted(Collection<? extends Notification> notifications) {
+		unreadByUser(notifications).forEach((userId, count) -> unreadCountStore.adjust(userId, -count));
+	}
+
+	/**
+	 * 보존 기간 정리로 미읽음 알림이 지워진 경우.
+	 *
+	 * @param unreadByUser 사용자별로 지워진 미읽음 알림 수
+	 */
+	public void onPurged(Map<UserId, Long> unreadByUser) {
+		adjustGroupedByCount(unreadByUser, -1);
+	}
+
+	public long count(UserId userId) {
+		LocalDateTime now = LocalDateTime.now();
+		NotificationUnreadCount cached = unreadCountStore.findByUserId(userId).orElse(null);
+		if (cached != null && cached.isReconciledAfter(now.minus(reconcileInterval))) {
+			return cached.getUnreadCount();
+		}
+
+		long unreadCount = notificationStore.countByUserIdAndIsReadFalse(userId);
+		try {
+			unreadCountStore.reconcile(userId, unreadCount, now);
+		} catch (DataIntegrityViolationException e) {
+			// 다른 요청이 같은 사용자의 카운터를 먼저 만들었다. 방금 센 값은 그대로 돌려준다.
+			log.debug("미읽음 카운터 동시 생성: userId={}", userId.getValue());
+		}
+		return unreadCount;
+	}
+
+	private void adjustGroupedByCount(Map<UserId, Long> countByUser, long sign) {
+		Map<Long, List<UserId>> usersByCount = countByUser.entrySet().stream()
+			.collect(Collectors.groupingBy(Map.Entry::getValue,
+				Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+		usersByCount.forEach((count, userIds) -> unreadCountStore.adjustAll(userIds, sign * count));
+	}
+
+	private Map<UserId, Long> unreadByUser(Collection<? extends Notification> notifications) {
+		return notifications.stream()
+			.filter(notification -> !notification.isRead())
+			.collect(Collectors.groupingBy(Notification::getUserId, Collectors.counting()));
+	}
+}
@@ -0,0 +1,13 @@
+package org.codenbug.notification.application.port;
+
+import org.codenbug.notification.ui.dto.NotificationDto;
+
+public interface LocalNotificationDelivery {
+
+    /**
+     * 이 인스턴스에 연결된 사용자의 SSE 연결마다 알림을 넣는다. 실제 쓰기는 연결별 전송 스레드가 하므로 기다리지 않는다.
+     *
+     * @return 이 인스턴스에 사용자의 연결이 있었으면 true
+     */
+    boolean deliver(String userId, NotificationDto notification);
+}
@@ -0,0 +1,26 @@
+package org.codenbug.notification.application.port;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.codenbug.notification.domain.entity.Notification;
+import org.codenbug.notification.domain.entity.UserId;
+
+public interface NotificationBulkStore {
+
+    /**
+     * template과 같은 유형/내용의 알림을 수신자마다 한 행씩 배치 INSERT로 저장한다. 현재 트랜잭션에 참여한다.
+     *
+     * @param template 검증을 마친 알림. 유형, 내용, 상태만 쓰고 수신자와 ID는 무시한다.
+     * @return recipients와 같은 순서의 생성된 알림 ID
+     */
+    List<Long> insertAll(List<UserId> recipients, Notification template, LocalDateTime sentAt);
+
+    /**
+     * 서로 다른 알림들을 sourceKey까지 포함해 배치 INSERT로 저장한다. 현재 트랜잭션에 참여한다.
+     * 이미 있는 sourceKey가 섞여 있으면 유니크 제약 위반으로 배치 전체가 실패한다.
+     *
+     * @return notifications와 같은 순서의 생성된 알림 ID
+     */
+    List<Long> insertEach(List<Notification> notifications, LocalDateTime sentAt);
+}
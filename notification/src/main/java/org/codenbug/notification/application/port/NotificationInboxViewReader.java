@@ -1,5 +1,7 @@
 package org.codenbug.notification.application.port;
 
+import org.codenbug.notification.ui.projection.NotificationInboxCursor;
+import org.codenbug.notification.ui.projection.NotificationInboxSlice;
 import org.codenbug.notification.ui.projection.NotificationListProjection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -10,4 +12,15 @@ public interface NotificationInboxViewReader {
 
     Page<NotificationListProjection> findUserUnreadNotificationList(String userId,
             Pageable pageable);
+
+    /**
+     * (sentAt, id) 역순 커서 조회. 전체 개수를 세지 않는다.
+     *
+     * @param cursor 이전 페이지의 마지막 알림. null이면 첫 페이지
+     */
+    NotificationInboxSlice findUserNotificationSlice(String userId, NotificationInboxCursor cursor,
+            int size);
+
+    NotificationInboxSlice findUserUnreadNotificationSlice(String userId,
+            NotificationInboxCursor cursor, int size);
 }
@@ -0,0 +1,23 @@
+package org.codenbug.notification.application.port;
+
+import java.util.List;
+
+import org.codenbug.notification.ui.dto.NotificationDto;
+
+public interface NotificationPushDispatcher {
+
+    /**
+     * 새 알림을 모든 인스턴스로 중계한다. 각 인스턴스는 자기에게 SSE로 연결된 사용자에게만 전달한다.
+     * 호출 스레드는 클라이언트 전송을 기다리지 않는다.
+     *
+     * @return 중계한 알림 수
+     */
+    int dispatchAll(List<NotificationPush> pushes);
+
+    default void dispatch(String userId, NotificationDto notification) {
+        dispatchAll(List.of(new NotificationPush(userId, notification)));
+    }
+
+    record NotificationPush(String userId, NotificationDto notification) {
+    }
+}
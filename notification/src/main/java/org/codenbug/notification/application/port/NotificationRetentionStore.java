@@ -0,0 +1,39 @@
+package org.codenbug.notification.application.port;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.codenbug.notification.domain.entity.UserId;
+
+/**
+ * 보존 기간 정리 작업용 저장소. 모든 메서드는 현재 트랜잭션에 참여한다.
+ */
+public interface NotificationRetentionStore {
+
+    /**
+     * sentBefore 이전에 보낸 읽은 알림을 오래된 순으로 최대 limit건 잠그고 가져온다.
+     * 다른 트랜잭션이 잠근 행은 건너뛰고, 잠금은 현재 트랜잭션이 끝날 때 풀린다.
+     */
+    List<PurgeCandidate> claimReadSentBefore(LocalDateTime sentBefore, int limit);
+
+    /**
+     * 읽음 여부와 상관없이 sentBefore 이전에 보낸 알림을 오래된 순으로 최대 limit건 잠그고 가져온다.
+     * 읽음 여부는 잠근 뒤의 값이라 트랜잭션이 끝날 때까지 바뀌지 않는다.
+     */
+    List<PurgeCandidate> claimSentBefore(LocalDateTime sentBefore, int limit);
+
+    /**
+     * 알림을 보관 테이블로 복사한다. 이미 옮겨 둔 알림은 건너뛴다.
+     *
+     * @return 새로 복사한 행 수
+     */
+    int archive(List<Long> notificationIds, LocalDateTime archivedAt);
+
+    /**
+     * @return 지운 행 수
+     */
+    int deleteAllByIdIn(List<Long> notificationIds);
+
+    record PurgeCandidate(Long id, UserId userId, boolean read) {
+    }
+}
@@ -1,5 +1,6 @@
 package org.codenbug.notification.application.port;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +19,13 @@ public interface NotificationStore {
 
     boolean existsBySourceKey(String sourceKey);
 
+    /**
+     * 주어진 sourceKey 중 이미 저장된 것만 한 번의 IN 조회로 돌려준다.
+     */
+    default List<String> findExistingSourceKeys(Collection<String> sourceKeys) {
+        throw new UnsupportedOperationException("sourceKey 목록 조회를 지원하지 않습니다.");
+    }
+
     Page<Notification> findByUserIdOrderBySentAtDesc(UserId userId, Pageable pageable);
 
     List<Notification> findByUserIdOrderBySentAtDesc(UserId userId);
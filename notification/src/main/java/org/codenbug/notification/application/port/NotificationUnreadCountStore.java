@@ -0,0 +1,28 @@
+package org.codenbug.notification.application.port;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+import org.codenbug.notification.domain.entity.NotificationUnreadCount;
+import org.codenbug.notification.domain.entity.UserId;
+
+public interface NotificationUnreadCountStore {
+
+    Optional<NotificationUnreadCount> findByUserId(UserId userId);
+
+    /**
+     * 현재 트랜잭션에서 카운터를 delta만큼 증감한다. 카운터가 아직 없으면 아무것도 하지 않는다(처음 조회할 때 새로 센다).
+     */
+    void adjust(UserId userId, long delta);
+
+    /**
+     * 여러 사용자의 카운터를 한 문장으로 delta만큼 증감한다. userIds에 중복이 없어야 한다.
+     */
+    void adjustAll(Collection<UserId> userIds, long delta);
+
+    /**
+     * 새 트랜잭션에서 카운터를 unreadCount로 덮어쓰거나 만든다. 동시에 만들다 충돌하면 예외가 그대로 올라간다.
+     */
+    void reconcile(UserId userId, long unreadCount, LocalDateTime reconciledAt);
+}
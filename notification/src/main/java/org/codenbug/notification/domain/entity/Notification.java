@@ -17,13 +17,21 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "notification")
+@Table(name = "notification", indexes = {
+        // 받은함 커서 조회를 (sent_at, id) 역순 인덱스 범위 스캔으로 끝내기 위한 인덱스. 미읽음 목록과 전체 목록용
+        @Index(name = "idx_notification_user_read_sent_id",
+                columnList = "user_id, is_read, sent_at, id"),
+        @Index(name = "idx_notification_user_sent_id", columnList = "user_id, sent_at, id"),
+        // 보존 기간 정리 작업이 가장 오래된 알림부터 청크 단위로 잘라 가기 위한 인덱스. 읽은 알림용과 전체용
+        @Index(name = "idx_notification_read_sent_id", columnList = "is_read, sent_at, id"),
+        @Index(name = "idx_notification_sent_id", columnList = "sent_at, id")})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @EntityListeners(AuditingEntityListener.class)
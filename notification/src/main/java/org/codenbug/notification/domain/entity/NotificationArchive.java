@@ -0,0 +1,90 @@
+package org.codenbug.notification.domain.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 보존 기간이 지나 알림 테이블에서 옮겨 둔 알림. 행은 정리 작업이 INSERT ... SELECT로 넣고 애플리케이션은 고치지 않는다.
+ * <p>
+ * MySQL에서는 {@code ops/mysql/notification-retention.sql}이 sent_at 기준 월별 RANGE 파티션으로 만들어 두고, 오래된
+ * 달은 파티션째 지운다. 파티션 테이블의 유니크 키에는 파티션 컬럼이 들어가야 해서 키가 (id, sent_at)이다.
+ */
+@Entity
+@Table(name = "notification_archive",
+        indexes = @Index(name = "idx_notification_archive_user_sent", columnList = "user_id, sent_at"))
+@IdClass(NotificationArchive.ArchiveId.class)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class NotificationArchive {
+
+    @Id
+    private Long id;
+
+    @Id
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(nullable = false, length = 32)
+    private String type;
+
+    @Column(nullable = false, length = 100)
+    private String title;
+
+    @Column(length = 500)
+    private String content;
+
+    @Column(name = "target_url", length = 500)
+    private String targetUrl;
+
+    @Column(name = "is_read", nullable = false)
+    private boolean isRead;
+
+    @Column(nullable = false, length = 32)
+    private String status;
+
+    @Column(name = "source_key", length = 255)
+    private String sourceKey;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    @NoArgsConstructor
+    public static class ArchiveId implements Serializable {
+
+        private Long id;
+        private LocalDateTime sentAt;
+
+        public ArchiveId(Long id, LocalDateTime sentAt) {
+            this.id = id;
+            this.sentAt = sentAt;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof ArchiveId other))
+                return false;
+            return Objects.equals(id, other.id) && Objects.equals(sentAt, other.sentAt);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, sentAt);
+        }
+    }
+}
@@ -1,12 +1,21 @@
 package org.codenbug.notification.domain.entity;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
 /**
  * 사용자의 SSE 연결 정보를 관리하는 클래스
+ * <p>
+ * 보낼 이벤트는 연결마다 크기가 정해진 outbox에 쌓고, 한 번에 한 스레드만 outbox를 비우며 실제로 쓴다.
+ * 느린 클라이언트는 자기 outbox만 채우고, 가득 차면 {@link #offer}가 false를 돌려준다.
  */
 @Getter
 public class NotificationSseConnection {
@@ -20,14 +29,26 @@ public class NotificationSseConnection {
 
     // 마지막으로 수신한 이벤트 ID를 저장
     @Setter
-    private String lastEventId;
+    private volatile String lastEventId;
+
+    @Getter(AccessLevel.NONE)
+    private final BlockingQueue<OutboundEvent> outbox;
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean draining = new AtomicBoolean();
 
     public NotificationSseConnection(String userId, SseEmitter emitter, String lastEventId) {
+        this(userId, emitter, lastEventId, 100);
+    }
+
+    public NotificationSseConnection(String userId, SseEmitter emitter, String lastEventId,
+            int outboxCapacity) {
         this.userId = userId;
         this.emitter = emitter;
         this.connected = true;
         this.createdAt = System.currentTimeMillis();
         this.lastEventId = lastEventId;
+        this.outbox = new ArrayBlockingQueue<>(outboxCapacity);
     }
 
     /**
@@ -36,4 +57,38 @@ public class NotificationSseConnection {
     public long getConnectionDuration() {
         return System.currentTimeMillis() - createdAt;
     }
+
+    /**
+     * @param eventId 전송에 성공하면 lastEventId로 남길 ID. null이면 남기지 않는다(하트비트 등).
+     * @return outbox가 가득 차서 넣지 못했으면 false
+     */
+    public boolean offer(String eventId, SseEventBuilder event) {
+        return outbox.offer(new OutboundEvent(eventId, event));
+    }
+
+    public OutboundEvent poll() {
+        return outbox.poll();
+    }
+
+    public boolean hasPending() {
+        return !outbox.isEmpty();
+    }
+
+    public int pendingCount() {
+        return outbox.size();
+    }
+
+    /**
+     * outbox를 비울 권한을 얻는다. 이미 다른 스레드가 비우는 중이면 false.
+     */
+    public boolean tryStartDrain() {
+        return draining.compareAndSet(false, true);
+    }
+
+    public void finishDrain() {
+        draining.set(false);
+    }
+
+    public record OutboundEvent(String eventId, SseEventBuilder event) {
+    }
 }
@@ -0,0 +1,43 @@
+package org.codenbug.notification.domain.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 사용자별 미읽음 알림 수. 알림 생성/읽음/삭제 때 같은 트랜잭션에서 증감해 배지 조회를 PK 조회 한 번으로 끝낸다.
+ * <p>
+ * {@code reconciledAt}은 알림 테이블을 직접 세어 값을 맞춘 마지막 시각이다. 오래되면 다시 세어 어긋난 값을 바로잡는다.
+ */
+@Entity
+@Table(name = "notification_unread_count")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class NotificationUnreadCount {
+
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+
+    @Column(nullable = false)
+    private long unreadCount;
+
+    @Column(nullable = false)
+    private LocalDateTime reconciledAt;
+
+    public NotificationUnreadCount(String userId, long unreadCount, LocalDateTime reconciledAt) {
+        this.userId = userId;
+        this.unreadCount = Math.max(0, unreadCount);
+        this.reconciledAt = reconciledAt;
+    }
+
+    public boolean isReconciledAfter(LocalDateTime threshold) {
+        return reconciledAt.isAfter(threshold);
+    }
+}
@@ -0,0 +1,85 @@
+package org.codenbug.notification.infra;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import lombok.RequiredArgsConstructor;
+import org.codenbug.notification.application.port.NotificationBulkStore;
+import org.codenbug.notification.domain.entity.Notification;
+import org.codenbug.notification.domain.entity.UserId;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+/**
+ * IDENTITY 키라 JPA로는 INSERT가 배치로 묶이지 않아서, 대량 알림은 JDBC 배치 INSERT로 넣는다.
+ * MySQL 드라이버에 rewriteBatchedStatements=true를 주면 한 배치가 multi-row INSERT 한 문장으로 바뀐다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationBulkStoreAdapter implements NotificationBulkStore {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO notification
+                (user_id, type, title, content, target_url, sent_at, is_read, status, source_key)
+            VALUES
+                (:userId, :type, :title, :content, :targetUrl, :sentAt, false, :status, :sourceKey)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> insertAll(List<UserId> recipients, Notification template,
+            LocalDateTime sentAt) {
+        if (recipients.isEmpty()) {
+            return List.of();
+        }
+        Timestamp sentAtValue = Timestamp.valueOf(sentAt);
+        SqlParameterSource[] batchArgs = recipients.stream()
+                .map(recipient -> parameters(recipient, template, null, sentAtValue))
+                .toArray(SqlParameterSource[]::new);
+        return insert(batchArgs);
+    }
+
+    @Override
+    public List<Long> insertEach(List<Notification> notifications, LocalDateTime sentAt) {
+        if (notifications.isEmpty()) {
+            return List.of();
+        }
+        Timestamp sentAtValue = Timestamp.valueOf(sentAt);
+        SqlParameterSource[] batchArgs = notifications.stream()
+                .map(notification -> parameters(notification.getUserId(), notification,
+                        notification.getSourceKey(), sentAtValue))
+                .toArray(SqlParameterSource[]::new);
+        return insert(batchArgs);
+    }
+
+    private List<Long> insert(SqlParameterSource[] batchArgs) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs, keyHolder, new String[] {"id"});
+        return keyHolder.getKeyList().stream().map(NotificationBulkStoreAdapter::generatedId)
+                .toList();
+    }
+
+    private static SqlParameterSource parameters(UserId userId, Notification notification,
+            String sourceKey, Timestamp sentAt) {
+        return new MapSqlParameterSource()
+                .addValue("userId", userId.getValue())
+                .addValue("type", notification.getType().name())
+                .addValue("title", notification.getTitle())
+                .addValue("content", notification.getContent())
+                .addValue("targetUrl", notification.getTargetUrl())
+                .addValue("sentAt", sentAt)
+                .addValue("status", notification.getStatus().name())
+                .addValue("sourceKey", sourceKey);
+    }
+
+    private static Long generatedId(Map<String, Object> keys) {
+        return ((Number) keys.values().iterator().next()).longValue();
+    }
+}
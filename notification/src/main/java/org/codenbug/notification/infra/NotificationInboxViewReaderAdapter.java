@@ -4,6 +4,8 @@ import java.util.List;
 
 import org.codenbug.notification.application.port.NotificationInboxViewReader;
 import org.codenbug.notification.domain.entity.QNotification;
+import org.codenbug.notification.ui.projection.NotificationInboxCursor;
+import org.codenbug.notification.ui.projection.NotificationInboxSlice;
 import org.codenbug.notification.ui.projection.NotificationListProjection;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
@@ -11,9 +13,14 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
+import com.querydsl.core.types.ConstructorExpression;
 import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 
+/**
+ * 받은함 조회 전용 어댑터. 모두 읽기 전용 쿼리라 읽기 전용 데이터소스로 보낸다.
+ */
 @Repository
 public class NotificationInboxViewReaderAdapter implements NotificationInboxViewReader {
 
@@ -21,7 +28,7 @@ public class NotificationInboxViewReaderAdapter implements NotificationInboxView
     private final QNotification notification = QNotification.notification;
 
     public NotificationInboxViewReaderAdapter(
-            @Qualifier("primaryQueryFactory") JPAQueryFactory queryFactory) {
+            @Qualifier("readOnlyQueryFactory") JPAQueryFactory queryFactory) {
         this.queryFactory = queryFactory;
     }
 
@@ -29,10 +36,7 @@ public class NotificationInboxViewReaderAdapter implements NotificationInboxView
     public Page<NotificationListProjection> findUserNotificationList(String userId,
             Pageable pageable) {
         List<NotificationListProjection> results = queryFactory
-                .select(Projections.constructor(NotificationListProjection.class, notification.id,
-                        notification.userId.value, notification.notificationContent.title,
-                        notification.notificationContent.content, notification.type,
-                        notification.isRead, notification.status.stringValue(), notification.sentAt))
+                .select(listProjection())
                 .from(notification)
                 .where(notification.userId.value.eq(userId))
                 .offset(pageable.getOffset())
@@ -51,10 +55,7 @@ public class NotificationInboxViewReaderAdapter implements NotificationInboxView
     public Page<NotificationListProjection> findUserUnreadNotificationList(String userId,
             Pageable pageable) {
         List<NotificationListProjection> results = queryFactory
-                .select(Projections.constructor(NotificationListProjection.class, notification.id,
-                        notification.userId.value, notification.notificationContent.title,
-                        notification.notificationContent.content, notification.type,
-                        notification.isRead, notification.status.stringValue(), notification.sentAt))
+                .select(listProjection())
                 .from(notification)
                 .where(notification.userId.value.eq(userId).and(notification.isRead.isFalse()))
                 .offset(pageable.getOffset())
@@ -68,4 +69,46 @@ public class NotificationInboxViewReaderAdapter implements NotificationInboxView
 
         return new PageImpl<>(results, pageable, total != null ? total : 0);
     }
+
+    @Override
+    public NotificationInboxSlice findUserNotificationSlice(String userId,
+            NotificationInboxCursor cursor, int size) {
+        List<NotificationListProjection> fetched = queryFactory
+                .select(listProjection())
+                .from(notification)
+                .where(notification.userId.value.eq(userId), olderThan(cursor))
+                .orderBy(notification.sentAt.desc(), notification.id.desc())
+                .limit(size + 1L)
+                .fetch();
+        return NotificationInboxSlice.of(fetched, size);
+    }
+
+    @Override
+    public NotificationInboxSlice findUserUnreadNotificationSlice(String userId,
+            NotificationInboxCursor cursor, int size) {
+        List<NotificationListProjection> fetched = queryFactory
+                .select(listProjection())
+                .from(notification)
+                .where(notification.userId.value.eq(userId), notification.isRead.isFalse(),
+                        olderThan(cursor))
+                .orderBy(notification.sentAt.desc(), notification.id.desc())
+                .limit(size + 1L)
+                .fetch();
+        return NotificationInboxSlice.of(fetched, size);
+    }
+
+    private ConstructorExpression<NotificationListProjection> listProjection() {
+        return Projections.constructor(NotificationListProjection.class, notification.id,
+                notification.userId.value, notification.notificationContent.title,
+                notification.notificationContent.content, notification.type,
+                notification.isRead, notification.status.stringValue(), notification.sentAt);
+    }
+
+    private BooleanExpression olderThan(NotificationInboxCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        return notification.sentAt.lt(cursor.sentAt())
+                .or(notification.sentAt.eq(cursor.sentAt()).and(notification.id.lt(cursor.id())));
+    }
 }
@@ -1,5 +1,6 @@
 package org.codenbug.notification.infra;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.codenbug.notification.domain.entity.Notification;
@@ -21,6 +22,9 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
     boolean existsBySourceKey(String sourceKey);
 
+    @Query("SELECT n.sourceKey FROM Notification n WHERE n.sourceKey IN :sourceKeys")
+    List<String> findSourceKeysIn(@Param("sourceKeys") Collection<String> sourceKeys);
+
     /**
      * 특정 사용자의 알림 목록을 페이징하여 조회
      *
@@ -0,0 +1,95 @@
+package org.codenbug.notification.infra;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.RequiredArgsConstructor;
+import org.codenbug.notification.application.port.NotificationRetentionStore;
+import org.codenbug.notification.domain.entity.UserId;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 정리 대상은 (is_read, sent_at, id)/(sent_at, id) 인덱스 앞부분만 읽어 고르고, 보관과 삭제는 PK IN 목록으로 한다.
+ * 청크마다 앞에서부터 지워 나가므로 OFFSET이나 커서 없이 매번 가장 오래된 행부터 다시 고른다.
+ * <p>
+ * 대상은 {@code FOR UPDATE SKIP LOCKED}로 잡는다. 여러 인스턴스가 동시에 돌아도 같은 행을 보관/삭제하지 않으므로
+ * 보관 테이블 PK 충돌로 청크가 중단되지 않고, 잡은 동안 읽음 처리나 사용자 삭제가 끼어들지 못한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationRetentionStoreAdapter implements NotificationRetentionStore {
+
+    private static final String CLAIM_READ_SQL = """
+            SELECT id, user_id, is_read FROM notification
+            WHERE is_read = true AND sent_at < :sentBefore
+            ORDER BY sent_at, id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String CLAIM_SQL = """
+            SELECT id, user_id, is_read FROM notification
+            WHERE sent_at < :sentBefore
+            ORDER BY sent_at, id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String ARCHIVE_SQL = """
+            INSERT INTO notification_archive
+                (id, sent_at, user_id, type, title, content, target_url, is_read, status,
+                 source_key, archived_at)
+            SELECT n.id, n.sent_at, n.user_id, n.type, n.title, n.content, n.target_url, n.is_read,
+                   n.status, n.source_key, :archivedAt
+            FROM notification n
+            WHERE n.id IN (:ids)
+              AND NOT EXISTS (SELECT 1 FROM notification_archive a
+                              WHERE a.id = n.id AND a.sent_at = n.sent_at)
+            """;
+
+    private static final String DELETE_SQL = "DELETE FROM notification WHERE id IN (:ids)";
+
+    private static final RowMapper<PurgeCandidate> CANDIDATE_MAPPER = (rs, rowNum) ->
+            new PurgeCandidate(rs.getLong("id"), new UserId(rs.getString("user_id")),
+                    rs.getBoolean("is_read"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<PurgeCandidate> claimReadSentBefore(LocalDateTime sentBefore, int limit) {
+        return jdbcTemplate.query(CLAIM_READ_SQL, range(sentBefore, limit), CANDIDATE_MAPPER);
+    }
+
+    @Override
+    public List<PurgeCandidate> claimSentBefore(LocalDateTime sentBefore, int limit) {
+        return jdbcTemplate.query(CLAIM_SQL, range(sentBefore, limit), CANDIDATE_MAPPER);
+    }
+
+    @Override
+    public int archive(List<Long> notificationIds, LocalDateTime archivedAt) {
+        if (notificationIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(ARCHIVE_SQL, new MapSqlParameterSource()
+                .addValue("ids", notificationIds)
+                .addValue("archivedAt", Timestamp.valueOf(archivedAt)));
+    }
+
+    @Override
+    public int deleteAllByIdIn(List<Long> notificationIds) {
+        if (notificationIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(DELETE_SQL, new MapSqlParameterSource("ids", notificationIds));
+    }
+
+    private static MapSqlParameterSource range(LocalDateTime sentBefore, int limit) {
+        return new MapSqlParameterSource()
+                .addValue("sentBefore", Timestamp.valueOf(sentBefore))
+                .addValue("limit", limit);
+    }
+}
@@ -1,5 +1,6 @@
 package org.codenbug.notification.infra;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,6 +38,14 @@ public class NotificationStoreAdapter implements NotificationStore {
         return notificationRepository.existsBySourceKey(sourceKey);
     }
 
+    @Override
+    public List<String> findExistingSourceKeys(Collection<String> sourceKeys) {
+        if (sourceKeys.isEmpty()) {
+            return List.of();
+        }
+        return notificationRepository.findSourceKeysIn(sourceKeys);
+    }
+
     @Override
     public Page<Notification> findByUserIdOrderBySentAtDesc(UserId userId, Pageable pageable) {
         return notificationRepository.findByUserIdOrderBySentAtDesc(userId, pageable);
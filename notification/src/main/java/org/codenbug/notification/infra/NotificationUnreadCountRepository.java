@@ -0,0 +1,37 @@
+package org.codenbug.notification.infra;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import org.codenbug.notification.domain.entity.NotificationUnreadCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface NotificationUnreadCountRepository
+        extends JpaRepository<NotificationUnreadCount, String> {
+
+    /**
+     * 카운터 행만 잠그고 원자적으로 증감한다. 0 아래로는 내려가지 않는다.
+     *
+     * @return 갱신된 행 수. 카운터가 없으면 0
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE NotificationUnreadCount c SET c.unreadCount = "
+            + "CASE WHEN c.unreadCount + :delta < 0 THEN 0 ELSE c.unreadCount + :delta END "
+            + "WHERE c.userId = :userId")
+    int adjust(@Param("userId") String userId, @Param("delta") long delta);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE NotificationUnreadCount c SET c.unreadCount = "
+            + "CASE WHEN c.unreadCount + :delta < 0 THEN 0 ELSE c.unreadCount + :delta END "
+            + "WHERE c.userId IN :userIds")
+    int adjustAll(@Param("userIds") Collection<String> userIds, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE NotificationUnreadCount c SET c.unreadCount = :unreadCount, "
+            + "c.reconciledAt = :reconciledAt WHERE c.userId = :userId")
+    int overwrite(@Param("userId") String userId, @Param("unreadCount") long unreadCount,
+            @Param("reconciledAt") LocalDateTime reconciledAt);
+}
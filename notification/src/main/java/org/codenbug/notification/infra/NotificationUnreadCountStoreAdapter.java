@@ -0,0 +1,47 @@
+package org.codenbug.notification.infra;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+import lombok.RequiredArgsConstructor;
+import org.codenbug.notification.application.port.NotificationUnreadCountStore;
+import org.codenbug.notification.domain.entity.NotificationUnreadCount;
+import org.codenbug.notification.domain.entity.UserId;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@RequiredArgsConstructor
+public class NotificationUnreadCountStoreAdapter implements NotificationUnreadCountStore {
+
+    private final NotificationUnreadCountRepository unreadCountRepository;
+
+    @Override
+    public Optional<NotificationUnreadCount> findByUserId(UserId userId) {
+        return unreadCountRepository.findById(userId.getValue());
+    }
+
+    @Override
+    public void adjust(UserId userId, long delta) {
+        unreadCountRepository.adjust(userId.getValue(), delta);
+    }
+
+    @Override
+    public void adjustAll(Collection<UserId> userIds, long delta) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        unreadCountRepository.adjustAll(userIds.stream().map(UserId::getValue).toList(), delta);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void reconcile(UserId userId, long unreadCount, LocalDateTime reconciledAt) {
+        if (unreadCountRepository.overwrite(userId.getValue(), unreadCount, reconciledAt) == 0) {
+            unreadCountRepository.saveAndFlush(
+                    new NotificationUnreadCount(userId.getValue(), unreadCount, reconciledAt));
+        }
+    }
+}
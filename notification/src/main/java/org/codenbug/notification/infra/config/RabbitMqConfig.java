@@ -1,6 +1,14 @@
 package org.codenbug.notification.infra.config;
 
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -27,4 +35,46 @@ public class RabbitMqConfig {
 		return new Queue("notification.manager.refund.completed");
 	}
 
+	/**
+	 * 구매 알림 메시지를 최대 batch-size개씩 모아 한 번에 전달한다.
+	 * 리스너가 정상 반환하면 배치 전체가 한꺼번에 ACK 되고, 예외가 나면 배치 전체가 다시 큐로 돌아간다.
+	 */
+	@Bean
+	public SimpleRabbitListenerContainerFactory purchaseNotificationListenerContainerFactory(
+			ConnectionFactory connectionFactory,
+			@Value("${notification.purchase-consumer.batch-size:100}") int batchSize,
+			@Value("${notification.purchase-consumer.receive-timeout-ms:200}") long receiveTimeoutMs) {
+		SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+		factory.setConnectionFactory(connectionFactory);
+		factory.setBatchListener(true);
+		factory.setConsumerBatchEnabled(true);
+		factory.setBatchSize(Math.max(1, batchSize));
+		factory.setPrefetchCount(Math.max(1, batchSize));
+		factory.setReceiveTimeout(receiveTimeoutMs);
+		factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
+		return factory;
+	}
+
+	/**
+	 * 알림 SSE 중계용 fanout exchange. 인스턴스마다 자기 전용 임시 큐를 묶어 모든 인스턴스가 같은 알림을 받는다.
+	 */
+	@Bean
+	public FanoutExchange notificationRelayExchange(
+			@Value("${notification.relay.exchange:notification.relay}") String exchangeName) {
+		return new FanoutExchange(exchangeName, true, false);
+	}
+
+	/**
+	 * 인스턴스 전용 큐. 연결이 끊기면 사라지므로, 꺼져 있던 동안의 알림은 재연결 때 DB에서 다시 보낸다.
+	 */
+	@Bean
+	public Queue notificationRelayQueue() {
+		return new AnonymousQueue(new AnonymousQueue.Base64UrlNamingStrategy("notification.relay."));
+	}
+
+	@Bean
+	public Binding notificationRelayBinding(Queue notificationRelayQueue,
+			FanoutExchange notificationRelayExchange) {
+		return BindingBuilder.bind(notificationRelayQueue).to(notificationRelayExchange);
+	}
 }
@@ -0,0 +1,32 @@
+package org.codenbug.notification.infra.event;
+
+import org.codenbug.notification.application.port.NotificationPushDispatcher;
+import org.codenbug.notification.ui.dto.NotificationEventDto;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 단건으로 만든 알림을 커밋 뒤에 중계 채널로 넘긴다. 롤백된 알림은 보내지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationPushEventListener {
+
+    private final NotificationPushDispatcher pushDispatcher;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handle(NotificationEventDto event) {
+        try {
+            pushDispatcher.dispatch(event.getUserId(), event.toNotificationDto());
+        } catch (Exception e) {
+            // 알림은 이미 저장됐다. 실시간 전송만 놓치고 받은함/재연결로 받는다.
+            log.warn("알림 실시간 전송 실패: notificationId={}, userId={}, reason={}",
+                    event.getNotificationId(), event.getUserId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.codenbug.notification.infra.messaging;
+
+import org.codenbug.notification.application.port.LocalNotificationDelivery;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 다른 인스턴스(자기 자신 포함)가 중계한 알림을 받아 이 인스턴스에 연결된 사용자에게만 넘긴다.
+ * 전달은 연결별 outbox에 넣는 것까지라 리스너 스레드가 클라이언트 쓰기를 기다리지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationRelayListener {
+
+    private final LocalNotificationDelivery localDelivery;
+    private final ObjectMapper objectMapper;
+
+    @RabbitListener(queues = "#{notificationRelayQueue.name}")
+    public void handle(String message) {
+        NotificationRelayMessage relayMessage;
+        try {
+            relayMessage = objectMapper.readValue(message, NotificationRelayMessage.class);
+        } catch (Exception e) {
+            log.warn("[notificationRelay] 잘못된 중계 메시지 무시: reason={}", e.getMessage());
+            return;
+        }
+
+        int delivered = 0;
+        for (NotificationRelayMessage.Delta delta : relayMessage.deltas()) {
+            if (localDelivery.deliver(delta.userId(), delta.toNotificationDto())) {
+                delivered++;
+            }
+        }
+        log.debug("[notificationRelay] 수신: deltas={}, localDelivered={}", relayMessage.deltas().size(),
+                delivered);
+    }
+}
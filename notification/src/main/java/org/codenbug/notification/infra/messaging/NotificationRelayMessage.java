@@ -0,0 +1,28 @@
+package org.codenbug.notification.infra.messaging;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.codenbug.notification.domain.entity.NotificationType;
+import org.codenbug.notification.ui.dto.NotificationDto;
+
+/**
+ * 인스턴스 사이에 주고받는 알림 변경분 묶음. 받은 인스턴스는 userId로 자기 연결만 골라 전달한다.
+ */
+record NotificationRelayMessage(List<Delta> deltas) {
+
+    record Delta(String userId, Long id, NotificationType type, String title, String content,
+            String targetUrl, LocalDateTime sentAt) {
+
+        static Delta of(String userId, NotificationDto notification) {
+            return new Delta(userId, notification.getId(), notification.getType(),
+                    notification.getTitle(), notification.getContent(),
+                    notification.getTargetUrl(), notification.getSentAt());
+        }
+
+        NotificationDto toNotificationDto() {
+            return NotificationDto.builder().id(id).type(type).title(title).content(content)
+                    .targetUrl(targetUrl).sentAt(sentAt).isRead(false).build();
+        }
+    }
+}
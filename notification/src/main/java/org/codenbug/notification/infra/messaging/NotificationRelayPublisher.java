@@ -0,0 +1,68 @@
+package org.codenbug.notification.infra.messaging;
+
+import java.util.List;
+
+import org.codenbug.notification.application.port.LocalNotificationDelivery;
+import org.codenbug.notification.application.port.NotificationPushDispatcher;
+import org.codenbug.notification.infra.messaging.NotificationRelayMessage.Delta;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 새 알림을 fanout exchange로 발행해 모든 인스턴스에 중계한다. 대량 발송은 {@code max-deltas-per-message}씩 묶어 보낸다.
+ * 브로커에 발행하지 못하면 적어도 이 인스턴스에 붙은 사용자에게는 바로 전달한다.
+ */
+@Slf4j
+@Component
+public class NotificationRelayPublisher implements NotificationPushDispatcher {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+    private final LocalNotificationDelivery localDelivery;
+    private final String exchange;
+    private final int maxDeltasPerMessage;
+
+    public NotificationRelayPublisher(RabbitTemplate rabbitTemplate, ObjectMapper objectMapper,
+            LocalNotificationDelivery localDelivery,
+            @Value("${notification.relay.exchange:notification.relay}") String exchange,
+            @Value("${notification.relay.max-deltas-per-message:500}") int maxDeltasPerMessage) {
+        if (maxDeltasPerMessage <= 0) {
+            throw new IllegalArgumentException(
+                    "notification.relay.max-deltas-per-message must be positive");
+        }
+        this.rabbitTemplate = rabbitTemplate;
+        this.objectMapper = objectMapper;
+        this.localDelivery = localDelivery;
+        this.exchange = exchange;
+        this.maxDeltasPerMessage = maxDeltasPerMessage;
+    }
+
+    @Override
+    public int dispatchAll(List<NotificationPush> pushes) {
+        int relayed = 0;
+        for (int from = 0; from < pushes.size(); from += maxDeltasPerMessage) {
+            List<NotificationPush> batch =
+                    pushes.subList(from, Math.min(from + maxDeltasPerMessage, pushes.size()));
+            List<Delta> deltas = batch.stream()
+                    .map(push -> Delta.of(push.userId(), push.notification()))
+                    .toList();
+            try {
+                rabbitTemplate.convertAndSend(exchange, "",
+                        objectMapper.writeValueAsString(new NotificationRelayMessage(deltas)));
+                relayed += batch.size();
+            } catch (AmqpException | JsonProcessingException e) {
+                log.warn("[notificationRelay] 중계 발행 실패, 로컬 연결에만 전달: size={}, reason={}",
+                        batch.size(), e.getMessage());
+                batch.forEach(push -> localDelivery.deliver(push.userId(), push.notification()));
+            }
+        }
+        return relayed;
+    }
+}
@@ -1,101 +1,174 @@
 package org.codenbug.notification.infra.messaging;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.codenbug.notification.application.NotificationBatchCommandService;
 import org.codenbug.notification.application.NotificationCommandService;
+import org.codenbug.notification.application.NotificationCreateCommand;
 import org.codenbug.notification.domain.entity.NotificationType;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.util.StringUtils;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * 구매 관련 이벤트를 수신하여 알림을 생성하는 리스너
+ * 구매 관련 이벤트를 배치로 수신하여 알림을 생성하는 리스너.
+ * <p>
+ * 배치 하나를 {@link NotificationBatchCommandService}로 한 번에 중복 제거/저장하고, 메서드가 반환되면 배치 전체가 ACK
+ * 된다. 배치 저장이 실패하면(다른 컨슈머와 같은 sourceKey를 동시에 넣은 경우 포함) 메시지마다 기존 멱등 생성으로 다시
+ * 처리해 실패한 메시지만 걸러낸다. DB 연결 실패처럼 다시 받으면 성공할 수 있는 실패는 예외를 그대로 던져 배치 전체를
+ * 다시 받는다. 생성은 sourceKey 기준 멱등이라 이미 저장한 메시지는 중복되지 않는다.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class PurchaseNotificationEventListener {
 
+    private static final String REFUND_COMPLETED_QUEUE = "notification.refund.completed";
+    private static final String MANAGER_REFUND_COMPLETED_QUEUE =
+            "notification.manager.refund.completed";
+
     private final NotificationCommandService notificationApplicationService;
+    private final NotificationBatchCommandService notificationBatchService;
     private final ObjectMapper objectMapper;
 
     /**
-     * 환불 완료 이벤트 수신 및 알림 생성
+     * 환불 완료 이벤트 배치 수신 및 알림 생성
      */
-    @RabbitListener(queues = "notification.refund.completed")
-    public void handleRefundCompletedEvent(String message) {
-        try {
-            RefundCompletedEventDto event =
-                    objectMapper.readValue(message, RefundCompletedEventDto.class);
-            String sourceKey = requireSourceKey("notification.refund.completed",
-                    event.getUserId(), event.getPurchaseId(), event.getRefundedAt());
-
-            String title = "[티켓온] 환불 완료";
-            String content = String.format(
-                    "주문번호: %s\n공연명: %s\n환불 금액: %s원\n환불 사유: %s\n\n환불이 완료되었습니다. 환불 금액은 결제 수단에 따라 3~7일 내에 처리됩니다.",
-                    event.getOrderId(),
-                    event.getEventName() != null ? event.getEventName() : event.getOrderName(),
-                    String.format("%,d", event.getRefundAmount()), event.getRefundReason());
-            String targetUrl = "/my-account/refund-history";
-
-            if (notificationApplicationService.createNotificationIfAbsent(event.getUserId(),
-                    NotificationType.PAYMENT, title, content, targetUrl, sourceKey).isPresent()) {
-                log.info("notification event persisted: queue=notification.refund.completed, eventType=refund.completed, userId={}, purchaseId={}",
-                        event.getUserId(), event.getPurchaseId());
-            } else {
-                log.info("notification duplicate skipped: queue=notification.refund.completed, eventType=refund.completed, sourceKey={}",
-                        sourceKey);
+    @RabbitListener(queues = REFUND_COMPLETED_QUEUE,
+            containerFactory = "purchaseNotificationListenerContainerFactory")
+    public void handleRefundCompletedEvents(List<Message> messages) {
+        handleBatch(REFUND_COMPLETED_QUEUE, "refund.completed", messages,
+                this::toRefundCompletedCommand);
+    }
+
+    /**
+     * 매니저 환불 완료 이벤트 배치 수신 및 알림 생성
+     */
+    @RabbitListener(queues = MANAGER_REFUND_COMPLETED_QUEUE,
+            containerFactory = "purchaseNotificationListenerContainerFactory")
+    public void handleManagerRefundCompletedEvents(List<Message> messages) {
+        handleBatch(MANAGER_REFUND_COMPLETED_QUEUE, "manager.refund.completed", messages,
+                this::toManagerRefundCompletedCommand);
+    }
+
+    private void handleBatch(String queueName, String eventType, List<Message> messages,
+            CommandParser parser) {
+        List<NotificationCreateCommand> commands = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            try {
+                commands.add(parser.parse(message));
+            } catch (IllegalArgumentException e) {
+                log.warn("notification event skipped: queue={}, eventType={}, reason={}", queueName,
+                        eventType, e.getMessage());
+            } catch (Exception e) {
+                log.error("notification event failed: queue={}, eventType={}, reason={}", queueName,
+                        eventType, e.getMessage(), e);
             }
+        }
+        if (commands.isEmpty()) {
+            return;
+        }
 
-        } catch (IllegalArgumentException e) {
-            log.warn("notification event skipped: queue=notification.refund.completed, eventType=refund.completed, reason={}",
-                    e.getMessage());
+        try {
+            notificationBatchService.createNotificationsIfAbsent(queueName, commands);
         } catch (Exception e) {
-            log.error("notification event failed: queue=notification.refund.completed, eventType=refund.completed, reason={}",
-                    e.getMessage(), e);
+            rethrowIfInfrastructureFailure(e);
+            log.warn("notification batch failed, retrying one by one: queue={}, eventType={}, size={}, reason={}",
+                    queueName, eventType, commands.size(), e.getMessage());
+            commands.forEach(command -> createOne(queueName, eventType, command));
         }
     }
 
-    /**
-     * 매니저 환불 완료 이벤트 수신 및 알림 생성
-     */
-    @RabbitListener(queues = "notification.manager.refund.completed")
-    public void handleManagerRefundCompletedEvent(String message) {
+    private void createOne(String queueName, String eventType, NotificationCreateCommand command) {
         try {
-            ManagerRefundCompletedEventDto event =
-                    objectMapper.readValue(message, ManagerRefundCompletedEventDto.class);
-            String sourceKey = requireManagerSourceKey(event);
-
-            String title = "[티켓온] 매니저 환불 처리";
-            String content = String.format(
-                    "주문번호: %s\n공연명: %s\n환불 금액: %s원\n환불 사유: %s\n처리자: %s\n\n매니저에 의해 환불이 처리되었습니다. 환불 금액은 결제 수단에 따라 3~7일 내에 처리됩니다.",
-                    event.getOrderId(),
-                    event.getEventName() != null ? event.getEventName() : event.getOrderName(),
-                    String.format("%,d", event.getRefundAmount()), event.getRefundReason(),
-                    event.getManagerName());
-            String targetUrl = "/my-account/refund-history";
-
-            if (notificationApplicationService.createNotificationIfAbsent(event.getUserId(),
-                    NotificationType.PAYMENT, title, content, targetUrl, sourceKey).isPresent()) {
-                log.info("notification event persisted: queue=notification.manager.refund.completed, eventType=manager.refund.completed, userId={}, purchaseId={}, managerName={}",
-                        event.getUserId(), event.getPurchaseId(), event.getManagerName());
+            if (notificationApplicationService.createNotificationIfAbsent(command.userId(),
+                    command.type(), command.title(), command.content(), command.targetUrl(),
+                    command.sourceKey()).isPresent()) {
+                log.info("notification event persisted: queue={}, eventType={}, userId={}, sourceKey={}",
+                        queueName, eventType, command.userId(), command.sourceKey());
             } else {
-                log.info("notification duplicate skipped: queue=notification.manager.refund.completed, eventType=manager.refund.completed, sourceKey={}",
-                        sourceKey);
+                log.info("notification duplicate skipped: queue={}, eventType={}, sourceKey={}",
+                        queueName, eventType, command.sourceKey());
             }
-
         } catch (IllegalArgumentException e) {
-            log.warn("notification event skipped: queue=notification.manager.refund.completed, eventType=manager.refund.completed, reason={}",
-                    e.getMessage());
+            log.warn("notification event skipped: queue={}, eventType={}, reason={}", queueName,
+                    eventType, e.getMessage());
         } catch (Exception e) {
-            log.error("notification event failed: queue=notification.manager.refund.completed, eventType=manager.refund.completed, reason={}",
-                    e.getMessage(), e);
+            rethrowIfInfrastructureFailure(e);
+            log.error("notification event failed: queue={}, eventType={}, reason={}", queueName,
+                    eventType, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 연결 실패, 타임아웃, 락 경합처럼 메시지 문제가 아닌 실패는 건너뛰지 않고 던져 배치를 다시 받게 한다.
+     */
+    static void rethrowIfInfrastructureFailure(Exception e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof RecoverableDataAccessException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof CannotCreateTransactionException) {
+                throw e instanceof RuntimeException runtimeException ? runtimeException
+                        : new IllegalStateException(e);
+            }
         }
     }
 
+    private NotificationCreateCommand toRefundCompletedCommand(Message message) throws IOException {
+        RefundCompletedEventDto event = readBody(message, RefundCompletedEventDto.class);
+        String sourceKey = requireSourceKey(REFUND_COMPLETED_QUEUE, event.getUserId(),
+                event.getPurchaseId(), event.getRefundedAt());
+
+        String title = "[티켓온] 환불 완료";
+        String content = String.format(
+                "주문번호: %s\n공연명: %s\n환불 금액: %s원\n환불 사유: %s\n\n환불이 완료되었습니다. 환불 금액은 결제 수단에 따라 3~7일 내에 처리됩니다.",
+                event.getOrderId(),
+                event.getEventName() != null ? event.getEventName() : event.getOrderName(),
+                String.format("%,d", event.getRefundAmount()), event.getRefundReason());
+        String targetUrl = "/my-account/refund-history";
+        return new NotificationCreateCommand(event.getUserId(), NotificationType.PAYMENT, title,
+                content, targetUrl, sourceKey);
+    }
+
+    private NotificationCreateCommand toManagerRefundCompletedCommand(Message message)
+            throws IOException {
+        ManagerRefundCompletedEventDto event =
+                readBody(message, ManagerRefundCompletedEventDto.class);
+        String sourceKey = requireManagerSourceKey(event);
+
+        String title = "[티켓온] 매니저 환불 처리";
+        String content = String.format(
+                "주문번호: %s\n공연명: %s\n환불 금액: %s원\n환불 사유: %s\n처리자: %s\n\n매니저에 의해 환불이 처리되었습니다. 환불 금액은 결제 수단에 따라 3~7일 내에 처리됩니다.",
+                event.getOrderId(),
+                event.getEventName() != null ? event.getEventName() : event.getOrderName(),
+                String.format("%,d", event.getRefundAmount()), event.getRefundReason(),
+                event.getManagerName());
+        String targetUrl = "/my-account/refund-history";
+        return new NotificationCreateCommand(event.getUserId(), NotificationType.PAYMENT, title,
+                content, targetUrl, sourceKey);
+    }
+
+    private <T> T readBody(Message message, Class<T> type) throws IOException {
+        JsonNode body = objectMapper.readTree(message.getBody());
+        // JSON 메시지 컨버터를 거친 문자열 메시지는 한 번 더 따옴표로 감싸져 온다.
+        return body.isTextual() ? objectMapper.readValue(body.asText(), type)
+                : objectMapper.treeToValue(body, type);
+    }
+
     private String requireSourceKey(String queueName, String userId, String purchaseId,
             String refundedAt) {
         if (!StringUtils.hasText(userId) || !StringUtils.hasText(purchaseId)
@@ -110,12 +183,17 @@ public class PurchaseNotificationEventListener {
     private String requireManagerSourceKey(ManagerRefundCompletedEventDto event) {
         if (!StringUtils.hasText(event.getManagerName())) {
             throw new IllegalArgumentException(
-                    "missing stable key fields for queue=notification.manager.refund.completed");
+                    "missing stable key fields for queue=" + MANAGER_REFUND_COMPLETED_QUEUE);
         }
-        return requireSourceKey("notification.manager.refund.completed", event.getUserId(),
+        return requireSourceKey(MANAGER_REFUND_COMPLETED_QUEUE, event.getUserId(),
                 event.getPurchaseId(), event.getRefundedAt()) + ":" + event.getManagerName().trim();
     }
 
+    @FunctionalInterface
+    private interface CommandParser {
+        NotificationCreateCommand parse(Message message) throws IOException;
+    }
+
     /**
      * 환불 완료 이벤트 DTO (내부 클래스)
      */
@@ -0,0 +1,34 @@
+package org.codenbug.notification.infra.scheduler;
+
+import java.time.LocalDateTime;
+
+import org.codenbug.notification.application.NotificationRetentionService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 알림 보존 기간 정리를 하루 한 번(기본 새벽 4시 30분) 실행한다.
+ * 여러 인스턴스가 동시에 돌면 청크마다 {@code FOR UPDATE SKIP LOCKED}로 서로 다른 행을 잡아 나눠 처리하므로,
+ * 같은 알림을 두 번 보관하거나 미읽음 카운터를 두 번 내리지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "notification.retention.enabled", havingValue = "true")
+public class NotificationRetentionScheduler {
+
+    private final NotificationRetentionService retentionService;
+
+    @Scheduled(cron = "${notification.retention.cron:0 30 4 * * *}")
+    public void purgeExpiredNotifications() {
+        try {
+            retentionService.purge(LocalDateTime.now());
+        } catch (Exception e) {
+            log.error("Failed to purge expired notifications", e);
+        }
+    }
+}
@@ -1,17 +1,20 @@
 package org.codenbug.notification.ui;
 
 import java.io.IOException;
-import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import org.codenbug.notification.application.port.LocalNotificationDelivery;
 import org.codenbug.notification.domain.entity.NotificationSseConnection;
+import org.codenbug.notification.domain.entity.NotificationSseConnection.OutboundEvent;
 import org.codenbug.notification.domain.entity.UserId;
 import org.codenbug.notification.ui.dto.NotificationDto;
 import org.codenbug.notification.infra.NotificationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
@@ -21,23 +24,36 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * SSE Emitter를 관리하는 서비스
+ * <p>
+ * 이 인스턴스에 붙은 연결만 관리한다. 다른 인스턴스에서 만든 알림은 중계 채널을 거쳐 {@link #deliver}로 들어온다.
+ * 전송은 연결마다 outbox에 넣고 가상 스레드가 비우므로, 느린 클라이언트가 알림을 넣는 스레드를 막지 않는다.
+ * outbox가 가득 찬 연결은 끊는다. 클라이언트는 Last-Event-ID로 다시 붙어 놓친 알림을 받는다.
  */
 @Slf4j
 @Service
-public class NotificationEmitterService {
-    // 사용자별 연결 목록을 관리하는 맵
-    private final Map<String, List<NotificationSseConnection>> userConnectionsMap =
+public class NotificationEmitterService implements LocalNotificationDelivery {
+    // 사용자별 연결 목록을 관리하는 맵. 탭이 많아도 추가/제거가 O(1)이 되도록 동시성 Set을 쓴다.
+    private final Map<String, Set<NotificationSseConnection>> userConnectionsMap =
             new ConcurrentHashMap<>();
 
+    // 연결별 outbox를 비우는 스레드. 소켓 쓰기에서 막혀도 그 연결의 스레드만 멈춘다.
+    private final ExecutorService senderExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("notification-sse-", 0).factory());
+
     // SSE 연결 타임아웃 시간 (1시간)
     private static final long SSE_CONNECTION_TIMEOUT = 60 * 60 * 1000L;
 
     // 알림 저장소 주입
     private final NotificationRepository notificationRepository;
 
+    // 연결 하나가 쌓아 둘 수 있는 미전송 이벤트 수
+    private final int clientBufferSize;
+
     @Autowired
-    public NotificationEmitterService(NotificationRepository notificationRepository) {
+    public NotificationEmitterService(NotificationRepository notificationRepository,
+            @Value("${notification.sse.client-buffer-size:100}") int clientBufferSize) {
         this.notificationRepository = notificationRepository;
+        this.clientBufferSize = clientBufferSize;
     }
 
     /**
@@ -54,11 +70,7 @@ public class NotificationEmitterService {
 
         // 연결 객체 생성
         NotificationSseConnection connection =
-                new NotificationSseConnection(userId, emitter, lastEventId);
-
-        // 사용자별 연결 목록 가져오기 (없으면 새로 생성)
-        List<NotificationSseConnection> connections =
-                userConnectionsMap.computeIfAbsent(userId, k -> new CopyOnWriteArrayList<>());
+                new NotificationSseConnection(userId, emitter, lastEventId, clientBufferSize);
 
         // 연결 이벤트 핸들러 등록
         emitter.onCompletion(() -> {
@@ -77,7 +89,13 @@ public class NotificationEmitterService {
         });
 
         // 맵에 저장
-        connections.add(connection);
+        Set<NotificationSseConnection> connections = userConnectionsMap.compute(userId,
+                (k, existing) -> {
+                    Set<NotificationSseConnection> set =
+                            existing != null ? existing : ConcurrentHashMap.newKeySet();
+                    set.add(connection);
+                    return set;
+                });
         log.info("새 SSE 연결 추가: userId={}, 현재 연결 수={}", userId, connections.size());
 
         // 초기 연결 메시지 전송
@@ -105,61 +123,87 @@ public class NotificationEmitterService {
      * @param connection 제거할 연결 객체
      */
     private void removeConnection(String userId, NotificationSseConnection connection) {
-        List<NotificationSseConnection> connections = userConnectionsMap.get(userId);
-        if (connections != null) {
-            boolean removed = connections.remove(connection);
-            if (removed) {
-                log.info("SSE 연결 제거: userId={}, 남은 연결 수={}", userId, connections.size());
-
-                // 사용자의 모든 연결이 종료된 경우 맵에서 제거
-                if (connections.isEmpty()) {
-                    userConnectionsMap.remove(userId);
-                    log.info("사용자의 모든 SSE 연결 종료: userId={}", userId);
-                }
-            }
+        boolean[] removed = new boolean[1];
+        userConnectionsMap.computeIfPresent(userId, (k, connections) -> {
+            removed[0] = connections.remove(connection);
+            // 사용자의 모든 연결이 종료된 경우 맵에서 제거
+            return connections.isEmpty() ? null : connections;
+        });
+        if (!removed[0]) {
+            return;
+        }
+        log.info("SSE 연결 제거: userId={}, 남은 연결 수={}", userId, getConnectionCount(userId));
 
-            try {
-                connection.getEmitter().complete();
-            } catch (Exception e) {
-                log.warn("Emitter 종료 중 예외 발생: userId={}, error={}", userId, e.getMessage());
-            }
+        try {
+            connection.getEmitter().complete();
+        } catch (Exception e) {
+            log.warn("Emitter 종료 중 예외 발생: userId={}, error={}", userId, e.getMessage());
         }
     }
 
     /**
-     * 특정 사용자에게 알림 전송
+     * 특정 사용자에게 알림 전송. 연결마다 outbox에 넣기만 하고 바로 돌아온다.
      *
      * @param userId 사용자 ID
      * @param notification 알림 정보
      */
     public void sendNotification(String userId, NotificationDto notification) {
-        List<NotificationSseConnection> connections = userConnectionsMap.get(userId);
-        if (connections != null && !connections.isEmpty()) {
-            // 해당 사용자의 모든 연결에 알림 전송
-            List<NotificationSseConnection> deadConnections =
-                    connections.stream().filter(connection -> {
-                        try {
-                            // 이벤트 ID 생성 (알림 ID 사용)
-                            String eventId = "notification-" + notification.getId();
-
-                            // 이벤트 ID를 포함하여 전송
-                            connection.getEmitter().send(SseEmitter.event().id(eventId)
-                                    .name("notification").data(notification));
-
-                            // 마지막 이벤트 ID 업데이트
-                            connection.setLastEventId(eventId);
-                            return false; // 전송 성공, 제거하지 않음
-                        } catch (IOException e) {
-                            log.error("알림 전송 실패: userId={}, notificationId={}", userId,
-                                    notification.getId());
-                            return true; // 전송 실패, 제거 필요
-                        }
-                    }).collect(Collectors.toList());
-
-            // 실패한 연결 제거
-            if (!deadConnections.isEmpty()) {
-                deadConnections.forEach(connection -> removeConnection(userId, connection));
+        deliver(userId, notification);
+    }
+
+    @Override
+    public boolean deliver(String userId, NotificationDto notification) {
+        Set<NotificationSseConnection> connections = userConnectionsMap.get(userId);
+        if (connections == null || connections.isEmpty()) {
+            return false;
+        }
+        // 이벤트 ID 생성 (알림 ID 사용)
+        String eventId = "notification-" + notification.getId();
+        connections.forEach(connection -> enqueue(connection, eventId,
+                SseEmitter.event().id(eventId).name("notification").data(notification)));
+        return true;
+    }
+
+    /**
+     * outbox에 넣고, 비우는 스레드가 없으면 하나 띄운다. outbox가 가득 찬 연결은 느린 클라이언트로 보고 끊는다.
+     */
+    private void enqueue(NotificationSseConnection connection, String eventId,
+            SseEmitter.SseEventBuilder event) {
+        if (!connection.offer(eventId, event)) {
+            log.warn("SSE 전송 대기열 초과로 연결 종료: userId={}, pending={}", connection.getUserId(),
+                    connection.pendingCount());
+            removeConnection(connection.getUserId(), connection);
+            return;
+        }
+        scheduleDrain(connection);
+    }
+
+    private void scheduleDrain(NotificationSseConnection connection) {
+        if (connection.tryStartDrain()) {
+            senderExecutor.execute(() -> drain(connection));
+        }
+    }
+
+    private void drain(NotificationSseConnection connection) {
+        try {
+            OutboundEvent outbound;
+            while ((outbound = connection.poll()) != null) {
+                connection.getEmitter().send(outbound.event());
+                if (outbound.eventId() != null) {
+                    // 마지막 이벤트 ID 업데이트
+                    connection.setLastEventId(outbound.eventId());
+                }
             }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("SSE 전송 실패: userId={}, error={}", connection.getUserId(), e.getMessage());
+            removeConnection(connection.getUserId(), connection);
+            return;
+        } finally {
+            connection.finishDrain();
+        }
+        // finishDrain 직전에 들어온 이벤트가 남아 있을 수 있다.
+        if (connection.hasPending()) {
+            scheduleDrain(connection);
         }
     }
 
@@ -179,16 +223,9 @@ public class NotificationEmitterService {
         // 마지막 이벤트 ID 이후의 알림 조회 (최근 20개로 제한)
         notificationRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(new UserId(userId),
                 lastNotificationId, PageRequest.of(0, 20)).forEach(notification -> {
-                    try {
-                        String eventId = "notification-" + notification.getId();
-                        connection.getEmitter().send(SseEmitter.event().id(eventId)
-                                .name("notification").data(NotificationDto.from(notification)));
-                        connection.setLastEventId(eventId);
-
-                    } catch (IOException e) {
-                        log.error("누락된 알림 전송 실패: userId={}, notificationId={}", userId,
-                                notification.getId());
-                    }
+                    String eventId = "notification-" + notification.getId();
+                    enqueue(connection, eventId, SseEmitter.event().id(eventId)
+                            .name("notification").data(NotificationDto.from(notification)));
                 });
     }
 
@@ -213,25 +250,12 @@ public class NotificationEmitterService {
      * 모든 연결에 하트비트 메시지 전송
      */
     public void sendHeartbeat() {
-        userConnectionsMap.forEach((userId, connections) -> {
-            List<NotificationSseConnection> deadConnections =
-                    connections.stream().filter(connection -> {
-                        try {
-                            String heartbeatId = "heartbeat-" + System.currentTimeMillis();
-                            connection.getEmitter().send(
-                                    SseEmitter.event().id(heartbeatId).name("heartbeat").data("."));
-                            return false; // 전송 성공, 제거하지 않음
-                        } catch (IOException e) {
-                            log.debug("하트비트 전송 실패: userId={}", userId);
-                            return true; // 전송 실패, 제거 필요
-                        }
-                    }).collect(Collectors.toList());
-
-            // 실패한 연결 제거
-            if (!deadConnections.isEmpty()) {
-                deadConnections.forEach(connection -> removeConnection(userId, connection));
-            }
-        });
+        userConnectionsMap.values().forEach(connections -> connections.forEach(connection -> {
+            String heartbeatId = "heartbeat-" + System.currentTimeMillis();
+            // 하트비트도 outbox를 거친다. 밀려 있는 연결은 여기서 걸러진다.
+            enqueue(connection, null,
+                    SseEmitter.event().id(heartbeatId).name("heartbeat").data("."));
+        }));
     }
 
     /**
@@ -249,7 +273,7 @@ public class NotificationEmitterService {
      * @return 총 활성 연결 수
      */
     public int getTotalConnectionCount() {
-        return userConnectionsMap.values().stream().mapToInt(List::size).sum();
+        return userConnectionsMap.values().stream().mapToInt(Set::size).sum();
     }
 
     /**
@@ -259,7 +283,7 @@ public class NotificationEmitterService {
      * @return 연결 여부
      */
     public boolean isConnected(String userId) {
-        List<NotificationSseConnection> connections = userConnectionsMap.get(userId);
+        Set<NotificationSseConnection> connections = userConnectionsMap.get(userId);
         return connections != null && !connections.isEmpty();
     }
 
@@ -270,7 +294,7 @@ public class NotificationEmitterService {
      * @return 연결 수
      */
     public int getConnectionCount(String userId) {
-        List<NotificationSseConnection> connections = userConnectionsMap.get(userId);
+        Set<NotificationSseConnection> connections = userConnectionsMap.get(userId);
         return connections != null ? connections.size() : 0;
     }
 
@@ -290,5 +314,6 @@ public class NotificationEmitterService {
             });
         });
         userConnectionsMap.clear();
+        senderExecutor.shutdownNow();
     }
 }
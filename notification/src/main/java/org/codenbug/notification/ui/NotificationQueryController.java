@@ -5,6 +5,7 @@ import org.codenbug.common.Role;
 import org.codenbug.common.RsData;
 import org.codenbug.notification.application.NotificationQueryService;
 import org.codenbug.notification.ui.dto.NotificationDto;
+import org.codenbug.notification.ui.projection.NotificationInboxSlice;
 import org.codenbug.notification.ui.projection.NotificationListProjection;
 import org.codenbug.securityaop.aop.AuthNeeded;
 import org.codenbug.securityaop.aop.LoggedInUserContext;
@@ -20,6 +21,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
@@ -44,6 +46,18 @@ public class NotificationQueryController {
 		return new RsData<>("200", "알림 목록 조회 성공", notifications);
 	}
 
+	@GetMapping("/cursor")
+	@AuthNeeded
+	@RoleRequired({Role.USER})
+	public RsData<NotificationInboxSlice> getNotificationSlice(
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "10") int size) {
+		String userId = currentUserId();
+		NotificationInboxSlice notifications =
+			notificationQueryService.getNotificationSlice(userId, cursor, normalizeInboxSize(size, 10));
+		return new RsData<>("200", "알림 목록 조회 성공", notifications);
+	}
+
 	@GetMapping("/{id}")
 	@AuthNeeded
 	@RoleRequired({Role.USER})
@@ -65,6 +79,18 @@ public class NotificationQueryController {
 		return new RsData<>("200", "미읽은 알림 조회 성공", unreadPage);
 	}
 
+	@GetMapping("/unread/cursor")
+	@AuthNeeded
+	@RoleRequired({Role.USER})
+	public RsData<NotificationInboxSlice> getUnreadNotificationSlice(
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "20") int size) {
+		String userId = currentUserId();
+		NotificationInboxSlice unreadSlice =
+			notificationQueryService.getUnreadNotificationSlice(userId, cursor, normalizeInboxSize(size, 20));
+		return new RsData<>("200", "미읽은 알림 조회 성공", unreadSlice);
+	}
+
 	@GetMapping(value = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
 	@AuthNeeded
 	@RoleRequired({Role.ADMIN})
@@ -84,11 +110,16 @@ public class NotificationQueryController {
 	}
 
 	private Pageable normalizeInboxPageable(Pageable pageable, int defaultPageSize) {
-		int pageSize = pageable.getPageSize() > 0 ? pageable.getPageSize() : defaultPageSize;
-		return PageRequest.of(pageable.getPageNumber(), Math.min(pageSize, MAX_INBOX_PAGE_SIZE),
+		return PageRequest.of(pageable.getPageNumber(),
+			normalizeInboxSize(pageable.getPageSize(), defaultPageSize),
 			Sort.by(Sort.Direction.DESC, "sentAt"));
 	}
 
+	private int normalizeInboxSize(int size, int defaultSize) {
+		int pageSize = size > 0 ? size : defaultSize;
+		return Math.min(pageSize, MAX_INBOX_PAGE_SIZE);
+	}
+
 	private String currentUserId() {
 		return LoggedInUserContext.get().getUserId();
 	}
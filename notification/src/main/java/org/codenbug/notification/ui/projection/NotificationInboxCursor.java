@@ -0,0 +1,43 @@
+package org.codenbug.notification.ui.projection;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 받은함 커서. 마지막으로 내려준 알림의 (sentAt, id)이며, 다음 페이지는 이 값보다 오래된 알림부터 시작한다.
+ * 클라이언트에는 불투명한 문자열 토큰으로만 내보낸다.
+ */
+public record NotificationInboxCursor(LocalDateTime sentAt, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static NotificationInboxCursor from(NotificationListProjection last) {
+        return new NotificationInboxCursor(last.getSentAt(), last.getId());
+    }
+
+    /**
+     * @param token 이전 응답의 nextCursor. 비어 있으면 첫 페이지
+     * @return 첫 페이지면 null
+     */
+    public static NotificationInboxCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new NotificationInboxCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("잘못된 알림 커서입니다.");
+        }
+    }
+
+    public String encode() {
+        String raw = sentAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,22 @@
+package org.codenbug.notification.ui.projection;
+
+import java.util.List;
+
+/**
+ * 커서 기반 받은함 조회 결과. 전체 개수는 세지 않고, 다음 페이지가 있으면 nextCursor를 채운다.
+ */
+public record NotificationInboxSlice(List<NotificationListProjection> content, String nextCursor,
+        boolean hasNext) {
+
+    /**
+     * @param fetched size + 1건까지 조회한 결과. 초과분이 있으면 다음 페이지가 있다는 뜻이다.
+     */
+    public static NotificationInboxSlice of(List<NotificationListProjection> fetched, int size) {
+        if (fetched.size() <= size) {
+            return new NotificationInboxSlice(fetched, null, false);
+        }
+        List<NotificationListProjection> content = fetched.subList(0, size);
+        String nextCursor = NotificationInboxCursor.from(content.get(size - 1)).encode();
+        return new NotificationInboxSlice(List.copyOf(content), nextCursor, true);
+    }
+}
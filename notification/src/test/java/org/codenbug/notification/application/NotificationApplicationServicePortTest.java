@@ -10,6 +10,7 @@ import java.util.Optional;
 
 import org.codenbug.notification.application.port.NotificationInboxViewReader;
 import org.codenbug.notification.application.port.NotificationStore;
+import org.codenbug.notification.application.port.NotificationUnreadCountStore;
 import org.codenbug.notification.domain.entity.Notification;
 import org.codenbug.notification.domain.entity.NotificationType;
 import org.codenbug.notification.domain.entity.UserId;
@@ -47,7 +48,8 @@ class NotificationApplicationServicePortTest {
     List<Object> publishedEvents = new ArrayList<>();
     ApplicationEventPublisher publisher = publishedEvents::add;
     NotificationCommandService service = new NotificationCommandService(store,
-        new NotificationDomainService(), new NotificationDeletionPolicy(), publisher);
+        new NotificationDomainService(), new NotificationDeletionPolicy(), publisher,
+        unreadCounter(store));
 
     service.createNotification("user-1", NotificationType.SYSTEM, "제목", "내용", "/target");
 
@@ -62,7 +64,8 @@ class NotificationApplicationServicePortTest {
     List<Object> publishedEvents = new ArrayList<>();
     ApplicationEventPublisher publisher = publishedEvents::add;
     NotificationCommandService service = new NotificationCommandService(store,
-        new NotificationDomainService(), new NotificationDeletionPolicy(), publisher);
+        new NotificationDomainService(), new NotificationDeletionPolicy(), publisher,
+        unreadCounter(store));
 
     assertThatThrownBy(() -> service.createNotification("user-1", NotificationType.SYSTEM,
         "제목", "   ", "/target")).isInstanceOf(IllegalArgumentException.class)
@@ -80,7 +83,8 @@ class NotificationApplicationServicePortTest {
     store.notificationById = notification;
     store.ownedNotificationById = notification;
     NotificationQueryService service =
-        new NotificationQueryService(store, org.mockito.Mockito.mock(NotificationInboxViewReader.class));
+        new NotificationQueryService(store, org.mockito.Mockito.mock(NotificationInboxViewReader.class),
+            unreadCounter(store));
 
     service.getNotificationById(1L, "user-1");
 
@@ -88,6 +92,11 @@ class NotificationApplicationServicePortTest {
     assertThat(store.savedNotifications).containsExactly(notification);
   }
 
+  private NotificationUnreadCounter unreadCounter(NotificationStore store) {
+    return new NotificationUnreadCounter(
+        org.mockito.Mockito.mock(NotificationUnreadCountStore.class), store, 3_600_000);
+  }
+
   private List<Class<?>> fieldTypes(Class<?> type) {
     return List.of(type.getDeclaredFields()).stream().map(Field::getType).toList();
   }
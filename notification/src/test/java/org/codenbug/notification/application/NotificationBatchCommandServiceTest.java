@@ -0,0 +1,128 @@
+package org.codenbug.notification.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.codenbug.notification.application.port.NotificationBulkStore;
+import org.codenbug.notification.application.port.NotificationPushDispatcher;
+import org.codenbug.notification.application.port.NotificationPushDispatcher.NotificationPush;
+import org.codenbug.notification.application.port.NotificationStore;
+import org.codenbug.notification.application.port.NotificationUnreadCountStore;
+import org.codenbug.notification.domain.NotificationDomainService;
+import org.codenbug.notification.domain.entity.Notification;
+import org.codenbug.notification.domain.entity.NotificationType;
+import org.codenbug.notification.domain.entity.UserId;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class NotificationBatchCommandServiceTest {
+
+    private final NotificationStore notificationStore = mock(NotificationStore.class);
+    private final NotificationBulkStore bulkStore = mock(NotificationBulkStore.class);
+    private final NotificationUnreadCountStore unreadCountStore =
+            mock(NotificationUnreadCountStore.class);
+    private final NotificationPushDispatcher pushDispatcher = mock(NotificationPushDispatcher.class);
+    private final NotificationBatchCommandService service = new NotificationBatchCommandService(
+            notificationStore, bulkStore,
+            new NotificationUnreadCounter(unreadCountStore, notificationStore, 3_600_000),
+            pushDispatcher, new NotificationDomainService(), mock(PlatformTransactionManager.class));
+
+    @Test
+    void sourceKey를_한번에_조회해_이미_있거나_배치안에서_겹치는_알림을_뺀다() {
+        when(notificationStore.findExistingSourceKeys(any())).thenReturn(List.of("k2"));
+        when(bulkStore.insertEach(anyList(), any())).thenReturn(List.of(10L, 11L));
+
+        NotificationBatchReport report = service.createNotificationsIfAbsent("refund",
+                List.of(command("u1", "k1"), command("u2", "k2"), command("u1", "k1"),
+                        command("u1", "k3")));
+
+        ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+        verify(bulkStore).insertEach(captor.capture(), any());
+        assertThat(captor.getValue()).extracting(Notification::getSourceKey)
+                .containsExactly("k1", "k3");
+        assertThat(report.received()).isEqualTo(4);
+        assertThat(report.inserted()).isEqualTo(2);
+        assertThat(report.duplicates()).isEqualTo(2);
+        assertThat(report.invalid()).isZero();
+    }
+
+    @Test
+    void 같은_사용자의_알림은_건수만큼_카운터를_한번에_올린다() {
+        when(notificationStore.findExistingSourceKeys(any())).thenReturn(List.of());
+        when(bulkStore.insertEach(anyList(), any())).thenReturn(List.of(10L, 11L, 12L));
+
+        service.createNotificationsIfAbsent("refund",
+                List.of(command("u1", "k1"), command("u1", "k2"), command("u2", "k3")));
+
+        verify(unreadCountStore).adjustAll(List.of(new UserId("u1")), 2);
+        verify(unreadCountStore).adjustAll(List.of(new UserId("u2")), 1);
+    }
+
+    @Test
+    void 저장한_알림은_생성된_ID로_한번에_중계한다() {
+        when(notificationStore.findExistingSourceKeys(any())).thenReturn(List.of());
+        when(bulkStore.insertEach(anyList(), any())).thenReturn(List.of(10L, 11L));
+
+        service.createNotificationsIfAbsent("refund", List.of(command("u1", "k1"), command("u2", "k2")));
+
+        ArgumentCaptor<List<NotificationPush>> captor = ArgumentCaptor.forClass(List.class);
+        verify(pushDispatcher).dispatchAll(captor.capture());
+        assertThat(captor.getValue()).extracting(NotificationPush::userId).containsExactly("u1", "u2");
+        assertThat(captor.getValue()).extracting(push -> push.notification().getId())
+                .containsExactly(10L, 11L);
+    }
+
+    @Test
+    void 알림_규칙에_맞지_않거나_sourceKey가_없으면_건너뛴다() {
+        when(notificationStore.findExistingSourceKeys(any())).thenReturn(List.of());
+        when(bulkStore.insertEach(anyList(), any())).thenReturn(List.of(10L));
+
+        NotificationBatchReport report = service.createNotificationsIfAbsent("refund",
+                List.of(command("u1", "k1"), command("u2", " "),
+                        new NotificationCreateCommand("u3", NotificationType.PAYMENT, "", "내용", null, "k3")));
+
+        assertThat(report.inserted()).isEqualTo(1);
+        assertThat(report.invalid()).isEqualTo(2);
+    }
+
+    @Test
+    void 모두_중복이면_저장과_중계를_하지_않는다() {
+        when(notificationStore.findExistingSourceKeys(any())).thenReturn(List.of("k1"));
+        when(bulkStore.insertEach(anyList(), any())).thenReturn(List.of());
+
+        NotificationBatchReport report =
+                service.createNotificationsIfAbsent("refund", List.of(command("u1", "k1")));
+
+        assertThat(report.inserted()).isZero();
+        assertThat(report.duplicates()).isEqualTo(1);
+        verify(unreadCountStore, never()).adjustAll(any(), org.mockito.ArgumentMatchers.anyLong());
+        verifyNoInteractions(pushDispatcher);
+    }
+
+    @Test
+    void 저장이_실패하면_예외를_그대로_올리고_중계하지_않는다() {
+        when(notificationStore.findExistingSourceKeys(any())).thenReturn(List.of());
+        when(bulkStore.insertEach(anyList(), any()))
+                .thenThrow(new DuplicateKeyException("uk_source_key"));
+
+        assertThatThrownBy(() -> service.createNotificationsIfAbsent("refund",
+                List.of(command("u1", "k1")))).isInstanceOf(DuplicateKeyException.class);
+        verifyNoInteractions(pushDispatcher);
+    }
+
+    private NotificationCreateCommand command(String userId, String sourceKey) {
+        return new NotificationCreateCommand(userId, NotificationType.PAYMENT, "[티켓온] 환불 완료",
+                "내용", "/my-account/refund-history", sourceKey);
+    }
+}
@@ -1,12 +1,16 @@
 package org.codenbug.notification.application;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import org.codenbug.notification.application.port.NotificationStore;
+import org.codenbug.notification.application.port.NotificationUnreadCountStore;
 import org.codenbug.notification.domain.entity.Notification;
 import org.codenbug.notification.domain.entity.NotificationType;
 import org.codenbug.notification.domain.entity.UserId;
@@ -20,6 +24,9 @@ import org.springframework.data.domain.Pageable;
 
 class NotificationCommandServiceIdempotencyTest {
 
+    private final NotificationUnreadCountStore unreadCountStore =
+            mock(NotificationUnreadCountStore.class);
+
     @Test
     void sourceKey가_이미_존재하면_알림을_다시_저장하지_않는다() {
         FakeNotificationStore store = new FakeNotificationStore();
@@ -27,7 +34,8 @@ class NotificationCommandServiceIdempotencyTest {
         List<Object> publishedEvents = new ArrayList<>();
         ApplicationEventPublisher publisher = publishedEvents::add;
         NotificationCommandService service = new NotificationCommandService(store,
-                new NotificationDomainService(), new NotificationDeletionPolicy(), publisher);
+                new NotificationDomainService(), new NotificationDeletionPolicy(), publisher,
+                new NotificationUnreadCounter(unreadCountStore, store, 3_600_000));
 
         Optional<?> result = service.createNotificationIfAbsent("user-1", NotificationType.PAYMENT,
                 "제목", "내용", "/target",
@@ -36,6 +44,7 @@ class NotificationCommandServiceIdempotencyTest {
         assertThat(result).isEmpty();
         assertThat(store.savedNotifications).isEmpty();
         assertThat(publishedEvents).isEmpty();
+        verifyNoInteractions(unreadCountStore);
     }
 
     @Test
@@ -44,7 +53,8 @@ class NotificationCommandServiceIdempotencyTest {
         List<Object> publishedEvents = new ArrayList<>();
         ApplicationEventPublisher publisher = publishedEvents::add;
         NotificationCommandService service = new NotificationCommandService(store,
-                new NotificationDomainService(), new NotificationDeletionPolicy(), publisher);
+                new NotificationDomainService(), new NotificationDeletionPolicy(), publisher,
+                new NotificationUnreadCounter(unreadCountStore, store, 3_600_000));
 
         Optional<?> result = service.createNotificationIfAbsent("user-1", NotificationType.PAYMENT,
                 "제목", "내용", "/target",
@@ -55,6 +65,7 @@ class NotificationCommandServiceIdempotencyTest {
         assertThat(store.savedNotifications.get(0).getSourceKey())
                 .isEqualTo("payment.completed:user-1:purchase-1:2026-06-19T10:15:30");
         assertThat(publishedEvents).hasSize(1);
+        verify(unreadCountStore).adjust(new UserId("user-1"), 1);
     }
 
     private static class FakeNotificationStore implements NotificationStore {
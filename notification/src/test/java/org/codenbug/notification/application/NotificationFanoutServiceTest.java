@@ -0,0 +1,100 @@
+package org.codenbug.notification.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.codenbug.notification.application.port.NotificationBulkStore;
+import org.codenbug.notification.application.port.NotificationPushDispatcher;
+import org.codenbug.notification.application.port.NotificationPushDispatcher.NotificationPush;
+import org.codenbug.notification.application.port.NotificationUnreadCountStore;
+import org.codenbug.notification.domain.NotificationDomainService;
+import org.codenbug.notification.domain.entity.NotificationType;
+import org.codenbug.notification.domain.entity.UserId;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class NotificationFanoutServiceTest {
+
+    private final NotificationBulkStore bulkStore = mock(NotificationBulkStore.class);
+    private final NotificationUnreadCountStore unreadCountStore =
+            mock(NotificationUnreadCountStore.class);
+    private final NotificationPushDispatcher pushDispatcher = mock(NotificationPushDispatcher.class);
+    private final NotificationFanoutService service = new NotificationFanoutService(bulkStore,
+            new NotificationUnreadCounter(unreadCountStore, null, 3_600_000), pushDispatcher,
+            new NotificationDomainService(), mock(PlatformTransactionManager.class), 2);
+
+    @Test
+    void 중복을_뺀_수신자를_청크로_나눠_배치저장하고_카운터를_한번에_올린다() {
+        when(bulkStore.insertAll(anyList(), any(), any()))
+                .thenAnswer(invocation -> ids(invocation.<List<UserId>>getArgument(0).size()));
+
+        NotificationFanoutReport report = service.fanout("event-open:1",
+                List.of("u1", "u2", "u1", "u3", " "), NotificationType.EVENT, "제목", "내용", "/events/1");
+
+        verify(bulkStore).insertAll(eq(List.of(new UserId("u1"), new UserId("u2"))), any(), any());
+        verify(bulkStore).insertAll(eq(List.of(new UserId("u3"))), any(), any());
+        verify(unreadCountStore).adjustAll(List.of(new UserId("u1"), new UserId("u2")), 1);
+        verify(unreadCountStore).adjustAll(List.of(new UserId("u3")), 1);
+        assertThat(report.recipients()).isEqualTo(3);
+        assertThat(report.inserted()).isEqualTo(3);
+        assertThat(report.failed()).isZero();
+    }
+
+    @Test
+    void 실패한_청크는_건너뛰고_나머지_청크를_계속_보낸다() {
+        when(bulkStore.insertAll(anyList(), any(), any()))
+                .thenThrow(new IllegalStateException("lock wait timeout"))
+                .thenAnswer(invocation -> ids(invocation.<List<UserId>>getArgument(0).size()));
+
+        NotificationFanoutReport report = service.fanout("event-open:1", List.of("u1", "u2", "u3"),
+                NotificationType.EVENT, "제목", "내용", null);
+
+        assertThat(report.inserted()).isEqualTo(1);
+        assertThat(report.failed()).isEqualTo(2);
+        verify(pushDispatcher, times(1)).dispatchAll(
+                argThat(pushes -> pushes.size() == 1 && pushes.get(0).userId().equals("u3")));
+    }
+
+    @Test
+    void 저장한_청크는_생성된_ID로_한번에_중계한다() {
+        when(bulkStore.insertAll(anyList(), any(), any())).thenReturn(List.of(10L, 11L));
+        when(pushDispatcher.dispatchAll(anyList())).thenReturn(2);
+
+        NotificationFanoutReport report = service.fanout("event-open:1", List.of("u1", "u2"),
+                NotificationType.EVENT, "제목", "내용", "/events/1");
+
+        ArgumentCaptor<List<NotificationPush>> captor = ArgumentCaptor.forClass(List.class);
+        verify(pushDispatcher).dispatchAll(captor.capture());
+        assertThat(captor.getValue()).extracting(NotificationPush::userId)
+                .containsExactly("u1", "u2");
+        assertThat(captor.getValue().get(0).notification().getId()).isEqualTo(10L);
+        assertThat(captor.getValue().get(0).notification().getTargetUrl()).isEqualTo("/events/1");
+        assertThat(report.pushed()).isEqualTo(2);
+    }
+
+    @Test
+    void 내용이_규칙에_맞지_않으면_아무것도_저장하지_않는다() {
+        assertThatThrownBy(() -> service.fanout("event-open:1", List.of("u1"),
+                NotificationType.EVENT, "제목", " ", null))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(bulkStore, unreadCountStore, pushDispatcher);
+    }
+
+    private static List<Long> ids(int count) {
+        return LongStream.rangeClosed(1, count).boxed().toList();
+    }
+}
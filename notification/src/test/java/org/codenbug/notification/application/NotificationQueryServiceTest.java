@@ -2,6 +2,13 @@ package org.codenbug.notification.application;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -10,10 +17,14 @@ import java.util.Optional;
 
 import org.codenbug.notification.application.port.NotificationInboxViewReader;
 import org.codenbug.notification.application.port.NotificationStore;
+import org.codenbug.notification.application.port.NotificationUnreadCountStore;
 import org.codenbug.notification.domain.entity.Notification;
 import org.codenbug.notification.domain.entity.NotificationType;
+import org.codenbug.notification.domain.entity.NotificationUnreadCount;
 import org.codenbug.notification.domain.entity.UserId;
 import org.codenbug.notification.domain.NotificationDomainService;
+import org.codenbug.notification.ui.projection.NotificationInboxCursor;
+import org.codenbug.notification.ui.projection.NotificationInboxSlice;
 import org.codenbug.notification.ui.projection.NotificationListProjection;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
@@ -24,6 +35,8 @@ import org.springframework.data.domain.Pageable;
 class NotificationQueryServiceTest {
 
     private final NotificationDomainService domainService = new NotificationDomainService();
+    private final NotificationUnreadCountStore unreadCountStore =
+            mock(NotificationUnreadCountStore.class);
 
     @Test
     void 목록_조회는_저장없이_리시피언트_범위로만_조회한다() {
@@ -32,7 +45,8 @@ class NotificationQueryServiceTest {
         PageRequest pageable = PageRequest.of(0, 10);
         viewReader.notificationsPage = new PageImpl<>(List.of(
                 projection(1L, "user-1", false, LocalDateTime.now())), pageable, 1);
-        NotificationQueryService service = new NotificationQueryService(store, viewReader);
+        NotificationQueryService service = new NotificationQueryService(store, viewReader,
+                new NotificationUnreadCounter(unreadCountStore, store, 3_600_000));
 
         Page<NotificationListProjection> result = service.getNotifications("user-1", pageable);
 
@@ -46,13 +60,47 @@ class NotificationQueryServiceTest {
         FakeNotificationStore store = new FakeNotificationStore();
         FakeNotificationInboxViewReader viewReader = new FakeNotificationInboxViewReader();
         store.unreadCount = 3L;
-        NotificationQueryService service = new NotificationQueryService(store, viewReader);
+        NotificationQueryService service = new NotificationQueryService(store, viewReader,
+                new NotificationUnreadCounter(unreadCountStore, store, 3_600_000));
 
         long count = service.getUnreadCount("user-1");
 
         assertThat(count).isEqualTo(3L);
         assertThat(store.lastUnreadCountUserId).isEqualTo(new UserId("user-1"));
         assertThat(store.savedNotifications).isEmpty();
+        verify(unreadCountStore).reconcile(eq(new UserId("user-1")), eq(3L),
+                any(LocalDateTime.class));
+    }
+
+    @Test
+    void 최근에_맞춘_미읽음_카운터가_있으면_알림을_세지_않는다() {
+        FakeNotificationStore store = new FakeNotificationStore();
+        FakeNotificationInboxViewReader viewReader = new FakeNotificationInboxViewReader();
+        when(unreadCountStore.findByUserId(new UserId("user-1"))).thenReturn(Optional.of(
+                new NotificationUnreadCount("user-1", 7L, LocalDateTime.now())));
+        NotificationQueryService service = new NotificationQueryService(store, viewReader,
+                new NotificationUnreadCounter(unreadCountStore, store, 3_600_000));
+
+        long count = service.getUnreadCount("user-1");
+
+        assertThat(count).isEqualTo(7L);
+        assertThat(store.lastUnreadCountUserId).isNull();
+        verify(unreadCountStore, never()).reconcile(any(), anyLong(), any());
+    }
+
+    @Test
+    void 커서_목록_조회는_토큰을_풀어_리더에_넘긴다() {
+        FakeNotificationStore store = new FakeNotificationStore();
+        FakeNotificationInboxViewReader viewReader = new FakeNotificationInboxViewReader();
+        NotificationInboxCursor cursor =
+                new NotificationInboxCursor(LocalDateTime.of(2026, 6, 19, 10, 0, 0, 123_000), 42L);
+        NotificationQueryService service = new NotificationQueryService(store, viewReader,
+                new NotificationUnreadCounter(unreadCountStore, store, 3_600_000));
+
+        service.getNotificationSlice("user-1", cursor.encode(), 10);
+
+        assertThat(viewReader.lastNotificationUserId).isEqualTo("user-1");
+        assertThat(viewReader.lastCursor).isEqualTo(cursor);
     }
 
     @Test
@@ -62,7 +110,8 @@ class NotificationQueryServiceTest {
         PageRequest pageable = PageRequest.of(0, 20);
         viewReader.unreadPage = new PageImpl<>(List.of(
                 projection(2L, "user-1", false, LocalDateTime.now())), pageable, 1);
-        NotificationQueryService service = new NotificationQueryService(store, viewReader);
+        NotificationQueryService service = new NotificationQueryService(store, viewReader,
+                new NotificationUnreadCounter(unreadCountStore, store, 3_600_000));
 
         Page<NotificationListProjection> result = service.getUnreadNotifications("user-1", pageable);
 
@@ -79,12 +128,14 @@ class NotificationQueryServiceTest {
                 domainService.createNotification("user-1", NotificationType.SYSTEM, "제목", "내용", null);
         store.notificationById = notification;
         store.ownedNotificationById = notification;
-        NotificationQueryService service = new NotificationQueryService(store, viewReader);
+        NotificationQueryService service = new NotificationQueryService(store, viewReader,
+                new NotificationUnreadCounter(unreadCountStore, store, 3_600_000));
 
         service.getNotificationById(1L, "user-1");
 
         assertThat(notification.isRead()).isTrue();
         assertThat(store.savedNotifications).containsExactly(notification);
+        verify(unreadCountStore).adjust(new UserId("user-1"), -1);
     }
 
     @Test
@@ -96,12 +147,14 @@ class NotificationQueryServiceTest {
         notification.markAsRead();
         store.notificationById = notification;
         store.ownedNotificationById = notification;
-        NotificationQueryService service = new NotificationQueryService(store, viewReader);
+        NotificationQueryService service = new NotificationQueryService(store, viewReader,
+                new NotificationUnreadCounter(unreadCountStore, store, 3_600_000));
 
         service.getNotificationById(1L, "user-1");
 
         assertThat(notification.isRead()).isTrue();
         assertThat(store.savedNotifications).isEmpty();
+        verify(unreadCountStore, never()).adjust(any(), anyLong());
     }
 
     @Test
@@ -111,7 +164,8 @@ class NotificationQueryServiceTest {
         Notification notification =
                 domainService.createNotification("user-2", NotificationType.SYSTEM, "제목", "내용", null);
         store.notificationById = notification;
-        NotificationQueryService service = new NotificationQueryService(store, viewReader);
+        NotificationQueryService service = new NotificationQueryService(store, viewReader,
+                new NotificationUnreadCounter(unreadCountStore, store, 3_600_000));
 
         assertThatThrownBy(() -> service.getNotificationById(1L, "user-1"))
                 .isInstanceOf(IllegalArgumentException.class)
@@ -124,7 +178,8 @@ class NotificationQueryServiceTest {
     void 없는_알림_상세_조회는_저장없이_실패한다() {
         FakeNotificationStore store = new FakeNotificationStore();
         FakeNotificationInboxViewReader viewReader = new FakeNotificationInboxViewReader();
-        NotificationQueryService service = new NotificationQueryService(store, viewReader);
+        NotificationQueryService service = new NotificationQueryService(store, viewReader,
+                new NotificationUnreadCounter(unreadCountStore, store, 3_600_000));
 
         assertThatThrownBy(() -> service.getNotificationById(99L, "user-1"))
                 .isInstanceOf(IllegalArgumentException.class)
@@ -213,6 +268,7 @@ class NotificationQueryServiceTest {
         private Page<NotificationListProjection> unreadPage = Page.empty();
         private String lastNotificationUserId;
         private String lastUnreadUserId;
+        private NotificationInboxCursor lastCursor;
 
         @Override
         public Page<NotificationListProjection> findUserNotificationList(String userId,
@@ -228,5 +284,21 @@ class NotificationQueryServiceTest {
             return unreadPage;
         }
 
+        @Override
+        public NotificationInboxSlice findUserNotificationSlice(String userId,
+                NotificationInboxCursor cursor, int size) {
+            lastNotificationUserId = userId;
+            lastCursor = cursor;
+            return new NotificationInboxSlice(List.of(), null, false);
+        }
+
+        @Override
+        public NotificationInboxSlice findUserUnreadNotificationSlice(String userId,
+                NotificationInboxCursor cursor, int size) {
+            lastUnreadUserId = userId;
+            lastCursor = cursor;
+            return new NotificationInboxSlice(List.of(), null, false);
+        }
+
     }
 }
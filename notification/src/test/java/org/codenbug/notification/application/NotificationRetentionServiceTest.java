@@ -0,0 +1,135 @@
+package org.codenbug.notification.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.codenbug.notification.application.port.NotificationRetentionStore;
+import org.codenbug.notification.application.port.NotificationRetentionStore.PurgeCandidate;
+import org.codenbug.notification.application.port.NotificationUnreadCountStore;
+import org.codenbug.notification.domain.entity.UserId;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class NotificationRetentionServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 18, 4, 30);
+
+    private final NotificationRetentionStore retentionStore = mock(NotificationRetentionStore.class);
+    private final NotificationUnreadCountStore unreadCountStore =
+            mock(NotificationUnreadCountStore.class);
+
+    @Test
+    void 기한이_지난_알림을_먼저_지우고_읽은_알림을_청크로_나눠_지운다() {
+        when(retentionStore.claimSentBefore(eq(NOW.minusDays(180)), eq(2)))
+                .thenReturn(List.of(candidate(1L, "u1", false)))
+                .thenReturn(List.of());
+        when(retentionStore.claimReadSentBefore(eq(NOW.minusDays(30)), eq(2)))
+                .thenReturn(List.of(candidate(2L, "u1", true), candidate(3L, "u2", true)))
+                .thenReturn(List.of(candidate(4L, "u2", true)));
+        when(retentionStore.deleteAllByIdIn(anyList()))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+        when(retentionStore.archive(anyList(), any()))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+
+        NotificationRetentionReport report = service(2, 10, true).purge(NOW);
+
+        verify(retentionStore).deleteAllByIdIn(List.of(1L));
+        verify(retentionStore).deleteAllByIdIn(List.of(2L, 3L));
+        verify(retentionStore).deleteAllByIdIn(List.of(4L));
+        verify(retentionStore).archive(List.of(2L, 3L), NOW);
+        assertThat(report.expiredPurged()).isEqualTo(1);
+        assertThat(report.readPurged()).isEqualTo(3);
+        assertThat(report.archived()).isEqualTo(4);
+        assertThat(report.chunks()).isEqualTo(3);
+        assertThat(report.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void 지운_미읽음_알림만큼_사용자별_카운터를_내린다() {
+        when(retentionStore.claimSentBefore(any(), anyInt()))
+                .thenReturn(List.of(candidate(1L, "u1", false), candidate(2L, "u1", false),
+                        candidate(3L, "u2", true)))
+                .thenReturn(List.of());
+        when(retentionStore.deleteAllByIdIn(anyList())).thenReturn(3);
+
+        service(10, 10, true).purge(NOW);
+
+        verify(unreadCountStore).adjustAll(List.of(new UserId("u1")), -2);
+        verify(unreadCountStore, never()).adjustAll(eq(List.of(new UserId("u2"))), anyLong());
+    }
+
+    @Test
+    void 잡은_알림과_지운_알림_수가_다르면_카운터를_내리지_않는다() {
+        when(retentionStore.claimSentBefore(any(), anyInt()))
+                .thenReturn(List.of(candidate(1L, "u1", false), candidate(2L, "u1", false)))
+                .thenReturn(List.of());
+        when(retentionStore.deleteAllByIdIn(anyList())).thenReturn(1);
+
+        NotificationRetentionReport report = service(10, 10, true).purge(NOW);
+
+        verify(unreadCountStore, never()).adjustAll(anyCollection(), anyLong());
+        assertThat(report.expiredPurged()).isEqualTo(1);
+    }
+
+    @Test
+    void 한번에_처리할_청크_수를_넘기면_다음_실행으로_넘긴다() {
+        when(retentionStore.claimSentBefore(any(), anyInt()))
+                .thenReturn(List.of(candidate(1L, "u1", true)));
+        when(retentionStore.deleteAllByIdIn(anyList())).thenReturn(1);
+
+        NotificationRetentionReport report = service(1, 3, true).purge(NOW);
+
+        verify(retentionStore, times(3)).deleteAllByIdIn(anyList());
+        verify(retentionStore, never()).claimReadSentBefore(any(), anyInt());
+        assertThat(report.chunks()).isEqualTo(3);
+        assertThat(report.hasRemaining()).isTrue();
+    }
+
+    @Test
+    void 보관을_끄면_바로_지운다() {
+        when(retentionStore.claimSentBefore(any(), anyInt()))
+                .thenReturn(List.of(candidate(1L, "u1", true)))
+                .thenReturn(List.of());
+        when(retentionStore.deleteAllByIdIn(anyList())).thenReturn(1);
+
+        NotificationRetentionReport report = service(10, 10, false).purge(NOW);
+
+        verify(retentionStore, never()).archive(anyList(), any());
+        assertThat(report.expiredPurged()).isEqualTo(1);
+        assertThat(report.archived()).isZero();
+    }
+
+    @Test
+    void 읽은_알림_보존기간이_전체_보존기간보다_길면_시작하지_않는다() {
+        assertThatThrownBy(() -> new NotificationRetentionService(retentionStore,
+                new NotificationUnreadCounter(unreadCountStore, null, 3_600_000),
+                mock(PlatformTransactionManager.class), 200, 180, 10, 0, 10, true))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private NotificationRetentionService service(int chunkSize, int maxChunksPerRun,
+            boolean archiveEnabled) {
+        return new NotificationRetentionService(retentionStore,
+                new NotificationUnreadCounter(unreadCountStore, null, 3_600_000),
+                mock(PlatformTransactionManager.class), 30, 180, chunkSize, 0, maxChunksPerRun,
+                archiveEnabled);
+    }
+
+    private PurgeCandidate candidate(Long id, String userId, boolean read) {
+        return new PurgeCandidate(id, new UserId(userId), read);
+    }
+}
@@ -0,0 +1,87 @@
+package org.codenbug.notification.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.codenbug.notification.application.port.NotificationStore;
+import org.codenbug.notification.application.port.NotificationUnreadCountStore;
+import org.codenbug.notification.domain.NotificationDomainService;
+import org.codenbug.notification.domain.entity.Notification;
+import org.codenbug.notification.domain.entity.NotificationType;
+import org.codenbug.notification.domain.entity.NotificationUnreadCount;
+import org.codenbug.notification.domain.entity.UserId;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+class NotificationUnreadCounterTest {
+
+    private final NotificationUnreadCountStore unreadCountStore =
+            mock(NotificationUnreadCountStore.class);
+    private final NotificationStore notificationStore = mock(NotificationStore.class);
+    private final NotificationUnreadCounter counter =
+            new NotificationUnreadCounter(unreadCountStore, notificationStore, 3_600_000);
+    private final NotificationDomainService domainService = new NotificationDomainService();
+
+    @Test
+    void 삭제된_알림중_미읽음만_사용자별로_한번씩_차감한다() {
+        Notification unread1 = notification("user-1");
+        Notification unread2 = notification("user-1");
+        Notification read = notification("user-1");
+        read.markAsRead();
+        Notification otherUser = notification("user-2");
+
+        counter.onDeleted(List.of(unread1, unread2, read, otherUser));
+
+        verify(unreadCountStore).adjust(new UserId("user-1"), -2);
+        verify(unreadCountStore).adjust(new UserId("user-2"), -1);
+        verifyNoMoreInteractions(unreadCountStore);
+    }
+
+    @Test
+    void 오래된_카운터는_알림을_다시_세어_덮어쓴다() {
+        UserId userId = new UserId("user-1");
+        when(unreadCountStore.findByUserId(userId)).thenReturn(Optional.of(
+                new NotificationUnreadCount("user-1", 9L, LocalDateTime.now().minusHours(2))));
+        when(notificationStore.countByUserIdAndIsReadFalse(userId)).thenReturn(4L);
+
+        assertThat(counter.count(userId)).isEqualTo(4L);
+        verify(unreadCountStore).reconcile(eq(userId), eq(4L), any(LocalDateTime.class));
+    }
+
+    @Test
+    void 카운터_동시_생성_충돌은_방금_센_값으로_응답한다() {
+        UserId userId = new UserId("user-1");
+        when(unreadCountStore.findByUserId(userId)).thenReturn(Optional.empty());
+        when(notificationStore.countByUserIdAndIsReadFalse(userId)).thenReturn(2L);
+        doThrow(new DataIntegrityViolationException("duplicate"))
+                .when(unreadCountStore).reconcile(eq(userId), anyLong(), any());
+
+        assertThat(counter.count(userId)).isEqualTo(2L);
+    }
+
+    @Test
+    void 이미_읽은_알림을_만들면_카운터를_건드리지_않는다() {
+        Notification read = notification("user-1");
+        read.markAsRead();
+
+        counter.onCreated(read);
+
+        verify(unreadCountStore, never()).adjust(any(), anyLong());
+    }
+
+    private Notification notification(String userId) {
+        return domainService.createNotification(userId, NotificationType.SYSTEM, "제목", "내용", null);
+    }
+}
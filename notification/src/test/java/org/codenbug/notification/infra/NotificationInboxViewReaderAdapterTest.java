@@ -9,6 +9,8 @@ import org.codenbug.notification.application.port.NotificationStore;
 import org.codenbug.notification.domain.NotificationDomainService;
 import org.codenbug.notification.domain.entity.Notification;
 import org.codenbug.notification.domain.entity.NotificationType;
+import org.codenbug.notification.ui.projection.NotificationInboxCursor;
+import org.codenbug.notification.ui.projection.NotificationInboxSlice;
 import org.codenbug.notification.ui.projection.NotificationListProjection;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -88,6 +90,51 @@ class NotificationInboxViewReaderAdapterTest {
         assertThat(secondPage.getTotalElements()).isEqualTo(3);
     }
 
+    @Test
+    void 커서_목록은_개수조회없이_이전_페이지_마지막_알림_다음부터_이어진다() {
+        NotificationInboxSlice firstSlice =
+                notificationInboxViewReader.findUserNotificationSlice("user-1", null, 2);
+        NotificationInboxSlice secondSlice = notificationInboxViewReader.findUserNotificationSlice(
+                "user-1", NotificationInboxCursor.decode(firstSlice.nextCursor()), 2);
+
+        assertThat(sliceTitles(firstSlice)).containsExactly("title-3", "title-2");
+        assertThat(firstSlice.hasNext()).isTrue();
+        assertThat(sliceTitles(secondSlice)).containsExactly("title-1");
+        assertThat(secondSlice.hasNext()).isFalse();
+        assertThat(secondSlice.nextCursor()).isNull();
+    }
+
+    @Test
+    void 미읽음_커서_목록은_읽은항목을_건너뛰며_이어진다() {
+        NotificationInboxSlice firstSlice =
+                notificationInboxViewReader.findUserUnreadNotificationSlice("user-1", null, 1);
+        NotificationInboxSlice secondSlice = notificationInboxViewReader
+                .findUserUnreadNotificationSlice("user-1",
+                        NotificationInboxCursor.decode(firstSlice.nextCursor()), 1);
+
+        assertThat(sliceTitles(firstSlice)).containsExactly("title-3");
+        assertThat(sliceTitles(secondSlice)).containsExactly("title-1");
+        assertThat(secondSlice.hasNext()).isFalse();
+    }
+
+    @Test
+    void 같은_시각에_보낸_알림은_id_역순으로_빠짐없이_이어진다() {
+        LocalDateTime sameTime = LocalDateTime.of(2026, 6, 19, 16, 0);
+        persistNotification(5L, "user-5", sameTime, false);
+        persistNotification(6L, "user-5", sameTime, false);
+        persistNotification(7L, "user-5", sameTime, false);
+        entityManager.flush();
+        entityManager.clear();
+
+        NotificationInboxSlice firstSlice =
+                notificationInboxViewReader.findUserNotificationSlice("user-5", null, 2);
+        NotificationInboxSlice secondSlice = notificationInboxViewReader.findUserNotificationSlice(
+                "user-5", NotificationInboxCursor.decode(firstSlice.nextCursor()), 2);
+
+        assertThat(sliceTitles(firstSlice)).containsExactly("title-7", "title-6");
+        assertThat(sliceTitles(secondSlice)).containsExactly("title-5");
+    }
+
     @Test
     void 저장후_리시피언트_inbox와_unread_조회에서_최신순으로_보인다() {
         Notification older = domainService.createNotification("user-3", NotificationType.SYSTEM,
@@ -128,11 +175,17 @@ class NotificationInboxViewReaderAdapterTest {
                 .toList();
     }
 
+    private java.util.List<String> sliceTitles(NotificationInboxSlice slice) {
+        return slice.content().stream()
+                .map(NotificationListProjection::getTitle)
+                .toList();
+    }
+
     @TestConfiguration
     static class QuerydslTestConfig {
 
-        @Bean(name = "primaryQueryFactory")
-        JPAQueryFactory primaryQueryFactory(EntityManager entityManager) {
+        @Bean(name = "readOnlyQueryFactory")
+        JPAQueryFactory readOnlyQueryFactory(EntityManager entityManager) {
             return new JPAQueryFactory(entityManager);
         }
     }
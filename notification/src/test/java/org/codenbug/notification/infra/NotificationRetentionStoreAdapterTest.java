@@ -0,0 +1,127 @@
+package org.codenbug.notification.infra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.codenbug.notification.application.port.NotificationRetentionStore;
+import org.codenbug.notification.application.port.NotificationRetentionStore.PurgeCandidate;
+import org.codenbug.notification.domain.NotificationDomainService;
+import org.codenbug.notification.domain.entity.Notification;
+import org.codenbug.notification.domain.entity.NotificationArchive;
+import org.codenbug.notification.domain.entity.NotificationType;
+import org.codenbug.notification.domain.entity.UserId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jakarta.annotation.Resource;
+import jakarta.persistence.EntityManager;
+import javax.sql.DataSource;
+
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@ContextConfiguration(classes = NotificationRetentionStoreAdapterTest.TestJpaApplication.class)
+@Import({NotificationRetentionStoreAdapter.class, NotificationRetentionStoreAdapterTest.JdbcTestConfig.class})
+@EntityScan(basePackages = "org.codenbug.notification.domain.entity")
+class NotificationRetentionStoreAdapterTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2026, 6, 1, 0, 0);
+
+    @Resource
+    private EntityManager entityManager;
+
+    @Resource
+    private NotificationRetentionStore retentionStore;
+
+    private final NotificationDomainService domainService = new NotificationDomainService();
+
+    private Long oldRead;
+    private Long olderRead;
+    private Long oldUnread;
+    private Long recentRead;
+
+    @BeforeEach
+    void setUp() {
+        oldRead = persistNotification("user-1", LocalDateTime.of(2026, 5, 20, 10, 0), true);
+        olderRead = persistNotification("user-1", LocalDateTime.of(2026, 5, 10, 10, 0), true);
+        oldUnread = persistNotification("user-2", LocalDateTime.of(2026, 5, 15, 10, 0), false);
+        recentRead = persistNotification("user-1", LocalDateTime.of(2026, 6, 10, 10, 0), true);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void 읽은_알림만_기준시각_이전것을_오래된_순으로_고른다() {
+        List<PurgeCandidate> candidates = retentionStore.claimReadSentBefore(CUTOFF, 10);
+
+        assertThat(candidates).extracting(PurgeCandidate::id).containsExactly(olderRead, oldRead);
+        assertThat(candidates).allMatch(PurgeCandidate::read);
+    }
+
+    @Test
+    void 전체_기준으로는_읽지_않은_알림도_고르고_limit만큼만_돌려준다() {
+        List<PurgeCandidate> candidates = retentionStore.claimSentBefore(CUTOFF, 2);
+
+        assertThat(candidates).extracting(PurgeCandidate::id).containsExactly(olderRead, oldUnread);
+        assertThat(candidates.get(1).userId()).isEqualTo(new UserId("user-2"));
+        assertThat(candidates.get(1).read()).isFalse();
+    }
+
+    @Test
+    void 보관한_뒤_지우면_알림은_보관_테이블로_옮겨지고_다시_보관해도_중복되지_않는다() {
+        LocalDateTime archivedAt = LocalDateTime.of(2026, 10, 18, 4, 30);
+
+        int archived = retentionStore.archive(List.of(olderRead, oldUnread), archivedAt);
+        int archivedAgain = retentionStore.archive(List.of(olderRead, oldUnread), archivedAt);
+        int deleted = retentionStore.deleteAllByIdIn(List.of(olderRead, oldUnread));
+        entityManager.clear();
+
+        assertThat(archived).isEqualTo(2);
+        assertThat(archivedAgain).isZero();
+        assertThat(deleted).isEqualTo(2);
+        assertThat(entityManager.find(Notification.class, olderRead)).isNull();
+        assertThat(entityManager.find(Notification.class, recentRead)).isNotNull();
+        NotificationArchive archive = entityManager.find(NotificationArchive.class,
+                new NotificationArchive.ArchiveId(oldUnread, LocalDateTime.of(2026, 5, 15, 10, 0)));
+        assertThat(archive.getUserId()).isEqualTo("user-2");
+        assertThat(archive.getTitle()).isEqualTo("title-user-2");
+        assertThat(archive.isRead()).isFalse();
+        assertThat(archive.getArchivedAt()).isEqualTo(archivedAt);
+    }
+
+    private Long persistNotification(String userId, LocalDateTime sentAt, boolean isRead) {
+        Notification notification = domainService.createNotification(userId, NotificationType.SYSTEM,
+                "title-" + userId, "content", "/target");
+        if (isRead) {
+            notification.markAsRead();
+        }
+        ReflectionTestUtils.setField(notification, "sentAt", sentAt);
+        entityManager.persist(notification);
+        return notification.getId();
+    }
+
+    @TestConfiguration
+    static class JdbcTestConfig {
+
+        @Bean
+        NamedParameterJdbcTemplate namedParameterJdbcTemplate(DataSource dataSource) {
+            return new NamedParameterJdbcTemplate(dataSource);
+        }
+    }
+
+    @org.springframework.boot.SpringBootConfiguration
+    @org.springframework.boot.autoconfigure.EnableAutoConfiguration
+    @EntityScan(basePackages = "org.codenbug.notification.domain.entity")
+    static class TestJpaApplication {
+    }
+}
@@ -0,0 +1,88 @@
+package org.codenbug.notification.infra.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.codenbug.notification.application.port.LocalNotificationDelivery;
+import org.codenbug.notification.application.port.NotificationPushDispatcher.NotificationPush;
+import org.codenbug.notification.domain.entity.NotificationType;
+import org.codenbug.notification.ui.dto.NotificationDto;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+class NotificationRelayTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final LocalNotificationDelivery localDelivery = mock(LocalNotificationDelivery.class);
+    private final NotificationRelayPublisher publisher = new NotificationRelayPublisher(
+            rabbitTemplate, objectMapper, localDelivery, "notification.relay", 2);
+    private final NotificationRelayListener listener =
+            new NotificationRelayListener(localDelivery, objectMapper);
+
+    @Test
+    void 발행한_변경분을_받으면_사용자별로_로컬_연결에만_넘긴다() {
+        publisher.dispatchAll(List.of(push("user-1", 1L), push("user-2", 2L)));
+
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(rabbitTemplate).convertAndSend(eq("notification.relay"), eq(""), message.capture());
+        verifyNoInteractions(localDelivery);
+
+        listener.handle(message.getValue());
+
+        ArgumentCaptor<NotificationDto> delivered = ArgumentCaptor.forClass(NotificationDto.class);
+        verify(localDelivery).deliver(eq("user-1"), delivered.capture());
+        verify(localDelivery).deliver(eq("user-2"), any());
+        assertThat(delivered.getValue().getId()).isEqualTo(1L);
+        assertThat(delivered.getValue().getTitle()).isEqualTo("제목");
+    }
+
+    @Test
+    void 대량_변경분은_메시지당_최대_개수로_나눠_발행한다() {
+        int relayed = publisher.dispatchAll(
+                List.of(push("user-1", 1L), push("user-2", 2L), push("user-3", 3L)));
+
+        assertThat(relayed).isEqualTo(3);
+        verify(rabbitTemplate, times(2)).convertAndSend(eq("notification.relay"), eq(""), anyString());
+    }
+
+    @Test
+    void 브로커에_발행하지_못하면_로컬_연결에는_바로_전달한다() {
+        doThrow(new AmqpConnectException(new java.net.ConnectException("refused")))
+                .when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class));
+
+        int relayed = publisher.dispatchAll(List.of(push("user-1", 1L)));
+
+        assertThat(relayed).isZero();
+        verify(localDelivery).deliver(eq("user-1"), any());
+    }
+
+    @Test
+    void 잘못된_중계_메시지는_무시한다() {
+        listener.handle("not-json");
+
+        verifyNoInteractions(localDelivery);
+    }
+
+    private NotificationPush push(String userId, Long id) {
+        return new NotificationPush(userId, NotificationDto.builder().id(id)
+                .type(NotificationType.EVENT).title("제목").content("내용")
+                .sentAt(LocalDateTime.of(2026, 6, 19, 10, 0)).build());
+    }
+}
@@ -1,98 +1,174 @@
 package org.codenbug.notification.infra.messaging;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Optional;
 
+import org.codenbug.notification.application.NotificationBatchCommandService;
 import org.codenbug.notification.application.NotificationCommandService;
+import org.codenbug.notification.application.NotificationCreateCommand;
 import org.codenbug.notification.domain.entity.NotificationType;
 import org.codenbug.notification.ui.dto.NotificationDto;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 class PurchaseNotificationEventListenerTest {
 
+    private static final String MANAGER_REFUND = """
+            {
+              "userId": "user-1",
+              "purchaseId": "purchase-1",
+              "orderId": "order-1",
+              "orderName": "Concert",
+              "eventName": "Concert",
+              "refundAmount": 1000,
+              "refundReason": "reason",
+              "refundedAt": "2026-06-19T10:15:30",
+              "managerName": "manager-1"
+            }
+            """;
+
     private final NotificationCommandService notificationCommandService =
             org.mockito.Mockito.mock(NotificationCommandService.class);
-    private final PurchaseNotificationEventListener listener =
-            new PurchaseNotificationEventListener(notificationCommandService, new ObjectMapper());
+    private final NotificationBatchCommandService notificationBatchService =
+            org.mockito.Mockito.mock(NotificationBatchCommandService.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PurchaseNotificationEventListener listener = new PurchaseNotificationEventListener(
+            notificationCommandService, notificationBatchService, objectMapper);
 
     @Test
     void 매니저_환불_이벤트는_managerName까지_포함한_sourceKey를_사용한다() {
-        when(notificationCommandService.createNotificationIfAbsent(any(), any(), any(), any(), any(), any()))
-                .thenReturn(Optional.of(new NotificationDto()));
+        listener.handleManagerRefundCompletedEvents(List.of(message(MANAGER_REFUND)));
 
-        listener.handleManagerRefundCompletedEvent("""
-                {
-                  "userId": "user-1",
-                  "purchaseId": "purchase-1",
-                  "orderId": "order-1",
-                  "orderName": "Concert",
-                  "eventName": "Concert",
-                  "refundAmount": 1000,
-                  "refundReason": "reason",
-                  "refundedAt": "2026-06-19T10:15:30",
-                  "managerName": "manager-1"
-                }
-                """);
-
-        verify(notificationCommandService).createNotificationIfAbsent(eq("user-1"),
-                eq(NotificationType.PAYMENT), eq("[티켓온] 매니저 환불 처리"), any(),
-                eq("/my-account/refund-history"),
-                eq("notification.manager.refund.completed:user-1:purchase-1:2026-06-19T10:15:30:manager-1"));
+        NotificationCreateCommand command = capturedCommands().get(0);
+        org.assertj.core.api.Assertions.assertThat(command.userId()).isEqualTo("user-1");
+        org.assertj.core.api.Assertions.assertThat(command.type()).isEqualTo(NotificationType.PAYMENT);
+        org.assertj.core.api.Assertions.assertThat(command.title()).isEqualTo("[티켓온] 매니저 환불 처리");
+        org.assertj.core.api.Assertions.assertThat(command.targetUrl())
+                .isEqualTo("/my-account/refund-history");
+        org.assertj.core.api.Assertions.assertThat(command.sourceKey()).isEqualTo(
+                "notification.manager.refund.completed:user-1:purchase-1:2026-06-19T10:15:30:manager-1");
     }
 
     @Test
     void 매니저_환불_이벤트는_content에_관리자와_환불정보를_채운다() {
-        when(notificationCommandService.createNotificationIfAbsent(any(), any(), any(), any(), any(), any()))
-                .thenReturn(Optional.of(new NotificationDto()));
+        listener.handleManagerRefundCompletedEvents(List.of(message(MANAGER_REFUND)));
 
-        listener.handleManagerRefundCompletedEvent("""
-                {
-                  "userId": "user-1",
-                  "purchaseId": "purchase-1",
-                  "orderId": "order-1",
-                  "orderName": "Concert",
-                  "eventName": "Concert",
-                  "refundAmount": 1000,
-                  "refundReason": "reason",
-                  "refundedAt": "2026-06-19T10:15:30",
-                  "managerName": "manager-1"
-                }
-                """);
-
-        ArgumentCaptor<String> contentCaptor = ArgumentCaptor.forClass(String.class);
-        verify(notificationCommandService).createNotificationIfAbsent(eq("user-1"),
-                eq(NotificationType.PAYMENT), eq("[티켓온] 매니저 환불 처리"),
-                contentCaptor.capture(), eq("/my-account/refund-history"),
-                eq("notification.manager.refund.completed:user-1:purchase-1:2026-06-19T10:15:30:manager-1"));
-        org.assertj.core.api.Assertions.assertThat(contentCaptor.getValue()).contains("처리자: manager-1",
-                "환불 금액: 1,000원", "환불 사유: reason");
+        org.assertj.core.api.Assertions.assertThat(capturedCommands().get(0).content())
+                .contains("처리자: manager-1", "환불 금액: 1,000원", "환불 사유: reason");
     }
 
     @Test
     void managerName이_없으면_저장하지_않고_건너뛴다() {
-        listener.handleManagerRefundCompletedEvent("""
-                {
-                  "userId": "user-1",
-                  "purchaseId": "purchase-1",
-                  "orderId": "order-1",
-                  "orderName": "Concert",
-                  "eventName": "Concert",
-                  "refundAmount": 1000,
-                  "refundReason": "reason",
-                  "refundedAt": "2026-06-19T10:15:30",
-                  "managerName": "   "
-                }
-                """);
+        listener.handleManagerRefundCompletedEvents(List.of(
+                message(MANAGER_REFUND.replace("\"manager-1\"", "\"   \""))));
+
+        verify(notificationBatchService, never()).createNotificationsIfAbsent(anyString(), anyList());
+        verify(notificationCommandService, never()).createNotificationIfAbsent(any(), any(), any(),
+                any(), any(), any());
+    }
+
+    @Test
+    void 배치의_정상_메시지만_한번에_저장하고_잘못된_메시지는_건너뛴다() throws Exception {
+        String secondRefund = MANAGER_REFUND.replace("purchase-1", "purchase-2");
+        // JSON 메시지 컨버터로 보낸 문자열은 한 번 더 따옴표로 감싸져 온다.
+        Message encodedTwice = message(objectMapper.writeValueAsString(secondRefund));
+
+        listener.handleManagerRefundCompletedEvents(
+                List.of(message(MANAGER_REFUND), message("{not-json"), encodedTwice));
+
+        org.assertj.core.api.Assertions.assertThat(capturedCommands())
+                .extracting(NotificationCreateCommand::sourceKey)
+                .containsExactly(
+                        "notification.manager.refund.completed:user-1:purchase-1:2026-06-19T10:15:30:manager-1",
+                        "notification.manager.refund.completed:user-1:purchase-2:2026-06-19T10:15:30:manager-1");
+        verify(notificationCommandService, never()).createNotificationIfAbsent(any(), any(), any(),
+                any(), any(), any());
+    }
+
+    @Test
+    void 배치_저장이_실패하면_메시지마다_멱등생성으로_다시_처리한다() {
+        when(notificationBatchService.createNotificationsIfAbsent(anyString(), anyList()))
+                .thenThrow(new DuplicateKeyException("uk_source_key"));
+        when(notificationCommandService.createNotificationIfAbsent(any(), any(), any(), any(), any(), any()))
+                .thenReturn(Optional.of(new NotificationDto()))
+                .thenReturn(Optional.empty());
+
+        listener.handleManagerRefundCompletedEvents(List.of(message(MANAGER_REFUND),
+                message(MANAGER_REFUND.replace("purchase-1", "purchase-2"))));
+
+        verify(notificationCommandService, times(2)).createNotificationIfAbsent(eq("user-1"),
+                eq(NotificationType.PAYMENT), eq("[티켓온] 매니저 환불 처리"), any(),
+                eq("/my-account/refund-history"), any());
+    }
+
+    @Test
+    void 배치_저장이_DB_장애로_실패하면_건너뛰지_않고_예외를_던진다() {
+        when(notificationBatchService.createNotificationsIfAbsent(anyString(), anyList()))
+                .thenThrow(new CannotGetJdbcConnectionException("db down"));
 
+        org.assertj.core.api.Assertions.assertThatThrownBy(() ->
+                        listener.handleManagerRefundCompletedEvents(List.of(message(MANAGER_REFUND))))
+                .isInstanceOf(CannotGetJdbcConnectionException.class);
         verify(notificationCommandService, never()).createNotificationIfAbsent(any(), any(), any(),
                 any(), any(), any());
     }
+
+    @Test
+    void 메시지별_재시도_중_DB_장애가_나면_배치를_다시_받도록_예외를_던진다() {
+        when(notificationBatchService.createNotificationsIfAbsent(anyString(), anyList()))
+                .thenThrow(new DuplicateKeyException("uk_source_key"));
+        when(notificationCommandService.createNotificationIfAbsent(any(), any(), any(), any(), any(), any()))
+                .thenThrow(new CannotGetJdbcConnectionException("db down"));
+
+        org.assertj.core.api.Assertions.assertThatThrownBy(() ->
+                        listener.handleManagerRefundCompletedEvents(List.of(message(MANAGER_REFUND),
+                                message(MANAGER_REFUND.replace("purchase-1", "purchase-2")))))
+                .isInstanceOf(CannotGetJdbcConnectionException.class);
+        verify(notificationCommandService, times(1)).createNotificationIfAbsent(any(), any(), any(),
+                any(), any(), any());
+    }
+
+    @Test
+    void 메시지별_재시도에서_데이터_오류는_그_메시지만_건너뛴다() {
+        when(notificationBatchService.createNotificationsIfAbsent(anyString(), anyList()))
+                .thenThrow(new DuplicateKeyException("uk_source_key"));
+        when(notificationCommandService.createNotificationIfAbsent(any(), any(), any(), any(), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("content too long"))
+                .thenReturn(Optional.of(new NotificationDto()));
+
+        listener.handleManagerRefundCompletedEvents(List.of(message(MANAGER_REFUND),
+                message(MANAGER_REFUND.replace("purchase-1", "purchase-2"))));
+
+        verify(notificationCommandService, times(2)).createNotificationIfAbsent(any(), any(), any(),
+                any(), any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<NotificationCreateCommand> capturedCommands() {
+        ArgumentCaptor<List<NotificationCreateCommand>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationBatchService).createNotificationsIfAbsent(
+                eq("notification.manager.refund.completed"), captor.capture());
+        return captor.getValue();
+    }
+
+    private Message message(String body) {
+        return new Message(body.getBytes(StandardCharsets.UTF_8), new MessageProperties());
+    }
 }
@@ -0,0 +1,54 @@
+package org.codenbug.notification.ui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.codenbug.notification.domain.entity.NotificationSseConnection;
+import org.codenbug.notification.infra.NotificationRepository;
+import org.codenbug.notification.ui.dto.NotificationDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class NotificationEmitterServiceTest {
+
+    private final NotificationEmitterService emitterService =
+            new NotificationEmitterService(mock(NotificationRepository.class), 2);
+
+    @AfterEach
+    void tearDown() {
+        emitterService.destroy();
+    }
+
+    @Test
+    void 같은_사용자의_여러_탭은_각각_연결로_관리된다() {
+        emitterService.createEmitter("user-1", null);
+        emitterService.createEmitter("user-1", null);
+
+        assertThat(emitterService.getConnectionCount("user-1")).isEqualTo(2);
+        assertThat(emitterService.getActiveConnectionCount()).isEqualTo(1);
+        assertThat(emitterService.getTotalConnectionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void 이_인스턴스에_연결이_없는_사용자에게는_전달하지_않는다() {
+        emitterService.createEmitter("user-1", null);
+
+        assertThat(emitterService.deliver("user-2", NotificationDto.builder().id(1L).build()))
+                .isFalse();
+        assertThat(emitterService.deliver("user-1", NotificationDto.builder().id(1L).build()))
+                .isTrue();
+    }
+
+    @Test
+    void 연결_outbox는_정해진_크기를_넘으면_더_받지_않는다() {
+        NotificationSseConnection connection =
+                new NotificationSseConnection("user-1", new SseEmitter(), null, 2);
+
+        assertThat(connection.offer("e1", SseEmitter.event().data("1"))).isTrue();
+        assertThat(connection.offer("e2", SseEmitter.event().data("2"))).isTrue();
+        assertThat(connection.offer("e3", SseEmitter.event().data("3"))).isFalse();
+        assertThat(connection.tryStartDrain()).isTrue();
+        assertThat(connection.tryStartDrain()).isFalse();
+    }
+}
@@ -41,6 +41,20 @@ class NotificationQueryControllerTest {
         assertUserProtected("getNotificationDetail", Long.class);
         assertUserProtected("getUnreadNotifications", Pageable.class);
         assertUserProtected("getUnreadCount");
+        assertUserProtected("getNotificationSlice", String.class, int.class);
+        assertUserProtected("getUnreadNotificationSlice", String.class, int.class);
+    }
+
+    @Test
+    void 커서_목록_size는_최대100으로_제한되고_잘못된_값은_기본값을_쓴다() throws Exception {
+        try (LoggedInUserContext ignored = LoggedInUserContext
+                .open(new UserSecurityToken("user-1", "user-1@ticketon.site", Role.USER))) {
+            controller.getNotificationSlice("cursor-token", 500);
+            controller.getUnreadNotificationSlice(null, 0);
+        }
+
+        verify(notificationQueryService).getNotificationSlice("user-1", "cursor-token", 100);
+        verify(notificationQueryService).getUnreadNotificationSlice("user-1", null, 20);
     }
 
     @Test
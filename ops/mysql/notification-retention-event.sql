@@ -0,0 +1,8 @@
+-- 마스터 전용. 매일 한 번 3개월 앞 파티션을 만들고 1년 지난 보관 알림을 파티션째 지운다.
+-- event_scheduler=ON(MySQL 8 기본값)이어야 한다.
+
+USE ticketon;
+
+CREATE EVENT IF NOT EXISTS notification_archive_partition_rotation
+    ON SCHEDULE EVERY 1 DAY STARTS (CURRENT_DATE + INTERVAL 1 DAY + INTERVAL 4 HOUR)
+    DO CALL notification_archive_rotate_partitions(3, 12);
@@ -0,0 +1,91 @@
+-- 알림 보존 기간 정리용 스키마.
+--
+-- notification 테이블 자체는 파티셔닝하지 않는다. MySQL 파티션 테이블은 모든 유니크 키에 파티션 컬럼이 들어가야 하는데,
+-- notification은 PK(id)와 멱등 키인 UNIQUE(source_key)를 sent_at 없이 유지해야 한다. 대신 애플리케이션의 정리 작업이
+-- (is_read, sent_at, id) / (sent_at, id) 인덱스로 오래된 행을 작은 청크씩 notification_archive로 옮기고 지운다.
+--
+-- notification_archive는 sent_at 기준 월별 RANGE 파티션이라, 보관 기간이 끝난 달은 DELETE 없이 파티션째 버린다.
+-- 복제가 시작되기 전에 만들어지므로 마스터와 레플리카 양쪽에서 초기화 때 실행한다. 파티션 관리 이벤트는
+-- notification-retention-event.sql에서 마스터에만 만든다(레플리카는 복제된 DDL로 따라간다).
+-- 애플리케이션이 ddl-auto=update로 뜨면 이미 있는 이 테이블을 그대로 쓴다(ddl-auto=create인 로컬 환경에서는 파티션 없이 다시 만든다).
+
+USE ticketon;
+
+CREATE TABLE IF NOT EXISTS notification_archive (
+    id          BIGINT       NOT NULL,
+    sent_at     DATETIME(6)  NOT NULL,
+    user_id     VARCHAR(255) NOT NULL,
+    type        VARCHAR(32)  NOT NULL,
+    title       VARCHAR(100) NOT NULL,
+    content     VARCHAR(500),
+    target_url  VARCHAR(500),
+    is_read     BIT(1)       NOT NULL,
+    status      VARCHAR(32)  NOT NULL,
+    source_key  VARCHAR(255),
+    archived_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id, sent_at),
+    KEY idx_notification_archive_user_sent (user_id, sent_at)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci
+PARTITION BY RANGE COLUMNS (sent_at) (
+    PARTITION p_before VALUES LESS THAN ('2026-10-01'),
+    PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+);
+
+-- 앞으로 months_ahead개월치 파티션을 p_future에서 떼어 미리 만들고, keep_months개월보다 오래된 파티션을 지운다.
+-- 예: CALL notification_archive_rotate_partitions(3, 12);
+DROP PROCEDURE IF EXISTS notification_archive_rotate_partitions;
+
+DELIMITER $$
+
+CREATE PROCEDURE notification_archive_rotate_partitions(IN months_ahead INT, IN keep_months INT)
+BEGIN
+    DECLARE next_start DATETIME;
+    DECLARE target_end DATETIME;
+    DECLARE oldest_kept DATETIME;
+    DECLARE part_name VARCHAR(64);
+
+    SELECT MAX(CAST(TRIM(BOTH '''' FROM PARTITION_DESCRIPTION) AS DATETIME))
+      INTO next_start
+      FROM information_schema.PARTITIONS
+     WHERE TABLE_SCHEMA = DATABASE()
+       AND TABLE_NAME = 'notification_archive'
+       AND PARTITION_DESCRIPTION <> 'MAXVALUE';
+
+    SET target_end = DATE_ADD(DATE_FORMAT(CURDATE(), '%Y-%m-01'), INTERVAL months_ahead + 1 MONTH);
+    WHILE next_start < target_end DO
+        SET @ddl = CONCAT('ALTER TABLE notification_archive REORGANIZE PARTITION p_future INTO (',
+                          'PARTITION ', DATE_FORMAT(next_start, 'p%Y%m'),
+                          ' VALUES LESS THAN (''', DATE_FORMAT(DATE_ADD(next_start, INTERVAL 1 MONTH), '%Y-%m-%d'), '''), ',
+                          'PARTITION p_future VALUES LESS THAN (MAXVALUE))');
+        PREPARE stmt FROM @ddl;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+        SET next_start = DATE_ADD(next_start, INTERVAL 1 MONTH);
+    END WHILE;
+
+    SET oldest_kept = DATE_SUB(DATE_FORMAT(CURDATE(), '%Y-%m-01'), INTERVAL keep_months MONTH);
+    drop_loop: LOOP
+        SET part_name = NULL;
+        SELECT PARTITION_NAME
+          INTO part_name
+          FROM information_schema.PARTITIONS
+         WHERE TABLE_SCHEMA = DATABASE()
+           AND TABLE_NAME = 'notification_archive'
+           AND PARTITION_DESCRIPTION <> 'MAXVALUE'
+           AND CAST(TRIM(BOTH '''' FROM PARTITION_DESCRIPTION) AS DATETIME) <= oldest_kept
+         ORDER BY PARTITION_ORDINAL_POSITION
+         LIMIT 1;
+        IF part_name IS NULL THEN
+            LEAVE drop_loop;
+        END IF;
+        SET @ddl = CONCAT('ALTER TABLE notification_archive DROP PARTITION ', part_name);
+        PREPARE stmt FROM @ddl;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END LOOP;
+END$$
+
+DELIMITER ;
@@ -0,0 +1,12 @@
+package org.codenbug.infra.cache;
+
+/**
+ * 이벤트 정보가 바뀌었을 때 인스턴스 로컬 캐시를 비우는 쪽이 구현한다.
+ */
+public interface EventCacheInvalidationListener {
+
+	/**
+	 * @param staleVersion 변경 트랜잭션이 읽은 이벤트 버전. 이 버전 이하로 캐시된 값은 낡은 값이다.
+	 */
+	void onEventUpdated(String eventId, long staleVersion);
+}
@@ -0,0 +1,53 @@
+package org.codenbug.infra.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * event 모듈이 커밋 후 발행하는 이벤트 변경 알림을 구독해 {@link EventCacheInvalidationListener}들에 전달한다.
+ * <p>
+ * 채널은 {@code EventUpdatedEvent.TOPIC}과 같은 "event-updated"이고, 메시지는 "{eventId}:{version}" 형식이다.
+ */
+@Slf4j
+@Configuration
+public class EventCacheInvalidationSubscriber {
+	public static final String EVENT_UPDATED_CHANNEL = "event-updated";
+
+	@Bean
+	public RedisMessageListenerContainer eventCacheInvalidationListenerContainer(
+		RedisConnectionFactory connectionFactory, List<EventCacheInvalidationListener> listeners) {
+		RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+		container.setConnectionFactory(connectionFactory);
+		container.addMessageListener((message, pattern) -> {
+			String body = new String(message.getBody(), StandardCharsets.UTF_8);
+			int sep = body.lastIndexOf(':');
+			long version;
+			try {
+				if (sep <= 0) {
+					throw new NumberFormatException(body);
+				}
+				version = Long.parseLong(body.substring(sep + 1));
+			} catch (NumberFormatException e) {
+				log.warn("[eventUpdated] 잘못된 이벤트 변경 메시지. body={}", body);
+				return;
+			}
+			String eventId = body.substring(0, sep);
+			for (EventCacheInvalidationListener listener : listeners) {
+				try {
+					listener.onEventUpdated(eventId, version);
+				} catch (Exception e) {
+					log.warn("[eventUpdated] 캐시 무효화 실패. eventId={}, version={}", eventId, version, e);
+				}
+			}
+		}, new ChannelTopic(EVENT_UPDATED_CHANNEL));
+		return container;
+	}
+}
@@ -0,0 +1,121 @@
+package org.codenbug.infra.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 짧은 TTL의 인스턴스 로컬 캐시.
+ * <ul>
+ *   <li>같은 키를 동시에 조회하면 한 번만 로드하고 나머지는 그 결과를 기다린다.</li>
+ *   <li>무효화는 값의 버전 기준이다. 캐시된 값의 버전이 무효화 버전 이하일 때만 지워지므로
+ *   늦게 도착한 무효화 메시지가 더 새 값을 지우지 않는다.</li>
+ *   <li>로드 도중 무효화가 일어나면 그 로드 결과는 호출자에게만 돌려주고 캐시하지 않는다.</li>
+ * </ul>
+ *
+ * @param <K> 키
+ * @param <V> 값. {@code versionOf}가 null을 돌려주면 어떤 버전의 무효화에도 지워진다.
+ */
+public class VersionedCache<K, V> {
+	private final long ttlMillis;
+	private final Function<V, Long> versionOf;
+	private final LongSupplier clock;
+	private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+	private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+	private final AtomicLong invalidations = new AtomicLong();
+
+	public VersionedCache(Duration ttl, Function<V, Long> versionOf) {
+		this(ttl, versionOf, System::currentTimeMillis);
+	}
+
+	VersionedCache(Duration ttl, Function<V, Long> versionOf, LongSupplier clock) {
+		this.ttlMillis = ttl.toMillis();
+		this.versionOf = versionOf;
+		this.clock = clock;
+	}
+
+	/**
+	 * 유효한 캐시 값이 있으면 돌려주고, 없으면 로드한다. 로더의 예외는 기다리던 호출자 모두에게 그대로 전달된다.
+	 */
+	public V get(K key, Function<K, V> loader) {
+		Entry<V> entry = entries.get(key);
+		if (entry != null && entry.expiresAt > clock.getAsLong()) {
+			return entry.value;
+		}
+		return load(key, loader);
+	}
+
+	/**
+	 * 캐시를 건너뛰고 원본을 읽어 캐시를 갱신한다. 버전 비교처럼 정확성이 필요한 검사에 쓴다.
+	 * 이미 진행 중인 로드가 있으면 그 결과를 함께 쓴다.
+	 */
+	public V refresh(K key, Function<K, V> loader) {
+		return load(key, loader);
+	}
+
+	/**
+	 * 캐시된 값의 버전이 {@code staleVersion} 이하이면 지운다.
+	 */
+	public void invalidate(K key, long staleVersion) {
+		invalidations.incrementAndGet();
+		entries.computeIfPresent(key, (k, entry) -> {
+			Long version = versionOf.apply(entry.value);
+			return version == null || version <= staleVersion ? null : entry;
+		});
+	}
+
+	public void invalidate(K key) {
+		invalidations.incrementAndGet();
+		entries.remove(key);
+	}
+
+	public void invalidateAll() {
+		invalidations.incrementAndGet();
+		entries.clear();
+	}
+
+	private V load(K key, Function<K, V> loader) {
+		CompletableFuture<V> mine = new CompletableFuture<>();
+		CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+		if (running != null) {
+			return await(running);
+		}
+
+		long invalidationsAtStart = invalidations.get();
+		try {
+			V value = loader.apply(key);
+			if (value != null && invalidations.get() == invalidationsAtStart) {
+				entries.put(key, new Entry<>(value, clock.getAsLong() + ttlMillis));
+			}
+			mine.complete(value);
+			return value;
+		} catch (RuntimeException | Error e) {
+			mine.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, mine);
+		}
+	}
+
+	private V await(CompletableFuture<V> running) {
+		try {
+			return running.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (e.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw e;
+		}
+	}
+
+	private record Entry<V>(V value, long expiresAt) {
+	}
+}
@@ -0,0 +1,14 @@
+package org.codenbug.infra.http;
+
+import java.io.IOException;
+
+/**
+ * 다운스트림 동시 호출 한도를 넘어 요청을 보내지 않고 실패시킬 때 던진다.
+ * RestTemplate이 {@code ResourceAccessException}으로 감싸므로 호출부에서는 I/O 실패와 같이 다루면 된다.
+ */
+public class BulkheadFullException extends IOException {
+
+	public BulkheadFullException(String downstream) {
+		super("다운스트림 동시 호출 한도 초과: " + downstream);
+	}
+}
@@ -0,0 +1,94 @@
+package org.codenbug.infra.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * 다운스트림별 동시 호출 수를 세마포어로 제한한다.
+ * 자리는 응답을 닫을 때 돌려주므로 본문을 읽는 동안에도 호출 하나로 센다.
+ * synchronized 대신 세마포어를 쓰므로 가상 스레드에서 호출해도 캐리어 스레드를 붙잡지 않는다.
+ */
+class BulkheadInterceptor implements ClientHttpRequestInterceptor {
+	private final String downstream;
+	private final Semaphore permits;
+	private final long waitMillis;
+
+	BulkheadInterceptor(String downstream, Semaphore permits, long waitMillis) {
+		this.downstream = downstream;
+		this.permits = permits;
+		this.waitMillis = waitMillis;
+	}
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+		throws IOException {
+		try {
+			if (!permits.tryAcquire(waitMillis, TimeUnit.MILLISECONDS)) {
+				throw new BulkheadFullException(downstream);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("벌크헤드 대기 중 인터럽트: " + downstream);
+		}
+
+		try {
+			return new PermitReleasingResponse(execution.execute(request, body), permits);
+		} catch (IOException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	private static class PermitReleasingResponse implements ClientHttpResponse {
+		private final ClientHttpResponse delegate;
+		private final Semaphore permits;
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		private PermitReleasingResponse(ClientHttpResponse delegate, Semaphore permits) {
+			this.delegate = delegate;
+			this.permits = permits;
+		}
+
+		@Override
+		public HttpStatusCode getStatusCode() throws IOException {
+			return delegate.getStatusCode();
+		}
+
+		@Override
+		public String getStatusText() throws IOException {
+			return delegate.getStatusText();
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return delegate.getHeaders();
+		}
+
+		@Override
+		public InputStream getBody() throws IOException {
+			return delegate.getBody();
+		}
+
+		@Override
+		public void close() {
+			try {
+				delegate.close();
+			} finally {
+				if (released.compareAndSet(false, true)) {
+					permits.release();
+				}
+			}
+		}
+	}
+}
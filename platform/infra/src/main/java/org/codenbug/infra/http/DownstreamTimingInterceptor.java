@@ -0,0 +1,46 @@
+package org.codenbug.infra.http;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 다운스트림별 호출 시간을 {@value HttpClientFactory#TIMER_NAME} 타이머로 남긴다.
+ * 벌크헤드 대기와 응답 헤더 수신까지를 재며, 실패는 status 태그로 구분한다 (BULKHEAD_FULL, IO_ERROR).
+ */
+class DownstreamTimingInterceptor implements ClientHttpRequestInterceptor {
+	private final String downstream;
+	private final MeterRegistry meterRegistry;
+
+	DownstreamTimingInterceptor(String downstream, MeterRegistry meterRegistry) {
+		this.downstream = downstream;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+		throws IOException {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		String status = "IO_ERROR";
+		try {
+			ClientHttpResponse response = execution.execute(request, body);
+			status = String.valueOf(response.getStatusCode().value());
+			return response;
+		} catch (BulkheadFullException e) {
+			status = "BULKHEAD_FULL";
+			throw e;
+		} finally {
+			sample.stop(Timer.builder(HttpClientFactory.TIMER_NAME)
+				.tag("downstream", downstream)
+				.tag("method", request.getMethod().name())
+				.tag("status", status)
+				.register(meterRegistry));
+		}
+	}
+}
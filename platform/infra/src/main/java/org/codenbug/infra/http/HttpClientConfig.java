@@ -0,0 +1,23 @@
+package org.codenbug.infra.http;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * RestTemplate 빈을 만드는 설정 클래스가 {@code @Import}한다. org.codenbug.infra를 스캔하지 않는 애플리케이션(broker, auth)과
+ * 모듈 단독 테스트 컨텍스트에서도 팩토리가 뜨게 하기 위해서다.
+ */
+@Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class HttpClientConfig {
+
+	@Bean
+	public HttpClientFactory httpClientFactory(HttpClientProperties properties,
+		ObjectProvider<MeterRegistry> meterRegistry) {
+		return new HttpClientFactory(properties, meterRegistry.getIfAvailable());
+	}
+}
@@ -0,0 +1,102 @@
+package org.codenbug.infra.http;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 다운스트림 이름별로 커넥션 풀과 벌크헤드를 하나씩 두고, 그 위에 RestTemplate을 만들어 준다.
+ * <p>
+ * 같은 다운스트림으로 만든 RestTemplate들은 풀과 벌크헤드를 공유한다. RestTemplate 자체는 매번 새로 만드므로
+ * 빈마다 {@code @LoadBalanced} 같은 인터셉터를 따로 붙여도 서로 섞이지 않는다.
+ */
+@Slf4j
+public class HttpClientFactory implements DisposableBean {
+	public static final String TIMER_NAME = "http.client.downstream";
+	public static final String BULKHEAD_GAUGE_NAME = "http.client.downstream.bulkhead.available";
+
+	private final HttpClientProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, CloseableHttpClient> clients = new ConcurrentHashMap<>();
+	private final Map<String, Semaphore> bulkheads = new ConcurrentHashMap<>();
+
+	/**
+	 * @param meterRegistry 없으면 null. 이때는 호출 시간을 기록하지 않는다.
+	 */
+	public HttpClientFactory(HttpClientProperties properties, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+	}
+
+	public RestTemplate restTemplate(String downstream) {
+		HttpClientProperties.Route route = properties.route(downstream);
+		RestTemplate restTemplate = new RestTemplate(
+			new HttpComponentsClientHttpRequestFactory(clients.computeIfAbsent(downstream, name -> httpClient(route))));
+		if (meterRegistry != null) {
+			restTemplate.getInterceptors().add(new DownstreamTimingInterceptor(downstream, meterRegistry));
+		}
+		restTemplate.getInterceptors().add(new BulkheadInterceptor(downstream,
+			bulkheads.computeIfAbsent(downstream, name -> bulkhead(name, route)), route.getBulkheadWait().toMillis()));
+		return restTemplate;
+	}
+
+	private CloseableHttpClient httpClient(HttpClientProperties.Route route) {
+		PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+			.setMaxConnTotal(route.getMaxConnections())
+			.setMaxConnPerRoute(route.getMaxConnectionsPerRoute())
+			.setDefaultConnectionConfig(ConnectionConfig.custom()
+				.setConnectTimeout(Timeout.of(route.getConnectTimeout()))
+				.setSocketTimeout(Timeout.of(route.getReadTimeout()))
+				.build())
+			.build();
+		return HttpClients.custom()
+			.setConnectionManager(connectionManager)
+			.setDefaultRequestConfig(RequestConfig.custom()
+				.setConnectionRequestTimeout(Timeout.of(route.getPoolAcquireTimeout()))
+				.setResponseTimeout(Timeout.of(route.getReadTimeout()))
+				.setDefaultKeepAlive(route.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS)
+				.build())
+			.evictExpiredConnections()
+			.evictIdleConnections(TimeValue.of(route.getMaxIdleTime()))
+			.build();
+	}
+
+	private Semaphore bulkhead(String downstream, HttpClientProperties.Route route) {
+		Semaphore semaphore = new Semaphore(route.getMaxConcurrentCalls());
+		if (meterRegistry != null) {
+			Gauge.builder(BULKHEAD_GAUGE_NAME, semaphore, Semaphore::availablePermits)
+				.tag("downstream", downstream)
+				.register(meterRegistry);
+		}
+		return semaphore;
+	}
+
+	@Override
+	public void destroy() {
+		clients.forEach((downstream, client) -> {
+			try {
+				client.close();
+			} catch (IOException e) {
+				log.warn("[httpClient] 커넥션 풀 종료 실패. downstream={}", downstream, e);
+			}
+		});
+	}
+}
@@ -0,0 +1,53 @@
+package org.codenbug.infra.http;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 서비스 간 호출용 HTTP 클라이언트 설정. 다운스트림(event, seat, toss ...) 이름별로 커넥션 풀, 타임아웃, 벌크헤드를 따로 둔다.
+ * <pre>
+ * custom:
+ *   http-client:
+ *     downstreams:
+ *       toss:
+ *         read-timeout: 10s
+ * </pre>
+ * 지정하지 않은 다운스트림과 항목은 {@link Route}의 기본값을 쓴다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "custom.http-client")
+public class HttpClientProperties {
+	private Map<String, Route> downstreams = new HashMap<>();
+
+	public Route route(String downstream) {
+		return downstreams.getOrDefault(downstream, new Route());
+	}
+
+	@Getter
+	@Setter
+	public static class Route {
+		/** TCP 연결 수립 제한 시간 */
+		private Duration connectTimeout = Duration.ofSeconds(1);
+		/** 응답 대기(소켓 읽기) 제한 시간 */
+		private Duration readTimeout = Duration.ofSeconds(3);
+		/** 풀에서 커넥션을 빌리기까지 기다리는 최대 시간 */
+		private Duration poolAcquireTimeout = Duration.ofMillis(500);
+		private int maxConnections = 200;
+		private int maxConnectionsPerRoute = 100;
+		/** 서버가 Keep-Alive 헤더를 주지 않을 때 커넥션을 재사용할 최대 시간 */
+		private Duration keepAlive = Duration.ofSeconds(20);
+		/** 이 시간 넘게 놀고 있는 커넥션은 백그라운드에서 닫는다 */
+		private Duration maxIdleTime = Duration.ofSeconds(30);
+		/** 동시에 나갈 수 있는 호출 수. 느린 다운스트림이 호출 스레드를 모두 묶지 못하게 한다 */
+		private int maxConcurrentCalls = 100;
+		/** 벌크헤드 자리가 날 때까지 기다리는 최대 시간. 넘으면 바로 실패한다 */
+		private Duration bulkheadWait = Duration.ofMillis(100);
+	}
+}
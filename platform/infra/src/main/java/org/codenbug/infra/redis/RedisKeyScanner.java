@@ -21,11 +21,10 @@ public class RedisKeyScanner {
 		Set<String> keys = new HashSet<>();
 		ScanOptions options = ScanOptions.scanOptions().match(pattern).count(100).build();
 
-		try (Cursor<byte[]> cursor = redisTemplate.getConnectionFactory()
-			.getConnection()
-			.scan(options)) {
+		// RedisTemplate.scan은 커서를 닫을 때 커넥션도 함께 반납한다.
+		try (Cursor<String> cursor = redisTemplate.scan(options)) {
 			while (cursor.hasNext()) {
-				keys.add(new String(cursor.next()));
+				keys.add(cursor.next());
 			}
 		} catch (Exception e) {
 			log.error("Error scanning keys with pattern: {}", pattern, e);
@@ -0,0 +1,116 @@
+package org.codenbug.infra.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class VersionedCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final VersionedCache<String, Long> cache =
+        new VersionedCache<>(Duration.ofMillis(100), version -> version, now::get);
+
+    private Long load(long version) {
+        loads.incrementAndGet();
+        return version;
+    }
+
+    @Test
+    void TTL_안에서는_다시_로드하지_않는다() {
+        cache.get("e1", k -> load(1L));
+        cache.get("e1", k -> load(1L));
+        assertEquals(1, loads.get());
+
+        now.addAndGet(100);
+        cache.get("e1", k -> load(1L));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void 무효화_버전_이하로_캐시된_값만_지운다() {
+        cache.get("e1", k -> load(5L));
+
+        cache.invalidate("e1", 4L);
+        cache.get("e1", k -> load(6L));
+        assertEquals(1, loads.get());
+
+        cache.invalidate("e1", 5L);
+        assertEquals(6L, cache.get("e1", k -> load(6L)));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void refresh는_캐시를_건너뛰고_갱신한다() {
+        cache.get("e1", k -> load(1L));
+
+        assertEquals(2L, cache.refresh("e1", k -> load(2L)));
+        assertEquals(2L, cache.get("e1", k -> load(3L)));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void 로드_중_무효화되면_결과를_캐시하지_않는다() {
+        Long loaded = cache.get("e1", k -> {
+            cache.invalidate("e1", 1L);
+            return load(1L);
+        });
+
+        assertEquals(1L, loaded);
+        cache.get("e1", k -> load(2L));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void 로드_실패는_캐시하지_않고_그대로_던진다() {
+        assertThrows(IllegalStateException.class, () -> cache.get("e1", k -> {
+            throw new IllegalStateException("down");
+        }));
+
+        assertEquals(1L, cache.get("e1", k -> load(1L)));
+    }
+
+    @Test
+    void 같은_키의_동시_조회는_한_번만_로드한다() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<Long> first = executor.submit(() -> cache.get("e1", k -> {
+                loading.countDown();
+                await(release);
+                return load(7L);
+            }));
+            assertTrue(loading.await(1, TimeUnit.SECONDS));
+
+            Future<Long> second = executor.submit(() -> cache.get("e1", k -> load(8L)));
+            Future<Long> third = executor.submit(() -> cache.get("e1", k -> load(9L)));
+            Thread.sleep(50);
+            release.countDown();
+
+            assertEquals(7L, first.get(1, TimeUnit.SECONDS));
+            assertEquals(7L, second.get(1, TimeUnit.SECONDS));
+            assertEquals(7L, third.get(1, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.codenbug.infra.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.Semaphore;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+
+class BulkheadInterceptorTest {
+
+    private final Semaphore permits = new Semaphore(1);
+    private final BulkheadInterceptor interceptor = new BulkheadInterceptor("event", permits, 10);
+    private final MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("http://event/x"));
+    private final ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+
+    @Test
+    void 응답을_닫을_때까지_자리를_차지한다() throws Exception {
+        when(execution.execute(any(), any())).thenReturn(mock(ClientHttpResponse.class));
+
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0], execution);
+        assertEquals(0, permits.availablePermits());
+        assertThrows(BulkheadFullException.class, () -> interceptor.intercept(request, new byte[0], execution));
+
+        response.close();
+        response.close();
+        assertEquals(1, permits.availablePermits());
+    }
+
+    @Test
+    void 호출이_실패하면_자리를_바로_돌려준다() throws Exception {
+        when(execution.execute(any(), any())).thenThrow(new IOException("connect timed out"));
+
+        assertThrows(IOException.class, () -> interceptor.intercept(request, new byte[0], execution));
+        assertEquals(1, permits.availablePermits());
+    }
+}
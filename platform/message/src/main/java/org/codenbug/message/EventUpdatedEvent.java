@@ -21,4 +21,7 @@ public class EventUpdatedEvent {
     private Integer minPrice;
     private Integer maxPrice;
     private Long categoryId;
+    // 변경 트랜잭션이 읽은 버전. 이 버전 이하로 캐시된 이벤트 정보는 낡은 값이다.
+    private Long version;
+    private Long salesVersion;
 }
\ No newline at end of file
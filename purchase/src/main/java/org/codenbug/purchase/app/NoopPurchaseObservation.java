@@ -1,5 +1,8 @@
 package org.codenbug.purchase.app;
 
+import java.time.Duration;
+import java.util.function.IntSupplier;
+
 import org.codenbug.purchase.domain.RefundStatus;
 
 enum NoopPurchaseObservation implements PurchaseObservation {
@@ -12,4 +15,16 @@ enum NoopPurchaseObservation implements PurchaseObservation {
 	@Override
 	public void recordRefundResult(RefundStatus status) {
 	}
+
+	@Override
+	public void recordConfirmStage(String stage, Duration elapsed) {
+	}
+
+	@Override
+	public void registerConfirmExecutor(IntSupplier queueDepth, IntSupplier inFlight) {
+	}
+
+	@Override
+	public void recordRetentionChunk(String table, int archived, Duration elapsed) {
+	}
 }
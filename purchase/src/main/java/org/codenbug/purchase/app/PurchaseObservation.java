@@ -1,5 +1,8 @@
 package org.codenbug.purchase.app;
 
+import java.time.Duration;
+import java.util.function.IntSupplier;
+
 import org.codenbug.purchase.domain.RefundStatus;
 
 public interface PurchaseObservation {
@@ -7,6 +10,12 @@ public interface PurchaseObservation {
 
 	void recordRefundResult(RefundStatus status);
 
+	void recordConfirmStage(String stage, Duration elapsed);
+
+	void registerConfirmExecutor(IntSupplier queueDepth, IntSupplier inFlight);
+
+	void recordRetentionChunk(String table, int archived, Duration elapsed);
+
 	static PurchaseObservation noop() {
 		return NoopPurchaseObservation.INSTANCE;
 	}
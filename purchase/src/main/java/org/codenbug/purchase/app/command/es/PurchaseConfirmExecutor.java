@@ -0,0 +1,126 @@
+package org.codenbug.purchase.app.command.es;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.codenbug.purchase.app.PurchaseObservation;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 결제 확정 작업을 여러 파티션에서 병렬로 실행한다.
+ * <p>
+ * 파티션은 purchaseId 해시로 고르고 파티션마다 스레드가 하나라서, 같은 구매의 확정 작업은 들어온 순서대로 하나씩 실행된다.
+ * 대기 중인 작업 수가 {@code max-queued}에 닿으면 {@link #submit}이 자리가 날 때까지 호출 스레드(리스너)를 막는다.
+ */
+@Component
+@Slf4j
+public class PurchaseConfirmExecutor implements DisposableBean {
+  private final ExecutorService[] partitions;
+  private final Semaphore capacity;
+  private final AtomicInteger queued = new AtomicInteger();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final long shutdownTimeoutMs;
+
+  public PurchaseConfirmExecutor(
+      @Value("${purchase.confirm.partitions:32}") int partitionCount,
+      @Value("${purchase.confirm.max-queued:1000}") int maxQueued,
+      @Value("${purchase.confirm.virtual-threads:true}") boolean virtualThreads,
+      @Value("${purchase.confirm.shutdown-timeout-ms:30000}") long shutdownTimeoutMs,
+      PurchaseObservation purchaseObservation) {
+    if (partitionCount <= 0 || maxQueued <= 0) {
+      throw new IllegalArgumentException("purchase.confirm.partitions and max-queued must be positive");
+    }
+    this.partitions = new ExecutorService[partitionCount];
+    for (int i = 0; i < partitionCount; i++) {
+      partitions[i] = Executors.newSingleThreadExecutor(threadFactory(virtualThreads, i));
+    }
+    this.capacity = new Semaphore(maxQueued);
+    this.shutdownTimeoutMs = shutdownTimeoutMs;
+    purchaseObservation.registerConfirmExecutor(queued::get, inFlight::get);
+  }
+
+  /**
+   * @param partitionKey purchaseId. 같은 키의 작업은 제출한 순서대로 실행된다.
+   * @return 작업이 끝나면 완료되고, 작업이 던진 예외로 실패하는 future
+   */
+  public CompletableFuture<Void> submit(String partitionKey, Runnable task) {
+    try {
+      capacity.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return CompletableFuture.failedFuture(e);
+    }
+
+    CompletableFuture<Void> result = new CompletableFuture<>();
+    queued.incrementAndGet();
+    try {
+      partitionOf(partitionKey).execute(() -> {
+        queued.decrementAndGet();
+        inFlight.incrementAndGet();
+        try {
+          task.run();
+          result.complete(null);
+        } catch (Throwable t) {
+          result.completeExceptionally(t);
+        } finally {
+          inFlight.decrementAndGet();
+          capacity.release();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      queued.decrementAndGet();
+      capacity.release();
+      result.completeExceptionally(e);
+    }
+    return result;
+  }
+
+  public int queueDepth() {
+    return queued.get();
+  }
+
+  public int inFlight() {
+    return inFlight.get();
+  }
+
+  private ExecutorService partitionOf(String partitionKey) {
+    int hash = partitionKey == null ? 0 : partitionKey.hashCode();
+    return partitions[Math.floorMod(hash, partitions.length)];
+  }
+
+  private ThreadFactory threadFactory(boolean virtualThreads, int partition) {
+    String name = "purchase-confirm-" + partition;
+    return virtualThreads
+        ? Thread.ofVirtual().name(name).factory()
+        : Thread.ofPlatform().name(name).daemon(true).factory();
+  }
+
+  /**
+   * 이미 받은 작업은 끝까지 처리한다. 리스너 컨테이너가 먼저 멈추므로 새 작업은 들어오지 않고,
+   * 제한 시간 안에 못 끝낸 메시지는 ack되지 않은 채 채널이 닫혀 다시 전달된다.
+   */
+  @Override
+  public void destroy() throws InterruptedException {
+    for (ExecutorService partition : partitions) {
+      partition.shutdown();
+    }
+    long deadline = System.currentTimeMillis() + shutdownTimeoutMs;
+    for (ExecutorService partition : partitions) {
+      long remaining = deadline - System.currentTimeMillis();
+      if (remaining <= 0 || !partition.awaitTermination(remaining, TimeUnit.MILLISECONDS)) {
+        log.warn("[purchaseConfirm] 종료 대기 시간 초과. 남은 대기 작업={}, 처리 중={}", queued.get(), inFlight.get());
+        break;
+      }
+    }
+  }
+}
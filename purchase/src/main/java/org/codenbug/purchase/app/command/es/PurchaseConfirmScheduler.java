@@ -3,102 +3,160 @@ package org.codenbug.purchase.app.command.es;
 import org.codenbug.purchase.domain.port.es.PurchaseConfirmStatusProjectionStore;
 import org.codenbug.purchase.domain.port.es.PurchaseConfirmMessagePublisher;
 import org.codenbug.purchase.domain.port.es.PurchaseOutboxStore;
+import static org.codenbug.infra.transaction.TransactionExecutor.*;
+
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.codenbug.purchase.domain.PurchaseId;
 import org.codenbug.purchase.domain.es.PurchaseConfirmStatus;
 import org.codenbug.purchase.domain.es.PurchaseConfirmStatePolicy;
+import org.codenbug.purchase.domain.es.PurchaseConfirmStatusProjection;
 import org.codenbug.purchase.domain.es.PurchaseOutboxMessage;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * 결제 확정 outbox 릴레이. 여러 인스턴스가 함께 돌아도 같은 행을 두 번 보내지 않도록
+ * 한 배치를 {@code FOR UPDATE SKIP LOCKED}로 잡은 트랜잭션 안에서 발행하고 발행 완료 처리까지 끝낸다.
+ * <p>
+ * 배치가 꽉 차면 같은 주기 안에서 바로 다음 배치를 잡고, 빈 조회가 이어지면 조회 간격을 최대 간격까지 두 배씩 늘린다.
+ */
 @Component
 @Slf4j
 public class PurchaseConfirmScheduler {
-  private static final int BATCH_SIZE = 50;
-
   private final ObjectMapper objectMapper;
+  private final PlatformTransactionManager transactionManager;
   private final PurchaseOutboxStore outboxRepository;
   private final PurchaseConfirmStatusProjectionStore statusProjectionRepository;
   private final PurchaseConfirmMessagePublisher messagePublisher;
   private final int maxPublishAttempts;
+  private final int batchSize;
+  private final int maxBatchesPerPoll;
+  private final long minPollIntervalMs;
+  private final long maxPollIntervalMs;
+  private long idleIntervalMs;
+  private long nextPollAt;
 
   public PurchaseConfirmScheduler(ObjectMapper objectMapper,
+      @Qualifier("primaryTransactionManager") PlatformTransactionManager transactionManager,
       PurchaseOutboxStore outboxRepository,
       PurchaseConfirmStatusProjectionStore statusProjectionRepository,
       PurchaseConfirmMessagePublisher messagePublisher,
-      @Value("${purchase.outbox.max-publish-attempts:5}") int maxPublishAttempts) {
+      @Value("${purchase.outbox.max-publish-attempts:5}") int maxPublishAttempts,
+      @Value("${purchase.outbox.batch-size:200}") int batchSize,
+      @Value("${purchase.outbox.max-batches-per-poll:10}") int maxBatchesPerPoll,
+      @Value("${purchase.outbox.publish-interval-ms:50}") long minPollIntervalMs,
+      @Value("${purchase.outbox.max-poll-interval-ms:1000}") long maxPollIntervalMs) {
     this.objectMapper = objectMapper;
+    this.transactionManager = transactionManager;
     this.outboxRepository = outboxRepository;
     this.statusProjectionRepository = statusProjectionRepository;
     this.messagePublisher = messagePublisher;
     this.maxPublishAttempts = maxPublishAttempts;
+    this.batchSize = batchSize;
+    this.maxBatchesPerPoll = maxBatchesPerPoll;
+    this.minPollIntervalMs = minPollIntervalMs;
+    this.maxPollIntervalMs = maxPollIntervalMs;
   }
 
-  @Scheduled(fixedDelayString = "${purchase.outbox.publish-interval-ms:500}")
+  @Scheduled(fixedDelayString = "${purchase.outbox.publish-interval-ms:50}")
   public void processPendingConfirms() {
-    List<PurchaseOutboxMessage> batch = outboxRepository.findUnpublishedByQueueName(
-        PurchaseConfirmCommandService.CONFIRM_WORK_QUEUE,
-        PageRequest.of(0, BATCH_SIZE));
-    if (batch.isEmpty()) {
+    long now = System.currentTimeMillis();
+    if (now < nextPollAt) {
       return;
     }
 
+    int claimed;
+    int totalClaimed = 0;
+    int batches = 0;
+    do {
+      claimed = executeInTransaction(transactionManager, this::relayOneBatch);
+      totalClaimed += claimed;
+      batches++;
+    } while (claimed >= batchSize && batches < maxBatchesPerPoll);
+
+    if (totalClaimed == 0) {
+      idleIntervalMs = Math.min(maxPollIntervalMs, Math.max(minPollIntervalMs, idleIntervalMs * 2));
+    } else {
+      idleIntervalMs = 0;
+    }
+    nextPollAt = System.currentTimeMillis() + idleIntervalMs;
+  }
+
+  private int relayOneBatch() {
+    List<PurchaseOutboxMessage> batch = outboxRepository.claimUnpublishedByQueueName(
+        PurchaseConfirmCommandService.CONFIRM_WORK_QUEUE, batchSize);
+    if (batch.isEmpty()) {
+      return 0;
+    }
+
+    LocalDateTime now = LocalDateTime.now();
+    Map<PurchaseOutboxMessage, PurchaseId> purchaseIds = new LinkedHashMap<>();
     for (PurchaseOutboxMessage msg : batch) {
       String purchaseIdValue = extractPurchaseId(msg.getPayloadJson());
       if (purchaseIdValue == null || purchaseIdValue.isBlank()) {
-        msg.markFailedPermanently(LocalDateTime.now(), "invalid outbox payload: missing purchaseId");
+        msg.markFailedPermanently(now, "invalid outbox payload: missing purchaseId");
         outboxRepository.save(msg);
         continue;
       }
+      purchaseIds.put(msg, new PurchaseId(purchaseIdValue));
+    }
+    Map<String, PurchaseConfirmStatusProjection> projections = purchaseIds.isEmpty()
+        ? Map.of()
+        : statusProjectionRepository.findAllByIds(purchaseIds.values()).stream()
+            .collect(Collectors.toMap(PurchaseConfirmStatusProjection::getPurchaseId, Function.identity(),
+                (first, second) -> first));
 
-      PurchaseId purchaseId = new PurchaseId(purchaseIdValue);
-      PurchaseConfirmStatus currentStatus = findCurrentStatus(purchaseId);
+    List<PurchaseOutboxMessage> publishable = new ArrayList<>();
+    purchaseIds.forEach((msg, purchaseId) -> {
+      PurchaseConfirmStatusProjection projection = projections.get(purchaseId.getValue());
+      PurchaseConfirmStatus currentStatus = projection == null ? null : projection.getStatus();
 
       if (isTerminalStatus(currentStatus)) {
-        msg.markFailedPermanently(LocalDateTime.now(), "non-retryable status: " + currentStatus.name());
+        msg.markFailedPermanently(now, "non-retryable status: " + currentStatus.name());
         outboxRepository.save(msg);
-        continue;
+        return;
       }
 
       if (msg.getPublishAttempts() >= maxPublishAttempts) {
-        msg.markFailedPermanently(LocalDateTime.now(), "max publish attempts exceeded");
-        statusProjectionRepository.findById(purchaseId)
-            .ifPresent(projection -> {
-              projection.update(PurchaseConfirmStatus.FAILED, "max attempts exceeded", LocalDateTime.now());
-              statusProjectionRepository.save(projection);
-            });
+        msg.markFailedPermanently(now, "max publish attempts exceeded");
+        if (projection != null) {
+          projection.update(PurchaseConfirmStatus.FAILED, "max attempts exceeded", now);
+          statusProjectionRepository.save(projection);
+        }
         outboxRepository.save(msg);
-        continue;
+        return;
       }
+      publishable.add(msg);
+    });
 
+    if (!publishable.isEmpty()) {
       try {
-        messagePublisher.publish(msg);
-        msg.markPublished(LocalDateTime.now());
-        outboxRepository.save(msg);
+        messagePublisher.publishAll(publishable);
       } catch (Exception e) {
         log.info(e.getMessage(), e);
-        msg.markPublishAttemptFailed(e.getMessage());
-        outboxRepository.save(msg);
+        for (PurchaseOutboxMessage msg : publishable) {
+          msg.markPublishAttemptFailed(e.getMessage());
+          outboxRepository.save(msg);
+        }
+        return batch.size();
       }
+      outboxRepository.markPublished(publishable.stream().map(PurchaseOutboxMessage::getId).toList(), now);
     }
-  }
-
-  private PurchaseConfirmStatus findCurrentStatus(PurchaseId purchaseId) {
-    if (purchaseId == null || purchaseId.getValue().isBlank()) {
-      return null;
-    }
-    return statusProjectionRepository.findById(purchaseId)
-        .map(projection -> projection.getStatus())
-        .orElse(null);
+    return batch.size();
   }
 
   private boolean isTerminalStatus(PurchaseConfirmStatus status) {
@@ -4,9 +4,13 @@ import org.codenbug.purchase.domain.event.PaymentOutboxEventType;
 import org.codenbug.purchase.domain.port.es.PurchaseProcessedMessageStore;
 import static org.codenbug.infra.transaction.TransactionExecutor.*;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
+
+import org.codenbug.purchase.app.PurchaseObservation;
 
 import org.codenbug.purchase.domain.PaymentCancellationInfo;
 import org.codenbug.purchase.domain.port.PGApiService;
@@ -41,6 +45,7 @@ public class PurchaseConfirmWorker {
   private final PurchaseRepository purchaseRepository;
   private final RefundRepository refundRepository;
   private final PurchasePaymentFinalizationService finalizationService;
+  private final PurchaseObservation purchaseObservation;
 
   public PurchaseConfirmWorker(ObjectMapper objectMapper,
       @Qualifier("primaryTransactionManager") PlatformTransactionManager transactionManager,
@@ -48,7 +53,7 @@ public class PurchaseConfirmWorker {
       PurchaseConfirmStatusProjectionSerivce eventAppendService,
       EventInfoProvider eventServiceClient, PaymentProviderRouter paymentProviderRouter,
       PurchasePaymentFinalizationService finalizationService, PurchaseRepository purchaseRepository,
-      RefundRepository refundRepository) {
+      RefundRepository refundRepository, PurchaseObservation purchaseObservation) {
     this.objectMapper = objectMapper;
     this.transactionManager = transactionManager;
     this.processedMessageRepository = processedMessageRepository;
@@ -58,6 +63,7 @@ public class PurchaseConfirmWorker {
     this.finalizationService = finalizationService;
     this.purchaseRepository = purchaseRepository;
     this.refundRepository = refundRepository;
+    this.purchaseObservation = purchaseObservation;
   }
 
   public void process(String messageId, String payloadJson) {
@@ -65,6 +71,15 @@ public class PurchaseConfirmWorker {
     if (isBlank(messageId)) {
       return;
     }
+    long startedAt = System.nanoTime();
+    try {
+      doProcess(messageId, payloadJson);
+    } finally {
+      purchaseObservation.recordConfirmStage("total", Duration.ofNanos(System.nanoTime() - startedAt));
+    }
+  }
+
+  private void doProcess(String messageId, String payloadJson) {
 
     if (!tryAcquireProcessingMarker(messageId)) {
       return;
@@ -89,16 +104,20 @@ public class PurchaseConfirmWorker {
         return;
       }
 
-      markProcessingStarted(ctx);
-      Long actualSalesVersion = loadActualSalesVersion(ctx);
+      // 판매 버전 확인과 PG 호출 사이에는 PROCESSING 전이를 한 번만 기록한다 (버전 불일치면 바로 REJECTED).
+      ConfirmContext checked = ctx;
+      Long actualSalesVersion = timed("sales_version_check", () -> loadActualSalesVersion(checked));
       if (!ctx.expectedSalesVersion.equals(actualSalesVersion)) {
         recordEventChanged(ctx, actualSalesVersion);
         return;
       }
       markPgConfirmRequested(ctx);
-      PaymentConfirmationInfo paymentInfo = confirmWithPg(ctx);
+      PaymentConfirmationInfo paymentInfo = timed("pg_confirm", () -> confirmWithPg(checked));
       try {
-        finalizeConfirmedPayment(ctx, purchase, payloadJson, paymentInfo);
+        timed("finalize", () -> {
+          finalizeConfirmedPayment(checked, purchase, payloadJson, paymentInfo);
+          return null;
+        });
       } catch (Exception finalizationFailure) {
         recordFinalizationFailureAfterPgSuccess(ctx, paymentInfo, finalizationFailure);
       }
@@ -117,6 +136,15 @@ public class PurchaseConfirmWorker {
     }
   }
 
+  private <T> T timed(String stage, Supplier<T> action) {
+    long startedAt = System.nanoTime();
+    try {
+      return action.get();
+    } finally {
+      purchaseObservation.recordConfirmStage(stage, Duration.ofNanos(System.nanoTime() - startedAt));
+    }
+  }
+
   private boolean isBlank(String value) {
     return value == null || value.isBlank();
   }
@@ -165,18 +193,9 @@ public class PurchaseConfirmWorker {
     return ctx.terminal;
   }
 
-  private void markProcessingStarted(ConfirmContext ctx) {
-    executeInTransaction(transactionManager, () -> {
-      eventAppendService.upadteProjectionStatus(
-          new PurchaseId(ctx.purchaseId),
-          Map.of("purchaseId", ctx.purchaseId),
-          PurchaseConfirmStatus.PROCESSING, "processing");
-      return null;
-    });
-  }
-
   private Long loadActualSalesVersion(ConfirmContext ctx) {
-    EventSummary eventSummary = eventServiceClient.getEventSummary(ctx.eventId);
+    // 이후 같은 확정 처리의 조회는 방금 갱신된 캐시를 쓴다.
+    EventSummary eventSummary = eventServiceClient.getLatestEventSummary(ctx.eventId);
     return eventSummary.getSalesVersion();
   }
 
@@ -198,7 +217,7 @@ public class PurchaseConfirmWorker {
     PurchaseId purchaseId = new PurchaseId(ctx.purchaseId);
     executeInTransaction(transactionManager, () -> {
       eventAppendService.upadteProjectionStatus(purchaseId,
-          Map.of("provider", ctx.provider, "paymentKey", ctx.paymentKey),
+          Map.of("purchaseId", ctx.purchaseId, "provider", ctx.provider, "paymentKey", ctx.paymentKey),
           PurchaseConfirmStatus.PROCESSING, "pg confirm requested");
       return null;
     });
@@ -5,45 +5,79 @@ import java.util.Map;
 
 import org.codenbug.purchase.domain.event.PaymentOutboxEventType;
 import org.codenbug.purchase.app.command.es.PurchaseConfirmCommandService;
+import org.codenbug.purchase.app.command.es.PurchaseConfirmExecutor;
 import org.codenbug.purchase.app.command.es.PurchaseConfirmWorker;
 import org.codenbug.purchase.infra.config.PurchaseRabbitMqConfig;
 import org.codenbug.purchase.domain.PurchaseId;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+/**
+ * 결제 확정 메시지를 받아 {@link PurchaseConfirmExecutor}에 넘긴다.
+ * 리스너 스레드는 다음 메시지를 바로 받고, ack는 확정 작업이 끝난 뒤 보낸다.
+ * 작업이 실패하면 nack으로 다시 큐에 넣고, 읽을 수 없는 메시지는 다시 넣지 않고 버린다.
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class PaymentConfirmedConsumer {
   private final PurchaseConfirmWorker confirmWorker;
+  private final PurchaseConfirmExecutor confirmExecutor;
   private final ObjectMapper objectMapper;
 
-  @RabbitListener(queues = { PurchaseRabbitMqConfig.PAYMENT_CONFIRM_QUEUE })
-  public void handle(String json) {
+  @RabbitListener(queues = { PurchaseRabbitMqConfig.PAYMENT_CONFIRM_QUEUE }, ackMode = "MANUAL")
+  public void handle(String json, Channel channel, @Header(AmqpHeaders.DELIVERY_TAG) long deliveryTag) {
+    PurchaseId purchaseId;
+    String messageId;
+    try {
+      Map<String, Object> valueMap = parse(json);
+      purchaseId = new PurchaseId(requiredString(valueMap, "purchaseId"));
+      messageId = messageIdOf(purchaseId, parseEventType(requiredString(valueMap, "eventType")));
+    } catch (IllegalArgumentException e) {
+      log.warn("[paymentConfirm] 처리할 수 없는 메시지를 버립니다. reason={}", e.getMessage());
+      reject(channel, deliveryTag);
+      return;
+    }
+
+    confirmExecutor.submit(purchaseId.getValue(), () -> confirmWorker.process(messageId, json))
+        .whenComplete((ignored, failure) -> {
+          if (failure == null) {
+            ack(channel, deliveryTag);
+          } else {
+            log.warn("[paymentConfirm] 확정 처리 실패, 다시 전달합니다. purchaseId={}", purchaseId.getValue(), failure);
+            requeue(channel, deliveryTag);
+          }
+        });
+  }
+
+  private Map<String, Object> parse(String json) {
     if (json == null || json.isBlank()) {
       throw new IllegalArgumentException("blank payment confirm message");
     }
 
-    Map<String, Object> valueMap;
     try {
-      valueMap = objectMapper.readValue(
+      return objectMapper.readValue(
           json,
           new TypeReference<Map<String, Object>>() {
           });
     } catch (IOException e) {
       throw new IllegalArgumentException("invalid payment confirm message", e);
     }
+  }
 
-    PurchaseId purchaseId = new PurchaseId(requiredString(valueMap, "purchaseId"));
-    PaymentOutboxEventType eventType = parseEventType(requiredString(valueMap, "eventType"));
-    String messageId = eventType == PaymentOutboxEventType.PAYMENT_CONFIRM_REQUESTED
+  private String messageIdOf(PurchaseId purchaseId, PaymentOutboxEventType eventType) {
+    return eventType == PaymentOutboxEventType.PAYMENT_CONFIRM_REQUESTED
         ? PurchaseConfirmCommandService.confirmCommandId(purchaseId)
         : eventType.value + ":" + purchaseId.getValue();
-    confirmWorker.process(messageId, json);
   }
 
   private String requiredString(Map<String, Object> valueMap, String fieldName) {
@@ -62,4 +96,27 @@ public class PaymentConfirmedConsumer {
     }
   }
 
+  private void ack(Channel channel, long deliveryTag) {
+    try {
+      channel.basicAck(deliveryTag, false);
+    } catch (Exception e) {
+      log.warn("[paymentConfirm] ack 실패. 채널이 닫혔다면 메시지는 다시 전달되고 처리 마커로 걸러진다. tag={}", deliveryTag, e);
+    }
+  }
+
+  private void requeue(Channel channel, long deliveryTag) {
+    try {
+      channel.basicNack(deliveryTag, false, true);
+    } catch (Exception e) {
+      log.warn("[paymentConfirm] nack 실패. tag={}", deliveryTag, e);
+    }
+  }
+
+  private void reject(Channel channel, long deliveryTag) {
+    try {
+      channel.basicReject(deliveryTag, false);
+    } catch (Exception e) {
+      log.warn("[paymentConfirm] reject 실패. tag={}", deliveryTag, e);
+    }
+  }
 }
@@ -0,0 +1,71 @@
+package org.codenbug.purchase.batch.job;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.codenbug.purchase.app.PurchaseObservation;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 한 번 실행될 때 보존 기간이 지난 행을 {@code chunkSize}만큼만 아카이브로 옮긴다.
+ * 스텝이 실행마다 트랜잭션을 새로 열기 때문에 행 잠금은 청크 하나를 옮기는 동안만 잡힌다.
+ * 청크가 꽉 차면 {@link RepeatStatus#CONTINUABLE}을 돌려 다음 청크를 이어서 처리한다.
+ * <p>
+ * 기준 시각은 잡 파라미터 {@code timestamp}로 고정해서, 실행 중에 새로 기준을 넘는 행을 쫓아가며 끝나지 않는 일이 없게 한다.
+ */
+@Slf4j
+public class PurchaseArchiveTasklet implements Tasklet {
+
+  @FunctionalInterface
+  public interface ArchiveChunk {
+    int archive(LocalDateTime before, int limit);
+  }
+
+  private final String table;
+  private final ArchiveChunk archiveChunk;
+  private final Duration retention;
+  private final int chunkSize;
+  private final PurchaseObservation purchaseObservation;
+
+  public PurchaseArchiveTasklet(String table, ArchiveChunk archiveChunk, Duration retention, int chunkSize,
+      PurchaseObservation purchaseObservation) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("purchase.retention.chunk-size must be positive");
+    }
+    this.table = table;
+    this.archiveChunk = archiveChunk;
+    this.retention = retention;
+    this.chunkSize = chunkSize;
+    this.purchaseObservation = purchaseObservation;
+  }
+
+  @Override
+  public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+    LocalDateTime cutoff = baseTime(chunkContext).minus(retention);
+    long startedAt = System.nanoTime();
+    int archived = archiveChunk.archive(cutoff, chunkSize);
+    purchaseObservation.recordRetentionChunk(table, archived, Duration.ofNanos(System.nanoTime() - startedAt));
+    contribution.incrementWriteCount(archived);
+
+    if (archived < chunkSize) {
+      log.info("[purchaseRetention] {} 아카이브 완료. 기준 시각={}", table, cutoff);
+      return RepeatStatus.FINISHED;
+    }
+    return RepeatStatus.CONTINUABLE;
+  }
+
+  private LocalDateTime baseTime(ChunkContext chunkContext) {
+    Long timestamp = chunkContext.getStepContext().getStepExecution().getJobParameters().getLong("timestamp");
+    if (timestamp == null) {
+      return LocalDateTime.now();
+    }
+    return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+  }
+}
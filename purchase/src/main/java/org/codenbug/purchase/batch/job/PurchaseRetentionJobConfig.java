@@ -0,0 +1,107 @@
+package org.codenbug.purchase.batch.job;
+
+import java.time.Duration;
+
+import org.codenbug.purchase.app.PurchaseObservation;
+import org.codenbug.purchase.domain.port.es.PurchaseRetentionStore;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.RepeatListener;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.repeat.support.RepeatTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * 발행이 끝난 outbox 메시지와 오래된 처리 마커를 아카이브 테이블로 옮기는 배치 Job 설정.
+ * 두 테이블 모두 {@code FOR UPDATE SKIP LOCKED}로 청크를 잡기 때문에 여러 인스턴스에서 동시에 돌아도 행을 나눠 갖는다.
+ */
+@Configuration
+public class PurchaseRetentionJobConfig {
+
+  static final String OUTBOX_TABLE = "purchase_outbox";
+  static final String PROCESSED_MESSAGE_TABLE = "purchase_processed_message";
+
+  private final JobRepository jobRepository;
+  private final PlatformTransactionManager transactionManager;
+  private final PurchaseRetentionStore retentionStore;
+  private final PurchaseObservation purchaseObservation;
+  private final Duration outboxRetention;
+  private final Duration processedMessageRetention;
+  private final int chunkSize;
+  private final long chunkPauseMs;
+
+  public PurchaseRetentionJobConfig(JobRepository jobRepository,
+      @Qualifier("primaryTransactionManager") PlatformTransactionManager transactionManager,
+      PurchaseRetentionStore retentionStore,
+      PurchaseObservation purchaseObservation,
+      @Value("${purchase.retention.outbox-days:14}") long outboxRetentionDays,
+      @Value("${purchase.retention.processed-message-days:7}") long processedMessageRetentionDays,
+      @Value("${purchase.retention.chunk-size:500}") int chunkSize,
+      @Value("${purchase.retention.chunk-pause-ms:100}") long chunkPauseMs) {
+    this.jobRepository = jobRepository;
+    this.transactionManager = transactionManager;
+    this.retentionStore = retentionStore;
+    this.purchaseObservation = purchaseObservation;
+    this.outboxRetention = Duration.ofDays(outboxRetentionDays);
+    this.processedMessageRetention = Duration.ofDays(processedMessageRetentionDays);
+    this.chunkSize = chunkSize;
+    this.chunkPauseMs = chunkPauseMs;
+  }
+
+  @Bean
+  public Job purchaseRetentionJob() {
+    return new JobBuilder("purchaseRetentionJob", jobRepository)
+        .incrementer(new RunIdIncrementer())
+        .start(purchaseOutboxArchiveStep())
+        .next(purchaseProcessedMessageArchiveStep())
+        .build();
+  }
+
+  @Bean
+  public Step purchaseOutboxArchiveStep() {
+    return new StepBuilder("purchaseOutboxArchiveStep", jobRepository)
+        .tasklet(new PurchaseArchiveTasklet(OUTBOX_TABLE, retentionStore::archivePublishedOutbox,
+            outboxRetention, chunkSize, purchaseObservation), transactionManager)
+        .stepOperations(throttled())
+        .build();
+  }
+
+  @Bean
+  public Step purchaseProcessedMessageArchiveStep() {
+    return new StepBuilder("purchaseProcessedMessageArchiveStep", jobRepository)
+        .tasklet(new PurchaseArchiveTasklet(PROCESSED_MESSAGE_TABLE, retentionStore::archiveProcessedMessages,
+            processedMessageRetention, chunkSize, purchaseObservation), transactionManager)
+        .stepOperations(throttled())
+        .build();
+  }
+
+  /**
+   * 청크 트랜잭션이 커밋된 뒤 잠깐 쉬어서, 온라인 트래픽과 복제 지연에 주는 부담을 나눈다.
+   */
+  private RepeatTemplate throttled() {
+    RepeatTemplate template = new RepeatTemplate();
+    template.registerListener(new RepeatListener() {
+      @Override
+      public void after(RepeatContext context, RepeatStatus result) {
+        if (chunkPauseMs <= 0 || !result.isContinuable()) {
+          return;
+        }
+        try {
+          Thread.sleep(chunkPauseMs);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    });
+    return template;
+  }
+}
@@ -0,0 +1,43 @@
+package org.codenbug.purchase.batch.scheduler;
+
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 결제 outbox/처리 마커 보존 배치 스케줄러. cron을 "-"로 두면 실행하지 않는다.
+ */
+@Slf4j
+@Component
+public class PurchaseRetentionScheduler {
+  private final JobLauncher jobLauncher;
+  private final Job purchaseRetentionJob;
+
+  public PurchaseRetentionScheduler(JobLauncher jobLauncher,
+      @Qualifier("purchaseRetentionJob") Job purchaseRetentionJob) {
+    this.jobLauncher = jobLauncher;
+    this.purchaseRetentionJob = purchaseRetentionJob;
+  }
+
+  @Scheduled(cron = "${purchase.retention.cron:0 30 4 * * *}")
+  public void runRetention() {
+    try {
+      JobParameters jobParameters = new JobParametersBuilder()
+          .addLong("timestamp", System.currentTimeMillis())
+          .addString("triggerType", "scheduled")
+          .toJobParameters();
+
+      var jobExecution = jobLauncher.run(purchaseRetentionJob, jobParameters);
+
+      log.info("[purchaseRetention] 보존 배치 종료. status={}", jobExecution.getStatus());
+    } catch (Exception e) {
+      log.error("[purchaseRetention] 보존 배치 실행 실패", e);
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package org.codenbug.purchase.domain.es;
+
+import java.time.LocalDateTime;
+
+import org.codenbug.purchase.domain.event.PaymentOutboxEventType;
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.Getter;
+
+/**
+ * 보존 기간이 지나 {@code purchase_outbox}에서 옮겨진 메시지. payload는 gzip으로 압축해 보관한다.
+ */
+@Entity
+@Getter
+@Table(name = "purchase_outbox_archive", indexes = {
+    @Index(name = "idx_purchase_outbox_archive_message_id", columnList = "message_id")
+})
+public class PurchaseOutboxArchive implements Persistable<Long> {
+  /** 원래 outbox 행의 id */
+  @Id
+  private Long id;
+
+  @Column(name = "message_id", nullable = false, length = 64)
+  private String messageId;
+
+  @Column(name = "queue_name", nullable = false, length = 128)
+  private String queueName;
+
+  @Column(name = "event_type", nullable = false)
+  private PaymentOutboxEventType eventType;
+
+  @Lob
+  @Column(name = "payload_gzip", nullable = false, columnDefinition = "LONGBLOB")
+  private byte[] payloadGzip;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "published_at")
+  private LocalDateTime publishedAt;
+
+  @Column(name = "publish_attempts", nullable = false)
+  private int publishAttempts;
+
+  @Column(name = "last_error")
+  private String lastError;
+
+  @Column(name = "archived_at", nullable = false)
+  private LocalDateTime archivedAt;
+
+  protected PurchaseOutboxArchive() {
+  }
+
+  public static PurchaseOutboxArchive of(PurchaseOutboxMessage message, byte[] payloadGzip, LocalDateTime now) {
+    PurchaseOutboxArchive archive = new PurchaseOutboxArchive();
+    archive.id = message.getId();
+    archive.messageId = message.getMessageId();
+    archive.queueName = message.getQueueName();
+    archive.eventType = message.getEventType();
+    archive.payloadGzip = payloadGzip;
+    archive.createdAt = message.getCreatedAt();
+    archive.publishedAt = message.getPublishedAt();
+    archive.publishAttempts = message.getPublishAttempts();
+    archive.lastError = message.getLastError();
+    archive.archivedAt = now;
+    return archive;
+  }
+
+  /**
+   * 아카이브 행은 한 번 쓰고 바꾸지 않는다. 원래 id를 그대로 쓰므로 저장할 때 merge용 SELECT를 건너뛰게 항상 새 행으로 취급한다.
+   */
+  @Override
+  public boolean isNew() {
+    return true;
+  }
+}
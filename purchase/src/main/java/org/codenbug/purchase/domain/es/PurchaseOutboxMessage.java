@@ -10,6 +10,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Lob;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
@@ -19,6 +20,11 @@ import lombok.Getter;
 @Getter
 @Table(name = "purchase_outbox", uniqueConstraints = {
     @UniqueConstraint(name = "uq_purchase_outbox_message_id", columnNames = { "message_id" })
+}, indexes = {
+    // 릴레이의 미발행 조회(queue_name = ? and published_at is null order by id)가 인덱스 범위 스캔으로 끝나게 한다
+    @Index(name = "idx_purchase_outbox_queue_published_id", columnList = "queue_name, published_at, id"),
+    // 보존 작업이 발행이 끝난 지 오래된 행을 발행 시각 순으로 잘라 가져간다
+    @Index(name = "idx_purchase_outbox_published_at", columnList = "published_at")
 })
 public class PurchaseOutboxMessage {
   @Id
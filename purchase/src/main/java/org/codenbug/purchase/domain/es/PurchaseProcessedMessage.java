@@ -5,12 +5,16 @@ import java.time.LocalDateTime;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.Getter;
 
 @Entity
 @Getter
-@Table(name = "purchase_processed_message")
+@Table(name = "purchase_processed_message", indexes = {
+	// 보존 작업이 오래된 마커를 처리 시각 순으로 잘라 가져간다
+	@Index(name = "idx_purchase_processed_message_processed_at", columnList = "processed_at")
+})
 public class PurchaseProcessedMessage {
 	@Id
 	@Column(name = "message_id", length = 64)
@@ -0,0 +1,47 @@
+package org.codenbug.purchase.domain.es;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+
+/**
+ * 보존 기간이 지나 {@code purchase_processed_message}에서 옮겨진 처리 마커.
+ */
+@Entity
+@Getter
+@Table(name = "purchase_processed_message_archive")
+public class PurchaseProcessedMessageArchive implements Persistable<String> {
+	@Id
+	@Column(name = "message_id", length = 64)
+	private String messageId;
+
+	@Column(name = "processed_at", nullable = false)
+	private LocalDateTime processedAt;
+
+	@Column(name = "archived_at", nullable = false)
+	private LocalDateTime archivedAt;
+
+	protected PurchaseProcessedMessageArchive() {}
+
+	public PurchaseProcessedMessageArchive(PurchaseProcessedMessage message, LocalDateTime archivedAt) {
+		this.messageId = message.getMessageId();
+		this.processedAt = message.getProcessedAt();
+		this.archivedAt = archivedAt;
+	}
+
+	@Override
+	public String getId() {
+		return messageId;
+	}
+
+	@Override
+	public boolean isNew() {
+		return true;
+	}
+}
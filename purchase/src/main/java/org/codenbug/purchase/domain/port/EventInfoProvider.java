@@ -2,6 +2,15 @@ package org.codenbug.purchase.domain.port;
 
 import org.codenbug.purchase.domain.EventSummary;
 public interface EventInfoProvider {
+	/**
+	 * 짧은 시간 캐시된 값일 수 있다. 표시/소유권 확인처럼 잠깐 낡아도 되는 곳에 쓴다.
+	 */
 	EventSummary getEventSummary(String eventId);
+
+	/**
+	 * 캐시를 거치지 않고 최신 값을 읽는다. salesVersion 비교처럼 정확해야 하는 검사에 쓴다.
+	 */
+	EventSummary getLatestEventSummary(String eventId);
+
 	boolean isEventStateValid(String eventId, Long version, String status);
 }
@@ -1,7 +1,14 @@
 package org.codenbug.purchase.domain.port.es;
 
+import java.util.List;
+
 import org.codenbug.purchase.domain.es.PurchaseOutboxMessage;
 
 public interface PurchaseConfirmMessagePublisher {
   void publish(PurchaseOutboxMessage message);
+
+  /**
+   * 메시지들을 한 번에 보내고 브로커 확인(publisher confirm)까지 기다린다. 하나라도 확인받지 못하면 예외를 던진다.
+   */
+  void publishAll(List<PurchaseOutboxMessage> messages);
 }
@@ -1,5 +1,7 @@
 package org.codenbug.purchase.domain.port.es;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.codenbug.purchase.domain.PurchaseId;
@@ -10,5 +12,7 @@ public interface PurchaseConfirmStatusProjectionStore {
 
   Optional<PurchaseConfirmStatusProjection> findById(PurchaseId purchaseId);
 
+  List<PurchaseConfirmStatusProjection> findAllByIds(Collection<PurchaseId> purchaseIds);
+
   PurchaseConfirmStatusProjection save(PurchaseConfirmStatusProjection projection);
 }
@@ -1,17 +1,26 @@
 package org.codenbug.purchase.domain.port.es;
 
 import org.codenbug.purchase.domain.event.PaymentOutboxEventType;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.codenbug.purchase.domain.PurchaseId;
 import org.codenbug.purchase.domain.es.PurchaseOutboxMessage;
-import org.springframework.data.domain.Pageable;
 
 public interface PurchaseOutboxStore {
   PurchaseOutboxMessage save(PurchaseOutboxMessage message);
 
-  List<PurchaseOutboxMessage> findUnpublishedByQueueName(String queueName, Pageable pageable);
+  /**
+   * 트랜잭션 안에서 호출해야 한다. 돌려준 행은 트랜잭션이 끝날 때까지 다른 인스턴스가 가져가지 못한다.
+   */
+  List<PurchaseOutboxMessage> claimUnpublishedByQueueName(String queueName, int limit);
+
+  /**
+   * 아직 발행 처리되지 않은 메시지들만 한 번의 UPDATE로 발행 완료 처리하고, 바뀐 행 수를 돌려준다.
+   */
+  int markPublished(Collection<Long> ids, LocalDateTime now);
 
   Optional<PurchaseOutboxMessage> findByMessageId(String messageId);
 
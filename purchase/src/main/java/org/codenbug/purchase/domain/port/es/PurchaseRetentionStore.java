@@ -0,0 +1,19 @@
+package org.codenbug.purchase.domain.port.es;
+
+import java.time.LocalDateTime;
+
+/**
+ * 오래된 outbox 메시지와 처리 마커를 아카이브 테이블로 옮긴다. 두 메서드 모두 트랜잭션 안에서 호출해야 하고,
+ * 한 번에 {@code limit}행까지만 잠그므로 호출하는 쪽이 반환값을 보고 반복한다.
+ */
+public interface PurchaseRetentionStore {
+  /**
+   * @return 옮긴 행 수. {@code limit}보다 작으면 더 옮길 행이 없다
+   */
+  int archivePublishedOutbox(LocalDateTime publishedBefore, int limit);
+
+  /**
+   * @return 옮긴 행 수. {@code limit}보다 작으면 더 옮길 행이 없다
+   */
+  int archiveProcessedMessages(LocalDateTime processedBefore, int limit);
+}
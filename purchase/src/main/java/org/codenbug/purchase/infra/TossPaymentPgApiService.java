@@ -23,12 +23,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 public class TossPaymentPgApiService implements PGApiService {
   private static final PaymentProvider TOSS = PaymentProvider.TOSS;
   private final RestTemplate restTemplate;
+  private final ObjectMapper objectMapper;
   private final String secretKey;
   private final String tossApiUrl;
 
   public TossPaymentPgApiService(@Qualifier("purchaseExternalRestTemplate") RestTemplate restTemplate,
-      TossPaymentProperties tossPaymentProperties) {
+      ObjectMapper objectMapper, TossPaymentProperties tossPaymentProperties) {
     this.restTemplate = restTemplate;
+    this.objectMapper = objectMapper;
     this.secretKey = tossPaymentProperties.getSecretKey();
     this.tossApiUrl = tossPaymentProperties.getApiUrl();
   }
@@ -92,10 +94,7 @@ public class TossPaymentPgApiService implements PGApiService {
       HttpEntity<Map<String, Object>> request = new HttpEntity<>(body, createAuthHeaders(idempotencyKey));
       ResponseEntity<byte[]> response = restTemplate.exchange(url, HttpMethod.POST, request, byte[].class);
 
-      String responseBody = new String(response.getBody(), java.nio.charset.StandardCharsets.UTF_8);
-      ObjectMapper objectMapper = new ObjectMapper();
-
-      return objectMapper.readValue(responseBody, clazz);
+      return objectMapper.readValue(response.getBody(), clazz);
     } catch (Exception e) {
       throw new RuntimeException("Toss 응답 파싱 실패: " + e.getMessage(), e);
     }
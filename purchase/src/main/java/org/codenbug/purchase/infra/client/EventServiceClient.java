@@ -1,6 +1,10 @@
 package org.codenbug.purchase.infra.client;
 
+import java.time.Duration;
+
 import org.codenbug.common.RsData;
+import org.codenbug.infra.cache.EventCacheInvalidationListener;
+import org.codenbug.infra.cache.VersionedCache;
 import org.codenbug.purchase.domain.port.EventInfoProvider;
 import org.codenbug.purchase.domain.EventSummary;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -14,21 +18,42 @@ import org.springframework.web.client.RestTemplate;
 
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * 이벤트 요약은 짧은 TTL로 인스턴스에 캐시하고, 같은 이벤트의 동시 조회는 한 번의 요청으로 합친다.
+ * 캐시는 event 모듈의 변경 알림(version 기준)으로 비워진다.
+ */
 @Slf4j
 @Component("purchaseEventServiceClient")
-public class EventServiceClient implements EventInfoProvider {
+public class EventServiceClient implements EventInfoProvider, EventCacheInvalidationListener {
   private final RestTemplate restTemplate;
   private final String eventServiceBaseUrl;
+  private final VersionedCache<String, EventSummary> summaries;
 
   public EventServiceClient(
       @Qualifier("purchaseRestTemplate") RestTemplate restTemplate,
-      @Value("${services.event.base-url}") String eventServiceBaseUrl) {
+      @Value("${services.event.base-url}") String eventServiceBaseUrl,
+      @Value("${services.event.summary-cache-ttl-ms:3000}") long summaryCacheTtlMs) {
     this.restTemplate = restTemplate;
     this.eventServiceBaseUrl = eventServiceBaseUrl;
+    this.summaries = new VersionedCache<>(Duration.ofMillis(summaryCacheTtlMs), EventSummary::getVersion);
   }
 
   @Override
   public EventSummary getEventSummary(String eventId) {
+    return summaries.get(eventId, this::fetchEventSummary);
+  }
+
+  @Override
+  public EventSummary getLatestEventSummary(String eventId) {
+    return summaries.refresh(eventId, this::fetchEventSummary);
+  }
+
+  @Override
+  public void onEventUpdated(String eventId, long staleVersion) {
+    summaries.invalidate(eventId, staleVersion);
+  }
+
+  private EventSummary fetchEventSummary(String eventId) {
     String url = "%s/internal/events/%s/summary".formatted(eventServiceBaseUrl, eventId);
     ResponseEntity<RsData<EventSummaryResponse>> responseEntity = restTemplate.exchange(
         url,
@@ -36,9 +61,10 @@ public class EventServiceClient implements EventInfoProvider {
         HttpEntity.EMPTY,
         new ParameterizedTypeReference<RsData<EventSummaryResponse>>() {
         });
-    log.info("response:{}", responseEntity);
+    log.debug("response:{}", responseEntity);
 
-    EventSummaryResponse response = responseEntity.getBody().getData();
+    RsData<EventSummaryResponse> body = responseEntity.getBody();
+    EventSummaryResponse response = body == null ? null : body.getData();
     if (response == null) {
       throw new IllegalArgumentException("이벤트 정보를 찾을 수 없습니다.");
     }
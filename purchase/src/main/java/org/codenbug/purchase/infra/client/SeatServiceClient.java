@@ -19,7 +19,7 @@ public class SeatServiceClient implements SeatLayoutProvider {
 	private final RestTemplate restTemplate;
 	private final String seatServiceBaseUrl;
 
-	public SeatServiceClient(@org.springframework.beans.factory.annotation.Qualifier("purchaseRestTemplate") RestTemplate restTemplate,
+	public SeatServiceClient(@org.springframework.beans.factory.annotation.Qualifier("purchaseSeatRestTemplate") RestTemplate restTemplate,
 		@Value("${services.seat.base-url}") String seatServiceBaseUrl) {
 		this.restTemplate = restTemplate;
 		this.seatServiceBaseUrl = seatServiceBaseUrl;
@@ -1,6 +1,8 @@
 package org.codenbug.purchase.infra.command.es;
 
 import org.codenbug.purchase.infra.es.JpaPurchaseConfirmStatusProjectionRepository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.codenbug.purchase.domain.port.es.PurchaseConfirmStatusProjectionStore;
@@ -26,6 +28,14 @@ class PurchaseConfirmStatusProjectionStoreAdapter implements PurchaseConfirmStat
     return repository.findById(purchaseId.getValue());
   }
 
+  @Override
+  public List<PurchaseConfirmStatusProjection> findAllByIds(Collection<PurchaseId> purchaseIds) {
+    if (purchaseIds.isEmpty()) {
+      return List.of();
+    }
+    return repository.findAllById(purchaseIds.stream().map(PurchaseId::getValue).distinct().toList());
+  }
+
   @Override
   public PurchaseConfirmStatusProjection save(PurchaseConfirmStatusProjection projection) {
     return repository.save(projection);
@@ -1,6 +1,8 @@
 package org.codenbug.purchase.infra.command.es;
 
 import org.codenbug.purchase.infra.es.JpaPurchaseOutboxRepository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -8,7 +10,6 @@ import org.codenbug.purchase.domain.event.PaymentOutboxEventType;
 import org.codenbug.purchase.domain.port.es.PurchaseOutboxStore;
 import org.codenbug.purchase.domain.PurchaseId;
 import org.codenbug.purchase.domain.es.PurchaseOutboxMessage;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -25,8 +26,16 @@ class PurchaseOutboxStoreAdapter implements PurchaseOutboxStore {
   }
 
   @Override
-  public List<PurchaseOutboxMessage> findUnpublishedByQueueName(String queueName, Pageable pageable) {
-    return repository.findUnpublishedByQueueName(queueName, pageable);
+  public List<PurchaseOutboxMessage> claimUnpublishedByQueueName(String queueName, int limit) {
+    return repository.claimUnpublishedByQueueName(queueName, limit);
+  }
+
+  @Override
+  public int markPublished(Collection<Long> ids, LocalDateTime now) {
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    return repository.markPublished(ids, now);
   }
 
   @Override
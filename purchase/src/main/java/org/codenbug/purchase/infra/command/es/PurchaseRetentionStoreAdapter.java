@@ -0,0 +1,79 @@
+package org.codenbug.purchase.infra.command.es;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.codenbug.purchase.domain.es.PurchaseOutboxArchive;
+import org.codenbug.purchase.domain.es.PurchaseOutboxMessage;
+import org.codenbug.purchase.domain.es.PurchaseProcessedMessage;
+import org.codenbug.purchase.domain.es.PurchaseProcessedMessageArchive;
+import org.codenbug.purchase.domain.port.es.PurchaseRetentionStore;
+import org.codenbug.purchase.infra.es.JpaPurchaseOutboxArchiveRepository;
+import org.codenbug.purchase.infra.es.JpaPurchaseOutboxRepository;
+import org.codenbug.purchase.infra.es.JpaPurchaseProcessedMessageArchiveRepository;
+import org.codenbug.purchase.infra.es.JpaPurchaseProcessedMessageRepository;
+import org.springframework.stereotype.Component;
+
+/**
+ * 잠근 행을 아카이브 테이블에 쓰고 원래 테이블에서 id로 한 번에 지운다. 같은 트랜잭션이라 중간에 실패하면 둘 다 되돌아간다.
+ */
+@Component
+class PurchaseRetentionStoreAdapter implements PurchaseRetentionStore {
+  private final JpaPurchaseOutboxRepository outboxRepository;
+  private final JpaPurchaseOutboxArchiveRepository outboxArchiveRepository;
+  private final JpaPurchaseProcessedMessageRepository processedMessageRepository;
+  private final JpaPurchaseProcessedMessageArchiveRepository processedMessageArchiveRepository;
+
+  PurchaseRetentionStoreAdapter(JpaPurchaseOutboxRepository outboxRepository,
+      JpaPurchaseOutboxArchiveRepository outboxArchiveRepository,
+      JpaPurchaseProcessedMessageRepository processedMessageRepository,
+      JpaPurchaseProcessedMessageArchiveRepository processedMessageArchiveRepository) {
+    this.outboxRepository = outboxRepository;
+    this.outboxArchiveRepository = outboxArchiveRepository;
+    this.processedMessageRepository = processedMessageRepository;
+    this.processedMessageArchiveRepository = processedMessageArchiveRepository;
+  }
+
+  @Override
+  public int archivePublishedOutbox(LocalDateTime publishedBefore, int limit) {
+    List<PurchaseOutboxMessage> rows = outboxRepository.claimPublishedBefore(publishedBefore, limit);
+    if (rows.isEmpty()) {
+      return 0;
+    }
+    LocalDateTime now = LocalDateTime.now();
+    outboxArchiveRepository.saveAll(rows.stream()
+        .map(row -> PurchaseOutboxArchive.of(row, gzip(row.getPayloadJson()), now))
+        .toList());
+    outboxRepository.deleteAllByIdInBatch(rows.stream().map(PurchaseOutboxMessage::getId).toList());
+    return rows.size();
+  }
+
+  @Override
+  public int archiveProcessedMessages(LocalDateTime processedBefore, int limit) {
+    List<PurchaseProcessedMessage> rows = processedMessageRepository.claimProcessedBefore(processedBefore, limit);
+    if (rows.isEmpty()) {
+      return 0;
+    }
+    LocalDateTime now = LocalDateTime.now();
+    processedMessageArchiveRepository.saveAll(rows.stream()
+        .map(row -> new PurchaseProcessedMessageArchive(row, now))
+        .toList());
+    processedMessageRepository.deleteAllByIdInBatch(rows.stream().map(PurchaseProcessedMessage::getMessageId).toList());
+    return rows.size();
+  }
+
+  static byte[] gzip(String payload) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(payload.getBytes(StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+}
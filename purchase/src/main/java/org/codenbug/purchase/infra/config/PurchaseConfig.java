@@ -4,11 +4,14 @@ import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.web.client.RestTemplate;
 
+import org.codenbug.infra.http.HttpClientConfig;
+import org.codenbug.infra.http.HttpClientFactory;
 import org.codenbug.purchase.domain.port.EventInfoProvider;
 import org.codenbug.purchase.domain.PaymentValidationService;
 import org.codenbug.purchase.domain.PurchaseDomainService;
@@ -22,16 +25,22 @@ import org.codenbug.redislock.RedisLockService;
     "org.codenbug.purchase.infra" }, entityManagerFactoryRef = "primaryEntityManagerFactory", transactionManagerRef = "primaryTransactionManager")
 @EntityScan(basePackages = { "org.codenbug.purchase.domain" })
 @ComponentScan(basePackages = { "org.codenbug.purchase" })
+@Import(HttpClientConfig.class)
 public class PurchaseConfig {
 
   @Bean("purchaseRestTemplate")
-  public RestTemplate restTemplate() {
-    return new RestTemplate();
+  public RestTemplate restTemplate(HttpClientFactory httpClientFactory) {
+    return httpClientFactory.restTemplate("event");
+  }
+
+  @Bean("purchaseSeatRestTemplate")
+  public RestTemplate seatRestTemplate(HttpClientFactory httpClientFactory) {
+    return httpClientFactory.restTemplate("seat");
   }
 
   @Bean("purchaseExternalRestTemplate")
-  public RestTemplate purchaseRestTemplate() {
-    return new RestTemplate();
+  public RestTemplate purchaseRestTemplate(HttpClientFactory httpClientFactory) {
+    return httpClientFactory.restTemplate("toss");
   }
 
   @Bean("objectRedisTemplate")
@@ -0,0 +1,7 @@
+package org.codenbug.purchase.infra.es;
+
+import org.codenbug.purchase.domain.es.PurchaseOutboxArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface JpaPurchaseOutboxArchiveRepository extends JpaRepository<PurchaseOutboxArchive, Long> {
+}
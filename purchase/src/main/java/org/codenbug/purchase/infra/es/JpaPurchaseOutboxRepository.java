@@ -1,11 +1,14 @@
 package org.codenbug.purchase.infra.es;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.codenbug.purchase.domain.es.PurchaseOutboxMessage;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -19,13 +22,44 @@ public interface JpaPurchaseOutboxRepository extends JpaRepository<PurchaseOutbo
       """)
   List<PurchaseOutboxMessage> findUnpublished(Pageable pageable);
 
+  /**
+   * 발행되지 않은 메시지를 잠그고 가져온다. 다른 인스턴스가 잠근 행은 건너뛰므로 인스턴스끼리 같은 행을 나눠 갖지 않는다.
+   * 잠금은 호출한 트랜잭션이 끝날 때 풀린다.
+   */
+  @Query(value = """
+      select * from purchase_outbox
+      where queue_name = :queueName
+        and published_at is null
+      order by id asc
+      limit :limit
+      for update skip locked
+      """, nativeQuery = true)
+  List<PurchaseOutboxMessage> claimUnpublishedByQueueName(@Param("queueName") String queueName,
+      @Param("limit") int limit);
+
+  /**
+   * 기준 시각보다 먼저 발행(또는 영구 실패) 처리된 행을 잠그고 가져온다. 다른 인스턴스의 보존 작업이 잠근 행은 건너뛴다.
+   */
+  @Query(value = """
+      select * from purchase_outbox
+      where published_at < :publishedBefore
+      order by published_at asc
+      limit :limit
+      for update skip locked
+      """, nativeQuery = true)
+  List<PurchaseOutboxMessage> claimPublishedBefore(@Param("publishedBefore") LocalDateTime publishedBefore,
+      @Param("limit") int limit);
+
+  @Modifying
   @Query("""
-      	select m from PurchaseOutboxMessage m
-      	where m.publishedAt is null
-      	  and m.queueName = :queueName
-      	order by  m.id asc
+      update PurchaseOutboxMessage m
+      set m.publishedAt = :now,
+          m.publishAttempts = m.publishAttempts + 1,
+          m.lastError = null
+      where m.id in :ids
+        and m.publishedAt is null
       """)
-  List<PurchaseOutboxMessage> findUnpublishedByQueueName(String queueName, Pageable pageable);
+  int markPublished(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
 
   @Query("""
           select case
@@ -0,0 +1,8 @@
+package org.codenbug.purchase.infra.es;
+
+import org.codenbug.purchase.domain.es.PurchaseProcessedMessageArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface JpaPurchaseProcessedMessageArchiveRepository
+		extends JpaRepository<PurchaseProcessedMessageArchive, String> {
+}
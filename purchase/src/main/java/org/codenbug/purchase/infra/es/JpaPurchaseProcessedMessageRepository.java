@@ -1,8 +1,26 @@
 package org.codenbug.purchase.infra.es;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import org.codenbug.purchase.domain.es.PurchaseProcessedMessage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface JpaPurchaseProcessedMessageRepository
 		extends JpaRepository<PurchaseProcessedMessage, String> {
+
+	/**
+	 * 기준 시각보다 먼저 처리된 마커를 잠그고 가져온다. 다른 인스턴스의 보존 작업이 잠근 행은 건너뛴다.
+	 */
+	@Query(value = """
+		select * from purchase_processed_message
+		where processed_at < :processedBefore
+		order by processed_at asc
+		limit :limit
+		for update skip locked
+		""", nativeQuery = true)
+	List<PurchaseProcessedMessage> claimProcessedBefore(@Param("processedBefore") LocalDateTime processedBefore,
+		@Param("limit") int limit);
 }
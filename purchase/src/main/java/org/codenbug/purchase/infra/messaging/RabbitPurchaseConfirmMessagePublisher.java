@@ -1,17 +1,23 @@
 package org.codenbug.purchase.infra.messaging;
 
+import java.util.List;
+
 import org.codenbug.purchase.domain.es.PurchaseOutboxMessage;
 import org.codenbug.purchase.domain.port.es.PurchaseConfirmMessagePublisher;
 import org.codenbug.purchase.infra.config.PurchaseRabbitMqConfig;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class RabbitPurchaseConfirmMessagePublisher implements PurchaseConfirmMessagePublisher {
   private final RabbitTemplate rabbitTemplate;
+  private final long confirmTimeoutMs;
 
-  public RabbitPurchaseConfirmMessagePublisher(RabbitTemplate rabbitTemplate) {
+  public RabbitPurchaseConfirmMessagePublisher(RabbitTemplate rabbitTemplate,
+      @Value("${purchase.outbox.confirm-timeout-ms:5000}") long confirmTimeoutMs) {
     this.rabbitTemplate = rabbitTemplate;
+    this.confirmTimeoutMs = confirmTimeoutMs;
   }
 
   @Override
@@ -20,4 +26,23 @@ public class RabbitPurchaseConfirmMessagePublisher implements PurchaseConfirmMes
         PurchaseRabbitMqConfig.PAYMENT_CONFIRM_ROUTING_KEY,
         message.getPayloadJson());
   }
+
+  /**
+   * 같은 채널에서 모두 보낸 뒤 확인을 한 번만 기다린다. spring.rabbitmq.publisher-confirm-type=simple이 필요하다.
+   */
+  @Override
+  public void publishAll(List<PurchaseOutboxMessage> messages) {
+    if (messages.isEmpty()) {
+      return;
+    }
+    rabbitTemplate.invoke(operations -> {
+      for (PurchaseOutboxMessage message : messages) {
+        operations.convertAndSend(PurchaseRabbitMqConfig.PAYMENT_EXCHANGE,
+            PurchaseRabbitMqConfig.PAYMENT_CONFIRM_ROUTING_KEY,
+            message.getPayloadJson());
+      }
+      operations.waitForConfirmsOrDie(confirmTimeoutMs);
+      return null;
+    });
+  }
 }
@@ -1,5 +1,8 @@
 package org.codenbug.purchase.infra.observability;
 
+import java.time.Duration;
+import java.util.function.IntSupplier;
+
 import org.codenbug.purchase.domain.Refund;
 import org.codenbug.purchase.app.PurchaseObservation;
 import org.codenbug.purchase.domain.PaymentStatus;
@@ -11,6 +14,7 @@ import org.springframework.stereotype.Component;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @Component
 public class MicrometerPurchaseObservation implements PurchaseObservation {
@@ -54,4 +58,40 @@ public class MicrometerPurchaseObservation implements PurchaseObservation {
 			.register(meterRegistry)
 			.increment();
 	}
+
+	@Override
+	public void recordConfirmStage(String stage, Duration elapsed) {
+		Timer.builder("ticketon.purchase.confirm.stage")
+			.description("Payment confirm stage latency")
+			.tags("stage", stage)
+			.publishPercentileHistogram()
+			.register(meterRegistry)
+			.record(elapsed);
+	}
+
+	@Override
+	public void registerConfirmExecutor(IntSupplier queueDepth, IntSupplier inFlight) {
+		Gauge.builder("ticketon.purchase.confirm.queue.depth", queueDepth, IntSupplier::getAsInt)
+			.description("Payment confirms waiting for a worker partition")
+			.register(meterRegistry);
+		Gauge.builder("ticketon.purchase.confirm.in.flight", inFlight, IntSupplier::getAsInt)
+			.description("Payment confirms being processed")
+			.register(meterRegistry);
+	}
+
+	@Override
+	public void recordRetentionChunk(String table, int archived, Duration elapsed) {
+		Timer.builder("ticketon.purchase.retention.chunk")
+			.description("Retention archive chunk latency")
+			.tags("table", table)
+			.register(meterRegistry)
+			.record(elapsed);
+		if (archived > 0) {
+			Counter.builder("ticketon.purchase.retention.archived")
+				.description("Rows moved to archive tables")
+				.tags("table", table)
+				.register(meterRegistry)
+				.increment(archived);
+		}
+	}
 }
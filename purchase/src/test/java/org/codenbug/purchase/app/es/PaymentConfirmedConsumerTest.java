@@ -1,13 +1,15 @@
 package org.codenbug.purchase.app.es;
 
-import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
+import org.codenbug.purchase.app.PurchaseObservation;
+import org.codenbug.purchase.app.command.es.PurchaseConfirmExecutor;
 import org.codenbug.purchase.app.command.es.PurchaseConfirmWorker;
 import org.codenbug.purchase.app.event.PaymentConfirmedConsumer;
 import org.codenbug.purchase.domain.PurchaseId;
 import org.codenbug.purchase.domain.event.PaymentOutboxEventType;
 import org.codenbug.purchase.domain.es.PurchaseOutboxMessage;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,6 +17,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
 
 @ExtendWith(MockitoExtension.class)
 class PaymentConfirmedConsumerTest {
@@ -22,62 +25,81 @@ class PaymentConfirmedConsumerTest {
   @Mock
   private PurchaseConfirmWorker confirmWorker;
 
+  @Mock
+  private Channel channel;
+
+  private PurchaseConfirmExecutor confirmExecutor;
   private PaymentConfirmedConsumer consumer;
 
   @BeforeEach
   void setUp() {
-    consumer = new PaymentConfirmedConsumer(confirmWorker, new ObjectMapper());
+    confirmExecutor = new PurchaseConfirmExecutor(2, 10, false, 1000, PurchaseObservation.noop());
+    consumer = new PaymentConfirmedConsumer(confirmWorker, confirmExecutor, new ObjectMapper());
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    confirmExecutor.destroy();
   }
 
   @Test
-  void handle_whenMessageBlank_rejectsWithoutProcessing() {
-    assertThatThrownBy(() -> consumer.handle(" "))
-        .isInstanceOf(IllegalArgumentException.class)
-        .hasMessageContaining("blank payment confirm message");
+  void handle_whenMessageBlank_rejectsWithoutProcessing() throws Exception {
+    consumer.handle(" ", channel, 1L);
 
+    verify(channel).basicReject(1L, false);
     verifyNoInteractions(confirmWorker);
   }
 
   @Test
-  void handle_whenPurchaseIdMissing_rejectsWithoutProcessing() {
+  void handle_whenPurchaseIdMissing_rejectsWithoutProcessing() throws Exception {
     String json = "{\"eventType\":\"PAYMENT_CONFIRM_REQUESTED\"}";
 
-    assertThatThrownBy(() -> consumer.handle(json))
-        .isInstanceOf(IllegalArgumentException.class)
-        .hasMessageContaining("missing purchaseId");
+    consumer.handle(json, channel, 2L);
 
+    verify(channel).basicReject(2L, false);
     verifyNoInteractions(confirmWorker);
   }
 
   @Test
-  void handle_whenEventTypeInvalid_rejectsWithoutProcessing() {
+  void handle_whenEventTypeInvalid_rejectsWithoutProcessing() throws Exception {
     String json = "{\"purchaseId\":\"p1\",\"eventType\":\"UNKNOWN\"}";
 
-    assertThatThrownBy(() -> consumer.handle(json))
-        .isInstanceOf(IllegalArgumentException.class)
-        .hasMessageContaining("invalid payment confirm eventType");
+    consumer.handle(json, channel, 3L);
 
+    verify(channel).basicReject(3L, false);
     verifyNoInteractions(confirmWorker);
   }
 
   @Test
-  void handle_whenValidConfirmRequested_usesConfirmCommandId() {
+  void handle_whenValidConfirmRequested_usesConfirmCommandIdAndAcksAfterProcessing() throws Exception {
     String json = "{\"purchaseId\":\"p1\",\"eventType\":\"PAYMENT_CONFIRM_REQUESTED\"}";
 
-    consumer.handle(json);
+    consumer.handle(json, channel, 4L);
 
+    verify(channel, timeout(1000)).basicAck(4L, false);
     verify(confirmWorker).process("confirm:p1", json);
   }
 
   @Test
-  void handle_whenPublishedOutboxPayloadConsumed_usesSameIdempotencyKeyAsOutbox() {
+  void handle_whenPublishedOutboxPayloadConsumed_usesSameIdempotencyKeyAsOutbox() throws Exception {
     String json = "{\"purchaseId\":\"p1\",\"eventType\":\"PAYMENT_CONFIRM_REQUESTED\"}";
     String outboxMessageId = PurchaseOutboxMessage.messageIdFor(
         PaymentOutboxEventType.PAYMENT_CONFIRM_REQUESTED,
         new PurchaseId("p1"));
 
-    consumer.handle(json);
+    consumer.handle(json, channel, 5L);
+
+    verify(confirmWorker, timeout(1000)).process(outboxMessageId, json);
+  }
+
+  @Test
+  void handle_whenProcessingFails_requeuesMessage() throws Exception {
+    String json = "{\"purchaseId\":\"p1\",\"eventType\":\"PAYMENT_CONFIRM_REQUESTED\"}";
+    doThrow(new IllegalStateException("db down")).when(confirmWorker).process("confirm:p1", json);
+
+    consumer.handle(json, channel, 6L);
 
-    verify(confirmWorker).process(outboxMessageId, json);
+    verify(channel, timeout(1000)).basicNack(6L, false, true);
+    verify(channel, never()).basicAck(anyLong(), anyBoolean());
   }
 }
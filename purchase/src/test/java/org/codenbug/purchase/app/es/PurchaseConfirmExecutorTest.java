@@ -0,0 +1,89 @@
+package org.codenbug.purchase.app.es;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.codenbug.purchase.app.PurchaseObservation;
+import org.codenbug.purchase.app.command.es.PurchaseConfirmExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class PurchaseConfirmExecutorTest {
+
+  private final PurchaseConfirmExecutor executor =
+      new PurchaseConfirmExecutor(4, 100, true, 1000, PurchaseObservation.noop());
+
+  @AfterEach
+  void tearDown() throws Exception {
+    executor.destroy();
+  }
+
+  @Test
+  void submit_sameKey_runsInSubmissionOrder() throws Exception {
+    List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      int seq = i;
+      futures.add(executor.submit("purchase-1", () -> order.add(seq)));
+    }
+
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(1, TimeUnit.SECONDS);
+
+    assertThat(order).isSorted().hasSize(50);
+  }
+
+  @Test
+  void submit_differentKeys_runInParallel() throws Exception {
+    CountDownLatch bothStarted = new CountDownLatch(2);
+    CountDownLatch release = new CountDownLatch(1);
+    Runnable blocking = () -> {
+      bothStarted.countDown();
+      await(release);
+    };
+
+    CompletableFuture<Void> first = executor.submit(keyForPartition(0), blocking);
+    CompletableFuture<Void> second = executor.submit(keyForPartition(1), blocking);
+
+    assertThat(bothStarted.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(executor.inFlight()).isEqualTo(2);
+    release.countDown();
+    CompletableFuture.allOf(first, second).get(1, TimeUnit.SECONDS);
+    assertThat(executor.inFlight()).isZero();
+  }
+
+  @Test
+  void submit_whenTaskThrows_completesFutureExceptionally() {
+    CompletableFuture<Void> future = executor.submit("purchase-1", () -> {
+      throw new IllegalStateException("pg down");
+    });
+
+    assertThatThrownBy(() -> future.get(1, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+  }
+
+  private String keyForPartition(int partition) {
+    for (int i = 0; ; i++) {
+      String key = "purchase-" + i;
+      if (Math.floorMod(key.hashCode(), 4) == partition) {
+        return key;
+      }
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(1, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -6,7 +6,6 @@ import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 import org.codenbug.purchase.app.command.es.PurchaseConfirmCommandService;
 import org.codenbug.purchase.app.command.es.PurchaseConfirmScheduler;
@@ -25,6 +24,8 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -37,6 +38,8 @@ class PurchaseConfirmSchedulerTest {
   private PurchaseConfirmStatusProjectionStore statusProjectionRepository;
   @Mock
   private PurchaseConfirmMessagePublisher messagePublisher;
+  @Mock
+  private PlatformTransactionManager transactionManager;
 
   private PurchaseConfirmScheduler scheduler;
 
@@ -44,41 +47,41 @@ class PurchaseConfirmSchedulerTest {
   void setUp() {
     scheduler = new PurchaseConfirmScheduler(
         new ObjectMapper(),
+        transactionManager,
         outboxRepository,
         statusProjectionRepository,
         messagePublisher,
-        3);
+        3, 10, 5, 0, 0);
   }
 
   @ParameterizedTest
   @EnumSource(value = PurchaseConfirmStatus.class, names = {"PENDING", "PROCESSING"})
   void processPendingConfirms_retriesForRetryableStatuses(PurchaseConfirmStatus status) {
     PurchaseOutboxMessage message = outbox("purchase-retryable");
-    when(outboxRepository.findUnpublishedByQueueName(eq(PurchaseConfirmCommandService.CONFIRM_WORK_QUEUE), any()))
+    when(outboxRepository.claimUnpublishedByQueueName(eq(PurchaseConfirmCommandService.CONFIRM_WORK_QUEUE), anyInt()))
         .thenReturn(List.of(message));
-    when(statusProjectionRepository.findById(any(PurchaseId.class)))
-        .thenReturn(Optional.of(projection("purchase-retryable", status)));
+    when(statusProjectionRepository.findAllByIds(any()))
+        .thenReturn(List.of(projection("purchase-retryable", status)));
 
     scheduler.processPendingConfirms();
 
-    verify(messagePublisher).publish(eq(message));
-    verify(outboxRepository, atLeastOnce()).save(eq(message));
-    assertThat(message.getPublishedAt()).isNotNull();
-    assertThat(message.getLastError()).isNull();
+    verify(messagePublisher).publishAll(List.of(message));
+    verify(outboxRepository).markPublished(eq(List.of(1L)), any(LocalDateTime.class));
+    verify(outboxRepository, never()).save(any());
   }
 
   @ParameterizedTest
   @EnumSource(value = PurchaseConfirmStatus.class, names = {"DONE", "FAILED", "REJECTED"})
   void processPendingConfirms_skipsTerminalStatuses(PurchaseConfirmStatus terminalStatus) {
     PurchaseOutboxMessage message = outbox("purchase-terminal");
-    when(outboxRepository.findUnpublishedByQueueName(eq(PurchaseConfirmCommandService.CONFIRM_WORK_QUEUE), any()))
+    when(outboxRepository.claimUnpublishedByQueueName(eq(PurchaseConfirmCommandService.CONFIRM_WORK_QUEUE), anyInt()))
         .thenReturn(List.of(message));
-    when(statusProjectionRepository.findById(any(PurchaseId.class)))
-        .thenReturn(Optional.of(projection("purchase-terminal", terminalStatus)));
+    when(statusProjectionRepository.findAllByIds(any()))
+        .thenReturn(List.of(projection("purchase-terminal", terminalStatus)));
 
     scheduler.processPendingConfirms();
 
-    verify(messagePublisher, never()).publish(any());
+    verify(messagePublisher, never()).publishAll(any());
     verify(outboxRepository, atLeastOnce()).save(eq(message));
     assertThat(message.getPublishedAt()).isNotNull();
     assertThat(message.getLastError()).contains("non-retryable status");
@@ -92,13 +95,13 @@ class PurchaseConfirmSchedulerTest {
     message.markPublishAttemptFailed("e3");
     PurchaseConfirmStatusProjection projection = projection("purchase-max-attempt", PurchaseConfirmStatus.PENDING);
 
-    when(outboxRepository.findUnpublishedByQueueName(eq(PurchaseConfirmCommandService.CONFIRM_WORK_QUEUE), any()))
+    when(outboxRepository.claimUnpublishedByQueueName(eq(PurchaseConfirmCommandService.CONFIRM_WORK_QUEUE), anyInt()))
         .thenReturn(List.of(message));
-    when(statusProjectionRepository.findById(any(PurchaseId.class))).thenReturn(Optional.of(projection));
+    when(statusProjectionRepository.findAllByIds(any())).thenReturn(List.of(projection));
 
     scheduler.processPendingConfirms();
 
-    verify(messagePublisher, never()).publish(any());
+    verify(messagePublisher, never()).publishAll(any());
     verify(statusProjectionRepository).save(projection);
     assertThat(projection.getStatus()).isEqualTo(PurchaseConfirmStatus.FAILED);
     assertThat(message.getPublishedAt()).isNotNull();
@@ -108,15 +111,17 @@ class PurchaseConfirmSchedulerTest {
   @Test
   void processPendingConfirms_keepsOutboxUnpublishedWhenPublishThrows() {
     PurchaseOutboxMessage message = outbox("purchase-throw");
-    when(outboxRepository.findUnpublishedByQueueName(eq(PurchaseConfirmCommandService.CONFIRM_WORK_QUEUE), any()))
+    when(outboxRepository.claimUnpublishedByQueueName(eq(PurchaseConfirmCommandService.CONFIRM_WORK_QUEUE), anyInt()))
         .thenReturn(List.of(message));
-    when(statusProjectionRepository.findById(any(PurchaseId.class)))
-        .thenReturn(Optional.of(projection("purchase-throw", PurchaseConfirmStatus.PENDING)));
-    doThrow(new IllegalStateException("boom")).when(messagePublisher).publish(any());
+    when(statusProjectionRepository.findAllByIds(any()))
+        .thenReturn(List.of(projection("purchase-throw", PurchaseConfirmStatus.PENDING)));
+    doThrow(new IllegalStateException("boom")).when(messagePublisher).publishAll(any());
 
     scheduler.processPendingConfirms();
 
-    verify(messagePublisher).publish(eq(message));
+    verify(messagePublisher).publishAll(List.of(message));
+    verify(outboxRepository, never()).markPublished(any(), any());
+    verify(outboxRepository).save(message);
     assertThat(message.getPublishedAt()).isNull();
     assertThat(message.getPublishAttempts()).isEqualTo(1);
     assertThat(message.getLastError()).contains("boom");
@@ -130,25 +135,49 @@ class PurchaseConfirmSchedulerTest {
         PaymentOutboxEventType.PAYMENT_CONFIRM_REQUESTED,
         "{\"eventType\":\"PAYMENT_CONFIRM_REQUESTED\"}",
         LocalDateTime.now());
-    when(outboxRepository.findUnpublishedByQueueName(eq(PurchaseConfirmCommandService.CONFIRM_WORK_QUEUE), any()))
+    when(outboxRepository.claimUnpublishedByQueueName(eq(PurchaseConfirmCommandService.CONFIRM_WORK_QUEUE), anyInt()))
         .thenReturn(List.of(message));
 
     scheduler.processPendingConfirms();
 
-    verify(messagePublisher, never()).publish(any());
-    verify(statusProjectionRepository, never()).findById(any(PurchaseId.class));
+    verify(messagePublisher, never()).publishAll(any());
+    verify(statusProjectionRepository, never()).findAllByIds(any());
     verify(outboxRepository).save(message);
     assertThat(message.getPublishedAt()).isNotNull();
     assertThat(message.getLastError()).contains("invalid outbox payload");
   }
 
+  @Test
+  void processPendingConfirms_drainsNextBatchWhenBatchIsFull() {
+    scheduler = new PurchaseConfirmScheduler(new ObjectMapper(), transactionManager, outboxRepository,
+        statusProjectionRepository, messagePublisher, 3, 1, 5, 0, 0);
+    PurchaseOutboxMessage first = outbox("purchase-1", 1L);
+    PurchaseOutboxMessage second = outbox("purchase-2", 2L);
+    when(outboxRepository.claimUnpublishedByQueueName(eq(PurchaseConfirmCommandService.CONFIRM_WORK_QUEUE), eq(1)))
+        .thenReturn(List.of(first), List.of(second), List.of());
+    when(statusProjectionRepository.findAllByIds(any())).thenReturn(List.of());
+
+    scheduler.processPendingConfirms();
+
+    verify(outboxRepository, times(3)).claimUnpublishedByQueueName(any(), eq(1));
+    verify(outboxRepository).markPublished(eq(List.of(1L)), any(LocalDateTime.class));
+    verify(outboxRepository).markPublished(eq(List.of(2L)), any(LocalDateTime.class));
+    verify(transactionManager, times(3)).commit(any());
+  }
+
   private PurchaseOutboxMessage outbox(String purchaseId) {
-    return PurchaseOutboxMessage.of(
+    return outbox(purchaseId, 1L);
+  }
+
+  private PurchaseOutboxMessage outbox(String purchaseId, Long id) {
+    PurchaseOutboxMessage message = PurchaseOutboxMessage.of(
         "msg-" + purchaseId,
         PurchaseConfirmCommandService.CONFIRM_WORK_QUEUE,
         PaymentOutboxEventType.PAYMENT_CONFIRM_REQUESTED,
         "{\"purchaseId\":\"" + purchaseId + "\"}",
         LocalDateTime.now());
+    ReflectionTestUtils.setField(message, "id", id);
+    return message;
   }
 
   private PurchaseConfirmStatusProjection projection(String purchaseId, PurchaseConfirmStatus status) {
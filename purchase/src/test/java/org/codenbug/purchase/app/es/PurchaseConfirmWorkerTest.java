@@ -15,6 +15,7 @@ import static org.mockito.Mockito.when;
 import java.util.List;
 import java.util.Optional;
 
+import org.codenbug.purchase.app.PurchaseObservation;
 import org.codenbug.purchase.app.command.es.PurchaseConfirmStatusProjectionSerivce;
 import org.codenbug.purchase.app.command.es.PurchaseConfirmWorker;
 import org.codenbug.purchase.app.command.es.PurchasePaymentFinalizationService;
@@ -84,32 +85,54 @@ class PurchaseConfirmWorkerTest {
         paymentProviderRouter,
         finalizationService,
         purchaseRepository,
-        refundRepository);
+        refundRepository,
+        PurchaseObservation.noop());
   }
 
   @Test
   void process_whenEventVersionChanges_rejectsBeforePgCall() {
     Purchase purchase = new Purchase("e1", "order1", 1000, 1L, new UserId("u1"));
     when(purchaseRepository.findById(any(PurchaseId.class))).thenReturn(Optional.of(purchase));
-    when(eventServiceClient.getEventSummary("e1")).thenReturn(
+    when(eventServiceClient.getLatestEventSummary("e1")).thenReturn(
         new EventSummary("e1", 1L, true, "OPEN", 2L, 2L, "event-title"));
 
     worker.process("msg-1", payloadFor(purchase));
 
-    verify(eventAppendService).upadteProjectionStatus(any(PurchaseId.class), anyMap(),
-        eq(PurchaseConfirmStatus.PROCESSING), eq("processing"));
+    verify(eventAppendService, never()).upadteProjectionStatus(any(PurchaseId.class), anyMap(),
+        eq(PurchaseConfirmStatus.PROCESSING), anyString());
     verify(eventAppendService).upadteProjectionStatus(any(PurchaseId.class), anyMap(),
         eq(PurchaseConfirmStatus.REJECTED), eq("event changed; payment returned to pending"));
+    verify(transactionManager, times(1)).commit(transactionStatus);
     verifyNoInteractions(paymentProviderRouter, finalizationService);
   }
 
+  @Test
+  void process_whenConfirmSucceeds_recordsProcessingOnceBeforePgCall() {
+    Purchase purchase = new Purchase("e1", "order1", 1000, 1L, new UserId("u1"));
+    PaymentConfirmationInfo paymentInfo = paymentInfo(purchase);
+
+    when(purchaseRepository.findById(any(PurchaseId.class))).thenReturn(Optional.of(purchase));
+    when(eventServiceClient.getLatestEventSummary("e1")).thenReturn(eventSummary("e1", 1L));
+    when(paymentProviderRouter.get(PaymentProvider.TOSS)).thenReturn(pgApiService);
+    when(pgApiService.confirmPayment("payKey", "order1", 1000, "confirm:" + purchase.getPurchaseId().getValue()))
+        .thenReturn(paymentInfo);
+
+    worker.process("msg-success", payloadFor(purchase));
+
+    verify(eventAppendService, times(1)).upadteProjectionStatus(any(PurchaseId.class), anyMap(),
+        eq(PurchaseConfirmStatus.PROCESSING), eq("pg confirm requested"));
+    verify(eventAppendService).upadteProjectionStatus(any(PurchaseId.class), anyMap(),
+        eq(PurchaseConfirmStatus.DONE), eq("done"));
+    verify(transactionManager, times(2)).commit(transactionStatus);
+  }
+
   @Test
   void process_whenPgConfirmFailsBeforeApproval_doesNotCompensateAndReleasesMarker() {
     Purchase purchase = new Purchase("e1", "order1", 1000, 1L, new UserId("u1"));
     String messageId = "confirm:" + purchase.getPurchaseId().getValue();
 
     when(purchaseRepository.findById(any(PurchaseId.class))).thenReturn(Optional.of(purchase));
-    when(eventServiceClient.getEventSummary("e1")).thenReturn(eventSummary("e1", 1L));
+    when(eventServiceClient.getLatestEventSummary("e1")).thenReturn(eventSummary("e1", 1L));
     when(paymentProviderRouter.get(PaymentProvider.TOSS)).thenReturn(pgApiService);
     when(pgApiService.confirmPayment("payKey", "order1", 1000, messageId))
         .thenThrow(new IllegalStateException("pg unavailable"));
@@ -132,7 +155,7 @@ class PurchaseConfirmWorkerTest {
     PaymentCancellationInfo cancellationInfo = cancellationInfo(purchase);
 
     when(purchaseRepository.findById(any(PurchaseId.class))).thenReturn(Optional.of(purchase));
-    when(eventServiceClient.getEventSummary("e1")).thenReturn(eventSummary("e1", 1L));
+    when(eventServiceClient.getLatestEventSummary("e1")).thenReturn(eventSummary("e1", 1L));
     when(paymentProviderRouter.get(PaymentProvider.TOSS)).thenReturn(pgApiService);
     when(pgApiService.confirmPayment("payKey", "order1", 1000, "confirm:" + purchase.getPurchaseId().getValue()))
         .thenReturn(paymentInfo);
@@ -162,7 +185,7 @@ class PurchaseConfirmWorkerTest {
     PaymentConfirmationInfo paymentInfo = paymentInfo(purchase);
 
     when(purchaseRepository.findById(any(PurchaseId.class))).thenReturn(Optional.of(purchase));
-    when(eventServiceClient.getEventSummary("e1")).thenReturn(eventSummary("e1", 1L));
+    when(eventServiceClient.getLatestEventSummary("e1")).thenReturn(eventSummary("e1", 1L));
     when(paymentProviderRouter.get(PaymentProvider.TOSS)).thenReturn(pgApiService);
     when(pgApiService.confirmPayment("payKey", "order1", 1000, "confirm:" + purchase.getPurchaseId().getValue()))
         .thenReturn(paymentInfo);
@@ -0,0 +1,70 @@
+package org.codenbug.purchase.batch.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.codenbug.purchase.app.PurchaseObservation;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+class PurchaseArchiveTaskletTest {
+
+  private final PurchaseArchiveTasklet.ArchiveChunk archiveChunk = mock(PurchaseArchiveTasklet.ArchiveChunk.class);
+  private final PurchaseObservation purchaseObservation = mock(PurchaseObservation.class);
+  private final PurchaseArchiveTasklet tasklet =
+      new PurchaseArchiveTasklet("purchase_outbox", archiveChunk, Duration.ofDays(14), 100, purchaseObservation);
+
+  @Test
+  void execute_whenChunkIsFull_continuesWithNextChunk() {
+    when(archiveChunk.archive(any(), eq(100))).thenReturn(100);
+    StepExecution stepExecution = stepExecution(null);
+    StepContribution contribution = stepExecution.createStepContribution();
+
+    RepeatStatus status = tasklet.execute(contribution, new ChunkContext(new StepContext(stepExecution)));
+
+    assertThat(status).isEqualTo(RepeatStatus.CONTINUABLE);
+    assertThat(contribution.getWriteCount()).isEqualTo(100);
+    verify(purchaseObservation).recordRetentionChunk(eq("purchase_outbox"), eq(100), any(Duration.class));
+  }
+
+  @Test
+  void execute_whenChunkIsPartial_finishes() {
+    when(archiveChunk.archive(any(), eq(100))).thenReturn(3);
+    StepExecution stepExecution = stepExecution(null);
+
+    RepeatStatus status = tasklet.execute(stepExecution.createStepContribution(),
+        new ChunkContext(new StepContext(stepExecution)));
+
+    assertThat(status).isEqualTo(RepeatStatus.FINISHED);
+  }
+
+  @Test
+  void execute_usesJobTimestampMinusRetentionAsCutoff() {
+    LocalDateTime base = LocalDateTime.of(2026, 3, 20, 4, 30);
+    long timestamp = base.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    StepExecution stepExecution = stepExecution(timestamp);
+
+    tasklet.execute(stepExecution.createStepContribution(), new ChunkContext(new StepContext(stepExecution)));
+
+    verify(archiveChunk).archive(base.minusDays(14), 100);
+  }
+
+  private StepExecution stepExecution(Long timestamp) {
+    JobParametersBuilder parameters = new JobParametersBuilder();
+    if (timestamp != null) {
+      parameters.addLong("timestamp", timestamp);
+    }
+    return MetaDataInstanceFactory.createStepExecution(parameters.toJobParameters());
+  }
+}
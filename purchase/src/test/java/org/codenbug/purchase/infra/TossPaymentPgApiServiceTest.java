@@ -19,6 +19,8 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 @ExtendWith(MockitoExtension.class)
 class TossPaymentPgApiServiceTest {
 
@@ -30,7 +32,7 @@ class TossPaymentPgApiServiceTest {
 		TossPaymentProperties properties = new TossPaymentProperties();
 		properties.setSecretKey("test-secret");
 		properties.setApiUrl("https://api.toss.test/v1/payments");
-		TossPaymentPgApiService service = new TossPaymentPgApiService(restTemplate, properties);
+		TossPaymentPgApiService service = new TossPaymentPgApiService(restTemplate, new ObjectMapper(), properties);
 		when(restTemplate.exchange(eq("https://api.toss.test/v1/payments/confirm"), eq(HttpMethod.POST),
 			org.mockito.ArgumentMatchers.<HttpEntity<Map<String, Object>>>any(), eq(byte[].class)))
 			.thenReturn(ResponseEntity.ok("""
@@ -4,6 +4,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
 import org.codenbug.purchase.domain.PaymentStatus;
 import org.codenbug.purchase.domain.RefundStatus;
 import org.codenbug.purchase.infra.JpaRefundRepository;
@@ -35,4 +38,19 @@ class MicrometerPurchaseObservationTest {
 		assertThat(meterRegistry.get("ticketon.refund.status.count").tag("status", "COMPLETED")
 			.gauge().value()).isEqualTo(4.0);
 	}
+
+	@Test
+	void recordsConfirmStageLatencyAndExecutorGauges() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		MicrometerPurchaseObservation observation = new MicrometerPurchaseObservation(meterRegistry,
+			mock(PurchaseRepository.class), mock(JpaRefundRepository.class));
+
+		observation.recordConfirmStage("pg_confirm", Duration.ofMillis(120));
+		observation.registerConfirmExecutor(() -> 7, () -> 3);
+
+		assertThat(meterRegistry.get("ticketon.purchase.confirm.stage").tag("stage", "pg_confirm")
+			.timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(120.0);
+		assertThat(meterRegistry.get("ticketon.purchase.confirm.queue.depth").gauge().value()).isEqualTo(7.0);
+		assertThat(meterRegistry.get("ticketon.purchase.confirm.in.flight").gauge().value()).isEqualTo(3.0);
+	}
 }
@@ -15,7 +15,6 @@ import java.util.List;
 
 import org.awaitility.Awaitility;
 import org.codenbug.infra.redis.EntryTokenValidator;
-import org.codenbug.infra.redis.RedisKeyScanner;
 import org.codenbug.purchase.PurchaseTestApplication;
 import org.codenbug.purchase.domain.PaymentProvider;
 import org.codenbug.purchase.domain.PaymentStatus;
@@ -111,13 +110,8 @@ class PurchaseConfirmWorkerPgMockIntegrationTest {
 		}
 
 		@Bean
-		RedisKeyScanner redisKeyScanner(@Qualifier("objectRedisTemplate") RedisTemplate<String, Object> objectRedisTemplate) {
-			return new RedisKeyScanner(objectRedisTemplate);
-		}
-
-		@Bean
-		RedisLockService redisLockService(StringRedisTemplate redisTemplate, RedisKeyScanner redisKeyScanner) {
-			return new RedisLockServiceImpl(redisTemplate, redisKeyScanner);
+		RedisLockService redisLockService(StringRedisTemplate redisTemplate) {
+			return new RedisLockServiceImpl(redisTemplate, 10000);
 		}
 
 		@Bean
@@ -439,8 +433,9 @@ class PurchaseConfirmWorkerPgMockIntegrationTest {
 	}
 
 	private void seedSeatLock(String userId, String eventId, String seatId) {
-		String key = "seat:lock:" + userId + ":" + eventId + ":" + seatId;
-		stringRedisTemplate.opsForValue().set(key, "lock-holder");
+		String key = RedisLockServiceImpl.SEAT_LOCK_KEY_PREFIX + eventId + ":" + seatId;
+		stringRedisTemplate.opsForValue().set(key, userId);
+		stringRedisTemplate.opsForHash().put(RedisLockServiceImpl.userHoldIndexKey(userId), key, "0");
 	}
 
 	private void seedEntryToken(String userId, String eventId, String entryAuthToken) {
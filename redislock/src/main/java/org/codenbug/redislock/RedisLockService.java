@@ -1,6 +1,7 @@
 package org.codenbug.redislock;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 
 public interface RedisLockService {
@@ -10,6 +11,11 @@ public interface RedisLockService {
 
 	void releaseAllEntryQueueLocks(String userId);
 
+	/**
+	 * 여러 유저의 좌석 hold와 입장 토큰을 한 번의 파이프라인으로 해제한다.
+	 */
+	void releaseAllLocksAndEntryTokens(Collection<String> userIds);
+
 	boolean tryLock(String lockKey, String lockValue, Duration duration);
 
 	boolean unlock(String lockKey, String lockValue);
@@ -1,14 +1,28 @@
 package org.codenbug.redislock;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
-import org.codenbug.infra.redis.RedisKeyScanner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Component;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -16,16 +30,49 @@ import lombok.extern.slf4j.Slf4j;
  * <p>
  * 사용자의 좌석 선택 상태를 Redis 키로 관리하여 중복 예매를 방지하고, TTL을 활용해 일정 시간이 지나면 자동으로 락이 해제되도록 합니다.
  * <p>
- * Redis 키 형식: seat:lock:{userId}:{eventId}:{seatId}
+ * Redis 키 형식
+ * <ul>
+ *   <li>seat:lock:{eventId}:{seatId} - hold 소유자 userId (TTL = hold 시간)</li>
+ *   <li>seat:hold:user:{userId} - 유저의 hold 인덱스. 필드 = 락 키, 값 = 좌석 번호 (TTL = 마지막 hold 시간)</li>
+ * </ul>
+ * 인덱스는 좌석 모듈의 hold/해제/판매 스크립트가 락 키와 같은 스크립트 안에서 갱신하므로,
+ * 유저 기준 조회와 일괄 해제가 키스페이스 SCAN 없이 hold 수만큼의 작업으로 한 번에 끝난다.
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class RedisLockServiceImpl implements RedisLockService {
-    private final StringRedisTemplate redisTemplate;
-    private final RedisKeyScanner redisKeyScanner;
-    private static final String PREFIX = "seat:lock:";
+    public static final String SEAT_LOCK_KEY_PREFIX = "seat:lock:";
+    public static final String USER_HOLD_INDEX_KEY_PREFIX = "seat:hold:user:";
     public static final String ENTRY_TOKEN_STORAGE_KEY_NAME = "ENTRY_TOKEN";
+    private static final String ENTRY_EVENT_STORAGE_KEY_NAME = "ENTRY_EVENT";
+    // 활성 입장 토큰 인덱스 (broker 게이지가 읽는다). 이벤트별 인덱스는 ENTRY_TOKEN_EXPIRY:<eventId>
+    private static final String ENTRY_TOKEN_EXPIRY_KEY_NAME = "ENTRY_TOKEN_EXPIRY";
+
+    private final StringRedisTemplate redisTemplate;
+    private final DefaultRedisScript<List> userSeatHoldsScript;
+    private final DefaultRedisScript<Long> releaseUserSeatHoldsScript;
+    private final DefaultRedisScript<Long> releaseEntryTokenScript;
+    private final String seatChangesMaxLength;
+
+    public RedisLockServiceImpl(StringRedisTemplate redisTemplate,
+        @Value("${custom.seat.changes-max-length:10000}") long seatChangesMaxLength) {
+        this.redisTemplate = redisTemplate;
+        this.seatChangesMaxLength = String.valueOf(seatChangesMaxLength);
+
+        userSeatHoldsScript = new DefaultRedisScript<>();
+        userSeatHoldsScript.setScriptText(loadLuaScriptFromResource("user_seat_holds.lua"));
+        userSeatHoldsScript.setResultType(List.class);
+        releaseUserSeatHoldsScript = new DefaultRedisScript<>();
+        releaseUserSeatHoldsScript.setScriptText(loadLuaScriptFromResource("release_user_seat_holds.lua"));
+        releaseUserSeatHoldsScript.setResultType(Long.class);
+        releaseEntryTokenScript = new DefaultRedisScript<>();
+        releaseEntryTokenScript.setScriptText(loadLuaScriptFromResource("release_entry_token.lua"));
+        releaseEntryTokenScript.setResultType(Long.class);
+    }
+
+    public static String userHoldIndexKey(String userId) {
+        return USER_HOLD_INDEX_KEY_PREFIX + userId;
+    }
 
     /**
      * Redis에 key가 존재하지 않을 경우 value를 설정하며 락 시도
@@ -66,27 +113,6 @@ public class RedisLockServiceImpl implements RedisLockService {
         return redisTemplate.opsForValue().get(lockKey);
     }
 
-    // /**
-    // * Redis에 저장된 락 키 중 하나를 기준으로 사용자(userId)의 이벤트 ID 추출
-    // *
-    // * @param userId 사용자 ID
-    // * @return 이벤트 ID
-    // * @throws IllegalArgumentException 락이 없거나 키 형식이 잘못된 경우
-    // */
-    // public Long extractEventIdByUserId(Long userId) {
-    // Set<String> keys = redisKeyScanner.scanKeys(PREFIX + userId + ":*:*");
-    //
-    // if (keys == null || keys.isEmpty()) {
-    // throw new IllegalArgumentException("[extractEventIdByUserId] 선택된 좌석 정보가 존재하지 않습니다.");
-    // }
-    // String key = keys.iterator().next(); // e.g. seat:lock:26:1:22
-    // String[] parts = key.split(":");
-    // if (parts.length < 5) {
-    // throw new IllegalArgumentException("좌석 키 형식 오류: " + key);
-    // }
-    // return Long.parseLong(parts[3]);
-    // }
-
     /**
      * 사용자(userId)의 Redis 락 키들로부터 좌석 ID만 추출
      *
@@ -95,29 +121,38 @@ public class RedisLockServiceImpl implements RedisLockService {
      * @throws IllegalStateException 락이 없거나 키 형식이 잘못된 경우
      */
     @Override
+    @SuppressWarnings("unchecked")
     public List<String> getLockedSeatIdsByUserId(String userId) {
-        Set<String> keys = redisKeyScanner.scanKeys(PREFIX + userId + ":*");
+        List<String> keys = redisTemplate.execute(userSeatHoldsScript, List.of(userHoldIndexKey(userId)), userId);
         if (keys == null || keys.isEmpty()) {
             throw new IllegalStateException("[getLockedSeatIdsByUserId] 선택된 좌석이 없습니다.");
         }
         return keys.stream().map(k -> {
-            String[] parts = k.split(":");
-            if (parts.length < 5)
+            // seat:lock:{eventId}:{seatId}
+            int sep = k.lastIndexOf(':');
+            if (!k.startsWith(SEAT_LOCK_KEY_PREFIX) || sep < SEAT_LOCK_KEY_PREFIX.length())
                 throw new IllegalStateException("좌석 키 형식 오류: " + k);
-            return parts[4];
+            return k.substring(sep + 1);
         }).toList();
     }
 
     /**
-     * 해당 사용자(userId)의 모든 Redis 락 해제
+     * 해당 사용자(userId)의 모든 Redis 락 해제. 좌석의 held 비트도 함께 풀어 다른 유저가 바로 선택할 수 있다.
      *
      * @param userId 사용자 ID
      */
     @Override
     public void releaseAllLocks(String userId) {
-        Set<String> keys = redisKeyScanner.scanKeys(PREFIX + userId + ":*");
-        if (keys != null) {
-            redisTemplate.delete(keys);
+        Set<String> lockKeys = redisTemplate.<String, String>opsForHash().keys(userHoldIndexKey(userId));
+        if (lockKeys.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        collectReleaseArguments(userId, lockKeys, keys, args);
+        Long released = redisTemplate.execute(releaseUserSeatHoldsScript, keys, args.toArray());
+        if (released != null && released > 0) {
+            log.debug("userId {}의 좌석 hold {}개를 해제했습니다.", userId, released);
         }
     }
 
@@ -128,7 +163,13 @@ public class RedisLockServiceImpl implements RedisLockService {
      */
     @Override
     public void releaseAllEntryQueueLocks(String userId) {
+        String eventId = redisTemplate.opsForValue().get(ENTRY_EVENT_STORAGE_KEY_NAME + ":" + userId);
         Boolean deleted = redisTemplate.delete(ENTRY_TOKEN_STORAGE_KEY_NAME + ":" + userId);
+        redisTemplate.opsForZSet().remove(ENTRY_TOKEN_EXPIRY_KEY_NAME, userId);
+        if (eventId != null) {
+            redisTemplate.opsForZSet()
+                .remove(ENTRY_TOKEN_EXPIRY_KEY_NAME + ":" + eventId.replace("\"", ""), userId);
+        }
 
         if (Boolean.TRUE.equals(deleted)) {
             log.info("ENTRY_TOKEN 키에서 userId {}의 토큰을 삭제했습니다.", userId);
@@ -137,4 +178,88 @@ public class RedisLockServiceImpl implements RedisLockService {
         }
     }
 
+    /**
+     * 결제 완료 배치처럼 여러 유저를 한꺼번에 정리할 때 쓴다. 유저마다 두 스크립트를 보내고 응답은 한 번에 받는다.
+     *
+     * @param userIds 사용자 ID 목록
+     */
+    @Override
+    public void releaseAllLocksAndEntryTokens(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        List<String> users = List.copyOf(userIds);
+        // 해제 스크립트가 만질 키를 KEYS로 넘기려면 hold 인덱스를 먼저 읽어야 한다. 인덱스 조회도 한 번에 보낸다.
+        List<Object> indexes = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (String userId : users) {
+                stringConnection.hKeys(userHoldIndexKey(userId));
+            }
+            return null;
+        });
+        String releaseSeatHolds = releaseUserSeatHoldsScript.getScriptAsString();
+        String releaseEntryToken = releaseEntryTokenScript.getScriptAsString();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (int i = 0; i < users.size(); i++) {
+                String userId = users.get(i);
+                @SuppressWarnings("unchecked")
+                Collection<String> lockKeys = (Collection<String>) indexes.get(i);
+                if (lockKeys != null && !lockKeys.isEmpty()) {
+                    List<String> keys = new ArrayList<>();
+                    List<String> args = new ArrayList<>();
+                    collectReleaseArguments(userId, lockKeys, keys, args);
+                    List<String> keysAndArgs = new ArrayList<>(keys);
+                    keysAndArgs.addAll(args);
+                    stringConnection.eval(releaseSeatHolds, ReturnType.INTEGER, keys.size(),
+                        keysAndArgs.toArray(String[]::new));
+                }
+                stringConnection.eval(releaseEntryToken, ReturnType.INTEGER, 3,
+                    ENTRY_EVENT_STORAGE_KEY_NAME + ":" + userId, ENTRY_TOKEN_STORAGE_KEY_NAME + ":" + userId,
+                    ENTRY_TOKEN_EXPIRY_KEY_NAME, userId);
+            }
+            return null;
+        });
+        log.debug("{}명의 좌석 hold와 입장 토큰을 해제했습니다.", userIds.size());
+    }
+
+    /**
+     * release_user_seat_holds.lua의 KEYS/ARGV를 만든다. 락 키를 이벤트별로 묶어 그 이벤트의 좌석 상태 키 뒤에 붙인다.
+     */
+    private void collectReleaseArguments(String userId, Collection<String> lockKeys, List<String> keys,
+        List<String> args) {
+        Map<String, List<String>> lockKeysByEvent = new LinkedHashMap<>();
+        for (String lockKey : lockKeys) {
+            // seat:lock:{eventId}:{seatId}
+            int sep = lockKey.lastIndexOf(':');
+            if (!lockKey.startsWith(SEAT_LOCK_KEY_PREFIX) || sep <= SEAT_LOCK_KEY_PREFIX.length()) {
+                log.warn("좌석 키 형식 오류로 해제하지 않습니다: {}", lockKey);
+                continue;
+            }
+            String eventId = lockKey.substring(SEAT_LOCK_KEY_PREFIX.length(), sep);
+            lockKeysByEvent.computeIfAbsent(eventId, k -> new ArrayList<>()).add(lockKey);
+        }
+        keys.add(userHoldIndexKey(userId));
+        args.add(userId);
+        args.add(seatChangesMaxLength);
+        lockKeysByEvent.forEach((eventId, eventLockKeys) -> {
+            keys.add(SeatRedisKeys.HELD_BITMAP_KEY_PREFIX + eventId);
+            keys.add(SeatRedisKeys.HOLD_EXPIRY_KEY_PREFIX + eventId);
+            keys.add(SeatRedisKeys.VERSION_KEY_PREFIX + eventId);
+            keys.add(SeatRedisKeys.CHANGES_KEY_PREFIX + eventId);
+            keys.add(SeatRedisKeys.LAYOUT_REVISION_KEY_PREFIX + eventId);
+            keys.addAll(eventLockKeys);
+            args.add(SeatRedisKeys.CHANGED_CHANNEL_PREFIX + eventId);
+            args.add(String.valueOf(eventLockKeys.size()));
+        });
+    }
+
+    private String loadLuaScriptFromResource(String scriptName) {
+        try (InputStream is = new ClassPathResource(scriptName).getInputStream();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
+            return reader.lines().collect(Collectors.joining("\n"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,21 @@
+package org.codenbug.redislock;
+
+/**
+ * 좌석 상태 Redis 키와 채널 이름.
+ * <p>
+ * 좌석 모듈(RedisSeatHoldStore)과 유저 hold 일괄 해제(RedisLockServiceImpl)가 같은 키를 다루므로 한 곳에서 정의한다.
+ * 키 형식은 RedisSeatHoldStore 문서를 참고한다.
+ */
+public final class SeatRedisKeys {
+    public static final String SOLD_BITMAP_KEY_PREFIX = "seat:bitmap:sold:";
+    public static final String HELD_BITMAP_KEY_PREFIX = "seat:bitmap:held:";
+    public static final String HOLD_EXPIRY_KEY_PREFIX = "seat:hold:expiry:";
+    public static final String VERSION_KEY_PREFIX = "seat:version:";
+    public static final String CHANGES_KEY_PREFIX = "seat:changes:";
+    public static final String LAYOUT_REVISION_KEY_PREFIX = "seat:layout:";
+    public static final String HOLD_EVENTS_KEY = "seat:hold:events";
+    public static final String CHANGED_CHANNEL_PREFIX = "seat:changed:";
+
+    private SeatRedisKeys() {
+    }
+}
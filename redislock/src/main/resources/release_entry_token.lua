@@ -0,0 +1,11 @@
+-- 유저의 입장 토큰과 활성 토큰 인덱스 항목을 지운다. (releaseAllEntryQueueLocks와 같은 동작)
+-- KEYS[1] ENTRY_EVENT:<userId>, KEYS[2] ENTRY_TOKEN:<userId>, KEYS[3] ENTRY_TOKEN_EXPIRY
+-- ARGV[1] userId
+-- return 1: 토큰 삭제, 0: 토큰 없음
+local eventId = redis.call("GET", KEYS[1])
+local deleted = redis.call("DEL", KEYS[2])
+redis.call("ZREM", KEYS[3], ARGV[1])
+if eventId then
+    redis.call("ZREM", KEYS[3] .. ":" .. string.gsub(eventId, '"', ''), ARGV[1])
+end
+return deleted
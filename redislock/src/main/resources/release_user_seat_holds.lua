@@ -0,0 +1,48 @@
+-- 유저가 hold 한 좌석을 이벤트에 관계없이 한 번에 해제한다.
+-- 좌석 모듈의 release_seats.lua와 같은 방식으로 held 비트/만료 인덱스를 정리하고, 이벤트마다 버전을 올려 변경을 알린다.
+-- 만질 키는 모두 KEYS로 받는다. 호출 쪽이 hold 인덱스를 읽어 이벤트별로 묶어 넘긴다.
+-- KEYS[1] seat:hold:user:<userId> (필드 = 락 키 seat:lock:<eventId>:<seatId>, 값 = 좌석 번호)
+-- 이벤트마다 KEYS 다음 자리에 held 비트맵, hold 만료, 버전, 변경 스트림, 레이아웃 리비전, 그 이벤트의 락 키들이 이어진다.
+-- ARGV[1] userId, ARGV[2] 변경 스트림 최대 길이
+-- 이벤트마다 ARGV 다음 자리에 변경 알림 채널, 락 키 수가 이어진다.
+-- return 해제한 좌석 수
+local released = 0
+local keyIndex = 2
+
+for argIndex = 3, #ARGV, 2 do
+    local heldKey = KEYS[keyIndex]
+    local expiryKey = KEYS[keyIndex + 1]
+    local versionKey = KEYS[keyIndex + 2]
+    local changesKey = KEYS[keyIndex + 3]
+    local layoutKey = KEYS[keyIndex + 4]
+    local lockCount = tonumber(ARGV[argIndex + 1])
+    local changes = {}
+
+    for i = keyIndex + 5, keyIndex + 4 + lockCount do
+        local lockKey = KEYS[i]
+        local ordinal = redis.call("HGET", KEYS[1], lockKey)
+        if redis.call("GET", lockKey) == ARGV[1] then
+            redis.call("DEL", lockKey)
+            released = released + 1
+            if ordinal and ordinal ~= "" then
+                redis.call("SETBIT", heldKey, tonumber(ordinal), 0)
+                redis.call("ZREM", expiryKey, ordinal)
+                table.insert(changes, ordinal)
+                table.insert(changes, "0")
+            end
+        end
+        -- 넘겨받은 항목만 지운다. 인덱스를 읽은 뒤 새로 잡은 hold는 남는다.
+        redis.call("HDEL", KEYS[1], lockKey)
+    end
+
+    if #changes > 0 then
+        local version = redis.call("INCR", versionKey)
+        redis.call("XADD", changesKey, "MAXLEN", "~", ARGV[2], version .. "-0", unpack(changes))
+        local layoutId = string.match(redis.call("GET", layoutKey) or "", "^[^:]*")
+        redis.call("PUBLISH", ARGV[argIndex], version .. ":" .. layoutId)
+    end
+
+    keyIndex = keyIndex + 5 + lockCount
+end
+
+return released
@@ -0,0 +1,14 @@
+-- 유저의 hold 인덱스에서 아직 유효한 좌석 락 키만 돌려준다. 만료되었거나 다른 유저에게 넘어간 항목은 인덱스에서 지운다.
+-- KEYS[1] seat:hold:user:<userId> (필드 = 락 키 seat:lock:<eventId>:<seatId>, 값 = 좌석 번호)
+-- ARGV[1] userId
+local entries = redis.call("HGETALL", KEYS[1])
+local held = {}
+for i = 1, #entries, 2 do
+    local lockKey = entries[i]
+    if redis.call("GET", lockKey) == ARGV[1] then
+        table.insert(held, lockKey)
+    else
+        redis.call("HDEL", KEYS[1], lockKey)
+    end
+end
+return held
@@ -0,0 +1,7 @@
+package org.codenbug.seat.app;
+
+/**
+ * 이벤트의 모든 좌석이 DB에서 판매 불가로 바뀌었다. 커밋 후 좌석 비트맵에도 반영한다.
+ */
+public record AllSeatsUnavailableEvent(String eventId, Long seatLayoutId) {
+}
@@ -10,10 +10,8 @@ import org.springframework.stereotype.Service;
 @Service
 public class FindSeatLayoutService {
 	private final SeatLayoutRepository repository;
-	private final EventSeatLayoutPort eventServiceClient;
-	public FindSeatLayoutService(SeatLayoutRepository repository, EventSeatLayoutPort eventServiceClient) {
+	public FindSeatLayoutService(SeatLayoutRepository repository) {
 		this.repository = repository;
-		this.eventServiceClient = eventServiceClient;
 	}
 
 	public SeatLayoutResponse findSeatLayout(Long seatLayoutId) {
@@ -31,20 +29,4 @@ public class FindSeatLayoutService {
 			seatLayout.getLocation().getLocationName(),
 			seatLayout.getRegionLocation());
 	}
-
-	public SeatLayoutResponse findSeatLayoutByEventId(String eventId) {
-		EventSeatLayoutSummary event = eventServiceClient.getEventSummary(eventId);
-		SeatLayout seatLayout = repository.findSeatLayout(event.seatLayoutId());
-		if (seatLayout == null) {
-			throw new IllegalArgumentException("좌석 레이아웃을 찾을 수 없습니다. seatLayoutId=" + event.seatLayoutId());
-		}
-		return new SeatLayoutResponse(
-			seatLayout.getId(),
-			seatLayout.getLayout(),
-			seatLayout.getSeats().stream().map(seat -> new SeatDto(seat)).toList(),
-			seatLayout.getLocation().getHallName(),
-			seatLayout.getLocation().getLocationName(),
-			seatLayout.getRegionLocation()
-		);
-	}
 }
@@ -0,0 +1,11 @@
+package org.codenbug.seat.app;
+
+/**
+ * 이벤트 좌석 상태 버전이 올랐을 때 호출된다. 어느 인스턴스에서 바뀌었든 모든 인스턴스에 전달된다.
+ */
+public interface SeatChangeListener {
+	/**
+	 * @param layoutId 변경 알림에 실려 온 이벤트의 좌석 레이아웃 ID. 비트맵이 리비전 없이 만들어졌으면 null
+	 */
+	void onSeatsChanged(String eventId, Long layoutId, long version);
+}
@@ -0,0 +1,263 @@
+package org.codenbug.seat.app;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.codenbug.seat.app.SeatHoldStore.SeatAvailability;
+import org.codenbug.seat.domain.SeatLayout;
+import org.codenbug.seat.domain.SeatLayoutRepository;
+import org.codenbug.seat.global.exception.ConflictException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 이벤트별 좌석 가용 비트맵으로 좌석 hold를 처리한다.
+ * <p>
+ * 레이아웃의 좌석 번호 대응표({@link SeatLayoutIndex})는 레이아웃당 한 번만 DB에서 읽어 인스턴스에 보관하고,
+ * 판매/hold 상태는 {@link SeatHoldStore}의 비트맵이 기준이다. 비트맵은 짧은 시간 로컬에도 복사해 두고
+ * 판매된 좌석 조기 거절과 미지정석 후보 선택에만 쓴다. 최종 판정은 항상 hold 스크립트가 원자적으로 한다.
+ * <p>
+ * 레이아웃이 바뀌면 모든 인스턴스가 대응표를 버리고, 다음 요청에서 새 레이아웃 리비전으로 비트맵을 다시 만든다.
+ */
+@Slf4j
+@Service
+public class SeatHoldEngine implements SeatLayoutChangeListener {
+	public static final int MAX_SEATS_PER_HOLD = 4;
+
+	private final SeatLayoutRepository seatLayoutRepository;
+	private final SeatHoldStore seatHoldStore;
+	private final Duration holdTtl;
+	private final long localCacheTtlMillis;
+	private final int maxAttempts;
+
+	private final Map<Long, SeatLayoutIndex> indexes = new ConcurrentHashMap<>();
+	// 이벤트별로 비트맵 초기화에 쓴 대응표. 레이아웃이 바뀌어 대응표가 달라지면 다시 초기화한다.
+	private final Map<String, SeatLayoutIndex> initializedEvents = new ConcurrentHashMap<>();
+	private final Map<String, CachedAvailability> localAvailability = new ConcurrentHashMap<>();
+
+	public SeatHoldEngine(SeatLayoutRepository seatLayoutRepository, SeatHoldStore seatHoldStore,
+		@Value("${custom.seat.hold-ttl-ms:300000}") long holdTtlMillis,
+		@Value("${custom.seat.availability-cache-ttl-ms:500}") long localCacheTtlMillis,
+		@Value("${custom.seat.hold-max-attempts:3}") int maxAttempts) {
+		this.seatLayoutRepository = seatLayoutRepository;
+		this.seatHoldStore = seatHoldStore;
+		this.holdTtl = Duration.ofMillis(holdTtlMillis);
+		this.localCacheTtlMillis = localCacheTtlMillis;
+		this.maxAttempts = Math.max(1, maxAttempts);
+	}
+
+	/**
+	 * 지정석 hold. 요청한 좌석을 모두 hold 하거나 하나도 hold 하지 않는다.
+	 *
+	 * @throws IllegalArgumentException 레이아웃에 없는 좌석이 포함된 경우
+	 * @throws ConflictException 이미 판매되었거나 다른 유저가 hold 한 좌석이 포함된 경우
+	 */
+	public List<String> holdSeats(String eventId, Long layoutId, String userId, List<String> seatIds) {
+		SeatLayoutIndex index = prepare(eventId, layoutId);
+		int[] ordinals = ordinalsOf(index, seatIds, "[selectSeats] 존재하지 않는 좌석이 포함되어 있습니다.");
+
+		SeatAvailability availability = readAvailability(eventId, false);
+		for (int i = 0; i < ordinals.length; i++) {
+			if (availability.sold().get(ordinals[i])) {
+				throw new ConflictException("[selectSeats] 이미 예매된 좌석입니다. seatId = " + seatIds.get(i));
+			}
+		}
+
+		int conflict = seatHoldStore.hold(eventId, userId, ordinals, seatIds.toArray(String[]::new), holdTtl);
+		if (conflict >= 0) {
+			localAvailability.remove(eventId);
+			throw new ConflictException("[selectSeats] 이미 예매된 좌석입니다. seatId = " + seatIds.get(conflict));
+		}
+		return List.copyOf(seatIds);
+	}
+
+	/**
+	 * 미지정석 hold. 로컬 비트맵에서 비어 있는 좌석을 임의 위치부터 골라 hold 하고, 경합으로 실패하면 다시 고른다.
+	 *
+	 * @throws ConflictException 남은 좌석이 부족하거나 재시도 후에도 hold 하지 못한 경우
+	 */
+	public List<String> holdAnySeats(String eventId, Long layoutId, String userId, int count) {
+		SeatLayoutIndex index = prepare(eventId, layoutId);
+
+		for (int attempt = 0; attempt < maxAttempts; attempt++) {
+			SeatAvailability availability = readAvailability(eventId, attempt > 0);
+			int[] ordinals = pickFree(index, availability, count);
+			if (ordinals.length < count) {
+				throw new ConflictException("[selectSeats] 예매 가능한 좌석 수가 부족합니다.");
+			}
+			String[] seatIds = new String[ordinals.length];
+			for (int i = 0; i < ordinals.length; i++) {
+				seatIds[i] = index.seatIdAt(ordinals[i]);
+			}
+
+			if (seatHoldStore.hold(eventId, userId, ordinals, seatIds, holdTtl) < 0) {
+				return List.of(seatIds);
+			}
+			localAvailability.remove(eventId);
+		}
+		throw new ConflictException("[selectSeats] 좌석 선점 경쟁이 많아 hold 하지 못했습니다. 다시 시도해 주세요.");
+	}
+
+	/**
+	 * 본인이 hold 한 좌석을 해제한다. hold가 이미 없거나 다른 유저의 hold면 건너뛴다.
+	 *
+	 * @return 해제한 좌석 수
+	 */
+	public int releaseSeats(String eventId, Long layoutId, String userId, List<String> seatIds) {
+		SeatLayoutIndex index = prepare(eventId, layoutId);
+		int[] ordinals = ordinalsOf(index, seatIds, "[cancelSeat] 존재하지 않는 좌석입니다.");
+		int released = seatHoldStore.release(eventId, userId, ordinals, seatIds.toArray(String[]::new));
+		if (released > 0) {
+			localAvailability.remove(eventId);
+		}
+		return released;
+	}
+
+	/**
+	 * 결제 완료된 좌석을 판매 비트맵에 반영한다. 레이아웃에 없는 좌석은 무시한다.
+	 */
+	public void markSold(String eventId, Long layoutId, List<String> seatIds) {
+		SeatLayoutIndex index = prepare(eventId, layoutId);
+		List<Integer> ordinals = new ArrayList<>(seatIds.size());
+		List<String> known = new ArrayList<>(seatIds.size());
+		for (String seatId : seatIds) {
+			int ordinal = index.ordinalOf(seatId);
+			if (ordinal < 0) {
+				log.warn("[markSold] 레이아웃 {}에 없는 좌석입니다. seatId = {}", layoutId, seatId);
+				continue;
+			}
+			ordinals.add(ordinal);
+			known.add(seatId);
+		}
+		if (ordinals.isEmpty()) {
+			return;
+		}
+		seatHoldStore.markSold(eventId, ordinals.stream().mapToInt(Integer::intValue).toArray(),
+			known.toArray(String[]::new));
+		localAvailability.remove(eventId);
+	}
+
+	/**
+	 * 모든 좌석을 비트맵에서 판매 불가로 표시한다. DB 변경이 커밋된 뒤에 반영한다.
+	 */
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onAllSeatsUnavailable(AllSeatsUnavailableEvent event) {
+		markAllUnavailable(event.eventId(), event.seatLayoutId());
+	}
+
+	public void markAllUnavailable(String eventId, Long layoutId) {
+		SeatLayoutIndex index = prepare(eventId, layoutId);
+		seatHoldStore.markAllSold(eventId, index.size());
+		localAvailability.remove(eventId);
+		log.info("[SeatHoldEngine] 이벤트 {} 좌석 {}개 판매 불가 처리", eventId, index.size());
+	}
+
+	/**
+	 * 좌석 번호 대응표. 이벤트 비트맵이 아직 없거나 다른 레이아웃으로 만들어졌으면 DB 판매 상태로 초기화한다.
+	 */
+	public SeatLayoutIndex index(String eventId, Long layoutId) {
+		return prepare(eventId, layoutId);
+	}
+
+	/**
+	 * 좌석 지도용 판매/hold 상태. 로컬 복사본 유지 시간만큼 늦을 수 있다.
+	 */
+	public SeatAvailability availability(String eventId, Long layoutId) {
+		prepare(eventId, layoutId);
+		return readAvailability(eventId, false);
+	}
+
+	/**
+	 * 레이아웃이 변경되면 좌석 번호 대응표를 다시 읽도록 버린다. 그 레이아웃을 쓰는 이벤트는 다음 요청에서 비트맵을 다시 맞춘다.
+	 */
+	public void evict(Long layoutId) {
+		indexes.remove(layoutId);
+		initializedEvents.entrySet().removeIf(entry -> {
+			if (!entry.getValue().layoutId().equals(layoutId)) {
+				return false;
+			}
+			localAvailability.remove(entry.getKey());
+			return true;
+		});
+	}
+
+	@Override
+	public void onLayoutChanged(Long layoutId) {
+		evict(layoutId);
+	}
+
+	private SeatLayoutIndex prepare(String eventId, Long layoutId) {
+		SeatLayoutIndex index = indexes.computeIfAbsent(layoutId, this::loadIndex);
+		if (initializedEvents.get(eventId) != index) {
+			// 스크립트가 리비전을 비교하므로 여러 스레드/인스턴스가 동시에 호출해도 한 번만 반영된다.
+			seatHoldStore.initialize(eventId, index.revision(), index.size(), index.soldAtLoad());
+			initializedEvents.put(eventId, index);
+			localAvailability.remove(eventId);
+		}
+		return index;
+	}
+
+	private SeatLayoutIndex loadIndex(Long layoutId) {
+		SeatLayout seatLayout = seatLayoutRepository.findSeatLayoutWithSeats(layoutId);
+		if (seatLayout == null) {
+			throw new IllegalArgumentException("좌석 레이아웃을 찾을 수 없습니다. seatLayoutId=" + layoutId);
+		}
+		SeatLayoutIndex index = SeatLayoutIndex.from(seatLayout);
+		log.info("[SeatHoldEngine] 좌석 레이아웃 {} 인덱스 적재. 좌석 수: {}", layoutId, index.size());
+		return index;
+	}
+
+	private int[] ordinalsOf(SeatLayoutIndex index, List<String> seatIds, String unknownSeatMessage) {
+		int[] ordinals = new int[seatIds.size()];
+		for (int i = 0; i < ordinals.length; i++) {
+			ordinals[i] = index.ordinalOf(seatIds.get(i));
+			if (ordinals[i] < 0) {
+				throw new IllegalArgumentException(unknownSeatMessage);
+			}
+		}
+		return ordinals;
+	}
+
+	/**
+	 * 같은 좌석으로 몰리지 않도록 임의 위치부터 한 바퀴 돌며 비어 있는 좌석을 고른다.
+	 */
+	private int[] pickFree(SeatLayoutIndex index, SeatAvailability availability, int count) {
+		int size = index.size();
+		if (size == 0) {
+			return new int[0];
+		}
+		int start = ThreadLocalRandom.current().nextInt(size);
+		int[] picked = new int[count];
+		int found = 0;
+		for (int i = 0; i < size && found < count; i++) {
+			int ordinal = (start + i) % size;
+			if (availability.isFree(ordinal)) {
+				picked[found++] = ordinal;
+			}
+		}
+		return found == count ? picked : Arrays.copyOf(picked, found);
+	}
+
+	private SeatAvailability readAvailability(String eventId, boolean refresh) {
+		long now = System.currentTimeMillis();
+		CachedAvailability cached = localAvailability.get(eventId);
+		if (!refresh && cached != null && now - cached.loadedAt() < localCacheTtlMillis) {
+			return cached.availability();
+		}
+		SeatAvailability availability = seatHoldStore.readAvailability(eventId);
+		localAvailability.put(eventId, new CachedAvailability(availability, now));
+		return availability;
+	}
+
+	private record CachedAvailability(SeatAvailability availability, long loadedAt) {
+	}
+}
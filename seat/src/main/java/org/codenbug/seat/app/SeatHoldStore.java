@@ -0,0 +1,93 @@
+package org.codenbug.seat.app;
+
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 이벤트별 좌석 판매/hold 비트맵 저장소.
+ * 좌석은 {@link SeatLayoutIndex}의 좌석 번호로 표현되고, seatId는 좌석별 hold 락 키를 만들 때만 쓴다.
+ * <p>
+ * 좌석 상태가 바뀔 때마다 이벤트의 버전이 1씩 오르고, 버전별 변경 내역이 제한된 길이로 보관된다.
+ */
+public interface SeatHoldStore {
+
+	/**
+	 * 판매 비트맵이 없거나 다른 레이아웃 리비전으로 만들어졌을 때만 DB 스냅샷으로 초기화한다.
+	 * 리비전이 바뀌면 이전 비트맵/hold/변경 내역을 버리고 버전을 올린다. 여러 인스턴스가 동시에 호출해도 한 번만 반영된다.
+	 */
+	void initialize(String eventId, String layoutRevision, int seatCount, BitSet sold);
+
+	/**
+	 * 좌석들을 모두 hold 하거나 하나도 hold 하지 않는다. 이미 본인이 hold 한 좌석은 TTL만 갱신된다.
+	 *
+	 * @return 실패한 좌석의 요청 내 위치, 모두 성공하면 -1
+	 */
+	int hold(String eventId, String userId, int[] ordinals, String[] seatIds, Duration ttl);
+
+	/**
+	 * 본인이 hold 한 좌석만 해제한다.
+	 *
+	 * @return 해제한 좌석 수
+	 */
+	int release(String eventId, String userId, int[] ordinals, String[] seatIds);
+
+	void markSold(String eventId, int[] ordinals, String[] seatIds);
+
+	/**
+	 * 모든 좌석을 판매 불가로 표시하고 hold를 정리한다.
+	 */
+	void markAllSold(String eventId, int seatCount);
+
+	/**
+	 * 만료되지 않은 hold가 남아 있을 수 있는 이벤트들
+	 */
+	Set<String> eventsWithHolds();
+
+	/**
+	 * 만료된 hold를 최대 {@code limit}개 정리한다.
+	 *
+	 * @return 정리한 좌석 수
+	 */
+	int expireHolds(String eventId, int limit);
+
+	/**
+	 * 버전과 판매/hold 비트맵을 한 시점 기준으로 읽는다. 저장소는 바꾸지 않고, 아직 정리되지 않은 만료 hold는
+	 * hold 비트맵에서 뺀 채로 돌려준다.
+	 */
+	SeatAvailability readAvailability(String eventId);
+
+	/**
+	 * {@code sinceVersion} 다음 버전부터 최대 {@code limit}개의 변경 내역을 버전 순으로 읽는다.
+	 * 보관 기간이 지나 잘린 버전은 포함되지 않으므로 호출자가 연속성을 확인해야 한다.
+	 */
+	List<SeatChangeSet> readChangesSince(String eventId, long sinceVersion, int limit);
+
+	long currentVersion(String eventId);
+
+	record SeatAvailability(long version, BitSet sold, BitSet held) {
+		public boolean isFree(int ordinal) {
+			return !sold.get(ordinal) && !held.get(ordinal);
+		}
+	}
+
+	/**
+	 * 한 버전에서 바뀐 좌석 번호별 상태
+	 */
+	record SeatChangeSet(long version, Map<Integer, SeatState> states) {
+	}
+
+	enum SeatState {
+		AVAILABLE, HELD, SOLD;
+
+		public static SeatState fromCode(String code) {
+			return switch (code) {
+				case "1" -> HELD;
+				case "2" -> SOLD;
+				default -> AVAILABLE;
+			};
+		}
+	}
+}
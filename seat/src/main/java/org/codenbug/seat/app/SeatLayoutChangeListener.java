@@ -0,0 +1,8 @@
+package org.codenbug.seat.app;
+
+/**
+ * 좌석 레이아웃이 변경되어 커밋되었을 때 호출된다. 어느 인스턴스에서 바뀌었든 모든 인스턴스에 전달된다.
+ */
+public interface SeatLayoutChangeListener {
+	void onLayoutChanged(Long layoutId);
+}
@@ -0,0 +1,78 @@
+package org.codenbug.seat.app;
+
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.codenbug.seat.domain.Seat;
+import org.codenbug.seat.domain.SeatLayout;
+
+/**
+ * 좌석 레이아웃의 seatId와 비트맵 위치(좌석 번호)의 대응표.
+ * <p>
+ * 좌석 번호는 seatId 정렬 순서라 같은 레이아웃이면 어느 인스턴스에서 만들어도 같다.
+ * {@code soldAtLoad}는 레이아웃을 읽은 시점의 DB 판매 상태로, Redis 비트맵 초기화에만 쓴다.
+ * {@code revision}은 레이아웃 ID와 좌석 구성에서 계산한 값이라 레이아웃이 바뀌면 달라지고, Redis 비트맵이 어느 구성으로 만들어졌는지 표시한다.
+ */
+public final class SeatLayoutIndex {
+	private final Long layoutId;
+	private final List<String> seatIds;
+	private final Map<String, Integer> ordinals;
+	private final BitSet soldAtLoad;
+	private final String revision;
+
+	private SeatLayoutIndex(Long layoutId, List<String> seatIds, BitSet soldAtLoad) {
+		this.layoutId = layoutId;
+		this.seatIds = seatIds;
+		this.soldAtLoad = soldAtLoad;
+		this.revision = layoutId + ":" + seatIds.size() + "-" + Integer.toHexString(seatIds.hashCode());
+		this.ordinals = new HashMap<>(seatIds.size() * 2);
+		for (int i = 0; i < seatIds.size(); i++) {
+			ordinals.put(seatIds.get(i), i);
+		}
+	}
+
+	public static SeatLayoutIndex from(SeatLayout seatLayout) {
+		List<Seat> seats = seatLayout.getSeats().stream()
+			.sorted(Comparator.comparing(seat -> seat.getSeatId().getValue()))
+			.toList();
+		BitSet sold = new BitSet(seats.size());
+		for (int i = 0; i < seats.size(); i++) {
+			if (!seats.get(i).isAvailable()) {
+				sold.set(i);
+			}
+		}
+		return new SeatLayoutIndex(seatLayout.getId(),
+			seats.stream().map(seat -> seat.getSeatId().getValue()).toList(), sold);
+	}
+
+	public Long layoutId() {
+		return layoutId;
+	}
+
+	public String revision() {
+		return revision;
+	}
+
+	public int size() {
+		return seatIds.size();
+	}
+
+	/**
+	 * @return 좌석 번호, 레이아웃에 없는 좌석이면 -1
+	 */
+	public int ordinalOf(String seatId) {
+		Integer ordinal = ordinals.get(seatId);
+		return ordinal == null ? -1 : ordinal;
+	}
+
+	public String seatIdAt(int ordinal) {
+		return seatIds.get(ordinal);
+	}
+
+	public BitSet soldAtLoad() {
+		return (BitSet)soldAtLoad.clone();
+	}
+}
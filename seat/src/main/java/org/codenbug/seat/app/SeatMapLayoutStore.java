@@ -0,0 +1,14 @@
+package org.codenbug.seat.app;
+
+import org.codenbug.seat.global.SeatLayoutResponse;
+
+/**
+ * 좌석 지도의 정적 부분(레이아웃, 좌석 정보) 공유 캐시. 좌석 가용 여부는 담지 않는다.
+ */
+public interface SeatMapLayoutStore {
+	SeatLayoutResponse find(Long layoutId);
+
+	void save(SeatLayoutResponse layout);
+
+	void evict(Long layoutId);
+}
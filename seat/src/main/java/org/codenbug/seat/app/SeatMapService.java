@@ -0,0 +1,180 @@
+package org.codenbug.seat.app;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.codenbug.seat.app.SeatHoldStore.SeatAvailability;
+import org.codenbug.seat.app.SeatHoldStore.SeatChangeSet;
+import org.codenbug.seat.app.SeatHoldStore.SeatState;
+import org.codenbug.seat.domain.SeatLayout;
+import org.codenbug.seat.domain.SeatLayoutRepository;
+import org.codenbug.seat.global.SeatDto;
+import org.codenbug.seat.global.SeatLayoutResponse;
+import org.codenbug.seat.global.SeatMapDeltaResponse;
+import org.codenbug.seat.global.SeatStateDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 버전이 붙은 좌석 지도 조회.
+ * <p>
+ * 레이아웃/좌석 정보는 인스턴스 메모리(L1)와 {@link SeatMapLayoutStore}(L2)에 한 번 만들어 두고,
+ * 가용 여부는 좌석 비트맵에서 채운다. 같은 버전의 지도는 이벤트별로 한 번만 만들어 재사용한다.
+ * 버전은 좌석 상태가 바뀔 때마다 오르므로 클라이언트는 ETag로 재요청을 줄이거나 변경분만 받을 수 있다.
+ */
+@Slf4j
+@Service
+public class SeatMapService implements SeatLayoutChangeListener {
+	private final EventSeatLayoutPort eventServiceClient;
+	private final SeatLayoutRepository seatLayoutRepository;
+	private final SeatHoldEngine seatHoldEngine;
+	private final SeatHoldStore seatHoldStore;
+	private final SeatMapLayoutStore seatMapLayoutStore;
+	private final long layoutLocalTtlMillis;
+	private final int maxDeltaVersions;
+
+	private final Map<Long, CachedLayout> layouts = new ConcurrentHashMap<>();
+	private final Map<String, SeatMapView> rendered = new ConcurrentHashMap<>();
+
+	public SeatMapService(EventSeatLayoutPort eventServiceClient, SeatLayoutRepository seatLayoutRepository,
+		SeatHoldEngine seatHoldEngine, SeatHoldStore seatHoldStore, SeatMapLayoutStore seatMapLayoutStore,
+		@Value("${custom.seat.snapshot-local-ttl-ms:60000}") long layoutLocalTtlMillis,
+		@Value("${custom.seat.max-delta-versions:1000}") int maxDeltaVersions) {
+		this.eventServiceClient = eventServiceClient;
+		this.seatLayoutRepository = seatLayoutRepository;
+		this.seatHoldEngine = seatHoldEngine;
+		this.seatHoldStore = seatHoldStore;
+		this.seatMapLayoutStore = seatMapLayoutStore;
+		this.layoutLocalTtlMillis = layoutLocalTtlMillis;
+		this.maxDeltaVersions = maxDeltaVersions;
+	}
+
+	/**
+	 * 이벤트의 좌석 지도와 버전
+	 */
+	public SeatMapView getSeatMap(String eventId) {
+		Long layoutId = eventServiceClient.getEventSummary(eventId).seatLayoutId();
+		SeatAvailability availability = seatHoldEngine.availability(eventId, layoutId);
+
+		SeatMapView cached = rendered.get(eventId);
+		if (cached != null && cached.layoutId().equals(layoutId) && cached.version() == availability.version()) {
+			return cached;
+		}
+
+		SeatLayoutResponse layout = layout(layoutId);
+		if (layout.getSeats().size() != seatHoldEngine.index(eventId, layoutId).size()) {
+			// 레이아웃이 바뀐 뒤 남은 캐시. 다시 읽는다.
+			evictLayout(layoutId);
+			layout = layout(layoutId);
+		}
+
+		List<SeatDto> seats = new ArrayList<>(layout.getSeats().size());
+		for (int ordinal = 0; ordinal < layout.getSeats().size(); ordinal++) {
+			SeatDto seat = layout.getSeats().get(ordinal);
+			seats.add(new SeatDto(seat.getId(), seat.getSignature(), seat.getGrade(), seat.getPrice(),
+				availability.isFree(ordinal)));
+		}
+		SeatMapView view = new SeatMapView(layoutId, availability.version(),
+			new SeatLayoutResponse(layout.getId(), layout.getSeatLayout(), seats, layout.getHallName(),
+				layout.getLocationName(), layout.getRegionLocation()));
+		rendered.put(eventId, view);
+		return view;
+	}
+
+	/**
+	 * {@code sinceVersion} 이후 바뀐 좌석들의 마지막 상태. 변경 내역이 잘렸거나 너무 많으면 reset을 돌려준다.
+	 */
+	public SeatMapDeltaResponse getChanges(String eventId, long sinceVersion) {
+		Long layoutId = eventServiceClient.getEventSummary(eventId).seatLayoutId();
+		return getChanges(eventId, layoutId, sinceVersion);
+	}
+
+	public SeatMapDeltaResponse getChanges(String eventId, Long layoutId, long sinceVersion) {
+		SeatLayoutIndex index = seatHoldEngine.index(eventId, layoutId);
+		long current = seatHoldStore.currentVersion(eventId);
+		if (sinceVersion == current) {
+			return new SeatMapDeltaResponse(current, false, List.of());
+		}
+		if (sinceVersion > current || current - sinceVersion > maxDeltaVersions) {
+			return SeatMapDeltaResponse.reset(current);
+		}
+
+		List<SeatChangeSet> changes = seatHoldStore.readChangesSince(eventId, sinceVersion, maxDeltaVersions);
+		if (changes.isEmpty() || changes.get(0).version() != sinceVersion + 1) {
+			return SeatMapDeltaResponse.reset(current);
+		}
+
+		Map<Integer, SeatState> latest = new LinkedHashMap<>();
+		for (SeatChangeSet change : changes) {
+			latest.putAll(change.states());
+		}
+		List<SeatStateDto> seats = new ArrayList<>(latest.size());
+		latest.forEach((ordinal, state) -> {
+			if (ordinal < index.size()) {
+				seats.add(new SeatStateDto(index.seatIdAt(ordinal), state.name()));
+			}
+		});
+		return new SeatMapDeltaResponse(changes.get(changes.size() - 1).version(), false, seats);
+	}
+
+	public void evictLayout(Long layoutId) {
+		layouts.remove(layoutId);
+		seatMapLayoutStore.evict(layoutId);
+		rendered.values().removeIf(view -> view.layoutId().equals(layoutId));
+	}
+
+	@Override
+	public void onLayoutChanged(Long layoutId) {
+		evictLayout(layoutId);
+	}
+
+	private SeatLayoutResponse layout(Long layoutId) {
+		long now = System.currentTimeMillis();
+		CachedLayout cached = layouts.get(layoutId);
+		if (cached != null && now - cached.loadedAt() < layoutLocalTtlMillis) {
+			return cached.layout();
+		}
+
+		SeatLayoutResponse layout = seatMapLayoutStore.find(layoutId);
+		if (layout == null) {
+			layout = loadLayout(layoutId);
+			seatMapLayoutStore.save(layout);
+		}
+		layouts.put(layoutId, new CachedLayout(layout, now));
+		return layout;
+	}
+
+	/**
+	 * 좌석은 {@link SeatLayoutIndex}와 같은 seatId 순서로 둬서 목록 위치가 곧 좌석 번호가 되게 한다.
+	 */
+	private SeatLayoutResponse loadLayout(Long layoutId) {
+		SeatLayout seatLayout = seatLayoutRepository.findSeatLayoutWithSeats(layoutId);
+		if (seatLayout == null) {
+			throw new IllegalArgumentException("좌석 레이아웃을 찾을 수 없습니다. seatLayoutId=" + layoutId);
+		}
+		List<SeatDto> seats = seatLayout.getSeats().stream()
+			.sorted(Comparator.comparing(seat -> seat.getSeatId().getValue()))
+			.map(seat -> new SeatDto(seat.getSeatId().getValue(), seat.getSignature(), seat.getGrade(),
+				seat.getAmount(), true))
+			.toList();
+		log.info("[seatMap] 좌석 레이아웃 {} 스냅샷 생성. 좌석 수: {}", layoutId, seats.size());
+		return new SeatLayoutResponse(seatLayout.getId(), seatLayout.getLayout(), seats,
+			seatLayout.getLocation().getHallName(), seatLayout.getLocation().getLocationName(),
+			seatLayout.getRegionLocation());
+	}
+
+	public record SeatMapView(Long layoutId, long version, SeatLayoutResponse seatMap) {
+		public String etag() {
+			return "\"" + layoutId + "." + version + "\"";
+		}
+	}
+
+	private record CachedLayout(SeatLayoutResponse layout, long loadedAt) {
+	}
+}
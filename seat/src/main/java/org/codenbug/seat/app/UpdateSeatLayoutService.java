@@ -1,13 +1,8 @@
 package org.codenbug.seat.app;
 
-import static org.codenbug.seat.app.SeatTransactionService.*;
-
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 
 import org.codenbug.message.SeatLayoutUpdatedEvent;
-import org.codenbug.redislock.RedisLockService;
 import org.codenbug.seat.domain.Seat;
 import org.codenbug.seat.domain.SeatLayout;
 import org.codenbug.seat.domain.SeatLayoutRepository;
@@ -27,18 +22,18 @@ import lombok.extern.slf4j.Slf4j;
 public class UpdateSeatLayoutService {
 	private final SeatLayoutRepository seatLayoutRepository;
 	private final EventSeatLayoutPort eventServiceClient;
-	private final SeatTransactionService seatTransactionService;
-	private final RedisLockService redisLockService;
+	private final SeatHoldEngine seatHoldEngine;
+	private final SeatMapService seatMapService;
 	private final ApplicationEventPublisher eventPublisher;
 
 	public UpdateSeatLayoutService(SeatLayoutRepository seatLayoutRepository,
 			EventSeatLayoutPort eventServiceClient,
-			SeatTransactionService seatTransactionService, RedisLockService redisLockService,
+			SeatHoldEngine seatHoldEngine, SeatMapService seatMapService,
 			ApplicationEventPublisher eventPublisher) {
 		this.seatLayoutRepository = seatLayoutRepository;
 		this.eventServiceClient = eventServiceClient;
-		this.seatTransactionService = seatTransactionService;
-		this.redisLockService = redisLockService;
+		this.seatHoldEngine = seatHoldEngine;
+		this.seatMapService = seatMapService;
 		this.eventPublisher = eventPublisher;
 	}
 
@@ -52,32 +47,38 @@ public class UpdateSeatLayoutService {
 						.toList());
 
 		seatLayoutRepository.save(layout);
+		seatHoldEngine.evict(seatLayoutId);
+		seatMapService.evictLayout(seatLayoutId);
 
 		// Publish SeatLayoutUpdatedEvent after transaction success
+		// 커밋 후 SeatLayoutChangeRelay가 모든 인스턴스에 레이아웃 변경을 알려 대응표/캐시를 다시 버리게 한다.
 		SeatLayoutUpdatedEvent seatLayoutUpdatedEvent = new SeatLayoutUpdatedEvent(seatLayoutId);
 		eventPublisher.publishEvent(seatLayoutUpdatedEvent);
 
 		log.info("[update] SeatLayout 업데이트 완료. seatLayoutId: {}", seatLayoutId);
 	}
 
+	/**
+	 * 이벤트의 모든 좌석을 판매 불가로 바꾼다. 좌석 비트맵은 커밋 후 {@link SeatHoldEngine}이 맞춘다.
+	 */
 	@Transactional
-	public void markAllSeatsUnavailable(Long seatLayoutId) {
+	public void markAllSeatsUnavailable(String eventId, Long seatLayoutId) {
 		SeatLayout seatLayout = seatLayoutRepository.findSeatLayout(seatLayoutId);
 		seatLayout.markAllUnavailable();
 		seatLayoutRepository.save(seatLayout);
-		log.info("[update] SeatLayout 좌석 모두 비활성화. seatLayoutId: {}", seatLayoutId);
+		eventPublisher.publishEvent(new AllSeatsUnavailableEvent(eventId, seatLayoutId));
+		log.info("[update] SeatLayout 좌석 모두 비활성화. eventId: {}, seatLayoutId: {}", eventId, seatLayoutId);
 	}
 
 	/**
-	 * 좌석 선택 요청에 따라 Redis 락을 걸고, DB에 좌석 상태 반영
+	 * 좌석 선택 요청에 따라 좌석 비트맵에서 hold. DB는 읽거나 쓰지 않는다.
 	 *
 	 * @param eventId 이벤트 ID
 	 * @param seatSelectRequest 선택한 좌석 ID 목록을 포함한 요청 객체
 	 * @param userId 유저 ID
-	 * @throws IllegalStateException 이미 선택된 좌석이 있는 경우
+	 * @throws ConflictException 이미 선택/예매된 좌석이 있거나 남은 좌석이 부족한 경우
 	 * @throws IllegalArgumentException 존재하지 않는 좌석이 포함된 경우
 	 */
-	@Transactional
 	public SeatSelectResponse selectSeat(String eventId, SeatSelectRequest seatSelectRequest,
 			String userId) {
 		if (userId == null) {
@@ -85,36 +86,35 @@ public class UpdateSeatLayoutService {
 		}
 
 		EventSeatLayoutSummary event = eventServiceClient.getEventSummary(eventId);
-
-		SeatLayout seatLayout = seatLayoutRepository.findSeatLayout(event.seatLayoutId());
-		Set<Seat> seats = seatLayout.getSeats();
-		List<Seat> selectedSeats = seats.stream().filter(seat -> seatSelectRequest.getSeatList()
-				.stream().anyMatch(seatId -> seatId.equals(seat.getSeatId().getValue()))).toList();
+		List<String> requestedSeatIds = seatSelectRequest.getSeatList() == null
+				? List.of() : seatSelectRequest.getSeatList();
+		int ticketCount = seatSelectRequest.getTicketCount();
 
 		List<String> reservedSeatIds;
 
 		if (event.seatSelectable()) {
 			// 지정석 예매 처리
-			if (selectedSeats != null && selectedSeats.size() > 4) {
+			if (requestedSeatIds.size() > SeatHoldEngine.MAX_SEATS_PER_HOLD) {
 				throw new IllegalArgumentException("최대 4개의 좌석만 선택할 수 있습니다.");
 			}
-			if (selectedSeats.size() != seatSelectRequest.getSeatList().size()) {
-				throw new IllegalArgumentException("[selectSeats] 존재하지 않는 좌석이 포함되어 있습니다.");
+			if (requestedSeatIds.stream().distinct().count() != requestedSeatIds.size()) {
+				throw new IllegalArgumentException("[selectSeats] 중복된 좌석이 포함되어 있습니다.");
 			}
-			if (selectedSeats.size() != seatSelectRequest.getTicketCount()) {
+			if (requestedSeatIds.size() != ticketCount) {
 				throw new IllegalArgumentException("[selectSeats] 좌석 수량과 티켓 수량이 일치해야 합니다.");
 			}
-			reservedSeatIds =
-					selectSeats(selectedSeats, userId, eventId, true, seatSelectRequest.getTicketCount());
+			reservedSeatIds = seatHoldEngine.holdSeats(eventId, event.seatLayoutId(), userId, requestedSeatIds);
 		} else {
 			// 미지정석 예매 처리
-			if (selectedSeats != null && !selectedSeats.isEmpty()) {
+			if (!requestedSeatIds.isEmpty()) {
 				throw new IllegalArgumentException("[selectSeats] 미지정석 예매 시 좌석 목록은 제공되지 않아야 합니다.");
 			}
-			List<Seat> availableSeats = seats.stream().filter(Seat::isAvailable).toList();
-			reservedSeatIds =
-					selectSeats(availableSeats, userId, eventId, false, seatSelectRequest.getTicketCount());
+			if (ticketCount > SeatHoldEngine.MAX_SEATS_PER_HOLD) {
+				throw new IllegalArgumentException("최대 4개의 좌석만 선택할 수 있습니다.");
+			}
+			reservedSeatIds = seatHoldEngine.holdAnySeats(eventId, event.seatLayoutId(), userId, ticketCount);
 		}
+		log.info("[selectSeats] userId {} eventId {} hold 좌석: {}", userId, eventId, reservedSeatIds);
 
 		SeatSelectResponse seatSelectResponse = new SeatSelectResponse();
 		seatSelectResponse.setSeatList(reservedSeatIds);
@@ -122,84 +122,20 @@ public class UpdateSeatLayoutService {
 	}
 
 	/**
-	 * 지정석 또는 미지정석 선택 처리
-	 *
-	 * @param selectedSeats 좌석 목록 (지정석일 경우 사용)
-	 * @param userId 유저 ID
-	 * @param eventId 이벤트 ID
-	 * @param isDesignated 지정석 여부
-	 * @param ticketCount 예매할 좌석 수 (미지정석 예매 시 사용)
-	 */
-	private List<String> selectSeats(List<Seat> selectedSeats, String userId, String eventId,
-			boolean isDesignated, int ticketCount) {
-		List<String> reservedSeatIds = new ArrayList<>();
-		log.info("selectedSeats: {}", selectedSeats);
-		if (isDesignated) {
-			// 지정석 예매 처리
-			for (Seat seat : selectedSeats) {
-				String seatId = seat.getSeatId().getValue();
-				if (!seat.isAvailable()) {
-					throw new ConflictException(
-							"[selectSeats] 이미 예매된 좌석입니다. seatId = " + seat.getSeatId().getValue());
-				}
-
-				reserveSeat(seat, userId, eventId, seatId);
-				reservedSeatIds.add(seatId);
-			}
-		} else {
-			// 미지정석 예매 처리
-			List<Seat> availableSeats = selectedSeats.stream().filter(Seat::isAvailable).limit(ticketCount).toList();
-
-			if (availableSeats.size() < ticketCount) {
-				throw new ConflictException("[selectSeats] 예매 가능한 좌석 수가 부족합니다.");
-			}
-
-			for (Seat seat : availableSeats) {
-				reserveSeat(seat, userId, eventId, seat.getSeatId().getValue());
-				reservedSeatIds.add(seat.getSeatId().getValue());
-			}
-		}
-		return reservedSeatIds;
-	}
-
-	/**
-	 * 좌석을 예약하고 Redis 락을 관리하는 공통 로직
-	 *
-	 * @param seat 좌석 객체
-	 * @param userId 유저 ID
-	 * @param eventId 이벤트 ID
-	 * @param seatId 좌석 ID
-	 */
-	public void reserveSeat(Seat seat, String userId, String eventId, String seatId) {
-		seatTransactionService.reserveSeat(seat, userId, eventId, seatId);
-	}
-
-	/**
-	 * 좌석 취소 요청에 따라 Redis 락을 해제하고, DB에 좌석 상태 반영
+	 * 좌석 취소 요청에 따라 본인의 좌석 hold를 해제. 이미 해제된 좌석은 건너뛴다.
 	 *
 	 * @param eventId 이벤트 ID
 	 * @param seatCancelRequest 선택한 좌석 ID 목록을 포함한 요청 객체
 	 * @param userId 유저 ID
 	 * @throws IllegalArgumentException 존재하지 않는 좌석이 포함된 경우
 	 */
-	@Transactional
 	public void cancelSeat(String eventId, SeatCancelRequest seatCancelRequest, String userId) {
 		if (userId == null) {
 			throw new IllegalArgumentException("[cancelSeat] 로그인된 사용자가 없습니다.");
 		}
 		EventSeatLayoutSummary event = eventServiceClient.getEventSummary(eventId);
-		SeatLayout seatLayout = seatLayoutRepository.findSeatLayout(event.seatLayoutId());
-
-		for (String seatId : seatCancelRequest.getSeatList()) {
-			String lockKey = SEAT_LOCK_KEY_PREFIX + eventId + ":" + seatId;
-
-			String lockValue = redisLockService.getLockValue(lockKey);
-
-			boolean unlockSuccess = redisLockService.unlock(lockKey, lockValue);
-			Seat selectedSeat = seatLayout.getSeats().stream()
-					.filter(seat -> seat.getSeatId().getValue().equals(seatId)).findFirst()
-					.orElseThrow(() -> new IllegalArgumentException("[cancelSeat] 존재하지 않는 좌석입니다."));
-			selectedSeat.cancelReserve();
-		}
+		int released = seatHoldEngine.releaseSeats(eventId, event.seatLayoutId(), userId,
+				seatCancelRequest.getSeatList());
+		log.info("[cancelSeat] userId {} eventId {} 해제한 좌석 수: {}", userId, eventId, released);
 	}
 }
@@ -1,15 +1,49 @@
 package org.codenbug.seat.config;
 
+import org.springframework.amqp.core.AcknowledgeMode;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class RabbitMqConfig {
+	public static final String SEAT_PURCHASED_QUEUE = "seat-purchased";
+	public static final String SEAT_PURCHASED_DLQ = "seat-purchased.dlq";
 
 	@Bean
 	public Queue seatPurchasedQueue() {
-		return new Queue("seat-purchased");
+		return new Queue(SEAT_PURCHASED_QUEUE);
+	}
+
+	/**
+	 * 처리에 실패한 seat-purchased 메시지를 원본 그대로 보관한다.
+	 */
+	@Bean
+	public Queue seatPurchasedDeadLetterQueue() {
+		return new Queue(SEAT_PURCHASED_DLQ);
+	}
+
+	/**
+	 * seat-purchased를 최대 batch-size개씩 모아 한 번에 전달한다.
+	 * 배치가 정상 반환되면 한꺼번에 ACK 되고, 예외가 나면 배치 전체가 다시 큐로 돌아간다.
+	 */
+	@Bean
+	public SimpleRabbitListenerContainerFactory seatPurchasedListenerContainerFactory(
+		ConnectionFactory connectionFactory,
+		@Value("${custom.seat.purchased-consumer.batch-size:100}") int batchSize,
+		@Value("${custom.seat.purchased-consumer.receive-timeout-ms:200}") long receiveTimeoutMs) {
+		SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+		factory.setConnectionFactory(connectionFactory);
+		factory.setBatchListener(true);
+		factory.setConsumerBatchEnabled(true);
+		factory.setBatchSize(Math.max(1, batchSize));
+		factory.setPrefetchCount(Math.max(1, batchSize));
+		factory.setReceiveTimeout(receiveTimeoutMs);
+		factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
+		return factory;
 	}
 
 }
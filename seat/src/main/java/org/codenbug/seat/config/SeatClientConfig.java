@@ -1,5 +1,6 @@
 package org.codenbug.seat.config;
 
+import org.codenbug.infra.http.HttpClientFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,7 +18,7 @@ public class SeatClientConfig {
 
 	@Bean("seatRestTemplate")
 	@Profile("!modulith")
-	public RestTemplate restTemplate() {
-		return new RestTemplate();
+	public RestTemplate restTemplate(HttpClientFactory httpClientFactory) {
+		return httpClientFactory.restTemplate("event");
 	}
 }
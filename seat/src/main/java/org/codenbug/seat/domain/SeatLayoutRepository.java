@@ -1,12 +1,25 @@
 package org.codenbug.seat.domain;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface SeatLayoutRepository {
 	SeatLayout findSeatLayout(Long id);
 
+	/**
+	 * 좌석까지 한 번에 읽는다. 트랜잭션 밖에서도 좌석 목록을 쓸 수 있다.
+	 */
+	SeatLayout findSeatLayoutWithSeats(Long id);
+
 	SeatLayout save(SeatLayout seatLayout);
 
 	List<SeatLayout> findSeatLayouts(List<Long> ids);
 
+	/**
+	 * 레이아웃의 좌석들을 한 번의 UPDATE로 판매 처리한다. 엔티티를 읽지 않는다.
+	 *
+	 * @return 레이아웃에서 찾은 좌석 수
+	 */
+	int markSeatsSold(Long layoutId, Collection<String> seatIds);
+
 }
@@ -0,0 +1,28 @@
+package org.codenbug.seat.global;
+
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * 클라이언트가 가진 버전 이후 바뀐 좌석 상태.
+ * {@code reset}이 true면 변경 내역을 이어 붙일 수 없으므로 좌석 지도 전체를 다시 받아야 한다.
+ */
+@Getter
+public class SeatMapDeltaResponse {
+	private long version;
+	private boolean reset;
+	private List<SeatStateDto> seats;
+
+	protected SeatMapDeltaResponse() {}
+
+	public SeatMapDeltaResponse(long version, boolean reset, List<SeatStateDto> seats) {
+		this.version = version;
+		this.reset = reset;
+		this.seats = seats;
+	}
+
+	public static SeatMapDeltaResponse reset(long version) {
+		return new SeatMapDeltaResponse(version, true, List.of());
+	}
+}
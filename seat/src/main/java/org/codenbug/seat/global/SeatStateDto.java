@@ -0,0 +1,18 @@
+package org.codenbug.seat.global;
+
+import lombok.Getter;
+
+@Getter
+public class SeatStateDto {
+	private String id;
+	private String state;
+	private boolean available;
+
+	protected SeatStateDto() {}
+
+	public SeatStateDto(String id, String state) {
+		this.id = id;
+		this.state = state;
+		this.available = "AVAILABLE".equals(state);
+	}
+}
@@ -1,9 +1,14 @@
 package org.codenbug.seat.infra;
 
+import java.time.Duration;
+
 import org.codenbug.common.RsData;
+import org.codenbug.infra.cache.EventCacheInvalidationListener;
+import org.codenbug.infra.cache.VersionedCache;
 import org.codenbug.seat.app.EventSeatLayoutPort;
 import org.codenbug.seat.app.EventSeatLayoutSummary;
 import org.codenbug.seat.infra.dto.EventSummaryResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
@@ -11,18 +16,35 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+/**
+ * 좌석 선택/취소/지도 조회마다 필요한 이벤트 요약을 짧은 TTL로 캐시한다.
+ * 같은 이벤트의 동시 조회는 한 번의 요청으로 합쳐지고, event 모듈의 변경 알림(version 기준)으로 비워진다.
+ */
 @Component("seatEventServiceClient")
-public class EventServiceClient implements EventSeatLayoutPort {
+public class EventServiceClient implements EventSeatLayoutPort, EventCacheInvalidationListener {
 	private final RestTemplate restTemplate;
 	private final String eventServiceBaseUrl;
+	private final VersionedCache<String, EventSummaryResponse> summaries;
 
-	public EventServiceClient(@org.springframework.beans.factory.annotation.Qualifier("seatRestTemplate") RestTemplate restTemplate,
-		@Value("${services.event.base-url}") String eventServiceBaseUrl) {
+	public EventServiceClient(@Qualifier("seatRestTemplate") RestTemplate restTemplate,
+		@Value("${services.event.base-url}") String eventServiceBaseUrl,
+		@Value("${services.event.summary-cache-ttl-ms:3000}") long summaryCacheTtlMs) {
 		this.restTemplate = restTemplate;
 		this.eventServiceBaseUrl = eventServiceBaseUrl;
+		this.summaries = new VersionedCache<>(Duration.ofMillis(summaryCacheTtlMs), EventSummaryResponse::getVersion);
 	}
 
 	public EventSeatLayoutSummary getEventSummary(String eventId) {
+		EventSummaryResponse response = summaries.get(eventId, this::fetchEventSummary);
+		return new EventSeatLayoutSummary(response.getSeatLayoutId(), response.isSeatSelectable());
+	}
+
+	@Override
+	public void onEventUpdated(String eventId, long staleVersion) {
+		summaries.invalidate(eventId, staleVersion);
+	}
+
+	private EventSummaryResponse fetchEventSummary(String eventId) {
 		String url = "%s/internal/events/%s/summary".formatted(eventServiceBaseUrl, eventId);
 		ResponseEntity<RsData<EventSummaryResponse>> responseEntity = restTemplate.exchange(
 			url,
@@ -36,6 +58,6 @@ public class EventServiceClient implements EventSeatLayoutPort {
 		if (response == null || response.getSeatLayoutId() == null) {
 			throw new IllegalArgumentException("이벤트 정보를 찾을 수 없습니다.");
 		}
-		return new EventSeatLayoutSummary(response.getSeatLayoutId(), response.isSeatSelectable());
+		return response;
 	}
 }
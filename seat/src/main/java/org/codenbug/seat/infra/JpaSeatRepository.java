@@ -1,10 +1,24 @@
 package org.codenbug.seat.infra;
 
+import java.util.Collection;
+
 import org.codenbug.seat.domain.SeatLayout;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface JpaSeatRepository extends JpaRepository<SeatLayout, Long> {
 
 	SeatLayout findSeatLayoutById(Long id);
 
+	@Query("select distinct l from SeatLayout l left join fetch l.seats where l.id = :id")
+	SeatLayout findWithSeatsById(@Param("id") Long id);
+
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("update Seat s set s.available = false where s.seatLayout.id = :layoutId and s.seatId.value in :seatIds")
+	int markSeatsSold(@Param("layoutId") Long layoutId, @Param("seatIds") Collection<String> seatIds);
+
 }
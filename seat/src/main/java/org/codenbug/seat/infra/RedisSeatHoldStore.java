@@ -0,0 +1,272 @@
+package org.codenbug.seat.infra;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.codenbug.redislock.RedisLockServiceImpl;
+import org.codenbug.redislock.SeatRedisKeys;
+import org.codenbug.seat.app.SeatHoldStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 비트맵 기반 좌석 hold 저장소.
+ * <ul>
+ *   <li>seat:bitmap:sold:{eventId} - 판매된 좌석 비트. 좌석 수 위치의 비트는 초기화 표시</li>
+ *   <li>seat:bitmap:held:{eventId} - hold 중인 좌석 비트</li>
+ *   <li>seat:hold:expiry:{eventId} - 좌석 번호별 hold 만료 시각. 만료된 held 비트는 SeatHoldSweeper가 정리한다</li>
+ *   <li>seat:lock:{eventId}:{seatId} - hold 소유자 userId (TTL = hold 시간)</li>
+ *   <li>seat:hold:user:{userId} - 유저의 hold 인덱스 (락 키 -> 좌석 번호). 락 키와 같은 스크립트에서 갱신된다</li>
+ *   <li>seat:version:{eventId} - 좌석 상태 버전. 상태를 바꾸는 스크립트마다 1 증가</li>
+ *   <li>seat:changes:{eventId} - 버전별 변경 내역 스트림 (ID = {version}-0, 필드 = 좌석 번호, 값 = 상태 코드)</li>
+ *   <li>seat:layout:{eventId} - 비트맵을 만든 레이아웃 리비전. 다르면 초기화 때 비트맵을 새로 만든다</li>
+ *   <li>seat:hold:events - hold가 남아 있을 수 있는 이벤트. 만료 hold 정리 대상</li>
+ * </ul>
+ * 상태가 바뀌면 seat:changed:{eventId} 채널로 "{version}:{layoutId}"를 발행한다.
+ */
+@Component
+public class RedisSeatHoldStore implements SeatHoldStore {
+	public static final String SEAT_LOCK_KEY_PREFIX = RedisLockServiceImpl.SEAT_LOCK_KEY_PREFIX;
+	static final String SOLD_BITMAP_KEY_PREFIX = SeatRedisKeys.SOLD_BITMAP_KEY_PREFIX;
+	static final String HELD_BITMAP_KEY_PREFIX = SeatRedisKeys.HELD_BITMAP_KEY_PREFIX;
+	static final String HOLD_EXPIRY_KEY_PREFIX = SeatRedisKeys.HOLD_EXPIRY_KEY_PREFIX;
+	static final String VERSION_KEY_PREFIX = SeatRedisKeys.VERSION_KEY_PREFIX;
+	static final String CHANGES_KEY_PREFIX = SeatRedisKeys.CHANGES_KEY_PREFIX;
+	static final String LAYOUT_REVISION_KEY_PREFIX = SeatRedisKeys.LAYOUT_REVISION_KEY_PREFIX;
+	static final String HOLD_EVENTS_KEY = SeatRedisKeys.HOLD_EVENTS_KEY;
+	public static final String CHANGED_CHANNEL_PREFIX = SeatRedisKeys.CHANGED_CHANNEL_PREFIX;
+
+	private final StringRedisTemplate redisTemplate;
+	private final DefaultRedisScript<Long> initScript;
+	private final DefaultRedisScript<Long> holdScript;
+	private final DefaultRedisScript<Long> releaseScript;
+	private final DefaultRedisScript<Long> markSoldScript;
+	private final DefaultRedisScript<Long> markAllSoldScript;
+	private final DefaultRedisScript<Long> expireScript;
+	private final DefaultRedisScript<List> readScript;
+	private final String changesMaxLength;
+
+	public RedisSeatHoldStore(StringRedisTemplate redisTemplate,
+		@Value("${custom.seat.changes-max-length:10000}") long changesMaxLength) {
+		this.redisTemplate = redisTemplate;
+		this.changesMaxLength = String.valueOf(changesMaxLength);
+		this.initScript = script("init_seat_bitmap.lua", Long.class);
+		this.holdScript = script("hold_seats.lua", Long.class);
+		this.releaseScript = script("release_seats.lua", Long.class);
+		this.markSoldScript = script("mark_seats_sold.lua", Long.class);
+		this.markAllSoldScript = script("mark_all_seats_sold.lua", Long.class);
+		this.expireScript = script("expire_seat_holds.lua", Long.class);
+		this.readScript = script("read_seat_map.lua", List.class);
+	}
+
+	@Override
+	public void initialize(String eventId, String layoutRevision, int seatCount, BitSet sold) {
+		List<String> args = new ArrayList<>(sold.cardinality() + 3);
+		args.add(String.valueOf(seatCount));
+		args.add(layoutRevision);
+		args.add(CHANGED_CHANNEL_PREFIX + eventId);
+		sold.stream().forEach(ordinal -> args.add(String.valueOf(ordinal)));
+
+		redisTemplate.execute(initScript, stateKeysWithLayout(eventId), args.toArray());
+	}
+
+	@Override
+	public int hold(String eventId, String userId, int[] ordinals, String[] seatIds, Duration ttl) {
+		List<String> args = new ArrayList<>(7 + ordinals.length * 2);
+		args.add(userId);
+		args.add(String.valueOf(ttl.toMillis()));
+		args.add(String.valueOf(System.currentTimeMillis()));
+		args.add(lockKeyPrefix(eventId));
+		args.add(CHANGED_CHANNEL_PREFIX + eventId);
+		args.add(changesMaxLength);
+		args.add(eventId);
+		appendSeats(args, ordinals, seatIds);
+
+		List<String> keys = new ArrayList<>(stateKeys(eventId));
+		keys.add(RedisLockServiceImpl.userHoldIndexKey(userId));
+		keys.add(HOLD_EVENTS_KEY);
+		keys.add(LAYOUT_REVISION_KEY_PREFIX + eventId);
+		Long conflict = redisTemplate.execute(holdScript, keys, args.toArray());
+		if (conflict == null) {
+			throw new IllegalStateException("[hold] 좌석 hold 스크립트 결과가 없습니다.");
+		}
+		return conflict.intValue() - 1;
+	}
+
+	@Override
+	public int release(String eventId, String userId, int[] ordinals, String[] seatIds) {
+		List<String> args = new ArrayList<>(4 + ordinals.length * 2);
+		args.add(userId);
+		args.add(lockKeyPrefix(eventId));
+		args.add(CHANGED_CHANNEL_PREFIX + eventId);
+		args.add(changesMaxLength);
+		appendSeats(args, ordinals, seatIds);
+
+		Long released = redisTemplate.execute(releaseScript,
+			List.of(HELD_BITMAP_KEY_PREFIX + eventId, HOLD_EXPIRY_KEY_PREFIX + eventId, VERSION_KEY_PREFIX + eventId,
+				CHANGES_KEY_PREFIX + eventId, RedisLockServiceImpl.userHoldIndexKey(userId),
+				LAYOUT_REVISION_KEY_PREFIX + eventId),
+			args.toArray());
+		return released == null ? 0 : released.intValue();
+	}
+
+	@Override
+	public void markSold(String eventId, int[] ordinals, String[] seatIds) {
+		List<String> args = new ArrayList<>(4 + ordinals.length * 2);
+		args.add(lockKeyPrefix(eventId));
+		args.add(CHANGED_CHANNEL_PREFIX + eventId);
+		args.add(changesMaxLength);
+		args.add(RedisLockServiceImpl.USER_HOLD_INDEX_KEY_PREFIX);
+		appendSeats(args, ordinals, seatIds);
+
+		redisTemplate.execute(markSoldScript, stateKeysWithLayout(eventId), args.toArray());
+	}
+
+	@Override
+	public void markAllSold(String eventId, int seatCount) {
+		redisTemplate.execute(markAllSoldScript, stateKeysWithLayout(eventId), String.valueOf(seatCount),
+			CHANGED_CHANNEL_PREFIX + eventId);
+	}
+
+	@Override
+	public Set<String> eventsWithHolds() {
+		Set<String> eventIds = redisTemplate.opsForSet().members(HOLD_EVENTS_KEY);
+		return eventIds == null ? Set.of() : eventIds;
+	}
+
+	@Override
+	public int expireHolds(String eventId, int limit) {
+		Long expired = redisTemplate.execute(expireScript,
+			List.of(HELD_BITMAP_KEY_PREFIX + eventId, HOLD_EXPIRY_KEY_PREFIX + eventId, VERSION_KEY_PREFIX + eventId,
+				CHANGES_KEY_PREFIX + eventId, HOLD_EVENTS_KEY, LAYOUT_REVISION_KEY_PREFIX + eventId),
+			String.valueOf(System.currentTimeMillis()), CHANGED_CHANNEL_PREFIX + eventId, changesMaxLength,
+			String.valueOf(limit), eventId);
+		return expired == null ? 0 : expired.intValue();
+	}
+
+	@Override
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public SeatAvailability readAvailability(String eventId) {
+		// 비트맵은 바이너리라 문자열로 역직렬화하지 않고 byte[] 그대로 받는다.
+		List<Object> result = redisTemplate.execute(readScript, RedisSerializer.string(),
+			(RedisSerializer<List>)(RedisSerializer)RedisSerializer.byteArray(),
+			List.of(SOLD_BITMAP_KEY_PREFIX + eventId, HELD_BITMAP_KEY_PREFIX + eventId,
+				HOLD_EXPIRY_KEY_PREFIX + eventId, VERSION_KEY_PREFIX + eventId),
+			String.valueOf(System.currentTimeMillis()));
+		if (result == null || result.size() < 3) {
+			return new SeatAvailability(0L, new BitSet(), new BitSet());
+		}
+		BitSet held = toBitSet((byte[])result.get(2));
+		if (result.size() > 3 && result.get(3) instanceof List<?> expired) {
+			// 스윕 전까지 남아 있는 만료 hold는 빈 좌석으로 본다.
+			for (Object ordinal : expired) {
+				held.clear(Integer.parseInt(new String((byte[])ordinal, StandardCharsets.UTF_8)));
+			}
+		}
+		return new SeatAvailability(((Number)result.get(0)).longValue(), toBitSet((byte[])result.get(1)), held);
+	}
+
+	@Override
+	public List<SeatChangeSet> readChangesSince(String eventId, long sinceVersion, int limit) {
+		List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().range(
+			CHANGES_KEY_PREFIX + eventId,
+			Range.rightUnbounded(Range.Bound.inclusive((sinceVersion + 1) + "-0")),
+			Limit.limit().count(limit));
+		if (records == null || records.isEmpty()) {
+			return List.of();
+		}
+		List<SeatChangeSet> changes = new ArrayList<>(records.size());
+		for (MapRecord<String, Object, Object> record : records) {
+			Map<Integer, SeatState> states = new LinkedHashMap<>();
+			record.getValue().forEach((ordinal, code) ->
+				states.put(Integer.parseInt(ordinal.toString()), SeatState.fromCode(code.toString())));
+			changes.add(new SeatChangeSet(record.getId().getTimestamp(), states));
+		}
+		return changes;
+	}
+
+	@Override
+	public long currentVersion(String eventId) {
+		String version = redisTemplate.opsForValue().get(VERSION_KEY_PREFIX + eventId);
+		return version == null ? 0L : Long.parseLong(version);
+	}
+
+	public static String lockKeyPrefix(String eventId) {
+		return SEAT_LOCK_KEY_PREFIX + eventId + ":";
+	}
+
+	private List<String> stateKeys(String eventId) {
+		return List.of(SOLD_BITMAP_KEY_PREFIX + eventId, HELD_BITMAP_KEY_PREFIX + eventId,
+			HOLD_EXPIRY_KEY_PREFIX + eventId, VERSION_KEY_PREFIX + eventId, CHANGES_KEY_PREFIX + eventId);
+	}
+
+	private List<String> stateKeysWithLayout(String eventId) {
+		List<String> keys = new ArrayList<>(stateKeys(eventId));
+		keys.add(LAYOUT_REVISION_KEY_PREFIX + eventId);
+		return keys;
+	}
+
+	private void appendSeats(List<String> args, int[] ordinals, String[] seatIds) {
+		for (int i = 0; i < ordinals.length; i++) {
+			args.add(String.valueOf(ordinals[i]));
+			args.add(seatIds[i]);
+		}
+	}
+
+	/**
+	 * Redis 비트맵은 바이트마다 최상위 비트가 0번이라 BitSet.valueOf와 순서가 반대다.
+	 */
+	static BitSet toBitSet(byte[] bitmap) {
+		BitSet bits = new BitSet();
+		if (bitmap == null) {
+			return bits;
+		}
+		for (int i = 0; i < bitmap.length; i++) {
+			int b = bitmap[i] & 0xFF;
+			if (b == 0) {
+				continue;
+			}
+			for (int bit = 0; bit < 8; bit++) {
+				if ((b & (0x80 >>> bit)) != 0) {
+					bits.set(i * 8 + bit);
+				}
+			}
+		}
+		return bits;
+	}
+
+	private static <T> DefaultRedisScript<T> script(String name, Class<T> resultType) {
+		DefaultRedisScript<T> script = new DefaultRedisScript<>();
+		script.setScriptText(load(name));
+		script.setResultType(resultType);
+		return script;
+	}
+
+	private static String load(String name) {
+		try (InputStream is = new ClassPathResource(name).getInputStream();
+			 BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
+			return reader.lines().collect(Collectors.joining("\n"));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
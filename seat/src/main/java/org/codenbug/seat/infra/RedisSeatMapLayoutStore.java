@@ -0,0 +1,63 @@
+package org.codenbug.seat.infra;
+
+import java.time.Duration;
+
+import org.codenbug.seat.app.SeatMapLayoutStore;
+import org.codenbug.seat.global.SeatLayoutResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 직렬화된 좌석 레이아웃을 seat:snapshot:{layoutId}에 보관한다. 인스턴스가 새로 떠도 DB를 읽지 않게 하는 L2 캐시.
+ */
+@Slf4j
+@Component
+public class RedisSeatMapLayoutStore implements SeatMapLayoutStore {
+	static final String SNAPSHOT_KEY_PREFIX = "seat:snapshot:";
+
+	private final StringRedisTemplate redisTemplate;
+	private final ObjectMapper objectMapper;
+	private final Duration ttl;
+
+	public RedisSeatMapLayoutStore(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+		@Value("${custom.seat.snapshot-ttl-ms:3600000}") long ttlMillis) {
+		this.redisTemplate = redisTemplate;
+		this.objectMapper = objectMapper;
+		this.ttl = Duration.ofMillis(ttlMillis);
+	}
+
+	@Override
+	public SeatLayoutResponse find(Long layoutId) {
+		String json = redisTemplate.opsForValue().get(SNAPSHOT_KEY_PREFIX + layoutId);
+		if (json == null) {
+			return null;
+		}
+		try {
+			return objectMapper.readValue(json, SeatLayoutResponse.class);
+		} catch (JsonProcessingException e) {
+			log.warn("[seatMap] 좌석 레이아웃 스냅샷 역직렬화 실패. layoutId={}", layoutId, e);
+			return null;
+		}
+	}
+
+	@Override
+	public void save(SeatLayoutResponse layout) {
+		try {
+			redisTemplate.opsForValue()
+				.set(SNAPSHOT_KEY_PREFIX + layout.getId(), objectMapper.writeValueAsString(layout), ttl);
+		} catch (JsonProcessingException e) {
+			log.warn("[seatMap] 좌석 레이아웃 스냅샷 직렬화 실패. layoutId={}", layout.getId(), e);
+		}
+	}
+
+	@Override
+	public void evict(Long layoutId) {
+		redisTemplate.delete(SNAPSHOT_KEY_PREFIX + layoutId);
+	}
+}
@@ -0,0 +1,81 @@
+package org.codenbug.seat.infra;
+
+import static org.codenbug.seat.infra.RedisSeatHoldStore.CHANGED_CHANNEL_PREFIX;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.codenbug.seat.app.SeatChangeListener;
+import org.codenbug.seat.app.SeatLayoutChangeListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * seat:changed:{eventId} 채널을 구독해 좌석 변경(버전, 레이아웃 ID)을 {@link SeatChangeListener}에, seat:layout:changed 채널을 구독해
+ * 레이아웃 변경을 {@link SeatLayoutChangeListener}에 전달한다.
+ */
+@Slf4j
+@Configuration
+public class SeatChangeSubscriber {
+
+	@Bean
+	public RedisMessageListenerContainer seatChangeListenerContainer(RedisConnectionFactory connectionFactory,
+		List<SeatChangeListener> listeners, List<SeatLayoutChangeListener> layoutListeners) {
+		// 메시지마다 스레드를 만들지 않도록 전달 스레드 수를 고정한다.
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(2);
+		executor.setMaxPoolSize(2);
+		executor.setThreadNamePrefix("seat-change-");
+		executor.initialize();
+
+		RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+		container.setConnectionFactory(connectionFactory);
+		container.setTaskExecutor(executor);
+		container.addMessageListener((message, pattern) -> {
+			String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+			String eventId = channel.substring(CHANGED_CHANNEL_PREFIX.length());
+			// "{version}:{layoutId}"
+			String[] body = new String(message.getBody(), StandardCharsets.UTF_8).split(":", 2);
+			long version;
+			Long layoutId;
+			try {
+				version = Long.parseLong(body[0]);
+				layoutId = body.length > 1 && !body[1].isEmpty() ? Long.valueOf(body[1]) : null;
+			} catch (NumberFormatException e) {
+				log.warn("[seatChange] 잘못된 버전 메시지. channel={}", channel);
+				return;
+			}
+			for (SeatChangeListener listener : listeners) {
+				try {
+					listener.onSeatsChanged(eventId, layoutId, version);
+				} catch (Exception e) {
+					log.warn("[seatChange] 좌석 변경 전달 실패. eventId={}, version={}", eventId, version, e);
+				}
+			}
+		}, new PatternTopic(CHANGED_CHANNEL_PREFIX + "*"));
+		container.addMessageListener((message, pattern) -> {
+			Long layoutId;
+			try {
+				layoutId = Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8));
+			} catch (NumberFormatException e) {
+				log.warn("[seatLayoutChange] 잘못된 레이아웃 메시지.");
+				return;
+			}
+			for (SeatLayoutChangeListener listener : layoutListeners) {
+				try {
+					listener.onLayoutChanged(layoutId);
+				} catch (Exception e) {
+					log.warn("[seatLayoutChange] 레이아웃 변경 전달 실패. seatLayoutId={}", layoutId, e);
+				}
+			}
+		}, new ChannelTopic(SeatLayoutChangeRelay.LAYOUT_CHANGED_CHANNEL));
+		return container;
+	}
+}
@@ -0,0 +1,45 @@
+package org.codenbug.seat.infra;
+
+import org.codenbug.seat.app.SeatHoldStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 만료된 hold의 held 비트를 주기적으로 정리한다.
+ * <p>
+ * hold 스크립트도 만료 hold를 정리하지만 hold 요청이 없는 이벤트는 좌석 지도에 hold로 남는다. hold가 남아 있을 수 있는
+ * 이벤트(seat:hold:events)만 돌며, 여러 인스턴스가 동시에 실행해도 스크립트가 원자적으로 한 번만 정리한다.
+ */
+@Slf4j
+@Component
+public class SeatHoldSweeper {
+
+	private final SeatHoldStore seatHoldStore;
+	private final int batchSize;
+
+	public SeatHoldSweeper(SeatHoldStore seatHoldStore,
+		@Value("${custom.seat.hold-sweep-batch-size:500}") int batchSize) {
+		this.seatHoldStore = seatHoldStore;
+		this.batchSize = Math.max(1, batchSize);
+	}
+
+	@Scheduled(fixedDelayString = "${custom.seat.hold-sweep-interval-ms:5000}")
+	public void sweep() {
+		for (String eventId : seatHoldStore.eventsWithHolds()) {
+			try {
+				int expired;
+				do {
+					expired = seatHoldStore.expireHolds(eventId, batchSize);
+					if (expired > 0) {
+						log.debug("[seatHoldSweep] 만료 hold 정리. eventId={}, count={}", eventId, expired);
+					}
+				} while (expired == batchSize);
+			} catch (Exception e) {
+				log.warn("[seatHoldSweep] 만료 hold 정리 실패. eventId={}", eventId, e);
+			}
+		}
+	}
+}
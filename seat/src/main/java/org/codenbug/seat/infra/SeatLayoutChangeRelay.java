@@ -0,0 +1,35 @@
+package org.codenbug.seat.infra;
+
+import org.codenbug.message.SeatLayoutUpdatedEvent;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 커밋된 좌석 레이아웃 변경을 seat:layout:changed 채널로 중계한다. 메시지는 layoutId.
+ * 모든 인스턴스(발행한 인스턴스 포함)는 {@link SeatChangeSubscriber}를 거쳐 레이아웃 캐시와 좌석 번호 대응표를 버린다.
+ */
+@Slf4j
+@Component
+public class SeatLayoutChangeRelay {
+	public static final String LAYOUT_CHANGED_CHANNEL = "seat:layout:changed";
+
+	private final StringRedisTemplate redisTemplate;
+
+	public SeatLayoutChangeRelay(StringRedisTemplate redisTemplate) {
+		this.redisTemplate = redisTemplate;
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void relay(SeatLayoutUpdatedEvent event) {
+		try {
+			redisTemplate.convertAndSend(LAYOUT_CHANGED_CHANNEL, String.valueOf(event.getSeatLayoutId()));
+		} catch (Exception e) {
+			// 다른 인스턴스의 레이아웃 캐시는 TTL 안에 다시 읽히고, 비트맵은 리비전이 달라 다음 초기화 때 다시 만들어진다.
+			log.warn("[relay] 좌석 레이아웃 변경 알림 발행 실패. seatLayoutId: {}", event.getSeatLayoutId(), e);
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package org.codenbug.seat.infra;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.codenbug.seat.domain.SeatLayout;
@@ -26,6 +27,16 @@ public class SeatLayoutRepositoryImpl implements SeatLayoutRepository {
 		return jpaSeatRepository.findSeatLayoutById(id);
 	}
 
+	@Override
+	public SeatLayout findSeatLayoutWithSeats(Long id) {
+		return jpaSeatRepository.findWithSeatsById(id);
+	}
+
+	@Override
+	public int markSeatsSold(Long layoutId, Collection<String> seatIds) {
+		return jpaSeatRepository.markSeatsSold(layoutId, seatIds);
+	}
+
 	@Override
 	public List<SeatLayout> findSeatLayouts(List<Long> ids) {
 		return jpaSeatRepository.findAllById(ids);
@@ -1,52 +1,174 @@
 package org.codenbug.seat.infra;
 
+import static org.codenbug.seat.config.RabbitMqConfig.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import org.codenbug.message.SeatPurchasedEvent;
 import org.codenbug.redislock.RedisLockService;
-import org.codenbug.seat.domain.Seat;
-import org.codenbug.seat.domain.SeatLayout;
+import org.codenbug.seat.app.SeatHoldEngine;
 import org.codenbug.seat.domain.SeatLayoutRepository;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.redis.RedisSystemException;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.CannotCreateTransactionException;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * seat-purchased 메시지를 배치로 받아 판매 좌석을 반영한다.
+ * <ol>
+ *   <li>이벤트별로 Redis 판매 비트맵에 먼저 기록한다. 좌석 선택은 비트맵만 본다.</li>
+ *   <li>레이아웃별로 묶어 한 번의 UPDATE로 DB 좌석을 판매 처리한다.</li>
+ *   <li>반영이 끝난 유저들의 좌석 hold와 입장 토큰을 한 파이프라인으로 해제한다.</li>
+ * </ol>
+ * 처리할 수 없는 메시지는 원본 그대로 {@value org.codenbug.seat.config.RabbitMqConfig#SEAT_PURCHASED_DLQ}로 보내고,
+ * 나머지 배치는 정상 ACK 한다. DB/Redis 연결 장애처럼 메시지와 무관한 실패는 DLQ로 보내지 않고 다시 던져
+ * 배치 전체를 다시 받는다.
+ */
 @Slf4j
 @Component
 public class SeatPurchasedEventConsumer {
+	static final String FAILURE_REASON_HEADER = "x-failure-reason";
+
 	private final SeatLayoutRepository seatLayoutRepository;
 	private final RedisLockService redisLockService;
+	private final SeatHoldEngine seatHoldEngine;
 	private final ObjectMapper objectMapper;
+	private final RabbitTemplate rabbitTemplate;
 
-	public SeatPurchasedEventConsumer(SeatLayoutRepository seatLayoutRepository1, RedisLockService redisLockService,
-		ObjectMapper objectMapper) {
-		this.seatLayoutRepository = seatLayoutRepository1;
+	public SeatPurchasedEventConsumer(SeatLayoutRepository seatLayoutRepository, RedisLockService redisLockService,
+		SeatHoldEngine seatHoldEngine, ObjectMapper objectMapper, RabbitTemplate rabbitTemplate) {
+		this.seatLayoutRepository = seatLayoutRepository;
 		this.redisLockService = redisLockService;
+		this.seatHoldEngine = seatHoldEngine;
 		this.objectMapper = objectMapper;
+		this.rabbitTemplate = rabbitTemplate;
 	}
 
-	@RabbitListener(queues = "seat-purchased")
-	@Transactional
-	public void consume(String message) {
+	@RabbitListener(queues = SEAT_PURCHASED_QUEUE, containerFactory = "seatPurchasedListenerContainerFactory")
+	public void consume(List<Message> messages) {
+		Map<Long, List<PurchasedSeats>> byLayout = new LinkedHashMap<>();
+		for (Message message : messages) {
+			try {
+				SeatPurchasedEvent event = parse(message);
+				byLayout.computeIfAbsent(event.getSeatLayoutId(), id -> new ArrayList<>())
+					.add(new PurchasedSeats(message, event));
+			} catch (Exception e) {
+				deadLetter(message, e);
+			}
+		}
+
+		Set<String> completedUserIds = new LinkedHashSet<>();
+		byLayout.forEach((layoutId, purchases) -> {
+			for (PurchasedSeats purchase : applyToLayout(layoutId, purchases)) {
+				completedUserIds.add(purchase.event().getUserId());
+			}
+		});
+
 		try {
-			SeatPurchasedEvent event = objectMapper.readValue(message, SeatPurchasedEvent.class);
-			SeatLayout seatLayout = seatLayoutRepository.findSeatLayout(event.getSeatLayoutId());
-			for (String seatId : event.getSeatIds()){
-				for(Seat seat : seatLayout.getSeats()){
-					if(seat.getSeatId().getValue().equals(seatId)){
-						seat.setAvailable(false);
-					}else{
-						throw new IllegalStateException("존재하지 않는 좌석입니다.");
-					}
-				}
+			redisLockService.releaseAllLocksAndEntryTokens(completedUserIds);
+		} catch (Exception e) {
+			// 좌석은 이미 판매 처리되었다. 남은 hold와 입장 토큰은 TTL로 만료된다.
+			log.error("[consume] 좌석 hold/입장 토큰 해제 실패. users = {}", completedUserIds.size(), e);
+		}
+	}
+
+	/**
+	 * @return 판매 반영이 끝난 구매 목록
+	 */
+	private List<PurchasedSeats> applyToLayout(Long layoutId, List<PurchasedSeats> purchases) {
+		List<PurchasedSeats> marked = new ArrayList<>(purchases.size());
+		Set<String> seatIds = new LinkedHashSet<>();
+		for (PurchasedSeats purchase : purchases) {
+			try {
+				seatHoldEngine.markSold(purchase.event().getEventId(), layoutId, purchase.event().getSeatIds());
+				marked.add(purchase);
+				seatIds.addAll(purchase.event().getSeatIds());
+			} catch (Exception e) {
+				rethrowIfInfrastructureFailure(e);
+				deadLetter(purchase.message(), e);
+			}
+		}
+		if (marked.isEmpty()) {
+			return marked;
+		}
+
+		try {
+			if (seatLayoutRepository.markSeatsSold(layoutId, seatIds) == seatIds.size()) {
+				return marked;
 			}
-			redisLockService.releaseAllLocks(event.getUserId());
-			redisLockService.releaseAllEntryQueueLocks(event.getUserId());
 		} catch (Exception e) {
-			// TODO: 좌석이 변경되었을 시 보상 트랜잭션
+			rethrowIfInfrastructureFailure(e);
+			log.warn("[applyToLayout] 레이아웃 {} 일괄 판매 처리 실패, 메시지별로 다시 시도합니다.", layoutId, e);
+		}
+
+		// 데이터 오류로 일괄 처리에 실패했거나 레이아웃에 없는 좌석이 섞여 있으면 메시지 단위로 나눠 원인 메시지만 걸러낸다.
+		List<PurchasedSeats> completed = new ArrayList<>(marked.size());
+		for (PurchasedSeats purchase : marked) {
+			try {
+				Set<String> purchaseSeatIds = new LinkedHashSet<>(purchase.event().getSeatIds());
+				int updated = seatLayoutRepository.markSeatsSold(layoutId, purchaseSeatIds);
+				if (updated != purchaseSeatIds.size()) {
+					throw new IllegalStateException("존재하지 않는 좌석입니다. layoutId = " + layoutId);
+				}
+				completed.add(purchase);
+			} catch (Exception e) {
+				rethrowIfInfrastructureFailure(e);
+				deadLetter(purchase.message(), e);
+			}
+		}
+		return completed;
+	}
+
+	private SeatPurchasedEvent parse(Message message) throws IOException {
+		JsonNode body = objectMapper.readTree(message.getBody());
+		// JSON 메시지 컨버터를 거친 문자열 메시지는 한 번 더 따옴표로 감싸져 온다.
+		SeatPurchasedEvent event = body.isTextual()
+			? objectMapper.readValue(body.asText(), SeatPurchasedEvent.class)
+			: objectMapper.treeToValue(body, SeatPurchasedEvent.class);
+		if (event.getEventId() == null || event.getSeatLayoutId() == null || event.getUserId() == null
+			|| event.getSeatIds() == null || event.getSeatIds().isEmpty()) {
+			throw new IllegalArgumentException("필수 값이 없는 좌석 구매 메시지입니다.");
+		}
+		return event;
+	}
+
+	/**
+	 * 연결 실패, 타임아웃, 락 경합처럼 다시 시도하면 성공할 수 있는 실패는 메시지 문제가 아니다.
+	 * 배치를 다시 받아도 판매 반영은 멱등이라 이미 반영한 메시지에는 영향이 없다.
+	 */
+	static void rethrowIfInfrastructureFailure(Exception e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof TransientDataAccessException || cause instanceof RecoverableDataAccessException
+				|| cause instanceof DataAccessResourceFailureException
+				|| cause instanceof CannotCreateTransactionException || cause instanceof RedisSystemException) {
+				throw e instanceof RuntimeException runtimeException ? runtimeException : new IllegalStateException(e);
+			}
 		}
+	}
+
+	private void deadLetter(Message message, Exception cause) {
+		log.error("[consume] seat-purchased 메시지 처리 실패, DLQ로 보냅니다.", cause);
+		message.getMessageProperties().setHeader(FAILURE_REASON_HEADER, String.valueOf(cause.getMessage()));
+		// DLQ 전송까지 실패하면 예외를 그대로 던져 배치 전체를 다시 받는다. 판매 반영은 멱등이다.
+		rabbitTemplate.send(SEAT_PURCHASED_DLQ, message);
+	}
 
+	private record PurchasedSeats(Message message, SeatPurchasedEvent event) {
 	}
 }
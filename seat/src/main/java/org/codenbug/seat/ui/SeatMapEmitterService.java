@@ -0,0 +1,157 @@
+package org.codenbug.seat.ui;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.codenbug.seat.app.SeatChangeListener;
+import org.codenbug.seat.app.SeatMapService;
+import org.codenbug.seat.global.SeatMapDeltaResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 좌석 지도 변경분을 SSE로 보내는 서비스.
+ * <p>
+ * 구독자마다 마지막으로 받은 버전을 들고 있고, 변경 알림이 오면 같은 버전의 구독자끼리 묶어
+ * 변경분을 한 번만 읽어 보낸다. SSE 이벤트 ID는 버전이라 재연결 시 Last-Event-ID로 이어 받을 수 있다.
+ * <p>
+ * 변경 알림 스레드는 변경분만 읽고, 전송은 크기가 정해진 전송 풀에 맡긴다. 전송 큐가 가득 차거나 전송에 실패한
+ * 구독자는 연결을 끊어 Last-Event-ID로 다시 받게 한다.
+ */
+@Slf4j
+@Service
+public class SeatMapEmitterService implements SeatChangeListener {
+	// SSE 연결 타임아웃 시간 (30분)
+	private static final long SSE_CONNECTION_TIMEOUT = 30 * 60 * 1000L;
+
+	private final SeatMapService seatMapService;
+	private final ThreadPoolExecutor sendExecutor;
+	private final Map<String, List<Subscriber>> subscribersByEvent = new ConcurrentHashMap<>();
+
+	public SeatMapEmitterService(SeatMapService seatMapService,
+		@Value("${custom.seat.sse.send-threads:4}") int sendThreads,
+		@Value("${custom.seat.sse.send-queue-capacity:10000}") int sendQueueCapacity) {
+		this.seatMapService = seatMapService;
+		this.sendExecutor = new ThreadPoolExecutor(sendThreads, sendThreads, 0L, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(sendQueueCapacity));
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		sendExecutor.shutdownNow();
+	}
+
+	/**
+	 * @param sinceVersion 클라이언트가 가진 좌석 지도 버전. 이후 변경분을 바로 보낸다
+	 */
+	public SseEmitter subscribe(String eventId, long sinceVersion) {
+		SseEmitter emitter = new SseEmitter(SSE_CONNECTION_TIMEOUT);
+		Subscriber subscriber = new Subscriber(emitter, sinceVersion);
+		List<Subscriber> subscribers = subscribersByEvent.computeIfAbsent(eventId,
+			k -> new CopyOnWriteArrayList<>());
+
+		emitter.onCompletion(() -> remove(eventId, subscriber));
+		emitter.onTimeout(() -> remove(eventId, subscriber));
+		emitter.onError(e -> remove(eventId, subscriber));
+		subscribers.add(subscriber);
+
+		try {
+			emitter.send(SseEmitter.event().id(String.valueOf(sinceVersion)).name("connect")
+				.data("좌석 변경 구독이 시작되었습니다."));
+		} catch (IOException e) {
+			remove(eventId, subscriber);
+			return emitter;
+		}
+		// 지도를 받은 뒤 구독하기 전까지의 변경분. 요청 스레드에서 한 번만 레이아웃을 조회한다.
+		SeatMapDeltaResponse delta = seatMapService.getChanges(eventId, sinceVersion);
+		if (delta.isReset() || delta.getVersion() != sinceVersion) {
+			send(eventId, subscriber, delta);
+		}
+		return emitter;
+	}
+
+	@Override
+	public void onSeatsChanged(String eventId, Long layoutId, long version) {
+		List<Subscriber> subscribers = subscribersByEvent.get(eventId);
+		if (subscribers == null || subscribers.isEmpty()) {
+			return;
+		}
+		if (layoutId == null) {
+			log.warn("[seatMap] 레이아웃 ID 없는 변경 알림은 건너뜀. eventId={}, version={}", eventId, version);
+			return;
+		}
+		Map<Long, List<Subscriber>> byVersion = subscribers.stream()
+			.filter(subscriber -> subscriber.version < version)
+			.collect(Collectors.groupingBy(subscriber -> subscriber.version));
+		byVersion.forEach((since, group) -> {
+			SeatMapDeltaResponse delta = seatMapService.getChanges(eventId, layoutId, since);
+			if (!delta.isReset() && delta.getVersion() == since) {
+				return;
+			}
+			for (Subscriber subscriber : group) {
+				submit(eventId, subscriber, delta);
+			}
+		});
+	}
+
+	private void submit(String eventId, Subscriber subscriber, SeatMapDeltaResponse delta) {
+		try {
+			sendExecutor.execute(() -> send(eventId, subscriber, delta));
+		} catch (RejectedExecutionException e) {
+			log.debug("[seatMap] 전송 대기열이 가득 차 구독 해제. eventId={}", eventId);
+			remove(eventId, subscriber);
+		}
+	}
+
+	/**
+	 * 변경분은 since 이후 누적이라, 같은 구독자에게 더 새 버전이 먼저 나갔으면 늦게 온 변경분은 버린다.
+	 */
+	private void send(String eventId, Subscriber subscriber, SeatMapDeltaResponse delta) {
+		synchronized (subscriber) {
+			if (!delta.isReset() && delta.getVersion() <= subscriber.version) {
+				return;
+			}
+			try {
+				subscriber.emitter.send(SseEmitter.event().id(String.valueOf(delta.getVersion()))
+					.name(delta.isReset() ? "seat-reset" : "seat-changes").data(delta));
+				subscriber.version = delta.getVersion();
+			} catch (IOException | IllegalStateException e) {
+				log.debug("[seatMap] 좌석 변경 전송 실패로 구독 해제. eventId={}", eventId);
+				remove(eventId, subscriber);
+			}
+		}
+	}
+
+	private void remove(String eventId, Subscriber subscriber) {
+		List<Subscriber> subscribers = subscribersByEvent.get(eventId);
+		if (subscribers != null && subscribers.remove(subscriber)) {
+			try {
+				subscriber.emitter.complete();
+			} catch (Exception e) {
+				log.debug("[seatMap] Emitter 종료 중 예외. eventId={}", eventId);
+			}
+		}
+	}
+
+	private static final class Subscriber {
+		private final SseEmitter emitter;
+		private volatile long version;
+
+		private Subscriber(SseEmitter emitter, long version) {
+			this.emitter = emitter;
+			this.version = version;
+		}
+	}
+}
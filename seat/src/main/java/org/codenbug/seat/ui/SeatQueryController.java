@@ -1,21 +1,29 @@
 package org.codenbug.seat.ui;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.codenbug.common.Role;
 import org.codenbug.common.RsData;
-import org.codenbug.seat.app.FindSeatLayoutService;
+import org.codenbug.seat.app.SeatMapService;
 import org.codenbug.seat.global.SeatLayoutResponse;
+import org.codenbug.seat.global.SeatMapDeltaResponse;
 import org.codenbug.securityaop.aop.AuthNeeded;
 import org.codenbug.securityaop.aop.RoleRequired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/v1/events")
@@ -23,18 +31,60 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Seat Query", description = "좌석 조회 API")
 public class SeatQueryController {
 
-	private final FindSeatLayoutService findSeatLayoutService;
+	private final SeatMapService seatMapService;
+	private final SeatMapEmitterService seatMapEmitterService;
 
-	@Operation(summary = "좌석 조회", description = "id가 eventId인 이벤트의 좌석을 조회")
+	@Operation(summary = "좌석 조회", description = "id가 eventId인 이벤트의 좌석을 조회. ETag로 좌석 지도 버전을 돌려주며, "
+		+ "If-None-Match가 현재 버전과 같으면 304를 응답한다.")
 	@ApiResponses({
 		@ApiResponse(responseCode = "200", description = "좌석 조회 성공"),
+		@ApiResponse(responseCode = "304", description = "좌석 지도 변경 없음"),
 		@ApiResponse(responseCode = "401", description = "인증 정보 필요")
 	})
 	@AuthNeeded
 	@RoleRequired(value = {Role.USER})
 	@GetMapping("/{event-id}/seats")
-	public ResponseEntity<RsData<SeatLayoutResponse>> getSeatLayout(@PathVariable("event-id") String eventId) {
-		SeatLayoutResponse seatLayoutResponse = findSeatLayoutService.findSeatLayoutByEventId(eventId);
-		return ResponseEntity.ok(new RsData<>("200", "좌석 조회 성공", seatLayoutResponse));
+	public ResponseEntity<RsData<SeatLayoutResponse>> getSeatLayout(@PathVariable("event-id") String eventId,
+		@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		SeatMapService.SeatMapView seatMap = seatMapService.getSeatMap(eventId);
+		if (seatMap.etag().equals(ifNoneMatch)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(seatMap.etag()).build();
+		}
+		return ResponseEntity.ok()
+			.eTag(seatMap.etag())
+			.body(new RsData<>("200", "좌석 조회 성공", seatMap.seatMap()));
+	}
+
+	@Operation(summary = "좌석 변경분 조회", description = "since 버전 이후 상태가 바뀐 좌석만 조회. "
+		+ "reset이 true면 좌석 지도 전체를 다시 조회해야 한다.")
+	@ApiResponses({
+		@ApiResponse(responseCode = "200", description = "좌석 변경분 조회 성공"),
+		@ApiResponse(responseCode = "401", description = "인증 정보 필요")
+	})
+	@AuthNeeded
+	@RoleRequired(value = {Role.USER})
+	@GetMapping("/{event-id}/seats/changes")
+	public ResponseEntity<RsData<SeatMapDeltaResponse>> getSeatChanges(@PathVariable("event-id") String eventId,
+		@Parameter(description = "클라이언트가 가진 좌석 지도 버전") @RequestParam("since") long since) {
+		return ResponseEntity.ok(new RsData<>("200", "좌석 변경분 조회 성공", seatMapService.getChanges(eventId, since)));
+	}
+
+	@Operation(summary = "좌석 변경 구독", description = "since 버전 이후의 좌석 변경을 SSE로 수신. "
+		+ "재연결 시 Last-Event-ID(마지막으로 받은 버전)부터 이어서 받는다.")
+	@AuthNeeded
+	@RoleRequired(value = {Role.USER})
+	@GetMapping(value = "/{event-id}/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter subscribeSeatChanges(@PathVariable("event-id") String eventId,
+		@RequestParam(value = "since", required = false) Long since,
+		@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+		long version = since != null ? since : 0L;
+		if (lastEventId != null && !lastEventId.isBlank()) {
+			try {
+				version = Long.parseLong(lastEventId.trim());
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("[subscribeSeatChanges] Last-Event-ID는 좌석 지도 버전이어야 합니다.");
+			}
+		}
+		return seatMapEmitterService.subscribe(eventId, version);
 	}
 }
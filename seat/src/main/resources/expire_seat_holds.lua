@@ -0,0 +1,25 @@
+-- 만료된 hold의 held 비트를 한 번에 최대 ARGV[4]개 정리한다. 남은 hold가 없으면 이벤트를 정리 대상에서 뺀다.
+-- 좌석 지도 조회는 상태를 바꾸지 않으므로, 요청이 없는 이벤트의 만료 hold는 이 스크립트가 주기적으로 정리한다.
+-- KEYS[1] seat:bitmap:held:<eventId>, KEYS[2] seat:hold:expiry:<eventId>, KEYS[3] seat:version:<eventId>,
+-- KEYS[4] seat:changes:<eventId>, KEYS[5] seat:hold:events, KEYS[6] seat:layout:<eventId>
+-- ARGV[1] 현재 시각(ms), ARGV[2] 변경 알림 채널, ARGV[3] 변경 스트림 최대 길이, ARGV[4] 최대 건수, ARGV[5] eventId
+-- return 정리한 좌석 수
+local expired = redis.call("ZRANGEBYSCORE", KEYS[2], "-inf", tonumber(ARGV[1]), "LIMIT", 0, tonumber(ARGV[4]))
+if #expired > 0 then
+    local changes = {}
+    for i = 1, #expired do
+        redis.call("SETBIT", KEYS[1], tonumber(expired[i]), 0)
+        table.insert(changes, expired[i])
+        table.insert(changes, "0")
+    end
+    redis.call("ZREM", KEYS[2], unpack(expired))
+    local version = redis.call("INCR", KEYS[3])
+    redis.call("XADD", KEYS[4], "MAXLEN", "~", ARGV[3], version .. "-0", unpack(changes))
+    local layoutId = string.match(redis.call("GET", KEYS[6]) or "", "^[^:]*")
+    redis.call("PUBLISH", ARGV[2], version .. ":" .. layoutId)
+end
+
+if redis.call("ZCARD", KEYS[2]) == 0 then
+    redis.call("SREM", KEYS[5], ARGV[5])
+end
+return #expired
@@ -0,0 +1,64 @@
+-- 좌석 여러 개를 한 번에 hold 한다. 하나라도 불가능하면 아무것도 hold 하지 않는다.
+-- KEYS[1] seat:bitmap:sold:<eventId>, KEYS[2] seat:bitmap:held:<eventId>, KEYS[3] seat:hold:expiry:<eventId>,
+-- KEYS[4] seat:version:<eventId>, KEYS[5] seat:changes:<eventId>, KEYS[6] seat:hold:user:<userId>,
+-- KEYS[7] seat:hold:events, KEYS[8] seat:layout:<eventId>
+-- ARGV[1] userId, ARGV[2] hold TTL(ms), ARGV[3] 현재 시각(ms), ARGV[4] 락 키 prefix (seat:lock:<eventId>:),
+-- ARGV[5] 변경 알림 채널, ARGV[6] 변경 스트림 최대 길이, ARGV[7] eventId, ARGV[8..] (좌석 번호, seatId) 쌍
+-- return 0: 성공, n > 0: n번째 좌석이 이미 판매/hold 되어 실패
+-- 유저 hold 인덱스(KEYS[6])에 락 키 -> 좌석 번호를 함께 기록하고 TTL을 hold 시간으로 맞춘다.
+-- hold가 생긴 이벤트는 KEYS[7]에 등록해 만료 hold 정리 대상이 되게 한다.
+-- 좌석 상태가 바뀌면 버전을 올리고 변경 내역(좌석 번호 -> 0 빈 좌석, 1 hold, 2 판매)을 스트림에 남긴다.
+-- 변경 알림은 "<버전>:<레이아웃 ID>"라 구독자가 레이아웃을 따로 조회하지 않아도 된다.
+local userId = ARGV[1]
+local ttl = tonumber(ARGV[2])
+local now = tonumber(ARGV[3])
+local lockPrefix = ARGV[4]
+local changes = {}
+
+local function recordChanges()
+    if #changes == 0 then
+        return
+    end
+    local version = redis.call("INCR", KEYS[4])
+    redis.call("XADD", KEYS[5], "MAXLEN", "~", ARGV[6], version .. "-0", unpack(changes))
+    local layoutId = string.match(redis.call("GET", KEYS[8]) or "", "^[^:]*")
+    redis.call("PUBLISH", ARGV[5], version .. ":" .. layoutId)
+end
+
+-- 만료된 hold의 held 비트를 정리한다. 락 키는 TTL로 이미 사라졌다.
+local expired = redis.call("ZRANGEBYSCORE", KEYS[3], "-inf", now, "LIMIT", 0, 256)
+for i = 1, #expired do
+    redis.call("SETBIT", KEYS[2], tonumber(expired[i]), 0)
+    redis.call("ZREM", KEYS[3], expired[i])
+    table.insert(changes, expired[i])
+    table.insert(changes, "0")
+end
+
+local n = 0
+for i = 8, #ARGV, 2 do
+    n = n + 1
+    local conflict = redis.call("GETBIT", KEYS[1], tonumber(ARGV[i])) == 1
+    if not conflict then
+        local owner = redis.call("GET", lockPrefix .. ARGV[i + 1])
+        conflict = owner and owner ~= userId
+    end
+    if conflict then
+        recordChanges()
+        return n
+    end
+end
+
+local expiresAt = now + ttl
+for i = 8, #ARGV, 2 do
+    redis.call("SET", lockPrefix .. ARGV[i + 1], userId, "PX", ttl)
+    redis.call("HSET", KEYS[6], lockPrefix .. ARGV[i + 1], ARGV[i])
+    redis.call("ZADD", KEYS[3], expiresAt, ARGV[i])
+    if redis.call("SETBIT", KEYS[2], tonumber(ARGV[i]), 1) == 0 then
+        table.insert(changes, ARGV[i])
+        table.insert(changes, "1")
+    end
+end
+redis.call("PEXPIRE", KEYS[6], ttl)
+redis.call("SADD", KEYS[7], ARGV[7])
+recordChanges()
+return 0
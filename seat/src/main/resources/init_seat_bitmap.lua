@@ -0,0 +1,31 @@
+-- 이벤트 좌석 판매 비트맵을 DB 스냅샷으로 초기화한다. 같은 레이아웃 리비전이면 한 번만 반영된다.
+-- 레이아웃이 바뀌어 리비전이 다르면 좌석 번호 대응이 달라졌으므로 이전 비트맵/hold/변경 내역을 버리고 새로 만든다.
+-- KEYS[1] seat:bitmap:sold:<eventId>, KEYS[2] seat:bitmap:held:<eventId>, KEYS[3] seat:hold:expiry:<eventId>,
+-- KEYS[4] seat:version:<eventId>, KEYS[5] seat:changes:<eventId>, KEYS[6] seat:layout:<eventId>
+-- ARGV[1] 좌석 수 (이 위치의 비트는 초기화 표시용), ARGV[2] 레이아웃 리비전 (<레이아웃 ID>:...), ARGV[3] 변경 알림 채널,
+-- ARGV[4..] 판매된 좌석 번호
+-- return 1: 초기화함, 0: 이미 같은 리비전으로 초기화되어 있음
+local revision = redis.call("GET", KEYS[6])
+if revision == ARGV[2] and redis.call("EXISTS", KEYS[1]) == 1 then
+    return 0
+end
+
+-- 리비전 기록 이전에 만들어진 비트맵은 현재 레이아웃으로 만든 것으로 보고 리비전만 남긴다.
+if not revision and redis.call("EXISTS", KEYS[1]) == 1 then
+    redis.call("SET", KEYS[6], ARGV[2])
+    return 0
+end
+
+local rebuilt = redis.call("DEL", KEYS[1], KEYS[2], KEYS[3], KEYS[5]) > 0
+redis.call("SETBIT", KEYS[1], tonumber(ARGV[1]), 1)
+for i = 4, #ARGV do
+    redis.call("SETBIT", KEYS[1], tonumber(ARGV[i]), 1)
+end
+redis.call("SET", KEYS[6], ARGV[2])
+
+-- 이전 레이아웃 기준의 변경 내역은 지웠으므로 버전만 올려 클라이언트가 전체 지도를 다시 받게 한다.
+if rebuilt then
+    local version = redis.call("INCR", KEYS[4])
+    redis.call("PUBLISH", ARGV[3], version .. ":" .. string.match(ARGV[2], "^[^:]*"))
+end
+return 1
@@ -0,0 +1,20 @@
+-- 이벤트의 모든 좌석을 판매 불가로 표시하고 hold를 정리한다. 이벤트 삭제처럼 더는 예매할 수 없을 때 쓴다.
+-- KEYS[1] seat:bitmap:sold:<eventId>, KEYS[2] seat:bitmap:held:<eventId>, KEYS[3] seat:hold:expiry:<eventId>,
+-- KEYS[4] seat:version:<eventId>, KEYS[5] seat:changes:<eventId>, KEYS[6] seat:layout:<eventId>
+-- ARGV[1] 좌석 수, ARGV[2] 변경 알림 채널
+-- 좌석별 변경 내역을 남기는 대신 변경 내역을 지우고 버전만 올려 클라이언트가 전체 지도를 다시 받게 한다.
+local seatCount = tonumber(ARGV[1])
+local fullBytes = math.floor(seatCount / 8)
+
+redis.call("SET", KEYS[1], string.rep("\255", fullBytes))
+for ordinal = fullBytes * 8, seatCount - 1 do
+    redis.call("SETBIT", KEYS[1], ordinal, 1)
+end
+-- 초기화 표시 비트
+redis.call("SETBIT", KEYS[1], seatCount, 1)
+
+redis.call("DEL", KEYS[2], KEYS[3], KEYS[5])
+local version = redis.call("INCR", KEYS[4])
+local layoutId = string.match(redis.call("GET", KEYS[6]) or "", "^[^:]*")
+redis.call("PUBLISH", ARGV[2], version .. ":" .. layoutId)
+return version
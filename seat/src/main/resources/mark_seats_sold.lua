@@ -0,0 +1,28 @@
+-- 결제가 끝난 좌석을 판매 비트맵에 기록하고 hold를 정리한다.
+-- KEYS[1] seat:bitmap:sold:<eventId>, KEYS[2] seat:bitmap:held:<eventId>, KEYS[3] seat:hold:expiry:<eventId>,
+-- KEYS[4] seat:version:<eventId>, KEYS[5] seat:changes:<eventId>, KEYS[6] seat:layout:<eventId>
+-- ARGV[1] 락 키 prefix, ARGV[2] 변경 알림 채널, ARGV[3] 변경 스트림 최대 길이, ARGV[4] 유저 hold 인덱스 prefix,
+-- ARGV[5..] (좌석 번호, seatId) 쌍
+local changes = {}
+for i = 5, #ARGV, 2 do
+    redis.call("SETBIT", KEYS[2], tonumber(ARGV[i]), 0)
+    redis.call("ZREM", KEYS[3], ARGV[i])
+    local lockKey = ARGV[1] .. ARGV[i + 1]
+    local owner = redis.call("GET", lockKey)
+    if owner then
+        redis.call("DEL", lockKey)
+        redis.call("HDEL", ARGV[4] .. owner, lockKey)
+    end
+    if redis.call("SETBIT", KEYS[1], tonumber(ARGV[i]), 1) == 0 then
+        table.insert(changes, ARGV[i])
+        table.insert(changes, "2")
+    end
+end
+
+if #changes > 0 then
+    local version = redis.call("INCR", KEYS[4])
+    redis.call("XADD", KEYS[5], "MAXLEN", "~", ARGV[3], version .. "-0", unpack(changes))
+    local layoutId = string.match(redis.call("GET", KEYS[6]) or "", "^[^:]*")
+    redis.call("PUBLISH", ARGV[2], version .. ":" .. layoutId)
+end
+return #changes / 2
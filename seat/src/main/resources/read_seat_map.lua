@@ -0,0 +1,12 @@
+-- 좌석 판매/hold 비트맵과 버전을 한 번에 읽는다. 상태는 바꾸지 않는다.
+-- 만료된 hold의 정리는 SeatHoldSweeper가 맡고, 그 전까지는 만료된 좌석 번호를 함께 돌려줘 호출자가 빈 좌석으로 본다.
+-- KEYS[1] seat:bitmap:sold:<eventId>, KEYS[2] seat:bitmap:held:<eventId>, KEYS[3] seat:hold:expiry:<eventId>,
+-- KEYS[4] seat:version:<eventId>
+-- ARGV[1] 현재 시각(ms)
+-- return { 버전, 판매 비트맵, hold 비트맵, 만료된 hold 좌석 번호 목록 }
+return {
+    tonumber(redis.call("GET", KEYS[4]) or "0"),
+    redis.call("GET", KEYS[1]) or "",
+    redis.call("GET", KEYS[2]) or "",
+    redis.call("ZRANGEBYSCORE", KEYS[3], "-inf", tonumber(ARGV[1]))
+}
@@ -0,0 +1,27 @@
+-- 유저가 hold 한 좌석을 해제한다. 다른 유저의 hold는 건드리지 않는다.
+-- KEYS[1] seat:bitmap:held:<eventId>, KEYS[2] seat:hold:expiry:<eventId>,
+-- KEYS[3] seat:version:<eventId>, KEYS[4] seat:changes:<eventId>, KEYS[5] seat:hold:user:<userId>,
+-- KEYS[6] seat:layout:<eventId>
+-- ARGV[1] userId, ARGV[2] 락 키 prefix, ARGV[3] 변경 알림 채널, ARGV[4] 변경 스트림 최대 길이,
+-- ARGV[5..] (좌석 번호, seatId) 쌍
+-- return 해제한 좌석 수
+local changes = {}
+for i = 5, #ARGV, 2 do
+    local lockKey = ARGV[2] .. ARGV[i + 1]
+    if redis.call("GET", lockKey) == ARGV[1] then
+        redis.call("DEL", lockKey)
+        redis.call("HDEL", KEYS[5], lockKey)
+        redis.call("SETBIT", KEYS[1], tonumber(ARGV[i]), 0)
+        redis.call("ZREM", KEYS[2], ARGV[i])
+        table.insert(changes, ARGV[i])
+        table.insert(changes, "0")
+    end
+end
+
+if #changes > 0 then
+    local version = redis.call("INCR", KEYS[3])
+    redis.call("XADD", KEYS[4], "MAXLEN", "~", ARGV[4], version .. "-0", unpack(changes))
+    local layoutId = string.match(redis.call("GET", KEYS[6]) or "", "^[^:]*")
+    redis.call("PUBLISH", ARGV[3], version .. ":" .. layoutId)
+end
+return #changes / 2
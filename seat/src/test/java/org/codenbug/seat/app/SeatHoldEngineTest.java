@@ -0,0 +1,175 @@
+package org.codenbug.seat.app;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.BitSet;
+import java.util.List;
+
+import org.codenbug.seat.app.SeatHoldStore.SeatAvailability;
+import org.codenbug.seat.domain.Location;
+import org.codenbug.seat.domain.Seat;
+import org.codenbug.seat.domain.SeatLayout;
+import org.codenbug.seat.domain.SeatLayoutRepository;
+import org.codenbug.seat.global.exception.ConflictException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class SeatHoldEngineTest {
+
+	@Mock
+	private SeatLayoutRepository seatLayoutRepository;
+
+	@Mock
+	private SeatHoldStore seatHoldStore;
+
+	private SeatHoldEngine engine;
+	private SeatLayout seatLayout;
+	private SeatLayoutIndex index;
+
+	@BeforeEach
+	void setUp() {
+		engine = new SeatHoldEngine(seatLayoutRepository, seatHoldStore, 300_000, 60_000, 3);
+		seatLayout = new SeatLayout(List.of(List.of("A1", "A2", "A3")),
+			new Location("Seoul", "Hall"),
+			List.of(new Seat("A1", 1000, "A"), new Seat("A2", 1000, "A"), new Seat("A3", 1000, "A")));
+		ReflectionTestUtils.setField(seatLayout, "id", 1L);
+		index = SeatLayoutIndex.from(seatLayout);
+		when(seatLayoutRepository.findSeatLayoutWithSeats(1L)).thenReturn(seatLayout);
+	}
+
+	@Test
+	@DisplayName("지정석 hold는 요청 좌석을 좌석 번호로 바꿔 한 번의 hold 호출로 처리한다")
+	void 지정석_hold_한_번에_처리() {
+		when(seatHoldStore.readAvailability("event-1")).thenReturn(availability(new BitSet(), new BitSet()));
+		when(seatHoldStore.hold(eq("event-1"), eq("user-1"), any(), any(), any())).thenReturn(-1);
+		String first = index.seatIdAt(0);
+		String third = index.seatIdAt(2);
+
+		List<String> held = engine.holdSeats("event-1", 1L, "user-1", List.of(third, first));
+
+		assertThat(held).containsExactly(third, first);
+		ArgumentCaptor<int[]> ordinals = ArgumentCaptor.forClass(int[].class);
+		verify(seatHoldStore).hold(eq("event-1"), eq("user-1"), ordinals.capture(),
+			eq(new String[] {third, first}), any());
+		assertThat(ordinals.getValue()).containsExactly(2, 0);
+	}
+
+	@Test
+	@DisplayName("레이아웃은 한 번만 DB에서 읽고 비트맵 초기화도 이벤트당 한 번만 한다")
+	void 레이아웃_인덱스_한_번만_적재() {
+		when(seatHoldStore.readAvailability("event-1")).thenReturn(availability(new BitSet(), new BitSet()));
+		when(seatHoldStore.hold(eq("event-1"), eq("user-1"), any(), any(), any())).thenReturn(-1);
+
+		engine.holdSeats("event-1", 1L, "user-1", List.of(index.seatIdAt(0)));
+		engine.holdSeats("event-1", 1L, "user-1", List.of(index.seatIdAt(1)));
+
+		verify(seatLayoutRepository, times(1)).findSeatLayoutWithSeats(1L);
+		verify(seatHoldStore, times(1)).initialize(eq("event-1"), eq(index.revision()), eq(3), any(BitSet.class));
+	}
+
+	@Test
+	@DisplayName("판매 비트맵에 표시된 좌석은 hold 스크립트를 호출하지 않고 거절한다")
+	void 판매된_좌석_조기_거절() {
+		BitSet sold = new BitSet();
+		sold.set(1);
+		when(seatHoldStore.readAvailability("event-1")).thenReturn(availability(sold, new BitSet()));
+
+		assertThatThrownBy(() -> engine.holdSeats("event-1", 1L, "user-1", List.of(index.seatIdAt(1))))
+			.isInstanceOf(ConflictException.class);
+		verify(seatHoldStore, never()).hold(any(), any(), any(), any(), any());
+	}
+
+	@Test
+	@DisplayName("다른 유저가 hold 한 좌석이 하나라도 있으면 충돌로 거절한다")
+	void 지정석_hold_충돌() {
+		when(seatHoldStore.readAvailability("event-1")).thenReturn(availability(new BitSet(), new BitSet()));
+		when(seatHoldStore.hold(eq("event-1"), eq("user-1"), any(), any(), any())).thenReturn(1);
+
+		assertThatThrownBy(() -> engine.holdSeats("event-1", 1L, "user-1",
+			List.of(index.seatIdAt(0), index.seatIdAt(1))))
+			.isInstanceOf(ConflictException.class)
+			.hasMessageContaining(index.seatIdAt(1));
+	}
+
+	@Test
+	@DisplayName("레이아웃에 없는 좌석이 포함되면 거절한다")
+	void 존재하지_않는_좌석_거절() {
+		assertThatThrownBy(() -> engine.holdSeats("event-1", 1L, "user-1", List.of("unknown")))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	@DisplayName("미지정석 hold는 판매/hold 되지 않은 좌석만 고르고 경합으로 실패하면 비트맵을 다시 읽어 재시도한다")
+	void 미지정석_hold_재시도() {
+		BitSet sold = new BitSet();
+		sold.set(0);
+		BitSet held = new BitSet();
+		held.set(1);
+		when(seatHoldStore.readAvailability("event-1")).thenReturn(availability(sold, held));
+		when(seatHoldStore.hold(eq("event-1"), eq("user-1"), any(), any(), any())).thenReturn(0, -1);
+
+		List<String> seats = engine.holdAnySeats("event-1", 1L, "user-1", 1);
+
+		assertThat(seats).containsExactly(index.seatIdAt(2));
+		verify(seatHoldStore, times(2)).readAvailability("event-1");
+	}
+
+	@Test
+	@DisplayName("남은 좌석이 티켓 수보다 적으면 hold 하지 않는다")
+	void 미지정석_좌석_부족() {
+		BitSet sold = new BitSet();
+		sold.set(0, 2);
+		when(seatHoldStore.readAvailability("event-1")).thenReturn(availability(sold, new BitSet()));
+
+		assertThatThrownBy(() -> engine.holdAnySeats("event-1", 1L, "user-1", 2))
+			.isInstanceOf(ConflictException.class);
+		verify(seatHoldStore, never()).hold(any(), any(), any(), any(), any());
+	}
+
+	@Test
+	@DisplayName("레이아웃 변경 알림을 받으면 대응표를 다시 읽고 새 리비전으로 비트맵을 다시 맞춘다")
+	void 레이아웃_변경_후_비트맵_재초기화() {
+		when(seatHoldStore.readAvailability("event-1")).thenReturn(availability(new BitSet(), new BitSet()));
+		when(seatHoldStore.hold(eq("event-1"), eq("user-1"), any(), any(), any())).thenReturn(-1);
+		engine.holdSeats("event-1", 1L, "user-1", List.of(index.seatIdAt(0)));
+
+		SeatLayout changed = new SeatLayout(List.of(List.of("B1", "B2")),
+			new Location("Seoul", "Hall"),
+			List.of(new Seat("B1", 1000, "A"), new Seat("B2", 1000, "A")));
+		ReflectionTestUtils.setField(changed, "id", 1L);
+		SeatLayoutIndex changedIndex = SeatLayoutIndex.from(changed);
+		when(seatLayoutRepository.findSeatLayoutWithSeats(1L)).thenReturn(changed);
+		engine.onLayoutChanged(1L);
+		engine.holdSeats("event-1", 1L, "user-1", List.of(changedIndex.seatIdAt(0)));
+
+		assertThat(changedIndex.revision()).isNotEqualTo(index.revision());
+		verify(seatHoldStore).initialize(eq("event-1"), eq(index.revision()), eq(3), any(BitSet.class));
+		verify(seatHoldStore).initialize(eq("event-1"), eq(changedIndex.revision()), eq(2), any(BitSet.class));
+	}
+
+	@Test
+	@DisplayName("이벤트의 모든 좌석을 판매 불가로 만들면 비트맵 전체를 판매로 표시한다")
+	void 전체_좌석_판매_불가() {
+		engine.onAllSeatsUnavailable(new AllSeatsUnavailableEvent("event-1", 1L));
+
+		verify(seatHoldStore).markAllSold("event-1", 3);
+	}
+
+	private SeatAvailability availability(BitSet sold, BitSet held) {
+		return new SeatAvailability(1L, sold, held);
+	}
+}
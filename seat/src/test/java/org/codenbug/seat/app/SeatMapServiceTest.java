@@ -0,0 +1,151 @@
+package org.codenbug.seat.app;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.codenbug.seat.app.SeatHoldStore.SeatAvailability;
+import org.codenbug.seat.app.SeatHoldStore.SeatChangeSet;
+import org.codenbug.seat.app.SeatHoldStore.SeatState;
+import org.codenbug.seat.domain.Location;
+import org.codenbug.seat.domain.Seat;
+import org.codenbug.seat.domain.SeatLayout;
+import org.codenbug.seat.domain.SeatLayoutRepository;
+import org.codenbug.seat.global.SeatDto;
+import org.codenbug.seat.global.SeatMapDeltaResponse;
+import org.codenbug.seat.global.SeatStateDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class SeatMapServiceTest {
+
+	@Mock
+	private EventSeatLayoutPort eventServiceClient;
+
+	@Mock
+	private SeatLayoutRepository seatLayoutRepository;
+
+	@Mock
+	private SeatHoldEngine seatHoldEngine;
+
+	@Mock
+	private SeatHoldStore seatHoldStore;
+
+	@Mock
+	private SeatMapLayoutStore seatMapLayoutStore;
+
+	private SeatMapService service;
+	private SeatLayoutIndex index;
+
+	@BeforeEach
+	void setUp() {
+		service = new SeatMapService(eventServiceClient, seatLayoutRepository, seatHoldEngine, seatHoldStore,
+			seatMapLayoutStore, 60_000, 100);
+		SeatLayout seatLayout = new SeatLayout(List.of(List.of("A1", "A2")),
+			new Location("Seoul", "Hall"),
+			List.of(new Seat("A1", 1000, "A"), new Seat("A2", 2000, "A")));
+		ReflectionTestUtils.setField(seatLayout, "id", 1L);
+		index = SeatLayoutIndex.from(seatLayout);
+		when(eventServiceClient.getEventSummary("event-1")).thenReturn(new EventSeatLayoutSummary(1L, true));
+		when(seatHoldEngine.index("event-1", 1L)).thenReturn(index);
+		lenient().when(seatLayoutRepository.findSeatLayoutWithSeats(1L)).thenReturn(seatLayout);
+	}
+
+	@Test
+	@DisplayName("좌석 지도는 비트맵으로 가용 여부를 채우고 레이아웃과 버전으로 ETag를 만든다")
+	void 좌석_지도_버전_ETag() {
+		BitSet held = new BitSet();
+		held.set(1);
+		when(seatHoldEngine.availability("event-1", 1L)).thenReturn(new SeatAvailability(7L, new BitSet(), held));
+
+		SeatMapService.SeatMapView view = service.getSeatMap("event-1");
+
+		assertThat(view.etag()).isEqualTo("\"1.7\"");
+		List<SeatDto> seats = view.seatMap().getSeats();
+		assertThat(seats).extracting(SeatDto::getId).containsExactly(index.seatIdAt(0), index.seatIdAt(1));
+		assertThat(seats).extracting(SeatDto::isAvailable).containsExactly(true, false);
+	}
+
+	@Test
+	@DisplayName("같은 버전의 좌석 지도는 다시 만들지 않고 레이아웃은 L2에 한 번만 저장한다")
+	void 같은_버전_지도_재사용() {
+		when(seatHoldEngine.availability("event-1", 1L))
+			.thenReturn(new SeatAvailability(3L, new BitSet(), new BitSet()));
+
+		SeatMapService.SeatMapView first = service.getSeatMap("event-1");
+		SeatMapService.SeatMapView second = service.getSeatMap("event-1");
+
+		assertThat(second).isSameAs(first);
+		verify(seatLayoutRepository, times(1)).findSeatLayoutWithSeats(1L);
+		verify(seatMapLayoutStore, times(1)).save(any());
+	}
+
+	@Test
+	@DisplayName("변경분은 버전 순으로 합쳐 좌석별 마지막 상태만 돌려준다")
+	void 변경분_마지막_상태_병합() {
+		when(seatHoldStore.currentVersion("event-1")).thenReturn(7L);
+		when(seatHoldStore.readChangesSince("event-1", 5L, 100)).thenReturn(List.of(
+			new SeatChangeSet(6L, states(0, SeatState.HELD)),
+			new SeatChangeSet(7L, states(0, SeatState.SOLD, 1, SeatState.HELD))));
+
+		SeatMapDeltaResponse delta = service.getChanges("event-1", 5L);
+
+		assertThat(delta.isReset()).isFalse();
+		assertThat(delta.getVersion()).isEqualTo(7L);
+		assertThat(delta.getSeats()).extracting(SeatStateDto::getId, SeatStateDto::getState)
+			.containsExactly(
+				tuple(index.seatIdAt(0), "SOLD"),
+				tuple(index.seatIdAt(1), "HELD"));
+	}
+
+	@Test
+	@DisplayName("보관된 변경 내역이 요청 버전 바로 다음부터 이어지지 않으면 reset을 돌려준다")
+	void 변경분_잘림_reset() {
+		when(seatHoldStore.currentVersion("event-1")).thenReturn(9L);
+		when(seatHoldStore.readChangesSince("event-1", 2L, 100))
+			.thenReturn(List.of(new SeatChangeSet(5L, states(0, SeatState.HELD))));
+
+		SeatMapDeltaResponse delta = service.getChanges("event-1", 2L);
+
+		assertThat(delta.isReset()).isTrue();
+		assertThat(delta.getVersion()).isEqualTo(9L);
+	}
+
+	@Test
+	@DisplayName("요청 버전이 현재 버전과 같으면 변경 내역을 읽지 않는다")
+	void 변경_없음() {
+		when(seatHoldStore.currentVersion("event-1")).thenReturn(4L);
+
+		SeatMapDeltaResponse delta = service.getChanges("event-1", 4L);
+
+		assertThat(delta.isReset()).isFalse();
+		assertThat(delta.getSeats()).isEmpty();
+		verify(seatHoldStore, never()).readChangesSince(any(), anyLong(), anyInt());
+	}
+
+	private Map<Integer, SeatState> states(Object... ordinalAndStates) {
+		Map<Integer, SeatState> states = new LinkedHashMap<>();
+		for (int i = 0; i < ordinalAndStates.length; i += 2) {
+			states.put((Integer)ordinalAndStates[i], (SeatState)ordinalAndStates[i + 1]);
+		}
+		return states;
+	}
+}
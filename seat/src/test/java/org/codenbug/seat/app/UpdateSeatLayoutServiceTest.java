@@ -9,11 +9,8 @@ import java.util.List;
 import java.util.Set;
 
 import org.codenbug.message.SeatLayoutUpdatedEvent;
-import org.codenbug.redislock.RedisLockService;
 import org.codenbug.seat.domain.SeatLayout;
 import org.codenbug.seat.domain.SeatLayoutRepository;
-import org.codenbug.seat.domain.Location;
-import org.codenbug.seat.domain.Seat;
 import org.codenbug.seat.global.RegisterSeatLayoutDto;
 import org.codenbug.seat.global.SeatDto;
 import org.codenbug.seat.global.SeatCancelRequest;
@@ -28,7 +25,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 class UpdateSeatLayoutServiceTest {
@@ -40,10 +36,10 @@ class UpdateSeatLayoutServiceTest {
   private EventSeatLayoutPort eventServiceClient;
 
   @Mock
-  private SeatTransactionService seatTransactionService;
+  private SeatHoldEngine seatHoldEngine;
 
   @Mock
-  private RedisLockService redisLockService;
+  private SeatMapService seatMapService;
 
   @Mock
   private ApplicationEventPublisher eventPublisher;
@@ -130,72 +126,96 @@ class UpdateSeatLayoutServiceTest {
   @Test
   @DisplayName("지정석 선택은 요청 좌석 수와 티켓 수가 일치해야 한다")
   void 좌석_선택_티켓_수_불일치_거부() {
-    SeatLayout seatLayout = seatLayout();
-    EventSeatLayoutSummary event = eventSummary(true);
-    when(eventServiceClient.getEventSummary("event-1")).thenReturn(event);
-    when(seatLayoutRepository.findSeatLayout(event.seatLayoutId())).thenReturn(seatLayout);
+    when(eventServiceClient.getEventSummary("event-1")).thenReturn(eventSummary(true));
 
-    String seatId = seatLayout.getSeats().iterator().next().getSeatId().getValue();
+    assertThrows(IllegalArgumentException.class,
+        () -> updateSeatLayoutService.selectSeat("event-1",
+            new SeatSelectRequest(List.of("seat-1"), 2), "user-1"));
+    verifyNoInteractions(seatHoldEngine);
+  }
+
+  @Test
+  @DisplayName("지정석은 최대 4개까지만 선택할 수 있다")
+  void 좌석_선택_최대_4개_초과_거부() {
+    when(eventServiceClient.getEventSummary("event-1")).thenReturn(eventSummary(true));
 
     assertThrows(IllegalArgumentException.class,
         () -> updateSeatLayoutService.selectSeat("event-1",
-            new SeatSelectRequest(List.of(seatId), 2), "user-1"));
+            new SeatSelectRequest(List.of("s1", "s2", "s3", "s4", "s5"), 5), "user-1"));
+    verifyNoInteractions(seatHoldEngine);
   }
 
   @Test
-  @DisplayName("이미 unavailable인 지정석 선택은 거절한다")
+  @DisplayName("이미 예매된 지정석 선택은 거절한다")
   void 좌석_선택_불가능_좌석_거부() {
-    SeatLayout seatLayout = seatLayout();
-    EventSeatLayoutSummary event = eventSummary(true);
-    when(eventServiceClient.getEventSummary("event-1")).thenReturn(event);
-    when(seatLayoutRepository.findSeatLayout(event.seatLayoutId())).thenReturn(seatLayout);
-    Seat seat = seatLayout.getSeats().iterator().next();
-    seat.reserve();
+    when(eventServiceClient.getEventSummary("event-1")).thenReturn(eventSummary(true));
+    when(seatHoldEngine.holdSeats("event-1", 1L, "user-1", List.of("seat-1")))
+        .thenThrow(new ConflictException("[selectSeats] 이미 예매된 좌석입니다. seatId = seat-1"));
 
     assertThrows(ConflictException.class,
         () -> updateSeatLayoutService.selectSeat("event-1",
-            new SeatSelectRequest(List.of(seat.getSeatId().getValue()), 1), "user-1"));
+            new SeatSelectRequest(List.of("seat-1"), 1), "user-1"));
+  }
+
+  @Test
+  @DisplayName("좌석 선택은 DB 레이아웃을 읽지 않고 좌석 hold 엔진만 사용한다")
+  void 좌석_선택_DB_미사용() {
+    when(eventServiceClient.getEventSummary("event-1")).thenReturn(eventSummary(true));
+    when(seatHoldEngine.holdSeats("event-1", 1L, "user-1", List.of("seat-1", "seat-2")))
+        .thenReturn(List.of("seat-1", "seat-2"));
+
+    var response = updateSeatLayoutService.selectSeat("event-1",
+        new SeatSelectRequest(List.of("seat-1", "seat-2"), 2), "user-1");
+
+    assertEquals(List.of("seat-1", "seat-2"), response.getSeatList());
+    verifyNoInteractions(seatLayoutRepository);
   }
 
   @Test
   @DisplayName("미지정석 선택은 가능한 좌석 중 티켓 수만큼 hold한다")
   void 미지정석_선택_가능_좌석_홀드() {
-    SeatLayout seatLayout = seatLayout();
-    EventSeatLayoutSummary event = eventSummary(false);
-    when(eventServiceClient.getEventSummary("event-1")).thenReturn(event);
-    when(seatLayoutRepository.findSeatLayout(event.seatLayoutId())).thenReturn(seatLayout);
+    when(eventServiceClient.getEventSummary("event-1")).thenReturn(eventSummary(false));
+    when(seatHoldEngine.holdAnySeats("event-1", 1L, "user-1", 2)).thenReturn(List.of("seat-1", "seat-2"));
 
     var response = updateSeatLayoutService.selectSeat("event-1",
         new SeatSelectRequest(List.of(), 2), "user-1");
 
     assertEquals(2, response.getSeatList().size());
-    verify(seatTransactionService, times(2)).reserveSeat(any(Seat.class), eq("user-1"), eq("event-1"), any());
+    verify(seatHoldEngine).holdAnySeats("event-1", 1L, "user-1", 2);
   }
 
   @Test
-  @DisplayName("좌석 release는 락이 없어도 멱등으로 available 상태를 복구한다")
+  @DisplayName("좌석 release는 hold가 없어도 예외 없이 멱등으로 처리된다")
   void 좌석_취소_멱등_릴리즈() {
-    SeatLayout seatLayout = seatLayout();
-    EventSeatLayoutSummary event = eventSummary(true);
-    when(eventServiceClient.getEventSummary("event-1")).thenReturn(event);
-    when(seatLayoutRepository.findSeatLayout(event.seatLayoutId())).thenReturn(seatLayout);
-    Seat seat = seatLayout.getSeats().iterator().next();
-    seat.reserve();
-    when(redisLockService.getLockValue("seat:lock:event-1:" + seat.getSeatId().getValue())).thenReturn(null);
-    when(redisLockService.unlock("seat:lock:event-1:" + seat.getSeatId().getValue(), null)).thenReturn(false);
-
-    updateSeatLayoutService.cancelSeat("event-1",
-        new SeatCancelRequest(List.of(seat.getSeatId().getValue())), "user-1");
-
-    assertTrue(seat.isAvailable());
+    when(eventServiceClient.getEventSummary("event-1")).thenReturn(eventSummary(true));
+    when(seatHoldEngine.releaseSeats("event-1", 1L, "user-1", List.of("seat-1"))).thenReturn(0);
+
+    assertDoesNotThrow(() -> updateSeatLayoutService.cancelSeat("event-1",
+        new SeatCancelRequest(List.of("seat-1")), "user-1"));
+    verify(seatHoldEngine).releaseSeats("event-1", 1L, "user-1", List.of("seat-1"));
   }
 
-  private SeatLayout seatLayout() {
-    SeatLayout seatLayout = new SeatLayout(List.of(List.of("A1", "A2")),
-        new Location("Seoul", "Hall"),
-        List.of(new Seat("A1", 1000, "A"), new Seat("A2", 1000, "A")));
-    ReflectionTestUtils.setField(seatLayout, "id", 1L);
-    return seatLayout;
+  @Test
+  @DisplayName("레이아웃을 수정하면 좌석 번호 인덱스와 좌석 지도 스냅샷을 버린다")
+  void 좌석_배치_업데이트_인덱스_무효화() {
+    when(seatLayoutRepository.findSeatLayout(testSeatLayoutId)).thenReturn(testSeatLayout);
+    when(seatLayoutRepository.save(testSeatLayout)).thenReturn(testSeatLayout);
+
+    updateSeatLayoutService.update(testSeatLayoutId, updateRequest);
+
+    verify(seatHoldEngine).evict(testSeatLayoutId);
+    verify(seatMapService).evictLayout(testSeatLayoutId);
+  }
+
+  @Test
+  @DisplayName("모든 좌석을 판매 불가로 바꾸면 커밋 후 비트맵에 반영하도록 이벤트를 발행한다")
+  void 전체_좌석_비활성화_이벤트_발행() {
+    when(seatLayoutRepository.findSeatLayout(testSeatLayoutId)).thenReturn(testSeatLayout);
+
+    updateSeatLayoutService.markAllSeatsUnavailable("event-1", testSeatLayoutId);
+
+    verify(testSeatLayout).markAllUnavailable();
+    verify(eventPublisher).publishEvent(new AllSeatsUnavailableEvent("event-1", testSeatLayoutId));
   }
 
   private EventSeatLayoutSummary eventSummary(boolean seatSelectable) {
@@ -0,0 +1,158 @@
+package org.codenbug.seat.infra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.codenbug.seat.config.RabbitMqConfig.SEAT_PURCHASED_DLQ;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.codenbug.message.SeatPurchasedEvent;
+import org.codenbug.redislock.RedisLockService;
+import org.codenbug.seat.app.SeatHoldEngine;
+import org.codenbug.seat.domain.SeatLayoutRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+class SeatPurchasedEventConsumerTest {
+
+	@Mock
+	private SeatLayoutRepository seatLayoutRepository;
+
+	@Mock
+	private RedisLockService redisLockService;
+
+	@Mock
+	private SeatHoldEngine seatHoldEngine;
+
+	@Mock
+	private RabbitTemplate rabbitTemplate;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private SeatPurchasedEventConsumer consumer;
+
+	@BeforeEach
+	void setUp() {
+		consumer = new SeatPurchasedEventConsumer(seatLayoutRepository, redisLockService, seatHoldEngine,
+			objectMapper, rabbitTemplate);
+	}
+
+	@Test
+	@DisplayName("같은 레이아웃의 구매 메시지들은 한 번의 UPDATE로 반영하고 유저들의 hold를 한 번에 해제한다")
+	void 같은_레이아웃_일괄_반영() throws Exception {
+		when(seatLayoutRepository.markSeatsSold(eq(1L), anyCollection())).thenReturn(3);
+
+		consumer.consume(List.of(
+			message(new SeatPurchasedEvent("event-1", List.of("s1", "s2"), 1L, "user-1")),
+			message(new SeatPurchasedEvent("event-1", List.of("s3"), 1L, "user-2"))));
+
+		ArgumentCaptor<Collection<String>> seatIds = ArgumentCaptor.forClass(Collection.class);
+		verify(seatLayoutRepository, times(1)).markSeatsSold(eq(1L), seatIds.capture());
+		assertThat(seatIds.getValue()).containsExactly("s1", "s2", "s3");
+		verify(seatHoldEngine).markSold("event-1", 1L, List.of("s1", "s2"));
+		verify(seatHoldEngine).markSold("event-1", 1L, List.of("s3"));
+		verify(redisLockService).releaseAllLocksAndEntryTokens(Set.of("user-1", "user-2"));
+		verify(rabbitTemplate, never()).send(any(String.class), any(Message.class));
+	}
+
+	@Test
+	@DisplayName("읽을 수 없는 메시지는 DLQ로 보내고 나머지 배치는 그대로 처리한다")
+	void 잘못된_메시지_DLQ() throws Exception {
+		when(seatLayoutRepository.markSeatsSold(eq(1L), anyCollection())).thenReturn(1);
+		Message broken = new Message("not-json".getBytes(StandardCharsets.UTF_8), new MessageProperties());
+
+		consumer.consume(List.of(broken, message(new SeatPurchasedEvent("event-1", List.of("s1"), 1L, "user-1"))));
+
+		verify(rabbitTemplate).send(SEAT_PURCHASED_DLQ, broken);
+		assertThat(broken.getMessageProperties().getHeaders())
+			.containsKey(SeatPurchasedEventConsumer.FAILURE_REASON_HEADER);
+		verify(redisLockService).releaseAllLocksAndEntryTokens(Set.of("user-1"));
+	}
+
+	@Test
+	@DisplayName("레이아웃에 없는 좌석이 섞여 있으면 해당 메시지만 DLQ로 보내고 hold를 해제하지 않는다")
+	void 없는_좌석_메시지만_DLQ() throws Exception {
+		when(seatLayoutRepository.markSeatsSold(1L, Set.of("s1", "missing"))).thenReturn(1);
+		when(seatLayoutRepository.markSeatsSold(1L, Set.of("s1"))).thenReturn(1);
+		when(seatLayoutRepository.markSeatsSold(1L, Set.of("missing"))).thenReturn(0);
+		Message valid = message(new SeatPurchasedEvent("event-1", List.of("s1"), 1L, "user-1"));
+		Message invalid = message(new SeatPurchasedEvent("event-1", List.of("missing"), 1L, "user-2"));
+
+		consumer.consume(List.of(valid, invalid));
+
+		verify(rabbitTemplate).send(SEAT_PURCHASED_DLQ, invalid);
+		verify(rabbitTemplate, never()).send(SEAT_PURCHASED_DLQ, valid);
+		verify(redisLockService).releaseAllLocksAndEntryTokens(Set.of("user-1"));
+	}
+
+	@Test
+	@DisplayName("DB 연결 장애로 일괄 처리에 실패하면 DLQ로 보내지 않고 예외를 던져 배치를 다시 받는다")
+	void 인프라_장애_재시도() throws Exception {
+		when(seatLayoutRepository.markSeatsSold(eq(1L), anyCollection()))
+			.thenThrow(new CannotGetJdbcConnectionException("connection refused"));
+
+		assertThatThrownBy(() -> consumer.consume(List.of(
+			message(new SeatPurchasedEvent("event-1", List.of("s1"), 1L, "user-1")))))
+			.isInstanceOf(CannotGetJdbcConnectionException.class);
+
+		verify(seatLayoutRepository, times(1)).markSeatsSold(eq(1L), anyCollection());
+		verify(rabbitTemplate, never()).send(any(String.class), any(Message.class));
+		verify(redisLockService, never()).releaseAllLocksAndEntryTokens(anyCollection());
+	}
+
+	@Test
+	@DisplayName("데이터 오류로 일괄 처리에 실패하면 메시지별로 나눠 원인 메시지만 DLQ로 보낸다")
+	void 데이터_오류_메시지별_재시도() throws Exception {
+		when(seatLayoutRepository.markSeatsSold(1L, Set.of("s1", "s2")))
+			.thenThrow(new DataIntegrityViolationException("constraint"));
+		when(seatLayoutRepository.markSeatsSold(1L, Set.of("s1"))).thenReturn(1);
+		when(seatLayoutRepository.markSeatsSold(1L, Set.of("s2")))
+			.thenThrow(new DataIntegrityViolationException("constraint"));
+		Message valid = message(new SeatPurchasedEvent("event-1", List.of("s1"), 1L, "user-1"));
+		Message invalid = message(new SeatPurchasedEvent("event-1", List.of("s2"), 1L, "user-2"));
+
+		consumer.consume(List.of(valid, invalid));
+
+		verify(rabbitTemplate).send(SEAT_PURCHASED_DLQ, invalid);
+		verify(redisLockService).releaseAllLocksAndEntryTokens(Set.of("user-1"));
+	}
+
+	@Test
+	@DisplayName("발행자가 JSON 문자열로 한 번 더 감싼 메시지도 읽는다")
+	void 감싼_JSON_문자열_메시지() throws Exception {
+		when(seatLayoutRepository.markSeatsSold(eq(2L), anyCollection())).thenReturn(1);
+		String json = objectMapper.writeValueAsString(new SeatPurchasedEvent("event-2", List.of("s9"), 2L, "user-9"));
+		Message wrapped = new Message(objectMapper.writeValueAsBytes(json), new MessageProperties());
+
+		consumer.consume(List.of(wrapped));
+
+		verify(seatHoldEngine).markSold("event-2", 2L, List.of("s9"));
+		verify(redisLockService).releaseAllLocksAndEntryTokens(Set.of("user-9"));
+	}
+
+	private Message message(SeatPurchasedEvent event) throws Exception {
+		return new Message(objectMapper.writeValueAsBytes(event), new MessageProperties());
+	}
+}